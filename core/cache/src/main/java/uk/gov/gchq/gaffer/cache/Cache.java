@@ -21,6 +21,7 @@ import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 
 import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.StreamSupport;
 
 import static java.util.Objects.nonNull;
@@ -61,6 +62,16 @@ public class Cache<K, V> {
         return CacheServiceLoader.getService(serviceName).getFromCache(cacheName, key);
     }
 
+    /**
+     * Gets the values for the requested keys from the cache in a single batch
+     * @param keys Keys to the values
+     * @return The values associated with the keys, mapped by key
+     * @throws CacheOperationException if issue getting from cache
+     */
+    public Map<K, V> getAllFromCache(final Iterable<K> keys) throws CacheOperationException {
+        return CacheServiceLoader.getService(serviceName).getAllFromCache(cacheName, keys);
+    }
+
     public String getCacheName() {
         return cacheName;
     }
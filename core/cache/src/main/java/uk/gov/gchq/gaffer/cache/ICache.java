@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.cache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.StreamSupport;
 
 /**
@@ -40,6 +42,27 @@ public interface ICache<K, V> {
      */
     V get(final K key) throws CacheOperationException;
 
+    /**
+     * Retrieve the values associated with the given keys. Keys without a value
+     * are left out of the result. Implementations backed by a remote store
+     * should override this to fetch the values in a single request.
+     *
+     * @param keys the keys to lookup in the cache
+     * @return the values associated with the keys, mapped by key
+     * @throws CacheOperationException if there is an error getting the key-value
+     *                                 pairs from the cache
+     */
+    default Map<K, V> getAll(final Iterable<K> keys) throws CacheOperationException {
+        final Map<K, V> values = new HashMap<>();
+        for (final K key : keys) {
+            final V value = get(key);
+            if (null != value) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
     /**
      * Add a new key-value pair to the cache.
      *
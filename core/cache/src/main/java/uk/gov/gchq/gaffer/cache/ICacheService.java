@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.cache;
 
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -63,6 +64,21 @@ public interface ICacheService {
         return (V) getCache(cacheName).get(key);
     }
 
+    /**
+     * Retrieve the values associated with the given keys from the specified cache.
+     *
+     * @param cacheName the name of the cache to look in
+     * @param keys      the keys of the entries to lookup
+     * @param <K>       The object type that acts as the key for the cache
+     * @param <V>       The value that is stored in the cache
+     * @return the requested cache objects, mapped by key
+     * @throws CacheOperationException if issue getting from cache.
+     */
+    default <K, V> Map<K, V> getAllFromCache(final String cacheName, final Iterable<K> keys) throws CacheOperationException {
+        final ICache<K, V> cache = getCache(cacheName);
+        return cache.getAll(keys);
+    }
+
     /**
      * Add a new key-value pair to the specified cache.
      *
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * An {@link ICache} which can tell listeners when its entries change, including
+ * changes made by other clients of a distributed cache. This allows copies of the
+ * entries held elsewhere, such as in a local near cache, to be invalidated.
+ *
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
+ */
+public interface ObservableCache<K, V> extends ICache<K, V> {
+
+    /**
+     * Add a listener which is called with the key of each entry that is updated,
+     * removed, evicted or expired, or with null when all entries are removed.
+     * Listeners may be called asynchronously, after the change has been made.
+     *
+     * @param listener the listener to call when entries change
+     */
+    void addChangeListener(final Consumer<K> listener);
+
+    /**
+     * Remove a listener added with {@link #addChangeListener(Consumer)}, so it is
+     * no longer called when entries change.
+     *
+     * @param listener the listener to remove
+     */
+    void removeChangeListener(final Consumer<K> listener);
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.isNull;
+
+/**
+ * <p>
+ * Thread safe implementation of the {@link ICache} interface, using a
+ * {@link ConcurrentHashMap} as the cache data store.
+ * </p>
+ * <p>
+ * The cache holds at most {@code maxSize} entries, unless {@code maxSize} is not
+ * positive, in which case it is unbounded. When it grows beyond that, the
+ * least recently used ({@link EvictionPolicy#LRU}) or least frequently used
+ * ({@link EvictionPolicy#LFU}) entries are evicted. To avoid ranking every entry on
+ * each addition, entries are evicted in batches of a tenth of the maximum size.
+ * Entries older than the time to live, if one is set, are treated as absent and
+ * removed when they are next accessed or an eviction runs.
+ * </p>
+ * <p>
+ * If {@code serialiseValues} is set, values are stored as JSON bytes using the
+ * {@link JSONSerialiser}, so callers can never modify a cached value, without the
+ * cost and size of Java serialisation.
+ * </p>
+ * <p>
+ * The number of cache hits, misses and evictions are counted.
+ * </p>
+ *
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
+ */
+public class BoundedCache<K, V> implements ICache<K, V> {
+    private static final int EVICTION_BATCH_DIVISOR = 10;
+    private static final Comparator<EvictionCandidate<?>> EVICTION_ORDER = Comparator
+            .<EvictionCandidate<?>>comparingLong(candidate -> candidate.frequency)
+            .thenComparingLong(candidate -> candidate.lastAccess);
+
+    /**
+     * The order in which entries are evicted once the cache is full.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Evict the least recently used entries first.
+         */
+        LRU,
+
+        /**
+         * Evict the least frequently used entries first, then the least recently used.
+         */
+        LFU
+    }
+
+    private final ConcurrentHashMap<K, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong accessCounter = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final int evictionSize;
+    private final long ttlNanos;
+    private final boolean leastFrequentlyUsed;
+    private final boolean serialiseValues;
+    private final LongSupplier clock;
+
+    /**
+     * @param maxSize         the maximum number of entries, or a number less than 1
+     *                        for no maximum
+     * @param ttlMillis       how long entries are kept for after being added, or a
+     *                        negative number to keep them until they are evicted
+     * @param evictionPolicy  the order in which entries are evicted
+     * @param serialiseValues whether to store values as JSON bytes
+     */
+    public BoundedCache(final int maxSize, final long ttlMillis, final EvictionPolicy evictionPolicy, final boolean serialiseValues) {
+        this(maxSize, ttlMillis, evictionPolicy, serialiseValues, System::nanoTime);
+    }
+
+    BoundedCache(final int maxSize, final long ttlMillis, final EvictionPolicy evictionPolicy, final boolean serialiseValues,
+                 final LongSupplier clock) {
+        if (isNull(evictionPolicy)) {
+            throw new IllegalArgumentException("Eviction policy is required");
+        }
+        this.maxSize = maxSize < 1 ? Integer.MAX_VALUE : maxSize;
+        this.evictionSize = this.maxSize - this.maxSize / EVICTION_BATCH_DIVISOR;
+        this.ttlNanos = ttlMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.leastFrequentlyUsed = EvictionPolicy.LFU == evictionPolicy;
+        this.serialiseValues = serialiseValues;
+        this.clock = clock;
+    }
+
+    @Override
+    public V get(final K key) throws CacheOperationException {
+        final CacheEntry entry = isNull(key) ? null : getLiveEntry(key, clock.getAsLong());
+        if (isNull(entry)) {
+            misses.increment();
+            return null;
+        }
+        entry.access(accessCounter.incrementAndGet());
+        hits.increment();
+        return decode(entry);
+    }
+
+    @Override
+    public void put(final K key, final V value) throws CacheOperationException {
+        cache.put(validateKey(key), createEntry(value));
+        evictIfFull(key);
+    }
+
+    @Override
+    public void putSafe(final K key, final V value) throws OverwritingException, CacheOperationException {
+        final CacheEntry entry = createEntry(value);
+        final CacheEntry existing = cache.putIfAbsent(validateKey(key), entry);
+        if (null != existing && !(isExpired(existing, clock.getAsLong()) && cache.replace(key, existing, entry))) {
+            throw new OverwritingException("Cache entry already exists for key: " + key);
+        }
+        evictIfFull(key);
+    }
+
+    @Override
+    public void remove(final K key) {
+        if (null != key) {
+            cache.remove(key);
+        }
+    }
+
+    @Override
+    public List<V> getAllValues() {
+        final long now = clock.getAsLong();
+        final List<V> values = new ArrayList<>(cache.size());
+        for (final CacheEntry entry : cache.values()) {
+            if (!isExpired(entry, now)) {
+                try {
+                    values.add(decode(entry));
+                } catch (final CacheOperationException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public Set<K> getAllKeys() {
+        final long now = clock.getAsLong();
+        final Set<K> keys = new HashSet<>();
+        for (final Map.Entry<K, CacheEntry> entry : cache.entrySet()) {
+            if (!isExpired(entry.getValue(), now)) {
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public int size() {
+        removeExpired(clock.getAsLong());
+        return cache.size();
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private K validateKey(final K key) throws CacheOperationException {
+        if (isNull(key)) {
+            throw new CacheOperationException("Cache keys must not be null");
+        }
+        return key;
+    }
+
+    private CacheEntry createEntry(final V value) throws CacheOperationException {
+        if (isNull(value)) {
+            throw new CacheOperationException("Cache values must not be null");
+        }
+        final Object storedValue;
+        if (serialiseValues) {
+            try {
+                storedValue = JSONSerialiser.serialise(value);
+            } catch (final SerialisationException e) {
+                throw new CacheOperationException("Unable to serialise cache value", e);
+            }
+        } else {
+            storedValue = value;
+        }
+        return new CacheEntry(storedValue, value.getClass(), clock.getAsLong(), accessCounter.incrementAndGet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private V decode(final CacheEntry entry) throws CacheOperationException {
+        if (!serialiseValues) {
+            return (V) entry.value;
+        }
+        try {
+            return (V) JSONSerialiser.deserialise((byte[]) entry.value, entry.valueClass);
+        } catch (final SerialisationException e) {
+            throw new CacheOperationException("Unable to deserialise cache value", e);
+        }
+    }
+
+    private CacheEntry getLiveEntry(final K key, final long now) {
+        final CacheEntry entry = cache.get(key);
+        if (null != entry && isExpired(entry, now)) {
+            if (cache.remove(key, entry)) {
+                evictions.increment();
+            }
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isExpired(final CacheEntry entry, final long now) {
+        return ttlNanos >= 0 && now - entry.writeTime > ttlNanos;
+    }
+
+    private void removeExpired(final long now) {
+        if (ttlNanos >= 0) {
+            for (final Map.Entry<K, CacheEntry> entry : cache.entrySet()) {
+                if (isExpired(entry.getValue(), now) && cache.remove(entry.getKey(), entry.getValue())) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    // The entry just added is never evicted, as it has not had a chance to be used yet
+    private void evictIfFull(final K addedKey) {
+        if (cache.size() <= maxSize) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            removeExpired(clock.getAsLong());
+            if (cache.size() <= maxSize) {
+                return;
+            }
+
+            // Keep the entries to evict in a heap with the most used of them at the top
+            final int excess = cache.size() - evictionSize;
+            final PriorityQueue<EvictionCandidate<K>> toEvict = new PriorityQueue<>(excess + 1, EVICTION_ORDER.reversed());
+            for (final Map.Entry<K, CacheEntry> entry : cache.entrySet()) {
+                if (addedKey.equals(entry.getKey())) {
+                    continue;
+                }
+                toEvict.add(new EvictionCandidate<>(entry.getKey(), entry.getValue(), leastFrequentlyUsed));
+                if (toEvict.size() > excess) {
+                    toEvict.poll();
+                }
+            }
+            for (final EvictionCandidate<K> candidate : toEvict) {
+                if (cache.remove(candidate.key, candidate.entry)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class CacheEntry {
+        private final Object value;
+        private final Class<?> valueClass;
+        private final long writeTime;
+        private final AtomicLong frequency = new AtomicLong(1);
+        private volatile long lastAccess;
+
+        private CacheEntry(final Object value, final Class<?> valueClass, final long writeTime, final long lastAccess) {
+            this.value = value;
+            this.valueClass = valueClass;
+            this.writeTime = writeTime;
+            this.lastAccess = lastAccess;
+        }
+
+        private void access(final long accessCount) {
+            lastAccess = accessCount;
+            frequency.incrementAndGet();
+        }
+    }
+
+    /**
+     * An entry with its usage at the time the eviction started, so its order
+     * does not change whilst the entries to evict are chosen.
+     */
+    private static final class EvictionCandidate<K> {
+        private final K key;
+        private final CacheEntry entry;
+        private final long frequency;
+        private final long lastAccess;
+
+        private EvictionCandidate(final K key, final CacheEntry entry, final boolean leastFrequentlyUsed) {
+            this.key = key;
+            this.entry = entry;
+            this.frequency = leastFrequentlyUsed ? entry.frequency.get() : 0;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+}
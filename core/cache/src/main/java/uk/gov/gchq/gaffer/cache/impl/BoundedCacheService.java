@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+import uk.gov.gchq.gaffer.cache.impl.BoundedCache.EvictionPolicy;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Implementation of the {@link ICacheService} interface which uses a thread safe,
+ * optionally size bounded {@link BoundedCache} as the cache implementation. Each cache
+ * is configured with the eviction policy and value serialisation set by the
+ * properties on this class. By default caches have no maximum size and no time to
+ * live, so nothing is evicted.
+ * </p>
+ * <p>
+ * The maximum size and time to live can be set for every cache, and overridden for a
+ * single cache by adding a dot and the cache name to the property,
+ * e.g. gaffer.cache.bounded.maxSize.JobTracker=1000
+ * </p>
+ * <p>
+ * Evicted entries are lost. Some caches are the only record of what they hold, such as
+ * the named operation, named view, federated store graph and job tracker caches, so
+ * bounding them or giving them a time to live will silently delete named operations,
+ * named views, graphs or job details. Only bound caches whose entries can be lost.
+ * </p>
+ */
+public class BoundedCacheService implements ICacheService {
+    public static final String MAX_SIZE = "gaffer.cache.bounded.maxSize";
+    public static final String MAX_SIZE_DEFAULT = "-1";
+    public static final String TTL_MILLIS = "gaffer.cache.bounded.ttlMillis";
+    public static final String TTL_MILLIS_DEFAULT = "-1";
+    public static final String EVICTION_POLICY = "gaffer.cache.bounded.evictionPolicy";
+    public static final String EVICTION_POLICY_DEFAULT = EvictionPolicy.LRU.name();
+    public static final String SERIALISE_VALUES = "gaffer.cache.bounded.serialiseValues";
+    public static final String SERIALISE_VALUES_DEFAULT = "false";
+
+    private final ConcurrentHashMap<String, BoundedCache> caches = new ConcurrentHashMap<>();
+    private Properties properties = new Properties();
+    private EvictionPolicy evictionPolicy = EvictionPolicy.valueOf(EVICTION_POLICY_DEFAULT);
+    private boolean serialiseValues = Boolean.parseBoolean(SERIALISE_VALUES_DEFAULT);
+
+    @Override
+    public void initialise(final Properties properties) {
+        final Properties props = null != properties ? properties : new Properties();
+        this.properties = props;
+        evictionPolicy = EvictionPolicy.valueOf(props.getProperty(EVICTION_POLICY, EVICTION_POLICY_DEFAULT).toUpperCase(Locale.ROOT));
+        serialiseValues = Boolean.parseBoolean(props.getProperty(SERIALISE_VALUES, SERIALISE_VALUES_DEFAULT));
+    }
+
+    @Override
+    public void shutdown() {
+        caches.clear();
+    }
+
+    @Override
+    public <K, V> ICache<K, V> getCache(final String cacheName) {
+        return caches.computeIfAbsent(cacheName, k -> new BoundedCache<>(
+                Integer.parseInt(getProperty(MAX_SIZE, cacheName, MAX_SIZE_DEFAULT)),
+                Long.parseLong(getProperty(TTL_MILLIS, cacheName, TTL_MILLIS_DEFAULT)),
+                evictionPolicy, serialiseValues));
+    }
+
+    private String getProperty(final String key, final String cacheName, final String defaultValue) {
+        return properties.getProperty(key + "." + cacheName, properties.getProperty(key, defaultValue));
+    }
+}
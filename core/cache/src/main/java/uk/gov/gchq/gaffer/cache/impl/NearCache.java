@@ -0,0 +1,206 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ObservableCache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+
+/**
+ * <p>
+ * An {@link ICache} which keeps a local copy of recently read entries in front of
+ * a backing cache, so repeated reads of the same key do not go to the backing
+ * cache. All writes go straight to the backing cache and invalidate the local copy.
+ * </p>
+ * <p>
+ * If the backing cache is an {@link ObservableCache}, local copies are also
+ * invalidated when entries are changed by other clients of the backing cache.
+ * Otherwise they can be out of date for up to the time to live of the local cache.
+ * Each invalidation increases a version stamp, and a value read from the backing
+ * cache is only kept locally if no invalidation happened whilst it was read.
+ * </p>
+ * <p>
+ * Listing and counting entries always reads the backing cache.
+ * </p>
+ *
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
+ */
+public class NearCache<K, V> implements ICache<K, V> {
+    private final ICache<K, V> backingCache;
+    private final ICache<K, V> localCache;
+    private final AtomicLong version = new AtomicLong();
+    private final Consumer<K> changeListener = this::invalidate;
+
+    public NearCache(final ICache<K, V> backingCache, final ICache<K, V> localCache) {
+        if (isNull(backingCache)) {
+            throw new IllegalArgumentException("Backing cache is required");
+        }
+        if (isNull(localCache)) {
+            throw new IllegalArgumentException("Local cache is required");
+        }
+        this.backingCache = backingCache;
+        this.localCache = localCache;
+        if (backingCache instanceof ObservableCache) {
+            ((ObservableCache<K, V>) backingCache).addChangeListener(changeListener);
+        }
+    }
+
+    @Override
+    public V get(final K key) throws CacheOperationException {
+        V value = localCache.get(key);
+        if (isNull(value)) {
+            final long readVersion = version.get();
+            value = backingCache.get(key);
+            if (null != value) {
+                putLocal(key, value, readVersion);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(final Iterable<K> keys) throws CacheOperationException {
+        final Map<K, V> values = new HashMap<>();
+        final List<K> missingKeys = new ArrayList<>();
+        for (final K key : keys) {
+            final V value = localCache.get(key);
+            if (null != value) {
+                values.put(key, value);
+            } else {
+                missingKeys.add(key);
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            final long readVersion = version.get();
+            final Map<K, V> backingValues = backingCache.getAll(missingKeys);
+            for (final Map.Entry<K, V> entry : backingValues.entrySet()) {
+                putLocal(entry.getKey(), entry.getValue(), readVersion);
+            }
+            values.putAll(backingValues);
+        }
+        return values;
+    }
+
+    @Override
+    public void put(final K key, final V value) throws CacheOperationException {
+        try {
+            backingCache.put(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void putSafe(final K key, final V value) throws OverwritingException, CacheOperationException {
+        try {
+            backingCache.putSafe(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+        try {
+            backingCache.remove(key);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Iterable<V> getAllValues() {
+        return backingCache.getAllValues();
+    }
+
+    @Override
+    public Iterable<K> getAllKeys() {
+        return backingCache.getAllKeys();
+    }
+
+    @Override
+    public int size() {
+        return backingCache.size();
+    }
+
+    @Override
+    public void clear() throws CacheOperationException {
+        try {
+            backingCache.clear();
+        } finally {
+            invalidate(null);
+        }
+    }
+
+    public ICache<K, V> getBackingCache() {
+        return backingCache;
+    }
+
+    public ICache<K, V> getLocalCache() {
+        return localCache;
+    }
+
+    /**
+     * Remove the local copy of an entry.
+     *
+     * @param key the key of the entry, or null to remove all local copies
+     */
+    public void invalidate(final K key) {
+        version.incrementAndGet();
+        if (isNull(key)) {
+            try {
+                localCache.clear();
+            } catch (final CacheOperationException e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            localCache.remove(key);
+        }
+    }
+
+    /**
+     * Stop listening for changes to an {@link ObservableCache} backing cache. This
+     * should be called when the near cache is no longer used, as the backing cache
+     * would otherwise keep calling it.
+     */
+    public void removeChangeListener() {
+        if (backingCache instanceof ObservableCache) {
+            ((ObservableCache<K, V>) backingCache).removeChangeListener(changeListener);
+        }
+    }
+
+    private void putLocal(final K key, final V value, final long readVersion) throws CacheOperationException {
+        // Don't keep a value that may have been invalidated whilst it was read
+        if (version.get() == readVersion) {
+            localCache.put(key, value);
+            if (version.get() != readVersion) {
+                localCache.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+import uk.gov.gchq.gaffer.cache.impl.BoundedCache.EvictionPolicy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of the {@link ICacheService} interface which wraps the caches of
+ * another cache service in a {@link NearCache}, so entries which are read often are
+ * kept locally in a {@link BoundedCache}. This is intended to be used in front of a
+ * distributed cache service, such as the Hazelcast or JCS cache services, for
+ * entries which change rarely, such as named operations and named views.
+ * <p>
+ * The backing cache service is set with {@link #BACKING_SERVICE_CLASS} and is
+ * initialised with the same properties as this service.
+ * </p>
+ */
+public class NearCacheService implements ICacheService {
+    public static final String BACKING_SERVICE_CLASS = "gaffer.cache.near.backing.class";
+    public static final String MAX_SIZE = "gaffer.cache.near.maxSize";
+    public static final String MAX_SIZE_DEFAULT = "1000";
+    public static final String TTL_MILLIS = "gaffer.cache.near.ttlMillis";
+    public static final String TTL_MILLIS_DEFAULT = "60000";
+    public static final String SERIALISE_VALUES = "gaffer.cache.near.serialiseValues";
+    public static final String SERIALISE_VALUES_DEFAULT = "false";
+
+    private final ConcurrentHashMap<String, NearCache> caches = new ConcurrentHashMap<>();
+    private ICacheService backingService;
+    private int maxSize;
+    private long ttlMillis;
+    private boolean serialiseValues;
+
+    @Override
+    public void initialise(final Properties properties) {
+        final Properties props = null != properties ? properties : new Properties();
+        final String backingServiceClass = props.getProperty(BACKING_SERVICE_CLASS);
+        if (null == backingServiceClass) {
+            throw new IllegalArgumentException("Failed to instantiate near cache, " + BACKING_SERVICE_CLASS + " was not set");
+        }
+        try {
+            backingService = Class.forName(backingServiceClass).asSubclass(ICacheService.class).getDeclaredConstructor().newInstance();
+        } catch (final InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException
+                | ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException("Failed to instantiate near cache using backing class " + backingServiceClass, e);
+        }
+        backingService.initialise(properties);
+
+        maxSize = Integer.parseInt(props.getProperty(MAX_SIZE, MAX_SIZE_DEFAULT));
+        ttlMillis = Long.parseLong(props.getProperty(TTL_MILLIS, TTL_MILLIS_DEFAULT));
+        serialiseValues = Boolean.parseBoolean(props.getProperty(SERIALISE_VALUES, SERIALISE_VALUES_DEFAULT));
+    }
+
+    @Override
+    public void shutdown() {
+        caches.values().forEach(NearCache::removeChangeListener);
+        caches.clear();
+        if (null != backingService) {
+            backingService.shutdown();
+        }
+    }
+
+    @Override
+    public <K, V> ICache<K, V> getCache(final String cacheName) {
+        if (null == backingService) {
+            return null;
+        }
+        return caches.computeIfAbsent(cacheName, name -> {
+            final ICache<K, V> backingCache = backingService.getCache(name);
+            return null != backingCache
+                    ? new NearCache<>(backingCache, new BoundedCache<>(maxSize, ttlMillis, EvictionPolicy.LRU, serialiseValues))
+                    : null;
+        });
+    }
+
+    public ICacheService getBackingService() {
+        return backingService;
+    }
+}
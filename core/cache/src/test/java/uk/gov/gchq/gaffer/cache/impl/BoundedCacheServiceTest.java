@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheServiceTest {
+
+    private static final String CACHE_NAME = "test";
+
+    private final BoundedCacheService service = new BoundedCacheService();
+
+    @AfterEach
+    void after() {
+        service.shutdown();
+        CacheServiceLoader.shutdown();
+    }
+
+    @Test
+    void shouldReUseCacheIfOneExists() throws CacheOperationException {
+        // Given
+        service.initialise(null);
+        final ICache<String, Integer> cache = service.getCache(CACHE_NAME);
+        cache.put("key", 1);
+
+        // When
+        final ICache<String, Integer> sameCache = service.getCache(CACHE_NAME);
+
+        // Then
+        assertThat(sameCache).isInstanceOf(BoundedCache.class);
+        assertThat(sameCache.get("key")).isOne();
+    }
+
+    @Test
+    void shouldConfigureCachesFromProperties() throws CacheOperationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(BoundedCacheService.MAX_SIZE, "2");
+        properties.setProperty(BoundedCacheService.EVICTION_POLICY, "lfu");
+        service.initialise(properties);
+
+        // When
+        service.putInCache(CACHE_NAME, "key1", 1);
+        service.getFromCache(CACHE_NAME, "key1");
+        service.putInCache(CACHE_NAME, "key2", 2);
+        service.putInCache(CACHE_NAME, "key3", 3);
+
+        // Then
+        assertThat(service.getAllKeysFromCache(CACHE_NAME)).containsExactlyInAnyOrder("key1", "key3");
+    }
+
+    @Test
+    void shouldNotEvictEntriesByDefault() throws CacheOperationException {
+        // Given
+        service.initialise(null);
+
+        // When
+        for (int i = 0; i < 20000; i++) {
+            service.putInCache(CACHE_NAME, "key" + i, i);
+        }
+
+        // Then
+        assertThat(service.sizeOfCache(CACHE_NAME)).isEqualTo(20000);
+    }
+
+    @Test
+    void shouldOverrideMaxSizeForNamedCache() throws CacheOperationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(BoundedCacheService.MAX_SIZE + "." + CACHE_NAME, "2");
+        service.initialise(properties);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            service.putInCache(CACHE_NAME, "key" + i, i);
+            service.putInCache("other", "key" + i, i);
+        }
+
+        // Then
+        assertThat(service.sizeOfCache(CACHE_NAME)).isLessThanOrEqualTo(2);
+        assertThat(service.sizeOfCache("other")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldBeSelectableAsDefaultCacheService() {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_SERVICE_DEFAULT_CLASS, BoundedCacheService.class.getName());
+
+        // When
+        CacheServiceLoader.initialise(properties);
+
+        // Then
+        assertThat(CacheServiceLoader.getDefaultService()).isInstanceOf(BoundedCacheService.class);
+    }
+}
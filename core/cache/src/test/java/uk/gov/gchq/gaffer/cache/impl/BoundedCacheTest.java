@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.impl.BoundedCache.EvictionPolicy;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntries() throws CacheOperationException {
+        // Given
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(3, -1, EvictionPolicy.LRU, false);
+        cache.put("key1", 1);
+        cache.put("key2", 2);
+        cache.put("key3", 3);
+        cache.get("key1");
+
+        // When
+        cache.put("key4", 4);
+
+        // Then
+        assertThat(cache.getAllKeys()).containsExactlyInAnyOrder("key1", "key3", "key4");
+        assertThat(cache.getEvictionCount()).isOne();
+    }
+
+    @Test
+    public void shouldEvictLeastFrequentlyUsedEntries() throws CacheOperationException {
+        // Given
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(3, -1, EvictionPolicy.LFU, false);
+        cache.put("key1", 1);
+        cache.put("key2", 2);
+        cache.put("key3", 3);
+        cache.get("key1");
+        cache.get("key1");
+        cache.get("key2");
+        cache.get("key2");
+        cache.get("key3");
+
+        // When
+        cache.put("key4", 4);
+
+        // Then
+        assertThat(cache.getAllKeys()).containsExactlyInAnyOrder("key1", "key2", "key4");
+    }
+
+    @Test
+    public void shouldEvictInBatchesOfATenthOfMaxSize() throws CacheOperationException {
+        // Given
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(100, -1, EvictionPolicy.LRU, false);
+        for (int i = 0; i < 100; i++) {
+            cache.put("key" + i, i);
+        }
+
+        // When
+        cache.put("key100", 100);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(90);
+        assertThat(cache.get("key100")).isEqualTo(100);
+        assertThat(cache.get("key0")).isNull();
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTtl() throws CacheOperationException {
+        // Given
+        final AtomicLong clock = new AtomicLong();
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(10, 1000, EvictionPolicy.LRU, false, clock::get);
+        cache.put("key1", 1);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        cache.put("key2", 2);
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+
+        // Then
+        assertThat(cache.get("key1")).isNull();
+        assertThat(cache.get("key2")).isEqualTo(2);
+        assertThat(cache.getAllKeys()).containsExactly("key2");
+        assertThat(cache.size()).isOne();
+    }
+
+    @Test
+    public void shouldReplaceExpiredEntryWhenUsingPutSafe() throws CacheOperationException {
+        // Given
+        final AtomicLong clock = new AtomicLong();
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(10, 1000, EvictionPolicy.LRU, false, clock::get);
+        cache.put("key", 1);
+
+        // When / Then
+        assertThatExceptionOfType(OverwritingException.class)
+                .isThrownBy(() -> cache.putSafe("key", 2))
+                .withMessage("Cache entry already exists for key: key");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        cache.putSafe("key", 3);
+        assertThat(cache.get("key")).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() throws CacheOperationException {
+        // Given
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(10, -1, EvictionPolicy.LRU, false);
+        cache.put("key", 1);
+
+        // When
+        cache.get("key");
+        cache.get("key");
+        cache.get("missing");
+
+        // Then
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isOne();
+        assertThat(cache.getEvictionCount()).isZero();
+    }
+
+    @Test
+    public void shouldSerialiseValuesSoCachedValuesCannotBeModified() throws CacheOperationException {
+        // Given
+        final BoundedCache<String, List<String>> cache = new BoundedCache<>(10, -1, EvictionPolicy.LRU, true);
+        final List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+        cache.put("key", value);
+
+        // When
+        value.add("c");
+        cache.get("key").add("d");
+
+        // Then
+        assertThat(cache.get("key")).containsExactly("a", "b");
+        assertThat(cache.getAllValues()).containsExactly(Arrays.asList("a", "b"));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenAddingNullKeyOrValue() {
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(10, -1, EvictionPolicy.LRU, false);
+
+        assertThatExceptionOfType(CacheOperationException.class)
+                .isThrownBy(() -> cache.put(null, 1))
+                .withMessage("Cache keys must not be null");
+        assertThatExceptionOfType(CacheOperationException.class)
+                .isThrownBy(() -> cache.put("key", null))
+                .withMessage("Cache values must not be null");
+    }
+
+    @Test
+    public void shouldStayWithinMaxSizeWhenWrittenConcurrently() throws Exception {
+        // Given
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(50, -1, EvictionPolicy.LFU, false);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final int offset = thread * 1000;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        cache.put("key" + (offset + i), i);
+                        cache.get("key" + (offset + i / 2));
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(50);
+        assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(4000);
+    }
+}
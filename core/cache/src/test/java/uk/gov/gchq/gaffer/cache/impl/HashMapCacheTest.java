@@ -20,8 +20,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 
+import java.util.Arrays;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -48,6 +51,18 @@ public class HashMapCacheTest {
         assertEquals(new Integer(2), cache.get("key"));
     }
 
+    @Test
+    public void shouldGetAllEntriesFromCacheUsingKeys() throws CacheOperationException {
+        cache.put("key1", 1);
+        cache.put("key2", 2);
+        cache.put("key3", 3);
+
+        assertThat(cache.getAll(Arrays.asList("key1", "key3", "missing")))
+                .containsOnlyKeys("key1", "key3")
+                .containsEntry("key1", 1)
+                .containsEntry("key3", 3);
+    }
+
     @Test
     public void shouldDeleteCachedEntriesByKeyName() {
         cache.put("key", 3);
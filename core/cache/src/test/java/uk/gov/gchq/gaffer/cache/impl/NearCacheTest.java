@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ObservableCache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.impl.BoundedCache.EvictionPolicy;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NearCacheTest {
+    private CountingCache backingCache;
+    private NearCache<String, Integer> nearCache;
+
+    @BeforeEach
+    public void before() {
+        backingCache = new CountingCache();
+        nearCache = new NearCache<>(backingCache, new BoundedCache<>(10, -1, EvictionPolicy.LRU, false));
+    }
+
+    @AfterEach
+    public void after() {
+        CacheServiceLoader.shutdown();
+    }
+
+    @Test
+    public void shouldOnlyReadBackingCacheOnce() throws CacheOperationException {
+        // Given
+        nearCache.put("key", 1);
+
+        // When
+        nearCache.get("key");
+        nearCache.get("key");
+        nearCache.get("key");
+
+        // Then
+        assertThat(nearCache.get("key")).isOne();
+        assertThat(backingCache.reads).isOne();
+    }
+
+    @Test
+    public void shouldInvalidateLocalCopyOnWrite() throws CacheOperationException {
+        // Given
+        nearCache.put("key", 1);
+        nearCache.get("key");
+
+        // When
+        nearCache.put("key", 2);
+
+        // Then
+        assertThat(nearCache.get("key")).isEqualTo(2);
+        assertThat(backingCache.reads).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldInvalidateLocalCopyWhenBackingCacheChanges() throws CacheOperationException {
+        // Given
+        nearCache.put("key1", 1);
+        nearCache.put("key2", 2);
+        nearCache.get("key1");
+        nearCache.get("key2");
+
+        // When
+        backingCache.put("key1", 10);
+        backingCache.clear();
+        backingCache.put("key2", 20);
+
+        // Then
+        assertThat(nearCache.get("key1")).isNull();
+        assertThat(nearCache.get("key2")).isEqualTo(20);
+    }
+
+    @Test
+    public void shouldRemoveChangeListenerFromBackingCache() {
+        // When
+        nearCache.removeChangeListener();
+
+        // Then
+        assertThat(backingCache.listeners).isEmpty();
+    }
+
+    @Test
+    public void shouldGetAllFromLocalAndBackingCaches() throws CacheOperationException {
+        // Given
+        nearCache.put("key1", 1);
+        nearCache.put("key2", 2);
+        nearCache.get("key1");
+
+        // When
+        final Map<String, Integer> values = nearCache.getAll(Arrays.asList("key1", "key2", "missing"));
+
+        // Then
+        assertThat(values).containsOnlyKeys("key1", "key2").containsEntry("key2", 2);
+        assertThat(backingCache.reads).isEqualTo(3);
+        assertThat(nearCache.get("key2")).isEqualTo(2);
+        assertThat(backingCache.reads).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldWrapBackingCacheServiceCaches() throws CacheOperationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_SERVICE_DEFAULT_CLASS, NearCacheService.class.getName());
+        properties.setProperty(NearCacheService.BACKING_SERVICE_CLASS, HashMapCacheService.class.getName());
+        CacheServiceLoader.initialise(properties);
+
+        // When
+        CacheServiceLoader.getDefaultService().putInCache("test", "key", 1);
+        final ICache<String, Integer> cache = CacheServiceLoader.getDefaultService().getCache("test");
+
+        // Then
+        assertThat(cache).isInstanceOf(NearCache.class);
+        assertThat(((NearCache<String, Integer>) cache).getBackingCache()).isInstanceOf(HashMapCache.class);
+        assertThat(cache.get("key")).isOne();
+    }
+
+    private static final class CountingCache extends HashMapCache<String, Integer> implements ObservableCache<String, Integer> {
+        private final List<Consumer<String>> listeners = new ArrayList<>();
+        private int reads;
+
+        @Override
+        public Integer get(final String key) {
+            reads++;
+            return super.get(key);
+        }
+
+        @Override
+        public void put(final String key, final Integer value) {
+            super.put(key, value);
+            listeners.forEach(listener -> listener.accept(key));
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            listeners.forEach(listener -> listener.accept(null));
+        }
+
+        @Override
+        public void addChangeListener(final Consumer<String> listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeChangeListener(final Consumer<String> listener) {
+            listeners.remove(listener);
+        }
+    }
+}
@@ -17,7 +17,6 @@
 package uk.gov.gchq.gaffer.commonutil;
 
 import java.security.InvalidParameterException;
-import java.util.Arrays;
 
 /**
  * Removes the 0 byte from a byte array. Preserves ordering.
@@ -44,14 +43,20 @@ public final class ByteArrayEscapeUtils {
      * @return the escaped byte array
      */
     public static byte[] escape(final byte[] bytes, final byte... appendAfterEscaping) {
-        final byte[] temp = new byte[(2 * bytes.length) + ((null == appendAfterEscaping) ? 0 : appendAfterEscaping.length)];
-        int currentPosition = escape(bytes, temp, 0);
-        if (null != appendAfterEscaping) {
-            for (final byte b : appendAfterEscaping) {
-                temp[currentPosition++] = b;
+        // Size the result exactly, rather than escaping into a worst case sized array and copying it
+        int escapedLength = bytes.length;
+        for (final byte b : bytes) {
+            if (ESCAPE_CHAR == b || DELIMITER == b) {
+                escapedLength++;
             }
         }
-        return Arrays.copyOfRange(temp, 0, currentPosition);
+        final int appendLength = (null == appendAfterEscaping) ? 0 : appendAfterEscaping.length;
+        final byte[] escaped = new byte[escapedLength + appendLength];
+        final int currentPosition = escape(bytes, escaped, 0);
+        if (appendLength > 0) {
+            System.arraycopy(appendAfterEscaping, 0, escaped, currentPosition, appendLength);
+        }
+        return escaped;
     }
 
     private static int escape(final byte[] bytes, final byte[] temp, final int position) {
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A {@code PipelinedIterable} iterates over a source {@link Iterable} on a
+ * separate thread, handing the items to the consumer through a bounded queue.
+ * This allows the work done to produce the items to overlap with the work done
+ * to consume them. When the queue is full the producer waits for the consumer
+ * to catch up.
+ * </p>
+ * <p>
+ * Each call to {@link #iterator()} starts a new producer task on the executor.
+ * If the executor rejects the task, for example because all of its threads are
+ * busy, the source is iterated over directly on the consuming thread instead.
+ * Any exception thrown whilst iterating over the source is rethrown to the
+ * consumer. Closing this iterable or one of its iterators stops the producers,
+ * so iterators that are not fully consumed should be closed.
+ * </p>
+ * <p>
+ * If an iterator is not read to the end and not closed, its producer stops once
+ * the iterator has been garbage collected, or once it has been unable to add to
+ * the full queue for the consumer timeout. An iterator whose producer stopped
+ * because of the timeout throws an exception rather than returning partial results.
+ * </p>
+ *
+ * @param <T> the type of the iterable.
+ */
+public class PipelinedIterable<T> implements Closeable, Iterable<T> {
+    public static final long DEFAULT_CONSUMER_TIMEOUT_MILLIS = 300000L;
+
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+    private static final Object NULL_ITEM = new Object();
+
+    private final Iterable<T> source;
+    private final Executor executor;
+    private final int bufferSize;
+    private final long consumerTimeoutMillis;
+    private final Set<Pipe> pipes = ConcurrentHashMap.newKeySet();
+
+    public PipelinedIterable(final Iterable<T> source, final Executor executor, final int bufferSize) {
+        this(source, executor, bufferSize, DEFAULT_CONSUMER_TIMEOUT_MILLIS);
+    }
+
+    public PipelinedIterable(final Iterable<T> source, final Executor executor, final int bufferSize, final long consumerTimeoutMillis) {
+        if (null == source) {
+            throw new IllegalArgumentException("Source iterable is required");
+        }
+        if (null == executor) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1 but was " + bufferSize);
+        }
+        this.source = source;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.consumerTimeoutMillis = consumerTimeoutMillis;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final Pipe pipe = new Pipe(bufferSize);
+        final PipelinedIterator iterator = new PipelinedIterator(pipe);
+        // The producer must not capture the iterator, otherwise it could never be garbage collected
+        final WeakReference<PipelinedIterator> consumer = new WeakReference<>(iterator);
+        final PipelinedIterable<T> iterable = this;
+        pipes.add(pipe);
+        try {
+            executor.execute(() -> iterable.produce(pipe, consumer));
+        } catch (final RejectedExecutionException e) {
+            pipes.remove(pipe);
+            return source.iterator();
+        }
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        pipes.forEach(Pipe::close);
+        pipes.clear();
+        CloseableUtil.close(source);
+    }
+
+    private void produce(final Pipe pipe, final WeakReference<?> consumer) {
+        Throwable failure = null;
+        final Iterator<T> sourceIterator = source.iterator();
+        try {
+            while (!pipe.closed && sourceIterator.hasNext()) {
+                final T item = sourceIterator.next();
+                offer(pipe, consumer, null == item ? NULL_ITEM : item);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (final RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            CloseableUtil.close(sourceIterator);
+        }
+
+        try {
+            offer(pipe, consumer, new End(failure));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pipe.closed) {
+            pipes.remove(pipe);
+        }
+    }
+
+    // Waits for space in the queue, giving up if the consumer closes, drops or stops reading the iterator
+    private void offer(final Pipe pipe, final WeakReference<?> consumer, final Object item) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + consumerTimeoutMillis;
+        while (!pipe.closed) {
+            if (pipe.queue.offer(item, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            if (null == consumer.get()) {
+                pipe.close();
+            } else if (System.currentTimeMillis() > deadline) {
+                pipe.timedOut = true;
+                pipe.close();
+            }
+        }
+    }
+
+    private static final class End {
+        private final Throwable failure;
+
+        private End(final Throwable failure) {
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * The state shared by an iterator and its producer.
+     */
+    private static final class Pipe {
+        private final BlockingQueue<Object> queue;
+        private volatile boolean closed;
+        private volatile boolean timedOut;
+
+        private Pipe(final int bufferSize) {
+            queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void close() {
+            closed = true;
+            queue.clear();
+        }
+    }
+
+    private final class PipelinedIterator implements Iterator<T>, Closeable {
+        private final Pipe pipe;
+        private Object nextItem;
+        private boolean finished;
+
+        private PipelinedIterator(final Pipe pipe) {
+            this.pipe = pipe;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != nextItem) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+
+            Object item = null;
+            try {
+                while (null == item) {
+                    // Check before polling, as a producer that was mid offer may add an item after the pipe is closed
+                    if (pipe.timedOut) {
+                        close();
+                        throw new RuntimeException("Items were not read within " + consumerTimeoutMillis
+                                + "ms, so the pipeline was stopped");
+                    }
+                    if (pipe.closed) {
+                        finished = true;
+                        return false;
+                    }
+                    item = pipe.queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException("Interrupted whilst waiting for the next item", e);
+            }
+
+            if (item instanceof End) {
+                close();
+                final Throwable failure = ((End) item).failure;
+                if (failure instanceof RuntimeException) {
+                    throw (RuntimeException) failure;
+                }
+                if (failure instanceof Error) {
+                    throw (Error) failure;
+                }
+                if (null != failure) {
+                    throw new RuntimeException("Failed to iterate over the source", failure);
+                }
+                return false;
+            }
+
+            nextItem = item;
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items");
+            }
+            final Object item = nextItem;
+            nextItem = null;
+            return NULL_ITEM == item ? null : (T) item;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            nextItem = null;
+            pipe.close();
+            pipes.remove(pipe);
+        }
+    }
+}
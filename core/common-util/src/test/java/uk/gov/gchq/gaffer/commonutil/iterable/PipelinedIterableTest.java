@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class PipelinedIterableTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void before() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldIterateOverSourceOnAnotherThread() {
+        // Given
+        final AtomicReference<Thread> producerThread = new AtomicReference<>();
+        final Iterable<Integer> source = () -> {
+            producerThread.set(Thread.currentThread());
+            return IntStream.range(0, 100).iterator();
+        };
+
+        // When
+        final PipelinedIterable<Integer> iterable = new PipelinedIterable<>(source, executor, 10);
+
+        // Then
+        assertThat(iterable).containsExactlyElementsOf(() -> IntStream.range(0, 100).iterator());
+        assertThat(producerThread.get()).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void shouldAllowMultipleIterationsAndNullItems() {
+        // Given
+        final PipelinedIterable<String> iterable = new PipelinedIterable<>(Arrays.asList("a", null, "b"), executor, 1);
+
+        // When / Then
+        assertThat(iterable).containsExactly("a", null, "b");
+        assertThat(iterable).containsExactly("a", null, "b");
+    }
+
+    @Test
+    public void shouldRethrowSourceExceptionsToTheConsumer() {
+        // Given
+        final Iterable<Integer> source = () -> new Iterator<Integer>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (count == 2) {
+                    throw new IllegalStateException("Source failed");
+                }
+                return count++;
+            }
+        };
+        final Iterator<Integer> iterator = new PipelinedIterable<>(source, executor, 10).iterator();
+
+        // When
+        assertThat(iterator.next()).isZero();
+        assertThat(iterator.next()).isOne();
+
+        // Then
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(iterator::hasNext)
+                .withMessage("Source failed");
+    }
+
+    @Test
+    public void shouldStopProducingWhenClosed() throws InterruptedException {
+        // Given
+        final AtomicInteger produced = new AtomicInteger();
+        final Iterable<Integer> source = () -> IntStream.iterate(0, i -> i + 1)
+                .peek(i -> produced.incrementAndGet())
+                .iterator();
+        final PipelinedIterable<Integer> iterable = new PipelinedIterable<>(source, executor, 5);
+        final Iterator<Integer> iterator = iterable.iterator();
+        assertThat(iterator.next()).isZero();
+
+        // When
+        CloseableUtil.close(iterable);
+        executor.shutdown();
+
+        // Then
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(produced.get()).isLessThanOrEqualTo(7);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldStopProducingWhenConsumerTimesOut() throws InterruptedException {
+        // Given
+        final Iterable<Integer> source = () -> IntStream.iterate(0, i -> i + 1).iterator();
+        final Iterator<Integer> iterator = new PipelinedIterable<>(source, executor, 2, 100).iterator();
+        assertThat(iterator.next()).isZero();
+
+        // When
+        executor.shutdown();
+
+        // Then
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> {
+                    while (iterator.hasNext()) {
+                        iterator.next();
+                    }
+                })
+                .withMessage("Items were not read within 100ms, so the pipeline was stopped");
+    }
+
+    @Test
+    public void shouldStopProducingWhenIteratorIsGarbageCollected() throws InterruptedException {
+        // Given
+        final Iterable<Integer> source = () -> IntStream.iterate(0, i -> i + 1).iterator();
+        Iterator<Integer> iterator = new PipelinedIterable<>(source, executor, 2).iterator();
+        assertThat(iterator.next()).isZero();
+
+        // When
+        iterator = null;
+        executor.shutdown();
+
+        // Then
+        boolean terminated = false;
+        for (int i = 0; i < 100 && !terminated; i++) {
+            System.gc();
+            terminated = executor.awaitTermination(100, TimeUnit.MILLISECONDS);
+        }
+        assertThat(terminated).isTrue();
+    }
+
+    @Test
+    public void shouldIterateOnConsumingThreadWhenExecutorRejectsTheProducer() {
+        // Given
+        final AtomicReference<Thread> producerThread = new AtomicReference<>();
+        final Iterable<Integer> source = () -> {
+            producerThread.set(Thread.currentThread());
+            return IntStream.range(0, 10).iterator();
+        };
+        executor.shutdown();
+
+        // When
+        final PipelinedIterable<Integer> iterable = new PipelinedIterable<>(source, executor, 2);
+
+        // Then
+        assertThat(iterable).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(producerThread.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void shouldRejectInvalidBufferSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new PipelinedIterable<>(Arrays.asList(1, 2), executor, 0))
+                .withMessage("Buffer size must be at least 1 but was 0");
+    }
+}
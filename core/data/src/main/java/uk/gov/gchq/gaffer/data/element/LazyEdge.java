@@ -131,6 +131,17 @@ public class LazyEdge extends Edge {
         return edge.hashCode();
     }
 
+    /**
+     * Forgets the identifiers and properties that have been loaded, so they are loaded
+     * again using the {@link uk.gov.gchq.gaffer.data.element.ElementValueLoader} when
+     * next requested. This allows the lazy edge to be reused once the value loader
+     * has been pointed at a different edge.
+     */
+    public void unload() {
+        identifiersLoaded = false;
+        lazyProperties.clear();
+    }
+
     private void loadIdentifiers() {
         if (!identifiersLoaded) {
             valueLoader.loadIdentifiers(edge);
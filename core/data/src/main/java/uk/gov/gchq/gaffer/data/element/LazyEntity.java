@@ -100,6 +100,17 @@ public class LazyEntity extends Entity {
         return entity.hashCode();
     }
 
+    /**
+     * Forgets the identifiers and properties that have been loaded, so they are loaded
+     * again using the {@link uk.gov.gchq.gaffer.data.element.ElementValueLoader} when
+     * next requested. This allows the lazy entity to be reused once the value loader
+     * has been pointed at a different entity.
+     */
+    public void unload() {
+        identifiersLoaded = false;
+        lazyProperties.clear();
+    }
+
     private void loadIdentifiers() {
         if (!identifiersLoaded) {
             valueLoader.loadIdentifiers(entity);
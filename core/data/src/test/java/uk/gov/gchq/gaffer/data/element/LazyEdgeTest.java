@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class LazyEdgeTest {
@@ -185,4 +186,25 @@ public class LazyEdgeTest {
         // Then
         assertSame(edge, result);
     }
+
+    @Test
+    public void shouldLoadIdentifiersAndPropertiesAgainWhenUnloaded() {
+        // Given
+        final Edge edge = new Edge.Builder().build();
+        final ElementValueLoader edgeLoader = mock(ElementValueLoader.class);
+        final LazyEdge lazyEdge = new LazyEdge(edge, edgeLoader);
+        final String propertyName = "property name";
+        given(edgeLoader.getProperty(propertyName, lazyEdge.getProperties())).willReturn("property value");
+        lazyEdge.getSource();
+        lazyEdge.getProperty(propertyName);
+
+        // When
+        lazyEdge.unload();
+        lazyEdge.getSource();
+        lazyEdge.getProperty(propertyName);
+
+        // Then
+        verify(edgeLoader, times(2)).loadIdentifiers(edge);
+        verify(edgeLoader, times(2)).getProperty(propertyName, lazyEdge.getProperties());
+    }
 }
@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class LazyEntityTest {
@@ -165,4 +166,25 @@ public class LazyEntityTest {
         // Then
         assertSame(entity, result);
     }
+
+    @Test
+    public void shouldLoadIdentifiersAndPropertiesAgainWhenUnloaded() {
+        // Given
+        final Entity entity = new Entity("group");
+        final ElementValueLoader entityLoader = mock(ElementValueLoader.class);
+        final LazyEntity lazyEntity = new LazyEntity(entity, entityLoader);
+        final String propertyName = "property name";
+        given(entityLoader.getProperty(propertyName, lazyEntity.getProperties())).willReturn("property value");
+        lazyEntity.getVertex();
+        lazyEntity.getProperty(propertyName);
+
+        // When
+        lazyEntity.unload();
+        lazyEntity.getVertex();
+        lazyEntity.getProperty(propertyName);
+
+        // Then
+        verify(entityLoader, times(2)).loadIdentifiers(entity);
+        verify(entityLoader, times(2)).getProperty(propertyName, lazyEntity.getProperties());
+    }
 }
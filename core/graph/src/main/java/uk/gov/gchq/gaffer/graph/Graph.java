@@ -496,6 +496,14 @@ public final class Graph {
         return store.getCaches();
     }
 
+    /**
+     * Closes the store, releasing any resources it holds. The Graph should not
+     * be used after it is closed.
+     */
+    public void close() {
+        store.close();
+    }
+
     @FunctionalInterface
     private interface StoreExecuter<O> {
         O execute(final OperationChain<O> operation, final Context context) throws OperationException;
@@ -20,25 +20,67 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.cache.Cache;
+import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
-import java.util.stream.StreamSupport;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
+ * <p>
  * A {@code JobTracker} is an entry in a Gaffer cache service which is used to store
  * details of jobs submitted to the graph.
+ * </p>
+ * <p>
+ * Secondary indexes of job IDs by status, user ID and parent job ID are kept in
+ * memory, so jobs can be looked up without reading every entry in the cache. The
+ * indexes are built from a single bulk read of the cache when first needed, kept
+ * up to date as jobs are added or updated through this tracker and rebuilt whenever
+ * all jobs are read. Jobs found through an index are fetched from the cache in a
+ * single batch, and are checked against the cached details so an index entry that
+ * has been changed by another tracker sharing the cache is never returned.
+ * </p>
+ * <p>
+ * Every tracker sharing the cache changes a version held in the cache whenever it
+ * adds or updates a job. The indexes are rebuilt before they are used if the version
+ * is not the one they were built or last updated at, so jobs added or updated by
+ * another tracker sharing a distributed cache are always found.
+ * </p>
+ * <p>
+ * If a finished job time to live is set, jobs which finished, failed or were
+ * cancelled longer ago than that are removed from the cache as new jobs are added.
+ * </p>
  */
 public class JobTracker extends Cache<String, JobDetail> {
     private static final Logger LOGGER = LoggerFactory.getLogger(JobTracker.class);
     private static final String CACHE_SERVICE_NAME_PREFIX = "JobTracker";
+    private static final String VERSION_CACHE_SERVICE_NAME_PREFIX = "JobTrackerVersion";
+    private static final String VERSION_KEY = "version";
     public static final String JOB_TRACKER_CACHE_SERVICE_NAME = "JobTracker";
+    public static final long NO_FINISHED_JOB_TTL = -1L;
+
+    private static final Set<JobStatus> FINISHED_STATUSES = Collections.unmodifiableSet(
+            EnumSet.of(JobStatus.FINISHED, JobStatus.FAILED, JobStatus.CANCELLED));
+    private static final long EXPIRY_CHECK_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
 
     /**
      * Executor to allow queuing up async operations on the cache.
@@ -46,11 +88,33 @@ public class JobTracker extends Cache<String, JobDetail> {
      * thread, which would impact overall operation performance. Gets from the
      * cache are executed in the pool, but as it has a thread size of one they wait
      * until all queued up executions finish to prevent race conditions.
+     * The indexes are only read and written on this thread.
      */
     private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>());
 
+    private final long finishedJobTtlMillis;
+    private final VersionCache versionCache;
+    private final Map<String, IndexEntry> indexEntries = new HashMap<>();
+    private final Map<JobStatus, Set<String>> jobIdsByStatus = new EnumMap<>(JobStatus.class);
+    private final Map<String, Set<String>> jobIdsByUser = new HashMap<>();
+    private final Map<String, Set<String>> jobIdsByParent = new HashMap<>();
+    private boolean indexed;
+    private String indexedVersion;
+    private long lastExpiryCheck;
+
     public JobTracker(final String suffixJobTrackerCacheName) {
+        this(suffixJobTrackerCacheName, NO_FINISHED_JOB_TTL);
+    }
+
+    /**
+     * @param suffixJobTrackerCacheName the suffix of the job tracker cache name
+     * @param finishedJobTtlMillis      how long to keep finished, failed and cancelled
+     *                                  jobs for, or a negative number to keep them forever
+     */
+    public JobTracker(final String suffixJobTrackerCacheName, final long finishedJobTtlMillis) {
         super(getCacheNameFrom(suffixJobTrackerCacheName), JOB_TRACKER_CACHE_SERVICE_NAME);
+        this.finishedJobTtlMillis = finishedJobTtlMillis;
+        this.versionCache = new VersionCache(Cache.getCacheNameFrom(VERSION_CACHE_SERVICE_NAME_PREFIX, suffixJobTrackerCacheName));
     }
 
     public static String getCacheNameFrom(final String suffixJobTrackerCacheName) {
@@ -61,6 +125,10 @@ public class JobTracker extends Cache<String, JobDetail> {
         return getSuffixCacheNameWithoutPrefix(CACHE_SERVICE_NAME_PREFIX);
     }
 
+    public long getFinishedJobTtlMillis() {
+        return finishedJobTtlMillis;
+    }
+
     /**
      * Add or update the job details relating to a job in the job tracker cache.
      *
@@ -71,10 +139,19 @@ public class JobTracker extends Cache<String, JobDetail> {
         validateJobDetail(jobDetail);
         executor.submit(() -> {
             try {
+                final String previousVersion = versionCache.getVersion();
                 super.addToCache(jobDetail.getJobId(), jobDetail, true);
+                final String version = versionCache.update();
+                // Until the indexes are built, or if another tracker has changed the
+                // cache since they were, they will pick this job up from the cache
+                if (indexed && Objects.equals(previousVersion, indexedVersion)) {
+                    index(jobDetail);
+                    indexedVersion = version;
+                }
             } catch (final CacheOperationException e) {
                 LOGGER.error("Failed to add jobDetail " + jobDetail.toString() + " to the cache", e);
             }
+            removeExpiredJobs();
         });
     }
 
@@ -86,11 +163,7 @@ public class JobTracker extends Cache<String, JobDetail> {
      * @return the {@link JobDetail} object for the requested job
      */
     public JobDetail getJob(final String jobId, final User user) {
-        try {
-            return executor.submit(() -> super.getFromCache(jobId)).get();
-        } catch (final ExecutionException | InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        return execute(() -> super.getFromCache(jobId));
     }
 
     /**
@@ -100,11 +173,7 @@ public class JobTracker extends Cache<String, JobDetail> {
      * @return a {@link Iterable} containing all of the job details
      */
     public Iterable<JobDetail> getAllJobs(final User user) {
-        try {
-            return executor.submit(() -> getAllJobsMatching(user, jd -> true)).get();
-        } catch (final ExecutionException | InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        return execute(this::readAllJobs);
     }
 
     /**
@@ -113,23 +182,177 @@ public class JobTracker extends Cache<String, JobDetail> {
      * @return a {@link Iterable} containing all of the scheduled job details
      */
     public Iterable<JobDetail> getAllScheduledJobs() {
+        return getJobsWithStatus(JobStatus.SCHEDULED_PARENT);
+    }
+
+    /**
+     * Get all jobs with the given status from the job tracker cache.
+     *
+     * @param status the status of the jobs
+     * @return a {@link Iterable} containing the job details
+     */
+    public Iterable<JobDetail> getJobsWithStatus(final JobStatus status) {
+        return execute(() -> readIndexedJobs(jobIdsByStatus, status,
+                jobDetail -> status == jobDetail.getStatus()));
+    }
+
+    /**
+     * Get all jobs submitted by the given user from the job tracker cache.
+     *
+     * @param userId the ID of the user who submitted the jobs
+     * @return a {@link Iterable} containing the job details
+     */
+    public Iterable<JobDetail> getJobsForUser(final String userId) {
+        return execute(() -> readIndexedJobs(jobIdsByUser, userId,
+                jobDetail -> nonNull(userId) && userId.equals(getUserId(jobDetail))));
+    }
+
+    /**
+     * Get all jobs with the given parent job from the job tracker cache.
+     *
+     * @param parentJobId the ID of the parent job
+     * @return a {@link Iterable} containing the job details
+     */
+    public Iterable<JobDetail> getChildJobs(final String parentJobId) {
+        return execute(() -> readIndexedJobs(jobIdsByParent, parentJobId,
+                jobDetail -> nonNull(parentJobId) && parentJobId.equals(jobDetail.getParentJobId())));
+    }
+
+    private <T> T execute(final Callable<T> task) {
         try {
-            return executor.submit(() ->
-                getAllJobsMatching(new User(), jd -> jd.getStatus().equals(JobStatus.SCHEDULED_PARENT))).get();
+            return executor.submit(task).get();
         } catch (final ExecutionException | InterruptedException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private Iterable<JobDetail> getAllJobsMatching(final User user, final Predicate<JobDetail> jobDetailPredicate) {
-        return () -> StreamSupport.stream(getAllKeys().spliterator(), false)
-            .filter(Objects::nonNull)
-            .map(jobId -> getJob(jobId, user))
-            .filter(Objects::nonNull)
-            .filter(jobDetailPredicate)
-            .iterator();
+    private List<JobDetail> readAllJobs() throws CacheOperationException {
+        final ICache<String, JobDetail> cache = getCache();
+        final String version = null != cache ? versionCache.getVersion() : null;
+        final Iterable<JobDetail> values = null != cache ? cache.getAllValues() : null;
+        if (null == values) {
+            return Collections.emptyList();
+        }
+
+        clearIndexes();
+        final List<JobDetail> jobDetails = new ArrayList<>();
+        for (final JobDetail jobDetail : values) {
+            if (nonNull(jobDetail)) {
+                index(jobDetail);
+                jobDetails.add(jobDetail);
+            }
+        }
+        indexed = true;
+        indexedVersion = version;
+        return jobDetails;
+    }
+
+    private void readAllJobsIfIndexesAreOutOfDate() throws CacheOperationException {
+        if (!indexed || !Objects.equals(versionCache.getVersion(), indexedVersion)) {
+            readAllJobs();
+        }
     }
 
+    private <I> List<JobDetail> readIndexedJobs(final Map<I, Set<String>> jobIdsByKey, final I key,
+                                                final Predicate<JobDetail> matches)
+            throws CacheOperationException {
+        readAllJobsIfIndexesAreOutOfDate();
+        final Set<String> jobIds = jobIdsByKey.get(key);
+        if (isNull(jobIds) || jobIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Map<String, JobDetail> cached = super.getAllFromCache(new ArrayList<>(jobIds));
+        final List<JobDetail> jobDetails = new ArrayList<>(cached.size());
+        for (final String jobId : new ArrayList<>(jobIds)) {
+            final JobDetail jobDetail = cached.get(jobId);
+            if (isNull(jobDetail)) {
+                unindex(jobId);
+            } else if (matches.test(jobDetail)) {
+                jobDetails.add(jobDetail);
+            } else {
+                index(jobDetail);
+            }
+        }
+        return jobDetails;
+    }
+
+    private void removeExpiredJobs() {
+        final long now = System.currentTimeMillis();
+        if (finishedJobTtlMillis < 0 || now - lastExpiryCheck < EXPIRY_CHECK_INTERVAL_MILLIS) {
+            return;
+        }
+        lastExpiryCheck = now;
+        try {
+            readAllJobsIfIndexesAreOutOfDate();
+            final long expiryTime = now - finishedJobTtlMillis;
+            final List<String> expiredJobIds = new ArrayList<>();
+            for (final JobStatus status : FINISHED_STATUSES) {
+                for (final String jobId : jobIdsByStatus.getOrDefault(status, Collections.emptySet())) {
+                    final Long finishedTime = indexEntries.get(jobId).finishedTime;
+                    if (nonNull(finishedTime) && finishedTime < expiryTime) {
+                        expiredJobIds.add(jobId);
+                    }
+                }
+            }
+            for (final String jobId : expiredJobIds) {
+                super.deleteFromCache(jobId);
+                unindex(jobId);
+            }
+            if (!expiredJobIds.isEmpty()) {
+                LOGGER.debug("Removed {} expired jobs from the job tracker cache", expiredJobIds.size());
+            }
+        } catch (final CacheOperationException | RuntimeException e) {
+            LOGGER.error("Failed to remove expired jobs from the job tracker cache", e);
+        }
+    }
+
+    private void index(final JobDetail jobDetail) {
+        unindex(jobDetail.getJobId());
+        final IndexEntry entry = new IndexEntry(jobDetail);
+        indexEntries.put(jobDetail.getJobId(), entry);
+        addToIndex(jobIdsByStatus, entry.status, jobDetail.getJobId());
+        addToIndex(jobIdsByUser, entry.userId, jobDetail.getJobId());
+        addToIndex(jobIdsByParent, entry.parentJobId, jobDetail.getJobId());
+    }
+
+    private void unindex(final String jobId) {
+        final IndexEntry entry = indexEntries.remove(jobId);
+        if (nonNull(entry)) {
+            removeFromIndex(jobIdsByStatus, entry.status, jobId);
+            removeFromIndex(jobIdsByUser, entry.userId, jobId);
+            removeFromIndex(jobIdsByParent, entry.parentJobId, jobId);
+        }
+    }
+
+    private void clearIndexes() {
+        indexEntries.clear();
+        jobIdsByStatus.clear();
+        jobIdsByUser.clear();
+        jobIdsByParent.clear();
+    }
+
+    private static <I> void addToIndex(final Map<I, Set<String>> index, final I key, final String jobId) {
+        if (nonNull(key)) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(jobId);
+        }
+    }
+
+    private static <I> void removeFromIndex(final Map<I, Set<String>> index, final I key, final String jobId) {
+        if (nonNull(key)) {
+            final Set<String> jobIds = index.get(key);
+            if (nonNull(jobIds)) {
+                jobIds.remove(jobId);
+                if (jobIds.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    private static String getUserId(final JobDetail jobDetail) {
+        return null != jobDetail.getUser() ? jobDetail.getUser().getUserId() : null;
+    }
 
     private void validateJobDetail(final JobDetail jobDetail) {
         if (null == jobDetail) {
@@ -140,4 +363,43 @@ public class JobTracker extends Cache<String, JobDetail> {
             throw new IllegalArgumentException("jobId is required");
         }
     }
+
+    /**
+     * The indexed fields of a job, kept so the job can be removed from the
+     * indexes when it is updated without reading the old details from the cache.
+     */
+    private static final class IndexEntry {
+        private final JobStatus status;
+        private final String userId;
+        private final String parentJobId;
+        private final Long finishedTime;
+
+        private IndexEntry(final JobDetail jobDetail) {
+            this.status = jobDetail.getStatus();
+            this.userId = getUserId(jobDetail);
+            this.parentJobId = jobDetail.getParentJobId();
+            this.finishedTime = nonNull(jobDetail.getEndTime()) ? jobDetail.getEndTime() : jobDetail.getStartTime();
+        }
+    }
+
+    /**
+     * Holds the version of the jobs in the job tracker cache, which is changed by
+     * every tracker sharing the cache whenever it adds or updates a job.
+     */
+    private static final class VersionCache extends Cache<String, String> {
+        private VersionCache(final String cacheName) {
+            super(cacheName, JOB_TRACKER_CACHE_SERVICE_NAME);
+        }
+
+        private String getVersion() throws CacheOperationException {
+            return getFromCache(VERSION_KEY);
+        }
+
+        private String update() throws CacheOperationException {
+            // A random value rather than a counter, as trackers sharing the cache may update it at the same time
+            final String version = UUID.randomUUID().toString();
+            addToCache(VERSION_KEY, version, true);
+            return version;
+        }
+    }
 }
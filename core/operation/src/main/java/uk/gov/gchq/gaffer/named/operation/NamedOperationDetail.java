@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import com.google.common.collect.Maps;
@@ -33,11 +34,11 @@ import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
-import uk.gov.gchq.gaffer.operation.OperationChainDAO;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -63,6 +64,7 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
     private Integer score;
     private String readAccessPredicateJson;
     private String writeAccessPredicateJson;
+    private transient volatile NamedOperationTemplate template;
 
     protected NamedOperationDetail() {
     }
@@ -170,8 +172,35 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
         return score;
     }
 
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
+    /**
+     * Gets the parsed template of the operations, parsing it if this has not
+     * been done already.
+     *
+     * @return The {@link NamedOperationTemplate}
+     * @throws IllegalArgumentException if the operations are not valid JSON
+     */
+    @JsonIgnore
+    public NamedOperationTemplate getTemplate() {
+        NamedOperationTemplate currentTemplate = template;
+        if (null == currentTemplate) {
+            currentTemplate = NamedOperationTemplate.compile(operations, null != parameters ? parameters.keySet() : null);
+            template = currentTemplate;
+        }
+        return currentTemplate;
+    }
+
+    /**
+     * Sets a template previously parsed from the same operations and parameters,
+     * so it does not need to be parsed again.
+     *
+     * @param template the {@link NamedOperationTemplate}
+     * @throws IllegalArgumentException if the template was parsed from different operations or parameters
+     */
+    public void setTemplate(final NamedOperationTemplate template) {
+        if (null != template && !template.isCompiledFrom(operations, null != parameters ? parameters.keySet() : null)) {
+            throw new IllegalArgumentException("Template was not compiled from the operations of named operation " + operationName);
+        }
+        this.template = template;
     }
 
     /**
@@ -183,29 +212,16 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      */
     @JsonIgnore
     public OperationChain getOperationChainWithDefaultParams() {
-        String opStringWithDefaults = operations;
+        final Map<String, JsonNode> parameterValues = new HashMap<>();
 
         if (null != parameters) {
             for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    opStringWithDefaults = opStringWithDefaults.replace(buildParamNameString(paramKey),
-                            new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue()), StandardCharsets.UTF_8));
-                } catch (final SerialisationException e) {
-                    throw new IllegalArgumentException(e.getMessage(), e);
-                }
+                parameterValues.put(parameterDetailPair.getKey(),
+                        NamedOperationTemplate.toJson(parameterDetailPair.getValue().getDefaultValue(), null));
             }
         }
 
-        OperationChain opChain;
-        try {
-            opChain = JSONSerialiser.deserialise(opStringWithDefaults.getBytes(StandardCharsets.UTF_8), OperationChainDAO.class);
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
-        }
-
-        return opChain;
+        return getTemplate().bind(parameterValues);
     }
 
     /**
@@ -216,7 +232,7 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public OperationChain getOperationChain(final Map<String, Object> executionParams) {
-        String opStringWithParams = operations;
+        final Map<String, JsonNode> parameterValues = new HashMap<>();
 
         // First check all the parameters supplied are expected parameter names
         if (null != parameters) {
@@ -231,33 +247,19 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
 
             for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
                 String paramKey = parameterDetailPair.getKey();
-                try {
-                    if (null != executionParams && executionParams.containsKey(paramKey)) {
-                        Object paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
-
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(paramObj), StandardCharsets.UTF_8));
-                    } else if (!parameterDetailPair.getValue().isRequired()) {
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue()), StandardCharsets.UTF_8));
-                    } else {
-                        throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
-                    }
-                } catch (final SerialisationException e) {
-                    throw new IllegalArgumentException(e.getMessage(), e);
+                final JsonNode paramValue;
+                if (null != executionParams && executionParams.containsKey(paramKey)) {
+                    paramValue = NamedOperationTemplate.toJson(executionParams.get(paramKey), parameterDetailPair.getValue().getValueClass());
+                } else if (!parameterDetailPair.getValue().isRequired()) {
+                    paramValue = NamedOperationTemplate.toJson(parameterDetailPair.getValue().getDefaultValue(), null);
+                } else {
+                    throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
                 }
+                parameterValues.put(paramKey, paramValue);
             }
         }
 
-        OperationChain opChain;
-
-        try {
-            opChain = JSONSerialiser.deserialise(opStringWithParams.getBytes(StandardCharsets.UTF_8), OperationChainDAO.class);
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
-        }
-
-        return opChain;
+        return getTemplate().bind(parameterValues);
     }
 
     @Override
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationChainDAO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+
+/**
+ * <p>
+ * A {@code NamedOperationTemplate} is the operations of a {@link NamedOperationDetail}
+ * parsed into a JSON tree, with a slot for each place a parameter is used.
+ * </p>
+ * <p>
+ * A parameter is used wherever a JSON string value is exactly {@code "${name}"},
+ * where name is one of the named operation's parameters. Binding parameters copies
+ * the tree, sets each slot to its parameter's value and converts the tree into an
+ * {@link OperationChain}, so the operations JSON is only parsed once.
+ * </p>
+ * <p>
+ * A template is immutable and can be shared between threads.
+ * </p>
+ */
+public final class NamedOperationTemplate {
+    private final String operations;
+    private final Set<String> parameterNames;
+    private final JsonNode tree;
+    private final List<Slot> slots;
+
+    private NamedOperationTemplate(final String operations, final Set<String> parameterNames, final JsonNode tree, final List<Slot> slots) {
+        this.operations = operations;
+        this.parameterNames = parameterNames;
+        this.tree = tree;
+        this.slots = slots;
+    }
+
+    /**
+     * Parses the operations of a named operation into a template.
+     *
+     * @param operations     the operations JSON
+     * @param parameterNames the names of the named operation's parameters
+     * @return the template
+     * @throws IllegalArgumentException if the operations are not valid JSON
+     */
+    public static NamedOperationTemplate compile(final String operations, final Set<String> parameterNames) {
+        if (isNull(operations)) {
+            throw new IllegalArgumentException("Operation Chain must not be empty");
+        }
+        final Set<String> names = isNull(parameterNames)
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(new HashSet<>(parameterNames));
+        final JsonNode tree;
+        try {
+            tree = JSONSerialiser.getMapper().readTree(operations);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        final List<Slot> slots = new ArrayList<>();
+        if (!names.isEmpty()) {
+            findSlots(tree, "", names, slots);
+        }
+        return new NamedOperationTemplate(operations, names, tree, Collections.unmodifiableList(slots));
+    }
+
+    /**
+     * @param otherOperations     the operations JSON of a named operation
+     * @param otherParameterNames the names of the named operation's parameters
+     * @return true if this template was compiled from the same operations and parameter names
+     */
+    public boolean isCompiledFrom(final String otherOperations, final Set<String> otherParameterNames) {
+        final Set<String> otherNames = isNull(otherParameterNames) ? Collections.emptySet() : otherParameterNames;
+        return operations.equals(otherOperations) && parameterNames.equals(otherNames);
+    }
+
+    /**
+     * Creates an operation chain from the template with the given parameter values.
+     * Parameters without a value are set to null.
+     *
+     * @param parameterValues the JSON values of the parameters, by parameter name
+     * @return a new {@link OperationChain}
+     * @throws IllegalArgumentException if the operation chain cannot be created
+     */
+    public OperationChain bind(final Map<String, JsonNode> parameterValues) {
+        final JsonNode copy = tree.deepCopy();
+        for (final Slot slot : slots) {
+            final JsonNode value = parameterValues.get(slot.parameterName);
+            slot.set(copy, isNull(value) ? NullNode.getInstance() : value.deepCopy());
+        }
+        try {
+            return JSONSerialiser.getMapper().treeToValue(copy, OperationChainDAO.class);
+        } catch (final IOException | RuntimeException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converts a parameter value into JSON, first converting it into the parameter's
+     * class if it is not already an instance of it.
+     *
+     * @param value      the parameter value
+     * @param valueClass the class of the parameter
+     * @return the JSON value of the parameter
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    public static JsonNode toJson(final Object value, final Class<?> valueClass) {
+        if (isNull(value)) {
+            return NullNode.getInstance();
+        }
+        final ObjectMapper mapper = JSONSerialiser.getMapper();
+        final Object typedValue = isNull(valueClass) || valueClass.isInstance(value)
+                ? value
+                : mapper.convertValue(value, valueClass);
+        return mapper.valueToTree(typedValue);
+    }
+
+    private static void findSlots(final JsonNode node, final String path, final Set<String> parameterNames, final List<Slot> slots) {
+        if (node.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                final String parameterName = getParameterName(field.getValue(), parameterNames);
+                if (null != parameterName) {
+                    slots.add(new Slot(parameterName, path, field.getKey(), -1));
+                } else {
+                    findSlots(field.getValue(), path + "/" + escape(field.getKey()), parameterNames, slots);
+                }
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                final String parameterName = getParameterName(node.get(i), parameterNames);
+                if (null != parameterName) {
+                    slots.add(new Slot(parameterName, path, null, i));
+                } else {
+                    findSlots(node.get(i), path + "/" + i, parameterNames, slots);
+                }
+            }
+        }
+    }
+
+    private static String getParameterName(final JsonNode node, final Set<String> parameterNames) {
+        if (node.isTextual()) {
+            final String text = node.textValue();
+            if (text.startsWith("${") && text.endsWith("}")) {
+                final String name = text.substring(2, text.length() - 1);
+                if (parameterNames.contains(name)) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String escape(final String fieldName) {
+        return fieldName.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * The position of a parameter in the tree, as the field or index of its parent.
+     */
+    private static final class Slot {
+        private final String parameterName;
+        private final JsonPointer parent;
+        private final String fieldName;
+        private final int index;
+
+        private Slot(final String parameterName, final String parentPath, final String fieldName, final int index) {
+            this.parameterName = parameterName;
+            this.parent = JsonPointer.compile(parentPath);
+            this.fieldName = fieldName;
+            this.index = index;
+        }
+
+        private void set(final JsonNode root, final JsonNode value) {
+            final JsonNode parentNode = root.at(parent);
+            if (null != fieldName) {
+                ((ObjectNode) parentNode).set(fieldName, value);
+            } else {
+                ((ArrayNode) parentNode).set(index, value);
+            }
+        }
+    }
+}
@@ -19,27 +19,34 @@ package uk.gov.gchq.gaffer.operation.impl.export.localfile;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
 
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
+import static uk.gov.gchq.gaffer.commonutil.StreamUtil.closeStreams;
 import static uk.gov.gchq.gaffer.commonutil.StreamUtil.openStream;
 
 /**
  * Implementation of the {@link Exporter} interface for exporting an Iterable of strings to a local file.
+ * Files ending in {@value LocalFileLinesIterable#GZIP_EXTENSION} are written and read with gzip compression.
+ * The lines of a file are read lazily using a {@link LocalFileLinesIterable}.
  */
 public class LocalFileExporter implements Exporter {
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
 
     @Override
     public void add(final String filePath, final Iterable<?> results) throws OperationException {
-        try {
-            Files.write(Paths.get(filePath), (Iterable<? extends CharSequence>) results);
+        try (final BufferedWriter writer = createWriter(filePath)) {
+            for (final Object line : results) {
+                writer.append((CharSequence) line);
+                writer.newLine();
+            }
         } catch (final IOException e) {
             throw new OperationException(e.getMessage(), e);
         }
@@ -47,17 +54,18 @@ public class LocalFileExporter implements Exporter {
 
     @Override
     public Iterable<String> get(final String filePath) throws OperationException {
-        Iterable<String> linesFromFile;
+        // Check the file can be found before returning the lazy iterable
+        if (!new File(filePath).exists()) {
+            closeStreams(openStream(LocalFileExporter.class, filePath));
+        }
+        return new LocalFileLinesIterable(filePath);
+    }
 
-        final File file = new File(filePath);
-        try {
-            final InputStream fileToBeRead = file.exists() ? openStream(file.toURI()) : openStream(LocalFileExporter.class, filePath);
-            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(fileToBeRead, StandardCharsets.UTF_8));) {
-                linesFromFile = reader.lines().collect(Collectors.toList());
-            }
-        } catch (final IOException e) {
-            throw new OperationException(e.getMessage(), e);
+    private static BufferedWriter createWriter(final String filePath) throws IOException {
+        OutputStream output = Files.newOutputStream(Paths.get(filePath));
+        if (LocalFileLinesIterable.isCompressed(filePath)) {
+            output = new GZIPOutputStream(output, WRITE_BUFFER_SIZE);
         }
-        return linesFromFile;
+        return new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
     }
 }
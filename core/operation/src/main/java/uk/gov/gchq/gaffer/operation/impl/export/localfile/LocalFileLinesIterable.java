@@ -0,0 +1,323 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.export.localfile;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p>
+ * A {@code LocalFileLinesIterable} lazily reads the lines of a local file, so only
+ * part of the file is held in memory at once.
+ * </p>
+ * <p>
+ * Uncompressed files are memory mapped in chunks of roughly {@code chunkSize} bytes,
+ * each ending on a line boundary, and the chunks are decoded into lines on a pool of
+ * daemon threads shared by all iterables. The pool holds at most one thread per
+ * processor and its idle threads are released. At most twice as many chunks as
+ * {@code threads} are decoded ahead of the consumer. The file is only open while
+ * chunks are being mapped, so an iterator holds no threads or file handles between
+ * calls.
+ * Files ending in {@value #GZIP_EXTENSION} and files on the classpath are read
+ * through a buffered reader on the calling thread.
+ * </p>
+ * <p>
+ * Lines are returned in the order they appear in the file and may be terminated by
+ * a line feed, a carriage return or both, as for {@link BufferedReader#readLine()}.
+ * Each call to {@link #iterator()} reads the file again. Closing an iterator that is
+ * not fully consumed, or closing this iterable, stops any chunks being decoded for it.
+ * </p>
+ */
+public class LocalFileLinesIterable implements Closeable, Iterable<String> {
+    public static final String GZIP_EXTENSION = ".gz";
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    public static final int DEFAULT_THREADS = 2;
+
+    private static final int READER_BATCH_SIZE = 1000;
+    private static final ThreadPoolExecutor DECODE_POOL = createDecodePool();
+
+    private final String filePath;
+    private final int chunkSize;
+    private final int threads;
+    private final Set<LineIterator> iterators = ConcurrentHashMap.newKeySet();
+
+    public LocalFileLinesIterable(final String filePath) {
+        this(filePath, DEFAULT_CHUNK_SIZE, DEFAULT_THREADS);
+    }
+
+    public LocalFileLinesIterable(final String filePath, final int chunkSize, final int threads) {
+        if (null == filePath) {
+            throw new IllegalArgumentException("File path is required");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1 but was " + chunkSize);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least 1 but was " + threads);
+        }
+        this.filePath = filePath;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+    private static ThreadPoolExecutor createDecodePool() {
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, LocalFileLinesIterable.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    static boolean isCompressed(final String filePath) {
+        return filePath.endsWith(GZIP_EXTENSION);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        final File file = new File(filePath);
+        final LineIterator iterator;
+        try {
+            if (file.isFile() && !isCompressed(filePath)) {
+                iterator = new MappedLineIterator(file.toPath());
+            } else {
+                iterator = new ReaderLineIterator(openStream(file));
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to read file: " + filePath, e);
+        }
+        iterators.add(iterator);
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        iterators.forEach(CloseableUtil::close);
+    }
+
+    private InputStream openStream(final File file) throws IOException {
+        final InputStream stream = file.exists()
+                ? StreamUtil.openStream(file.toURI())
+                : StreamUtil.openStream(LocalFileLinesIterable.class, filePath);
+        return isCompressed(filePath) ? new GZIPInputStream(stream) : stream;
+    }
+
+    private static List<String> decodeLines(final ByteBuffer bytes) {
+        final CharBuffer chars = StandardCharsets.UTF_8.decode(bytes);
+        final List<String> lines = new ArrayList<>();
+        int start = 0;
+        int i = 0;
+        while (i < chars.length()) {
+            final char c = chars.get(i);
+            if ('\n' == c || '\r' == c) {
+                lines.add(chars.subSequence(start, i).toString());
+                if ('\r' == c && i + 1 < chars.length() && '\n' == chars.get(i + 1)) {
+                    i++;
+                }
+                start = i + 1;
+            }
+            i++;
+        }
+        if (start < chars.length()) {
+            lines.add(chars.subSequence(start, chars.length()).toString());
+        }
+        return lines;
+    }
+
+    private static int lastNewLine(final ByteBuffer bytes) {
+        for (int i = bytes.limit() - 1; i >= 0; i--) {
+            if ('\n' == bytes.get(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private abstract class LineIterator implements Iterator<String>, Closeable {
+        private Iterator<String> lines = Collections.emptyIterator();
+        private boolean closed;
+
+        /**
+         * @return the next batch of lines, or null if there are no more lines
+         * @throws IOException if the file could not be read
+         */
+        protected abstract List<String> nextLines() throws IOException;
+
+        protected abstract void closeResources();
+
+        @Override
+        public boolean hasNext() {
+            while (!lines.hasNext()) {
+                if (closed) {
+                    return false;
+                }
+                final List<String> nextLines;
+                try {
+                    nextLines = nextLines();
+                } catch (final IOException e) {
+                    close();
+                    throw new RuntimeException("Failed to read file: " + filePath, e);
+                }
+                if (null == nextLines) {
+                    close();
+                    return false;
+                }
+                lines = nextLines.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more lines");
+            }
+            return lines.next();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                lines = Collections.emptyIterator();
+                iterators.remove(this);
+                closeResources();
+            }
+        }
+    }
+
+    private final class ReaderLineIterator extends LineIterator {
+        private final BufferedReader reader;
+
+        private ReaderLineIterator(final InputStream stream) {
+            this.reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected List<String> nextLines() throws IOException {
+            final List<String> nextLines = new ArrayList<>(READER_BATCH_SIZE);
+            while (nextLines.size() < READER_BATCH_SIZE) {
+                final String line = reader.readLine();
+                if (null == line) {
+                    break;
+                }
+                nextLines.add(line);
+            }
+            return nextLines.isEmpty() ? null : nextLines;
+        }
+
+        @Override
+        protected void closeResources() {
+            CloseableUtil.close(reader);
+        }
+    }
+
+    private final class MappedLineIterator extends LineIterator {
+        private final Path path;
+        private final long size;
+        private final Deque<Future<List<String>>> pending = new ArrayDeque<>();
+        private long position;
+
+        private MappedLineIterator(final Path path) throws IOException {
+            this.path = path;
+            this.size = Files.size(path);
+        }
+
+        @Override
+        protected List<String> nextLines() throws IOException {
+            if (pending.size() < 2 * threads && position < size) {
+                // Mapped chunks stay readable after the channel is closed
+                try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    while (pending.size() < 2 * threads && position < size) {
+                        final ByteBuffer chunk = nextChunk(channel);
+                        pending.add(DECODE_POOL.submit(() -> decodeLines(chunk)));
+                    }
+                }
+            }
+            final Future<List<String>> nextLines = pending.poll();
+            if (null == nextLines) {
+                return null;
+            }
+            try {
+                return nextLines.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted whilst reading lines", e);
+            } catch (final ExecutionException e) {
+                throw new IOException("Failed to decode lines", e);
+            }
+        }
+
+        // Maps the next chunk of the file, ending it after the last line feed so no line is split between chunks
+        private ByteBuffer nextChunk(final FileChannel channel) throws IOException {
+            long length = Math.min(chunkSize, size - position);
+            ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            while (position + length < size) {
+                final int lastNewLine = lastNewLine(chunk);
+                if (lastNewLine >= 0) {
+                    chunk.limit(lastNewLine + 1);
+                    break;
+                }
+                if (length >= Integer.MAX_VALUE) {
+                    throw new IOException("Line starting at byte " + position + " is too long to read");
+                }
+                // There is no line feed in the chunk, so map a larger one
+                length = Math.min(Math.min(2 * length, Integer.MAX_VALUE), size - position);
+                chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            }
+            position += chunk.limit();
+            return chunk;
+        }
+
+        @Override
+        protected void closeResources() {
+            pending.forEach(future -> future.cancel(false));
+            pending.clear();
+        }
+    }
+}
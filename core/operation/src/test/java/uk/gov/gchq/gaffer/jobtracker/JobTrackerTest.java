@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.jobtracker;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobTrackerTest {
+    private static final User USER_A = new User("userA");
+    private static final User USER_B = new User("userB");
+
+    private JobTracker jobTracker;
+
+    @BeforeEach
+    public void setUp() {
+        CacheServiceLoader.shutdown();
+        CacheServiceLoader.initialise(HashMapCacheService.class.getName());
+        jobTracker = new JobTracker("Test");
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        CacheServiceLoader.shutdown();
+    }
+
+    @Test
+    public void shouldGetJobsByStatusUserAndParent() {
+        // Given
+        jobTracker.addOrUpdateJob(createJob("1", null, USER_A, JobStatus.SCHEDULED_PARENT), USER_A);
+        jobTracker.addOrUpdateJob(createJob("2", "1", USER_A, JobStatus.RUNNING), USER_A);
+        jobTracker.addOrUpdateJob(createJob("3", "1", USER_B, JobStatus.FINISHED), USER_B);
+
+        // When / Then
+        assertThat(jobTracker.getAllJobs(USER_A)).extracting(JobDetail::getJobId)
+                .containsExactlyInAnyOrder("1", "2", "3");
+        assertThat(jobTracker.getAllScheduledJobs()).extracting(JobDetail::getJobId)
+                .containsExactly("1");
+        assertThat(jobTracker.getJobsWithStatus(JobStatus.FINISHED)).extracting(JobDetail::getJobId)
+                .containsExactly("3");
+        assertThat(jobTracker.getJobsForUser(USER_A.getUserId())).extracting(JobDetail::getJobId)
+                .containsExactlyInAnyOrder("1", "2");
+        assertThat(jobTracker.getChildJobs("1")).extracting(JobDetail::getJobId)
+                .containsExactlyInAnyOrder("2", "3");
+    }
+
+    @Test
+    public void shouldUpdateIndexesWhenJobIsUpdated() {
+        // Given
+        final JobDetail job = createJob("1", null, USER_A, JobStatus.RUNNING);
+        jobTracker.addOrUpdateJob(job, USER_A);
+        assertThat(jobTracker.getJobsWithStatus(JobStatus.RUNNING)).hasSize(1);
+
+        // When
+        jobTracker.addOrUpdateJob(new JobDetail(job, new JobDetail.Builder().status(JobStatus.FINISHED).build()), USER_A);
+
+        // Then
+        assertThat(jobTracker.getJobsWithStatus(JobStatus.RUNNING)).isEmpty();
+        assertThat(jobTracker.getJobsWithStatus(JobStatus.FINISHED)).extracting(JobDetail::getJobId)
+                .containsExactly("1");
+    }
+
+    @Test
+    public void shouldFindJobsAddedByAnotherTrackerSharingTheCache() {
+        // Given
+        jobTracker.addOrUpdateJob(createJob("1", null, USER_A, JobStatus.RUNNING), USER_A);
+        assertThat(jobTracker.getJobsWithStatus(JobStatus.RUNNING)).hasSize(1);
+        final JobTracker otherJobTracker = new JobTracker("Test");
+        otherJobTracker.addOrUpdateJob(createJob("2", null, USER_B, JobStatus.RUNNING), USER_B);
+        otherJobTracker.getJob("2", USER_B);
+
+        // When
+        jobTracker.getAllJobs(USER_A);
+
+        // Then
+        assertThat(jobTracker.getJobsWithStatus(JobStatus.RUNNING)).extracting(JobDetail::getJobId)
+                .containsExactlyInAnyOrder("1", "2");
+    }
+
+    @Test
+    public void shouldFindJobsAddedAndUpdatedByAnotherTrackerWithoutReadingAllJobs() {
+        // Given
+        jobTracker.addOrUpdateJob(createJob("1", null, USER_A, JobStatus.RUNNING), USER_A);
+        assertThat(jobTracker.getJobsWithStatus(JobStatus.RUNNING)).hasSize(1);
+        final JobTracker otherJobTracker = new JobTracker("Test");
+
+        // When
+        otherJobTracker.addOrUpdateJob(createJob("2", null, USER_B, JobStatus.RUNNING), USER_B);
+        otherJobTracker.addOrUpdateJob(createJob("1", null, USER_A, JobStatus.FINISHED), USER_A);
+        otherJobTracker.getJob("2", USER_B);
+        jobTracker.addOrUpdateJob(createJob("3", null, USER_A, JobStatus.RUNNING), USER_A);
+
+        // Then
+        assertThat(jobTracker.getJobsWithStatus(JobStatus.RUNNING)).extracting(JobDetail::getJobId)
+                .containsExactlyInAnyOrder("2", "3");
+        assertThat(jobTracker.getJobsWithStatus(JobStatus.FINISHED)).extracting(JobDetail::getJobId)
+                .containsExactly("1");
+    }
+
+    @Test
+    public void shouldRemoveFinishedJobsOlderThanTtl() {
+        // Given
+        final long ttl = TimeUnit.HOURS.toMillis(1);
+        jobTracker = new JobTracker("Test", ttl);
+        final JobDetail oldJob = createJob("1", null, USER_A, JobStatus.FINISHED);
+        oldJob.setEndTime(System.currentTimeMillis() - 2 * ttl);
+        final JobDetail recentJob = createJob("2", null, USER_A, JobStatus.FINISHED);
+        recentJob.setEndTime(System.currentTimeMillis());
+        final JobDetail oldRunningJob = createJob("3", null, USER_A, JobStatus.RUNNING);
+        oldRunningJob.setStartTime(System.currentTimeMillis() - 2 * ttl);
+
+        // When
+        jobTracker.addOrUpdateJob(oldJob, USER_A);
+        jobTracker.addOrUpdateJob(recentJob, USER_A);
+        jobTracker.addOrUpdateJob(oldRunningJob, USER_A);
+
+        // Then
+        assertThat(jobTracker.getJob("1", USER_A)).isNull();
+        assertThat(jobTracker.getAllJobs(USER_A)).extracting(JobDetail::getJobId)
+                .containsExactlyInAnyOrder("2", "3");
+    }
+
+    private static JobDetail createJob(final String jobId, final String parentJobId, final User user, final JobStatus status) {
+        return new JobDetail.Builder()
+                .jobId(jobId)
+                .parentJobId(parentJobId)
+                .user(user)
+                .status(status)
+                .build();
+    }
+}
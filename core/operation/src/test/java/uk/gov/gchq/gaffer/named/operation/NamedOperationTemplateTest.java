@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.GetVariables;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class NamedOperationTemplateTest {
+    private static final String OPERATIONS = "{\"operations\":[" +
+            "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.GetVariables\"," +
+            "\"variableNames\":[\"first\",\"${name}\"],\"options\":{\"key\":\"${other}\"}}," +
+            "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\",\"resultLimit\":\"${limit}\",\"truncate\":\"${truncate}\"}]}";
+    private static final Set<String> PARAMETER_NAMES = new HashSet<>(asList("name", "limit", "truncate"));
+
+    @Test
+    public void shouldBindParametersIntoObjectAndArraySlots() {
+        // Given
+        final NamedOperationTemplate template = NamedOperationTemplate.compile(OPERATIONS, PARAMETER_NAMES);
+        final Map<String, JsonNode> values = new HashMap<>();
+        values.put("name", TextNode.valueOf("second"));
+        values.put("limit", IntNode.valueOf(5));
+        values.put("truncate", BooleanNode.FALSE);
+
+        // When
+        final OperationChain<?> opChain = template.bind(values);
+
+        // Then
+        final GetVariables getVariables = (GetVariables) opChain.getOperations().get(0);
+        final Limit<?> limit = (Limit<?>) opChain.getOperations().get(1);
+        assertThat(getVariables.getVariableNames()).containsExactly("first", "second");
+        assertThat(getVariables.getOptions()).containsEntry("key", "${other}");
+        assertThat(limit.getResultLimit()).isEqualTo(5);
+        assertThat(limit.getTruncate()).isFalse();
+    }
+
+    @Test
+    public void shouldCreateNewOperationChainForEachBinding() {
+        // Given
+        final NamedOperationTemplate template = NamedOperationTemplate.compile(OPERATIONS, PARAMETER_NAMES);
+
+        // When
+        final OperationChain<?> first = template.bind(Collections.singletonMap("limit", IntNode.valueOf(1)));
+        final OperationChain<?> second = template.bind(Collections.singletonMap("limit", IntNode.valueOf(2)));
+
+        // Then
+        assertThat(((Limit<?>) first.getOperations().get(1)).getResultLimit()).isEqualTo(1);
+        assertThat(((Limit<?>) second.getOperations().get(1)).getResultLimit()).isEqualTo(2);
+        assertThat(((GetVariables) second.getOperations().get(0)).getVariableNames()).containsExactly("first", null);
+    }
+
+    @Test
+    public void shouldConvertParameterValuesToTheirClass() {
+        // When
+        final JsonNode converted = NamedOperationTemplate.toJson("5", Integer.class);
+        final JsonNode unchanged = NamedOperationTemplate.toJson(5L, Long.class);
+
+        // Then
+        assertThat(converted.isInt()).isTrue();
+        assertThat(converted.intValue()).isEqualTo(5);
+        assertThat(unchanged.longValue()).isEqualTo(5L);
+        assertThat(NamedOperationTemplate.toJson(null, Long.class).isNull()).isTrue();
+    }
+
+    @Test
+    public void shouldKnowWhichOperationsItWasCompiledFrom() {
+        // Given
+        final NamedOperationTemplate template = NamedOperationTemplate.compile(OPERATIONS, PARAMETER_NAMES);
+
+        // Then
+        assertThat(template.isCompiledFrom(OPERATIONS, new HashSet<>(PARAMETER_NAMES))).isTrue();
+        assertThat(template.isCompiledFrom(OPERATIONS, Collections.singleton("limit"))).isFalse();
+        assertThat(template.isCompiledFrom("{\"operations\":[]}", PARAMETER_NAMES)).isFalse();
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionForInvalidJson() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> NamedOperationTemplate.compile("{\"operations\":[", PARAMETER_NAMES));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.export.localfile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalFileLinesIterableTest {
+
+    @Test
+    public void shouldReadLinesSplitAcrossChunks(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final Path file = tempDir.resolve("lines.csv");
+        Files.write(file, StringUtil.toBytes("a,1\r\nb,2\nlonger line than a chunk\rc,3\n\nlast"));
+
+        // When
+        final List<String> lines = new ArrayList<>();
+        try (final LocalFileLinesIterable iterable = new LocalFileLinesIterable(file.toString(), 4, 2)) {
+            iterable.forEach(lines::add);
+        }
+
+        // Then
+        assertThat(lines).containsExactly("a,1", "b,2", "longer line than a chunk", "c,3", "", "last");
+    }
+
+    @Test
+    public void shouldReadManyChunksInOrder(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            expected.add("line" + i);
+        }
+        final Path file = tempDir.resolve("lines.csv");
+        Files.write(file, expected);
+
+        // When / Then
+        try (final LocalFileLinesIterable iterable = new LocalFileLinesIterable(file.toString(), 1024, 4)) {
+            assertThat(iterable).containsExactlyElementsOf(expected);
+            assertThat(iterable).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void shouldStopReadingWhenClosed(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final Path file = tempDir.resolve("lines.csv");
+        Files.write(file, Arrays.asList("line1", "line2", "line3"));
+        final LocalFileLinesIterable iterable = new LocalFileLinesIterable(file.toString(), 6, 1);
+        final Iterator<String> iterator = iterable.iterator();
+
+        // When
+        final String first = iterator.next();
+        iterable.close();
+
+        // Then
+        assertThat(first).isEqualTo("line1");
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldShareBoundedDecodeThreadsBetweenIteratorsThatAreNotClosed(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("line" + i);
+        }
+        final Path file = tempDir.resolve("lines.csv");
+        Files.write(file, expected);
+
+        // When
+        final List<String> firstLines = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            firstLines.add(new LocalFileLinesIterable(file.toString(), 64, 4).iterator().next());
+        }
+
+        // Then
+        final long decodeThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> LocalFileLinesIterable.class.getSimpleName().equals(thread.getName()))
+                .count();
+        assertThat(firstLines).containsOnly("line0");
+        assertThat(decodeThreads).isLessThanOrEqualTo(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    public void shouldWriteAndReadCompressedFile(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final String filePath = tempDir.resolve("lines.csv" + LocalFileLinesIterable.GZIP_EXTENSION).toString();
+        final List<String> lines = Arrays.asList("header", "line1", "line2");
+        final LocalFileExporter exporter = new LocalFileExporter();
+
+        // When
+        exporter.add(filePath, lines);
+
+        // Then
+        assertThat(Files.readAllBytes(Paths.get(filePath))).startsWith((byte) 0x1f, (byte) 0x8b);
+        assertThat(exporter.get(filePath)).containsExactlyElementsOf(lines);
+    }
+}
@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.serialisation;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * A class that implements this interface is responsible for serialising an
@@ -52,6 +53,20 @@ public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
     @Override
     byte[] serialise(final T object) throws SerialisationException;
 
+    /**
+     * Serialise some object into the provided buffer, after any bytes already written
+     * to it. This allows the same buffer to be reused to serialise many objects.
+     * Serialisers that can write directly to the buffer should override this to
+     * avoid creating the intermediate byte array.
+     *
+     * @param object the object to be serialised
+     * @param buffer the buffer to write the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    default void serialise(final T object, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.write(serialise(object));
+    }
+
     /**
      * @param allBytes The bytes to be decoded into characters
      * @param offset   The index of the first byte to decode
@@ -37,7 +37,6 @@ public final class CompactRawSerialisationUtils {
         if (value >= -112 && value <= 127) {
             return new byte[]{(byte) value};
         }
-        final byte[] temp = new byte[9];
         int len = -112;
         if (value < 0) {
             value ^= -1L; // take one's complement'
@@ -48,16 +47,16 @@ public final class CompactRawSerialisationUtils {
             tmp = tmp >> 8;
             len--;
         }
-        temp[0] = (byte) len;
+        final int numBytes = (len < -120) ? -(len + 120) : -(len + 112);
+        // Size the result exactly rather than copying it out of a temporary 9 byte array
+        final byte[] result = new byte[numBytes + 1];
+        result[0] = (byte) len;
         int place = 1;
-        len = (len < -120) ? -(len + 120) : -(len + 112);
-        for (int idx = len; idx != 0; idx--) {
+        for (int idx = numBytes; idx != 0; idx--) {
             final int shiftBits = (idx - 1) * 8;
             final long mask = 0xFFL << shiftBits;
-            temp[place++] = (byte) ((value & mask) >> shiftBits);
+            result[place++] = (byte) ((value & mask) >> shiftBits);
         }
-        final byte[] result = new byte[place];
-        System.arraycopy(temp, 0, result, 0, place);
         return result;
     }
 
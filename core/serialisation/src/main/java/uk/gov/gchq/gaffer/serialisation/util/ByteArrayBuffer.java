@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A growable byte array that can be written to and then reset, so the same buffer
+ * can be reused to serialise many objects without allocating a new array for each.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream}, the buffer is not synchronised and
+ * the backing array can be read without being copied, so it must not be shared
+ * between threads.
+ * </p>
+ */
+public class ByteArrayBuffer extends OutputStream {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private byte[] bytes;
+    private int size;
+
+    public ByteArrayBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ByteArrayBuffer(final int capacity) {
+        bytes = new byte[capacity];
+    }
+
+    @Override
+    public void write(final int b) {
+        ensureCapacity(size + 1);
+        bytes[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(final byte[] b, final int offset, final int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(b, offset, bytes, size, length);
+        size += length;
+    }
+
+    /**
+     * Writes the contents of another buffer to this buffer.
+     *
+     * @param buffer the buffer to copy from
+     */
+    public void write(final ByteArrayBuffer buffer) {
+        write(buffer.bytes, 0, buffer.size);
+    }
+
+    /**
+     * Empties the buffer, keeping the backing array so it can be reused.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * @return the number of bytes that have been written to the buffer
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the backing array of the buffer. Only the first {@link #size()} bytes
+     * have been written, and the array is replaced if the buffer grows.
+     *
+     * @return the backing array
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "The backing array is exposed to avoid copying it")
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return a copy of the bytes that have been written to the buffer
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length << 1));
+        }
+    }
+}
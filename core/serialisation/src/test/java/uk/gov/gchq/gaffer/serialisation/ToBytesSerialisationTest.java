@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 import java.util.Arrays;
 
@@ -52,6 +53,32 @@ public abstract class ToBytesSerialisationTest<T> extends SerialisationTest<T, b
         assertArrayEquals(pair.getSecond(), serialise, Arrays.toString(serialise));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSerialiseIntoBufferAfterExistingBytes() throws SerialisationException {
+        if (null == historicSerialisationPairs) {
+            return;
+        }
+        final byte[] existingBytes = {1, 2, 3};
+        for (final Pair<T, byte[]> pair : historicSerialisationPairs) {
+            // Null values are serialised with serialiseNull rather than written to a buffer
+            if (null == pair.getFirst() || null == pair.getSecond()) {
+                continue;
+            }
+            // Given
+            final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+            buffer.write(existingBytes);
+
+            // When
+            ((ToBytesSerialiser<T>) serialiser).serialise(pair.getFirst(), buffer);
+
+            // Then
+            final byte[] expected = Arrays.copyOf(existingBytes, existingBytes.length + pair.getSecond().length);
+            System.arraycopy(pair.getSecond(), 0, expected, existingBytes.length, pair.getSecond().length);
+            assertArrayEquals(expected, buffer.toByteArray());
+        }
+    }
+
     @Test
     public void shouldHaveValidEqualsMethodForToByteSerialiser() {
         final Serialiser<T, byte[]> serialiser2 = getSerialisation();
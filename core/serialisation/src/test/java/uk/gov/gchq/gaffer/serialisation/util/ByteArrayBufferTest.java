@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ByteArrayBufferTest {
+
+    @Test
+    public void shouldGrowWhenWrittenPastCapacity() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(2);
+
+        // When
+        buffer.write(1);
+        buffer.write(new byte[]{2, 3, 4});
+        buffer.write(new byte[]{5, 6, 7}, 1, 2);
+
+        // Then
+        assertEquals(6, buffer.size());
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 6, 7}, buffer.toByteArray());
+    }
+
+    @Test
+    public void shouldReuseBackingArrayWhenReset() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(4);
+        buffer.write(new byte[]{1, 2, 3});
+        final byte[] backingArray = buffer.getBytes();
+
+        // When
+        buffer.reset();
+        buffer.write(new byte[]{4, 5});
+
+        // Then
+        assertSame(backingArray, buffer.getBytes());
+        assertArrayEquals(new byte[]{4, 5}, buffer.toByteArray());
+    }
+
+    @Test
+    public void shouldWriteContentsOfAnotherBuffer() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        buffer.write(1);
+        final ByteArrayBuffer other = new ByteArrayBuffer();
+        other.write(new byte[]{2, 3});
+
+        // When
+        buffer.write(other);
+
+        // Then
+        assertArrayEquals(new byte[]{1, 2, 3}, buffer.toByteArray());
+    }
+}
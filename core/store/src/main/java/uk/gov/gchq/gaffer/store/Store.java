@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.store;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +58,7 @@ import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.If;
 import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.Reduce;
+import uk.gov.gchq.gaffer.operation.impl.ScoreOperationChain;
 import uk.gov.gchq.gaffer.operation.impl.SetVariable;
 import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.ValidateOperationChain;
@@ -123,6 +125,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.OperationChainHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.ReduceHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.ScoreOperationChainHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.SetVariableHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.ValidateHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.ValidateOperationChainHandler;
@@ -161,7 +164,10 @@ import uk.gov.gchq.gaffer.store.operation.handler.output.ToSetHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToSingletonListHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToStreamHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToVerticesHandler;
+import uk.gov.gchq.gaffer.store.operation.resolver.DefaultScoreResolver;
+import uk.gov.gchq.gaffer.store.operation.resolver.ScoreResolver;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.RuleBasedOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
@@ -180,9 +186,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.StreamSupport;
 
+import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -235,6 +246,7 @@ public abstract class Store {
     private List<Cache<?, ?>> caches;
     private String graphId;
     private boolean jobsRescheduled = false;
+    private ThreadPoolExecutor pipelineExecutor;
 
     public Store() {
         this(true);
@@ -294,6 +306,7 @@ public abstract class Store {
         populateCaches();
 
         addOpHandlers();
+        addRuleBasedOperationChainOptimiser(properties);
         optimiseSchema();
         validateSchemas();
         addExecutorService(properties);
@@ -557,6 +570,43 @@ public abstract class Store {
         return unmodifiableList(caches);
     }
 
+    /**
+     * Get the executor used to run the stages of pipelined operation chains.
+     * It is created on first use, holds at most
+     * {@link StoreProperties#getOperationChainPipelineThreads()} threads and
+     * rejects tasks when they are all busy. Idle threads are released.
+     *
+     * @return the pipeline executor
+     */
+    @JsonIgnore
+    public synchronized Executor getPipelineExecutor() {
+        if (isNull(pipelineExecutor)) {
+            final int threads = nonNull(properties)
+                    ? properties.getOperationChainPipelineThreads()
+                    : Integer.parseInt(StoreProperties.OPERATION_CHAIN_PIPELINE_THREADS_DEFAULT);
+            pipelineExecutor = new ThreadPoolExecutor(0, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, "operation-chain-pipeline");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pipelineExecutor;
+    }
+
+    /**
+     * Release any resources held by the store, such as thread pools or open
+     * files. The store should not be used after it is closed. Subclasses that
+     * override this should call {@code super.close()}.
+     */
+    public void close() {
+        synchronized (this) {
+            if (nonNull(pipelineExecutor)) {
+                pipelineExecutor.shutdownNow();
+                pipelineExecutor = null;
+            }
+        }
+    }
+
     /**
      * @param operationClass the operation class to check
      * @return true if the provided operation is supported.
@@ -817,7 +867,9 @@ public abstract class Store {
     protected void populateCaches() {
         caches = new ArrayList<>();
         if (properties.getJobTrackerEnabled()) {
-            jobTracker = new JobTracker(getProperties().getCacheServiceJobTrackerSuffix(graphId));
+            final long finishedJobTtlSeconds = properties.getJobTrackerFinishedJobTtlSeconds();
+            jobTracker = new JobTracker(getProperties().getCacheServiceJobTrackerSuffix(graphId),
+                    finishedJobTtlSeconds < 0 ? JobTracker.NO_FINISHED_JOB_TTL : TimeUnit.SECONDS.toMillis(finishedJobTtlSeconds));
             caches.add(jobTracker);
         }
         if (CacheServiceLoader.isDefaultEnabled() ||
@@ -989,6 +1041,22 @@ public abstract class Store {
         return result;
     }
 
+    private void addRuleBasedOperationChainOptimiser(final StoreProperties properties) {
+        if (properties.getOperationChainOptimiserRulesEnabled()
+                && opChainOptimisers.stream().noneMatch(RuleBasedOperationChainOptimiser.class::isInstance)) {
+            addOperationChainOptimisers(singletonList(new RuleBasedOperationChainOptimiser(
+                    RuleBasedOperationChainOptimiser.getDefaultRules(), getOperationScoreResolver())));
+        }
+    }
+
+    private ScoreResolver<Operation> getOperationScoreResolver() {
+        final Object handler = getOperationHandler(ScoreOperationChain.class);
+        if (handler instanceof ScoreOperationChainHandler) {
+            return ((ScoreOperationChainHandler) handler).getScoreResolver();
+        }
+        return new DefaultScoreResolver();
+    }
+
     private void addExecutorService(final StoreProperties properties) {
         ExecutorService.initialise(properties.getJobExecutorThreadCount());
     }
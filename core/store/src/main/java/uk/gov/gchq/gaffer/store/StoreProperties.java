@@ -78,9 +78,45 @@ public class StoreProperties implements Cloneable {
     public static final String JOB_TRACKER_ENABLED = "gaffer.store.job.tracker.enabled";
     public static final String RESCHEDULE_JOBS_ON_START = "gaffer.store.job.rescheduleOnStart";
 
+    /**
+     * How long, in seconds, the job tracker keeps finished, failed and cancelled jobs
+     * for. A negative value, the default, keeps them forever.
+     */
+    public static final String JOB_TRACKER_FINISHED_JOB_TTL_SECONDS = "gaffer.store.job.tracker.finishedJobTtlSeconds";
+    public static final String JOB_TRACKER_FINISHED_JOB_TTL_SECONDS_DEFAULT = "-1";
+
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    /**
+     * If true, operation chains are executed with a
+     * {@link uk.gov.gchq.gaffer.store.operation.handler.PipelinedOperationChainExecutor}
+     * unless the chain sets its own pipelined option.
+     */
+    public static final String OPERATION_CHAIN_PIPELINED = "gaffer.store.operation.chain.pipelined";
+    public static final String OPERATION_CHAIN_PIPELINE_BUFFER_SIZE = "gaffer.store.operation.chain.pipeline.buffer.size";
+    public static final String OPERATION_CHAIN_PIPELINE_BUFFER_SIZE_DEFAULT = "1000";
+
+    /**
+     * The maximum number of threads the store uses to run pipelined stages.
+     * When they are all busy further stages run on the consuming thread.
+     */
+    public static final String OPERATION_CHAIN_PIPELINE_THREADS = "gaffer.store.operation.chain.pipeline.threads";
+    public static final String OPERATION_CHAIN_PIPELINE_THREADS_DEFAULT = "20";
+
+    /**
+     * How long a pipelined stage waits for the next stage to read its results
+     * before it is stopped.
+     */
+    public static final String OPERATION_CHAIN_PIPELINE_CONSUMER_TIMEOUT_MILLIS = "gaffer.store.operation.chain.pipeline.consumerTimeoutMillis";
+    public static final String OPERATION_CHAIN_PIPELINE_CONSUMER_TIMEOUT_MILLIS_DEFAULT = "300000";
+
+    /**
+     * If true, a {@link uk.gov.gchq.gaffer.store.optimiser.RuleBasedOperationChainOptimiser}
+     * with the default rules is added to the store's operation chain optimisers.
+     */
+    public static final String OPERATION_CHAIN_OPTIMISER_RULES_ENABLED = "gaffer.store.operation.chain.optimiser.rules.enabled";
+
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String STRICT_JSON = JSONSerialiser.STRICT_JSON;
@@ -315,6 +351,14 @@ public class StoreProperties implements Cloneable {
         set(JOB_TRACKER_ENABLED, Boolean.toString(jobTrackerEnabled));
     }
 
+    public long getJobTrackerFinishedJobTtlSeconds() {
+        return Long.parseLong(get(JOB_TRACKER_FINISHED_JOB_TTL_SECONDS, JOB_TRACKER_FINISHED_JOB_TTL_SECONDS_DEFAULT));
+    }
+
+    public void setJobTrackerFinishedJobTtlSeconds(final String finishedJobTtlSeconds) {
+        set(JOB_TRACKER_FINISHED_JOB_TTL_SECONDS, finishedJobTtlSeconds);
+    }
+
     public boolean getRescheduleJobsOnStart() {
         return Boolean.valueOf(get(RESCHEDULE_JOBS_ON_START, "false"));
     }
@@ -391,6 +435,46 @@ public class StoreProperties implements Cloneable {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public boolean getOperationChainPipelined() {
+        return Boolean.valueOf(get(OPERATION_CHAIN_PIPELINED, "false"));
+    }
+
+    public void setOperationChainPipelined(final boolean operationChainPipelined) {
+        set(OPERATION_CHAIN_PIPELINED, Boolean.toString(operationChainPipelined));
+    }
+
+    public boolean getOperationChainOptimiserRulesEnabled() {
+        return Boolean.valueOf(get(OPERATION_CHAIN_OPTIMISER_RULES_ENABLED, "false"));
+    }
+
+    public void setOperationChainOptimiserRulesEnabled(final boolean rulesEnabled) {
+        set(OPERATION_CHAIN_OPTIMISER_RULES_ENABLED, Boolean.toString(rulesEnabled));
+    }
+
+    public Integer getOperationChainPipelineBufferSize() {
+        return Integer.parseInt(get(OPERATION_CHAIN_PIPELINE_BUFFER_SIZE, OPERATION_CHAIN_PIPELINE_BUFFER_SIZE_DEFAULT));
+    }
+
+    public void setOperationChainPipelineBufferSize(final int bufferSize) {
+        set(OPERATION_CHAIN_PIPELINE_BUFFER_SIZE, Integer.toString(bufferSize));
+    }
+
+    public Integer getOperationChainPipelineThreads() {
+        return Integer.parseInt(get(OPERATION_CHAIN_PIPELINE_THREADS, OPERATION_CHAIN_PIPELINE_THREADS_DEFAULT));
+    }
+
+    public void setOperationChainPipelineThreads(final int threads) {
+        set(OPERATION_CHAIN_PIPELINE_THREADS, Integer.toString(threads));
+    }
+
+    public Long getOperationChainPipelineConsumerTimeoutMillis() {
+        return Long.parseLong(get(OPERATION_CHAIN_PIPELINE_CONSUMER_TIMEOUT_MILLIS, OPERATION_CHAIN_PIPELINE_CONSUMER_TIMEOUT_MILLIS_DEFAULT));
+    }
+
+    public void setOperationChainPipelineConsumerTimeoutMillis(final long consumerTimeoutMillis) {
+        set(OPERATION_CHAIN_PIPELINE_CONSUMER_TIMEOUT_MILLIS, Long.toString(consumerTimeoutMillis));
+    }
+
     public void addOperationDeclarationPaths(final String... newPaths) {
         final String newPathsCsv = StringUtils.join(newPaths, ",");
         String combinedPaths = getOperationDeclarationPaths();
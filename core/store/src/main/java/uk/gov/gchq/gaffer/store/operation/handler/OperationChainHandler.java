@@ -21,6 +21,7 @@ import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
 import uk.gov.gchq.koryphe.ValidationResult;
@@ -31,10 +32,18 @@ import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUt
 
 /**
  * A {@code OperationChainHandler} handles {@link OperationChain}s.
+ * <p>
+ * If the {@link #PIPELINED_OPTION} is set to true on the chain, or the
+ * {@link StoreProperties#OPERATION_CHAIN_PIPELINED} store property is true and
+ * the chain does not set the option, the operations are executed using a
+ * {@link PipelinedOperationChainExecutor}.
+ * </p>
  *
  * @param <OUT> the output type of the operation chain
  */
 public class OperationChainHandler<OUT> implements OutputOperationHandler<OperationChain<OUT>, OUT> {
+    public static final String PIPELINED_OPTION = "gaffer.operation.chain.pipelined";
+
     private final OperationChainValidator opChainValidator;
     private final List<OperationChainOptimiser> opChainOptimisers;
 
@@ -43,6 +52,15 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
 
         final OperationChain<OUT> preparedOperationChain = prepareOperationChain(operationChain, context, store);
 
+        if (isPipelined(operationChain, store)) {
+            final StoreProperties properties = null != store.getProperties() ? store.getProperties() : new StoreProperties();
+            return (OUT) new PipelinedOperationChainExecutor(store.getPipelineExecutor(),
+                    properties.getOperationChainPipelineBufferSize(),
+                    properties.getOperationChainPipelineConsumerTimeoutMillis(),
+                    PipelinedOperationChainExecutor.DEFAULT_BARRIERS)
+                    .execute(preparedOperationChain.getOperations(), context, store);
+        }
+
         Object result = null;
         for (final Operation op : preparedOperationChain.getOperations()) {
             updateOperationInput(op, result);
@@ -52,6 +70,14 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
         return (OUT) result;
     }
 
+    protected boolean isPipelined(final OperationChain<?> operationChain, final Store store) {
+        final String option = operationChain.getOption(PIPELINED_OPTION);
+        if (null != option) {
+            return Boolean.parseBoolean(option);
+        }
+        return null != store.getProperties() && store.getProperties().getOperationChainPipelined();
+    }
+
     public <O> OperationChain<O> prepareOperationChain(final OperationChain<O> operationChain, final Context context, final Store store) {
         final ValidationResult validationResult = opChainValidator.validate(operationChain, context
                 .getUser(), store);
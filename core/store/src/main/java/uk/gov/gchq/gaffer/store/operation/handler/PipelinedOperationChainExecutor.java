@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.Reduce;
+import uk.gov.gchq.gaffer.operation.impl.compare.Max;
+import uk.gov.gchq.gaffer.operation.impl.compare.Min;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.output.ToArray;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
+
+/**
+ * <p>
+ * A {@code PipelinedOperationChainExecutor} executes the operations in an
+ * {@link uk.gov.gchq.gaffer.operation.OperationChain} so that streaming stages
+ * run concurrently. The operations are still handled in order, but when an
+ * operation returns a lazy {@link Iterable} and the next operation streams its
+ * {@link MultiInput}, the results are passed on through a
+ * {@link PipelinedIterable}. The results are then produced on a separate thread
+ * and handed to the next stage through a bounded buffer, so a slow consumer
+ * holds back the producer rather than the results building up in memory.
+ * </p>
+ * <p>
+ * Barrier operations, such as {@link Sort}, {@link ToSet} and {@link Count},
+ * need all of their input before they can return anything. They are given the
+ * previous result directly, so the chain is synchronised at that point.
+ * Results that are already {@link Collection}s are also passed on directly.
+ * </p>
+ * <p>
+ * If the chain returns a lazy {@link Iterable} it is wrapped so that closing it
+ * also closes every pipelined stage of the chain. The stages are closed as soon
+ * as the chain has finished when any other result is returned, or if an
+ * operation fails.
+ * </p>
+ */
+public class PipelinedOperationChainExecutor {
+    public static final Set<Class<? extends Operation>> DEFAULT_BARRIERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            Count.class, CountGroups.class, Max.class, Min.class, Reduce.class, Sort.class,
+            ToArray.class, ToList.class, ToSet.class)));
+
+    private final Executor executor;
+    private final int bufferSize;
+    private final long consumerTimeoutMillis;
+    private final Set<Class<? extends Operation>> barriers;
+
+    public PipelinedOperationChainExecutor(final Executor executor, final int bufferSize) {
+        this(executor, bufferSize, PipelinedIterable.DEFAULT_CONSUMER_TIMEOUT_MILLIS, DEFAULT_BARRIERS);
+    }
+
+    public PipelinedOperationChainExecutor(final Executor executor, final int bufferSize, final long consumerTimeoutMillis,
+                                           final Set<Class<? extends Operation>> barriers) {
+        if (null == executor) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Pipeline buffer size must be at least 1 but was " + bufferSize);
+        }
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.consumerTimeoutMillis = consumerTimeoutMillis;
+        this.barriers = barriers;
+    }
+
+    /**
+     * Executes the operations in order, pipelining the results between
+     * streaming stages.
+     *
+     * @param operations the operations to execute
+     * @param context    the operation chain context
+     * @param store      the store to handle the operations
+     * @return the result of the final operation, which closes the pipelined
+     * stages when it is closed if it is a lazy {@link Iterable}
+     * @throws OperationException if an operation fails
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Object execute(final List<Operation> operations, final Context context, final Store store) throws OperationException {
+        final List<PipelinedIterable<?>> stages = new ArrayList<>();
+        Object result = null;
+        try {
+            for (final Operation op : operations) {
+                updateOperationInput(op, isStreaming(op) ? pipeline(result, stages) : result);
+                result = store.handleOperation(op, context);
+            }
+        } catch (final OperationException | RuntimeException e) {
+            stages.forEach(CloseableUtil::close);
+            throw e;
+        }
+
+        if (stages.isEmpty()) {
+            return result;
+        }
+        if (result instanceof Iterable && !(result instanceof Collection)) {
+            return new PipelinedResult<>((Iterable) result, stages);
+        }
+        stages.forEach(CloseableUtil::close);
+        return result;
+    }
+
+    /**
+     * Checks whether an operation can consume its input as it is produced.
+     *
+     * @param op the operation to check
+     * @return true if the operation has an iterable input and is not a barrier
+     */
+    public boolean isStreaming(final Operation op) {
+        return op instanceof MultiInput && !barriers.contains(op.getClass());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Object pipeline(final Object result, final List<PipelinedIterable<?>> stages) {
+        if (result instanceof Iterable && !(result instanceof Collection)) {
+            final PipelinedIterable<?> stage = new PipelinedIterable<>((Iterable) result, executor, bufferSize, consumerTimeoutMillis);
+            stages.add(stage);
+            return stage;
+        }
+        return result;
+    }
+
+    /**
+     * The result of a pipelined chain, which closes the pipelined stages along
+     * with the result.
+     */
+    private static final class PipelinedResult<T> implements Iterable<T>, Closeable {
+        private final Iterable<T> result;
+        private final List<PipelinedIterable<?>> stages;
+
+        private PipelinedResult(final Iterable<T> result, final List<PipelinedIterable<?>> stages) {
+            this.result = result;
+            this.stages = stages;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return result.iterator();
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(result);
+            stages.forEach(CloseableUtil::close);
+        }
+    }
+}
@@ -108,6 +108,15 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
         return defaultScoreResolver.getScore((Operation) operations, defaultScoreResolver);
     }
 
+    /**
+     * @return the resolver used to score operations, using the configured
+     * operation scores and score resolvers
+     */
+    @JsonIgnore
+    public ScoreResolver<Operation> getScoreResolver() {
+        return defaultScoreResolver;
+    }
+
     /**
      * Iterates through each of the users operation authorisations listed in the config file and returns the highest score
      * associated with those auths.
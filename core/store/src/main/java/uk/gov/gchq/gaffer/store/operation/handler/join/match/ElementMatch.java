@@ -16,20 +16,33 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Tests for matches for Elements within a Join Operation, groupBy properties can be optionally specified.
+ * <p>
+ * The match candidates are indexed by a key made from the element class, group, identifiers and
+ * groupBy property values, so each test object is matched with a single lookup rather than by
+ * comparing it against every candidate. Two elements have the same key exactly when the
+ * {@link ElementJoinComparator} considers them to match.
+ * </p>
  */
 public class ElementMatch implements Match {
     private final ElementJoinComparator elementJoinComparator;
     private Iterable matchCandidates;
+    private Map<List<Object>, List<Element>> keyedMatchCandidates;
 
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "ElementMatch must be initialised with non-null match candidates";
 
@@ -47,6 +60,7 @@ public class ElementMatch implements Match {
 
     public void setElementGroupByProperties(final Set<String> groupByProperties) {
         elementJoinComparator.setGroupByProperties(groupByProperties);
+        keyedMatchCandidates = null;
     }
 
     @Override
@@ -55,6 +69,7 @@ public class ElementMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         this.matchCandidates = matchCandidates;
+        keyedMatchCandidates = null;
     }
 
     @Override
@@ -62,15 +77,53 @@ public class ElementMatch implements Match {
         if (matchCandidates == null) {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
+        if (null == keyedMatchCandidates) {
+            keyedMatchCandidates = createIndex();
+        }
 
-        List matches = new ArrayList<>();
-
-
-        for (final Object entry : matchCandidates) {
-            if (elementJoinComparator.test((Element) entry, (Element) testObject)) {
-                matches.add(((Element) entry).shallowClone());
+        final List<Element> candidates = keyedMatchCandidates.get(getKey((Element) testObject, getGroupByProperties()));
+        final List matches = new ArrayList<>();
+        if (null != candidates) {
+            for (final Element candidate : candidates) {
+                matches.add(candidate.shallowClone());
             }
         }
         return matches;
     }
+
+    private Map<List<Object>, List<Element>> createIndex() {
+        final List<String> groupByProperties = getGroupByProperties();
+        final Map<List<Object>, List<Element>> index = new HashMap<>();
+        for (final Object candidate : matchCandidates) {
+            index.computeIfAbsent(getKey((Element) candidate, groupByProperties), k -> new ArrayList<>())
+                    .add((Element) candidate);
+        }
+        return index;
+    }
+
+    private List<String> getGroupByProperties() {
+        final Set<String> groupByProperties = elementJoinComparator.getGroupByProperties();
+        return null != groupByProperties ? new ArrayList<>(new TreeSet<>(groupByProperties)) : new ArrayList<>();
+    }
+
+    // Only the fields compared by the ElementJoinComparator are included in the key
+    private static List<Object> getKey(final Element element, final List<String> groupByProperties) {
+        if (null == element) {
+            return null;
+        }
+
+        final List<Object> key = new ArrayList<>(5 + groupByProperties.size());
+        key.add(element.getClass());
+        key.add(element.getGroup());
+        if (element instanceof Entity) {
+            key.add(((Entity) element).getVertex());
+        } else {
+            final Edge edge = (Edge) element;
+            key.addAll(Arrays.asList(edge.getSource(), edge.getDestination(), edge.getDirectedType()));
+        }
+        for (final String property : groupByProperties) {
+            key.add(element.getProperty(property));
+        }
+        return key;
+    }
 }
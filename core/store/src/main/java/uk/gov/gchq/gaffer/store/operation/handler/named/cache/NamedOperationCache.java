@@ -25,14 +25,22 @@ import uk.gov.gchq.gaffer.cache.Cache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
+import uk.gov.gchq.gaffer.named.operation.NamedOperationTemplate;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.StreamSupport;
 
 /**
  * Wrapper around the {@link uk.gov.gchq.gaffer.cache.CacheServiceLoader} to provide an interface for handling
  * the {@link uk.gov.gchq.gaffer.named.operation.NamedOperation}s for a Gaffer graph.
+ * <p>
+ * The parsed {@link NamedOperationTemplate} of each named operation is kept in memory, and is set on the
+ * {@link NamedOperationDetail}s returned, so a named operation is only parsed again when its operations or
+ * parameters change.
+ * </p>
  */
 public class NamedOperationCache extends Cache<String, NamedOperationDetail> {
 
@@ -41,6 +49,8 @@ public class NamedOperationCache extends Cache<String, NamedOperationDetail> {
     public static final String NAMED_OPERATION_CACHE_WAS_MADE_WITH_NULL_OR_EMPTY_SUFFIX = "NamedOperation Cache was made with Null or Empty suffix, This is very likely a mistake. GraphId or a supplied suffix is normal";
     public static final String NAMED_OPERATION_CACHE_SERVICE_NAME = "NamedOperation";
 
+    private final ConcurrentHashMap<String, NamedOperationTemplate> templates = new ConcurrentHashMap<>();
+
     public NamedOperationCache(final String suffixNamedOperationCacheName) {
         super(getCacheNameFrom(suffixNamedOperationCacheName), NAMED_OPERATION_CACHE_SERVICE_NAME);
         if (Strings.isNullOrEmpty(suffixNamedOperationCacheName)) {
@@ -129,6 +139,7 @@ public class NamedOperationCache extends Cache<String, NamedOperationDetail> {
         if (null == op) {
             throw new CacheOperationException("No named operation with the name " + name + " exists in the cache:" + cacheName);
         } else {
+            setTemplate(op);
             return op;
         }
     }
@@ -193,6 +204,7 @@ public class NamedOperationCache extends Cache<String, NamedOperationDetail> {
 
         if (existing.hasWriteAccess(user, adminAuth)) {
             super.deleteFromCache(name);
+            templates.remove(name);
         } else {
             throw new CacheOperationException(String.format("User %s does not have authority to delete named operation: %s", user, name));
         }
@@ -241,4 +253,17 @@ public class NamedOperationCache extends Cache<String, NamedOperationDetail> {
             .filter(op -> op.hasReadAccess(user, adminAuth))
             .iterator();
     }
+
+    private void setTemplate(final NamedOperationDetail op) {
+        final Set<String> parameterNames = null != op.getParameters() ? op.getParameters().keySet() : null;
+        try {
+            op.setTemplate(templates.compute(op.getOperationName(), (name, template) ->
+                    null != template && template.isCompiledFrom(op.getOperations(), parameterNames)
+                            ? template
+                            : NamedOperationTemplate.compile(op.getOperations(), parameterNames)));
+        } catch (final IllegalArgumentException e) {
+            // Leave the operations to fail when the named operation is used
+            LOGGER.debug("Unable to parse the operations of named operation {}", op.getOperationName(), e);
+        }
+    }
 }
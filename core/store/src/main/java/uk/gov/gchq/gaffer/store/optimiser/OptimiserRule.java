@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+
+import java.util.List;
+
+/**
+ * An {@code OptimiserRule} rewrites a list of operations into an equivalent,
+ * cheaper list of operations. Rules are applied by a
+ * {@link RuleBasedOperationChainOptimiser}.
+ * <p>
+ * Rules must not modify the operations they are given. If an operation needs
+ * to change then a clone of it should be returned in the new list.
+ * </p>
+ */
+public interface OptimiserRule {
+    /**
+     * Rewrites the operations. If the rule does not apply then the same list
+     * should be returned.
+     *
+     * @param operations the operations to rewrite
+     * @return the rewritten operations
+     */
+    List<Operation> apply(final List<Operation> operations);
+
+    /**
+     * @return the name of the rule, used in diagnostics
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
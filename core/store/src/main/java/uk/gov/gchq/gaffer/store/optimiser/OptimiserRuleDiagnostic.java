@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@code OptimiserRuleDiagnostic} records a rewrite proposed by an
+ * {@link OptimiserRule}: the operations before and after the rewrite, their
+ * costs and whether the rewrite was accepted.
+ */
+public class OptimiserRuleDiagnostic {
+    private final String ruleName;
+    private final List<Operation> before;
+    private final List<Operation> after;
+    private final int costBefore;
+    private final int costAfter;
+    private final boolean accepted;
+
+    public OptimiserRuleDiagnostic(final String ruleName,
+                                   final List<Operation> before, final List<Operation> after,
+                                   final int costBefore, final int costAfter, final boolean accepted) {
+        this.ruleName = ruleName;
+        this.before = Collections.unmodifiableList(new ArrayList<>(before));
+        this.after = Collections.unmodifiableList(new ArrayList<>(after));
+        this.costBefore = costBefore;
+        this.costAfter = costAfter;
+        this.accepted = accepted;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public List<Operation> getBefore() {
+        return before;
+    }
+
+    public List<Operation> getAfter() {
+        return after;
+    }
+
+    public int getCostBefore() {
+        return costBefore;
+    }
+
+    public int getCostAfter() {
+        return costAfter;
+    }
+
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("ruleName", ruleName)
+                .append("before", new OperationChain<>(before).toOverviewString())
+                .append("after", new OperationChain<>(after).toOverviewString())
+                .append("costBefore", costBefore)
+                .append("costAfter", costAfter)
+                .append("accepted", accepted)
+                .toString();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.store.operation.resolver.DefaultScoreResolver;
+import uk.gov.gchq.gaffer.store.operation.resolver.ScoreResolver;
+import uk.gov.gchq.gaffer.store.optimiser.rule.FilterToViewRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.LimitPushDownRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.RedundantConversionRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.TransformToViewRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * <p>
+ * A {@code RuleBasedOperationChainOptimiser} optimises operation chains by
+ * repeatedly applying a list of {@link OptimiserRule}s until none of them
+ * change the chain.
+ * </p>
+ * <p>
+ * Each rewrite is costed using a {@link ScoreResolver}, the same way an
+ * operation chain is scored by the
+ * {@link uk.gov.gchq.gaffer.store.operation.handler.ScoreOperationChainHandler}.
+ * When added by the store, the store's own operation scores are used. A rewrite
+ * is only accepted if it does not increase the cost of the chain. The rewrites that would be made to a chain can be
+ * inspected using {@link #explain(OperationChain)}.
+ * </p>
+ */
+public class RuleBasedOperationChainOptimiser extends AbstractOperationChainOptimiser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RuleBasedOperationChainOptimiser.class);
+    private static final int MAX_PASSES = 10;
+
+    private final List<OptimiserRule> rules;
+    private final ScoreResolver<Operation> scoreResolver;
+
+    public RuleBasedOperationChainOptimiser() {
+        this(getDefaultRules());
+    }
+
+    public RuleBasedOperationChainOptimiser(final List<OptimiserRule> rules) {
+        this(rules, new DefaultScoreResolver());
+    }
+
+    public RuleBasedOperationChainOptimiser(final List<OptimiserRule> rules, final Map<Class<? extends Operation>, Integer> opScores) {
+        this(rules, new DefaultScoreResolver(Collections.unmodifiableMap(new LinkedHashMap<>(opScores))));
+    }
+
+    public RuleBasedOperationChainOptimiser(final List<OptimiserRule> rules, final ScoreResolver<Operation> scoreResolver) {
+        if (null == scoreResolver) {
+            throw new IllegalArgumentException("Score resolver is required");
+        }
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        this.scoreResolver = scoreResolver;
+    }
+
+    public static List<OptimiserRule> getDefaultRules() {
+        return Arrays.asList(
+                new RedundantConversionRule(),
+                new FilterToViewRule(),
+                new TransformToViewRule(),
+                new LimitPushDownRule());
+    }
+
+    public List<OptimiserRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Works out the rewrites that the rules would make to an operation chain,
+     * without changing the chain.
+     *
+     * @param operationChain the operation chain to explain
+     * @return the rewrites proposed by the rules, in the order they were applied
+     */
+    public List<OptimiserRuleDiagnostic> explain(final OperationChain<?> operationChain) {
+        final List<OptimiserRuleDiagnostic> diagnostics = new ArrayList<>();
+        applyRules(operationChain.getOperations(), diagnostics);
+        return diagnostics;
+    }
+
+    /**
+     * Calculates the cost of a list of operations.
+     *
+     * @param operations the operations
+     * @return the sum of the operation scores
+     */
+    public int getCost(final List<Operation> operations) {
+        int cost = 0;
+        for (final Operation operation : operations) {
+            final Integer score = scoreResolver.getScore(operation);
+            cost += null != score ? score : DefaultScoreResolver.DEFAULT_OPERATION_SCORE;
+        }
+        return cost;
+    }
+
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        return singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        return applyRules(ops, null);
+    }
+
+    private List<Operation> applyRules(final List<Operation> ops, final List<OptimiserRuleDiagnostic> diagnostics) {
+        List<Operation> current = ops;
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            boolean changed = false;
+            for (final OptimiserRule rule : rules) {
+                final List<Operation> rewritten = rule.apply(current);
+                if (isSameOperations(current, rewritten)) {
+                    continue;
+                }
+
+                final int costBefore = getCost(current);
+                final int costAfter = getCost(rewritten);
+                final boolean accepted = costAfter <= costBefore;
+                final OptimiserRuleDiagnostic diagnostic = new OptimiserRuleDiagnostic(rule.getName(), current, rewritten, costBefore, costAfter, accepted);
+                LOGGER.debug("Optimiser rule result: {}", diagnostic);
+                if (null != diagnostics) {
+                    diagnostics.add(diagnostic);
+                }
+                if (accepted) {
+                    current = rewritten;
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+        return current;
+    }
+
+    private static boolean isSameOperations(final List<Operation> ops, final List<Operation> otherOps) {
+        if (ops == otherOps) {
+            return true;
+        }
+        if (ops.size() != otherOps.size()) {
+            return false;
+        }
+        for (int i = 0; i < ops.size(); i++) {
+            if (ops.get(i) != otherOps.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.OperationView;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.store.optimiser.OptimiserRule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * An {@code AbstractViewFusionRule} fuses an operation that follows a
+ * {@link GetElements} or {@link GetAllElements} into the view of the get
+ * operation, so the work is done as the elements are retrieved.
+ * <p>
+ * Only views that list their groups explicitly are fused. Views with global
+ * definitions or that include all entities or edges are left unchanged.
+ * </p>
+ * <p>
+ * A view removes the properties it does not include after its functions have
+ * been applied, so an operation using a property the view removes must not be
+ * fused into it.
+ * </p>
+ *
+ * @param <OP> the type of operation to fuse into the view
+ */
+public abstract class AbstractViewFusionRule<OP extends Operation> implements OptimiserRule {
+    private final Class<OP> operationClass;
+
+    protected AbstractViewFusionRule(final Class<OP> operationClass) {
+        this.operationClass = operationClass;
+    }
+
+    @Override
+    public List<Operation> apply(final List<Operation> operations) {
+        List<Operation> result = operations;
+        int index = 0;
+        while (index < result.size() - 1) {
+            final Operation op = result.get(index);
+            final Operation nextOp = result.get(index + 1);
+            final View fusedView = isFusable(op, nextOp) ? fuse(((OperationView) op).getView(), operationClass.cast(nextOp)) : null;
+            if (null == fusedView) {
+                index++;
+            } else {
+                final Operation clone = op.shallowClone();
+                ((OperationView) clone).setView(fusedView);
+                result = new ArrayList<>(result);
+                result.set(index, clone);
+                result.remove(index + 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fuses an operation into a view.
+     *
+     * @param view      the view of the get operation
+     * @param operation the operation to fuse
+     * @return the fused view, or null if the operation cannot be fused
+     */
+    protected abstract View fuse(final View view, final OP operation);
+
+    /**
+     * Builds a new view by updating each element definition in a view.
+     *
+     * @param view    the view to update
+     * @param updater updates an element definition given its group and
+     *                whether it is an entity. Returning null removes the group.
+     * @return the new view, or null if no groups remain
+     */
+    protected View updateElementDefinitions(final View view, final BiFunction<Map.Entry<String, ViewElementDefinition>, Boolean, ViewElementDefinition> updater) {
+        final View.Builder builder = new View.Builder().config(view.getConfig());
+        boolean hasGroups = false;
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            final ViewElementDefinition elementDef = updater.apply(entry, true);
+            if (null != elementDef) {
+                builder.entity(entry.getKey(), elementDef);
+                hasGroups = true;
+            }
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            final ViewElementDefinition elementDef = updater.apply(entry, false);
+            if (null != elementDef) {
+                builder.edge(entry.getKey(), elementDef);
+                hasGroups = true;
+            }
+        }
+        return hasGroups ? builder.build() : null;
+    }
+
+    /**
+     * Checks whether a view element definition removes any of the given properties
+     * from the elements it returns. Identifiers are never removed.
+     *
+     * @param elementDef    the view element definition
+     * @param propertyNames the names of the properties
+     * @return true if any of the properties are removed
+     */
+    protected static boolean removesAnyProperty(final ViewElementDefinition elementDef, final Collection<String> propertyNames) {
+        if (elementDef.isAllProperties()) {
+            return false;
+        }
+        for (final String propertyName : propertyNames) {
+            if (null == IdentifierType.fromName(propertyName)
+                    && (null != elementDef.getProperties()
+                    ? !elementDef.getProperties().contains(propertyName)
+                    : elementDef.getExcludeProperties().contains(propertyName))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isFusable(final Operation op, final Operation nextOp) {
+        if (!(op instanceof GetElements || op instanceof GetAllElements)
+                || !operationClass.isInstance(nextOp)
+                || (nextOp instanceof Input && null != ((Input) nextOp).getInput())) {
+            return false;
+        }
+
+        final View view = ((OperationView) op).getView();
+        return null != view
+                && View.class.equals(view.getClass())
+                && !view.isAllEntities()
+                && !view.isAllEdges()
+                && isEmpty(view.getGlobalElements())
+                && isEmpty(view.getGlobalEntities())
+                && isEmpty(view.getGlobalEdges());
+    }
+
+    private static boolean isEmpty(final List<?> list) {
+        return null == list || list.isEmpty();
+    }
+}
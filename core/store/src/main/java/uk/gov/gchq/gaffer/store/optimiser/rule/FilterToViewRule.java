@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@code FilterToViewRule} fuses a {@link Filter} that follows a get
+ * operation into the post transform filters of the get operation's view.
+ * <p>
+ * A {@link Filter} removes elements in groups it does not list, so these groups
+ * are removed from the view. If the filter would remove every group, or uses a
+ * property that a group in the view removes, then it is not fused.
+ * </p>
+ */
+public class FilterToViewRule extends AbstractViewFusionRule<Filter> {
+    public FilterToViewRule() {
+        super(Filter.class);
+    }
+
+    @Override
+    protected View fuse(final View view, final Filter filter) {
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            if (!canFuse(entry, filter, true)) {
+                return null;
+            }
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            if (!canFuse(entry, filter, false)) {
+                return null;
+            }
+        }
+
+        return updateElementDefinitions(view, (entry, isEntity) -> {
+            final ElementFilter groupFilter = getGroupFilter(entry.getKey(), filter, isEntity);
+            if (null == groupFilter) {
+                return null;
+            }
+
+            final ViewElementDefinition elementDef = entry.getValue();
+            final List<TupleAdaptedPredicate<String, ?>> functions = new ArrayList<>();
+            addComponents(functions, elementDef.getPostTransformFilter());
+            addComponents(functions, filter.getGlobalElements());
+            addComponents(functions, isEntity ? filter.getGlobalEntities() : filter.getGlobalEdges());
+            addComponents(functions, groupFilter);
+            return new ViewElementDefinition.Builder(elementDef)
+                    .postTransformFilterFunctions(functions)
+                    .build();
+        });
+    }
+
+    private static boolean canFuse(final Map.Entry<String, ViewElementDefinition> entry, final Filter filter, final boolean isEntity) {
+        final ElementFilter groupFilter = getGroupFilter(entry.getKey(), filter, isEntity);
+        if (null == groupFilter) {
+            return true;
+        }
+
+        final Set<String> propertyNames = new HashSet<>();
+        addSelections(propertyNames, filter.getGlobalElements());
+        addSelections(propertyNames, isEntity ? filter.getGlobalEntities() : filter.getGlobalEdges());
+        addSelections(propertyNames, groupFilter);
+        return !removesAnyProperty(entry.getValue(), propertyNames);
+    }
+
+    private static ElementFilter getGroupFilter(final String group, final Filter filter, final boolean isEntity) {
+        // A Filter without entities or edges applies its global filters to all groups
+        if (null == filter.getEntities() && null == filter.getEdges()) {
+            return new ElementFilter();
+        }
+        final Map<String, ElementFilter> groupFilters = isEntity ? filter.getEntities() : filter.getEdges();
+        return null != groupFilters ? groupFilters.get(group) : null;
+    }
+
+    private static void addSelections(final Set<String> propertyNames, final ElementFilter filter) {
+        if (null != filter) {
+            for (final TupleAdaptedPredicate<String, ?> function : filter.getComponents()) {
+                if (null != function.getSelection()) {
+                    Collections.addAll(propertyNames, function.getSelection());
+                }
+            }
+        }
+    }
+
+    private static void addComponents(final List<TupleAdaptedPredicate<String, ?>> functions, final ElementFilter filter) {
+        if (null != filter) {
+            functions.addAll(filter.getComponents());
+        }
+    }
+}
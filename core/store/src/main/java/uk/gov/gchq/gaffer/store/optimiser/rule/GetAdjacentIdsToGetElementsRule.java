@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.optimiser.OptimiserRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * A {@code GetAdjacentIdsToGetElementsRule} collapses a {@link GetAdjacentIds}
+ * followed by a {@link GetElements} into a single operation.
+ * <p>
+ * There is no generic operation that does both hops, so this rule is not one
+ * of the default rules. A store that can do both hops in a single call should
+ * register this rule with a combiner that creates its own operation. The
+ * combiner returns null if the pair of operations cannot be combined.
+ * </p>
+ */
+public class GetAdjacentIdsToGetElementsRule implements OptimiserRule {
+    private final BiFunction<GetAdjacentIds, GetElements, Operation> combiner;
+
+    public GetAdjacentIdsToGetElementsRule(final BiFunction<GetAdjacentIds, GetElements, Operation> combiner) {
+        if (null == combiner) {
+            throw new IllegalArgumentException("Combiner is required");
+        }
+        this.combiner = combiner;
+    }
+
+    @Override
+    public List<Operation> apply(final List<Operation> operations) {
+        List<Operation> result = operations;
+        for (int index = 0; index < result.size() - 1; index++) {
+            final Operation op = result.get(index);
+            final Operation nextOp = result.get(index + 1);
+            if (op instanceof GetAdjacentIds && nextOp instanceof GetElements && null == ((GetElements) nextOp).getInput()) {
+                final Operation combined = combiner.apply((GetAdjacentIds) op, (GetElements) nextOp);
+                if (null != combined) {
+                    result = new ArrayList<>(result);
+                    result.set(index, combined);
+                    result.remove(index + 1);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.data.generator.OneToOneElementGenerator;
+import uk.gov.gchq.gaffer.data.generator.OneToOneObjectGenerator;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
+import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
+import uk.gov.gchq.gaffer.operation.impl.output.ToCsv;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.impl.output.ToMap;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.store.optimiser.OptimiserRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A {@code LimitPushDownRule} moves a {@link Limit} ahead of operations that
+ * convert each input item into exactly one output item, so that the
+ * conversion is only applied to the items that are returned. The
+ * {@link Limit} is moved as close as possible to the operation that retrieves
+ * the items. Adjacent truncating {@link Limit}s are also merged.
+ */
+public class LimitPushDownRule implements OptimiserRule {
+    private final Predicate<Operation> isOneToOne;
+
+    public LimitPushDownRule() {
+        this(LimitPushDownRule::isOneToOneConversion);
+    }
+
+    public LimitPushDownRule(final Predicate<Operation> isOneToOne) {
+        this.isOneToOne = isOneToOne;
+    }
+
+    @Override
+    public List<Operation> apply(final List<Operation> operations) {
+        List<Operation> result = operations;
+        int index = 1;
+        while (index < result.size()) {
+            if (!isMovableLimit(result.get(index))) {
+                index++;
+                continue;
+            }
+
+            int target = index;
+            while (target > 0 && isOneToOne.test(result.get(target - 1)) && hasNoInput(result.get(target - 1))) {
+                target--;
+            }
+            if (target < index) {
+                result = new ArrayList<>(result);
+                result.add(target, result.remove(index));
+            }
+
+            if (target > 0 && canMerge(result.get(target - 1), result.get(target))) {
+                final Limit<?> previous = (Limit<?>) result.get(target - 1);
+                final Limit<?> merged = previous.shallowClone();
+                merged.setResultLimit(Math.min(previous.getResultLimit(), ((Limit<?>) result.get(target)).getResultLimit()));
+                result = new ArrayList<>(result);
+                result.set(target - 1, merged);
+                result.remove(target);
+            } else {
+                index++;
+            }
+        }
+        return result;
+    }
+
+    public static boolean isOneToOneConversion(final Operation op) {
+        return op instanceof ToEntitySeeds
+                || op instanceof ToMap
+                || op instanceof Transform
+                || (op instanceof ToCsv && !((ToCsv) op).isIncludeHeader())
+                || (op instanceof GenerateObjects && ((GenerateObjects<?>) op).getElementGenerator() instanceof OneToOneObjectGenerator)
+                || (op instanceof GenerateElements && ((GenerateElements<?>) op).getElementGenerator() instanceof OneToOneElementGenerator);
+    }
+
+    private static boolean isMovableLimit(final Operation op) {
+        return op instanceof Limit && hasNoInput(op) && null != ((Limit<?>) op).getResultLimit();
+    }
+
+    private static boolean canMerge(final Operation previous, final Operation limit) {
+        return previous instanceof Limit
+                && null != ((Limit<?>) previous).getResultLimit()
+                && ((Limit<?>) previous).getTruncate()
+                && ((Limit<?>) limit).getTruncate();
+    }
+
+    private static boolean hasNoInput(final Operation op) {
+        return !(op instanceof Input) || null == ((Input<?>) op).getInput();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.compare.Max;
+import uk.gov.gchq.gaffer.operation.impl.compare.Min;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.output.ToArray;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.store.optimiser.OptimiserRule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code RedundantConversionRule} removes {@link ToList} and {@link ToSet}
+ * conversions whose results are immediately converted again.
+ * <p>
+ * A {@link ToList} is removed if the next operation reads all of its input
+ * once to build its own result, such as {@link Count}, {@link Sort} or another
+ * {@link ToList}. A {@link ToSet} is removed if it is followed by another
+ * {@link ToSet}.
+ * </p>
+ */
+public class RedundantConversionRule implements OptimiserRule {
+    @Override
+    public List<Operation> apply(final List<Operation> operations) {
+        List<Operation> result = operations;
+        int index = 0;
+        while (index < result.size() - 1) {
+            if (isRedundant(result.get(index), result.get(index + 1))) {
+                result = new ArrayList<>(result);
+                result.remove(index);
+            } else {
+                index++;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isRedundant(final Operation op, final Operation nextOp) {
+        if (!hasNoInput(op) || !hasNoInput(nextOp)) {
+            return false;
+        }
+        if (op instanceof ToList) {
+            return nextOp instanceof ToList
+                    || nextOp instanceof ToSet
+                    || nextOp instanceof ToArray
+                    || nextOp instanceof Count
+                    || nextOp instanceof Sort
+                    || nextOp instanceof Max
+                    || nextOp instanceof Min;
+        }
+        return op instanceof ToSet && nextOp instanceof ToSet;
+    }
+
+    private static boolean hasNoInput(final Operation op) {
+        return op instanceof Input && null == ((Input<?>) op).getInput();
+    }
+}
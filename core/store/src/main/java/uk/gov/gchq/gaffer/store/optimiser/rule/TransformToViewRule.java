@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@code TransformToViewRule} fuses a {@link Transform} that follows a get
+ * operation into the transformers of the get operation's view.
+ * <p>
+ * The transform functions are added after any existing view transform
+ * functions. A view group with post transform filters would filter the
+ * elements before the {@link Transform} is applied, so if any transformed
+ * group has post transform filters, or removes a property the transform
+ * selects or projects, the transform is not fused.
+ * </p>
+ */
+public class TransformToViewRule extends AbstractViewFusionRule<Transform> {
+    public TransformToViewRule() {
+        super(Transform.class);
+    }
+
+    @Override
+    protected View fuse(final View view, final Transform transform) {
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            if (!canFuse(entry, transform.getEntities())) {
+                return null;
+            }
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            if (!canFuse(entry, transform.getEdges())) {
+                return null;
+            }
+        }
+
+        return updateElementDefinitions(view, (entry, isEntity) -> {
+            final ElementTransformer transformer = getTransformer(entry.getKey(), isEntity ? transform.getEntities() : transform.getEdges());
+            if (null == transformer) {
+                return entry.getValue();
+            }
+            return new ViewElementDefinition.Builder(entry.getValue())
+                    .transformFunctions(entry.getValue().getTransformFunctions())
+                    .addTransformFunctions(transformer.getComponents())
+                    .build();
+        });
+    }
+
+    private static boolean canFuse(final Map.Entry<String, ViewElementDefinition> entry, final Map<String, ElementTransformer> transformers) {
+        final ElementTransformer transformer = getTransformer(entry.getKey(), transformers);
+        if (null == transformer) {
+            return true;
+        }
+
+        final Set<String> propertyNames = new HashSet<>();
+        for (final TupleAdaptedFunction<String, ?, ?> function : transformer.getComponents()) {
+            if (null != function.getSelection()) {
+                Collections.addAll(propertyNames, function.getSelection());
+            }
+            if (null != function.getProjection()) {
+                Collections.addAll(propertyNames, function.getProjection());
+            }
+        }
+        return !entry.getValue().hasPostTransformFilters() && !removesAnyProperty(entry.getValue(), propertyNames);
+    }
+
+    private static ElementTransformer getTransformer(final String group, final Map<String, ElementTransformer> transformers) {
+        return null != transformers ? transformers.get(group) : null;
+    }
+}
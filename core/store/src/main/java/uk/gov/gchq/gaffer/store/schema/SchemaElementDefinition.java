@@ -271,7 +271,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
     }
 
     @JsonIgnore
-    private ElementAggregator getQueryAggregatorForNullViewAggregator(final Set<String> viewGroupBy) {
+    private synchronized ElementAggregator getQueryAggregatorForNullViewAggregator(final Set<String> viewGroupBy) {
         if (null == queryAggregatorCacheMap.get(viewGroupBy))  {
             populateQueryAggregatorCache(viewGroupBy);
         }
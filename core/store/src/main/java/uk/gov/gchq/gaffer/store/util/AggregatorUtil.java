@@ -21,6 +21,7 @@ import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.element.ReservedPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -278,9 +279,15 @@ public final class AggregatorUtil {
         }
     }
 
+    /**
+     * Aggregates elements using the ingest or query aggregator for their group.
+     * The schema aggregators hold the properties being aggregated, so each instance
+     * uses its own copy of them and an instance should only be used by one thread.
+     */
     protected static class ElementBinaryOperator extends KorypheBinaryOperator<Element> {
         private final Schema schema;
         private final View view;
+        private final Map<String, ElementAggregator> aggregators = new HashMap<>();
 
         protected ElementBinaryOperator(final Schema schema, final View view) {
             if (isNull(schema)) {
@@ -292,12 +299,21 @@ public final class AggregatorUtil {
 
         @Override
         public Element _apply(final Element a, final Element b) {
-            final String group = a.getGroup();
+            return aggregators.computeIfAbsent(a.getGroup(), this::createAggregator).apply(a, b);
+        }
+
+        private ElementAggregator createAggregator(final String group) {
+            final ElementAggregator schemaAggregator;
             if (isNull(view)) {
-                return schema.getElement(group).getIngestAggregator().apply(a, b);
+                schemaAggregator = schema.getElement(group).getIngestAggregator();
+            } else {
+                final ViewElementDefinition elementDef = view.getElement(group);
+                schemaAggregator = schema.getElement(group).getQueryAggregator(elementDef.getGroupBy(), elementDef.getAggregator());
             }
-            final ViewElementDefinition elementDef = view.getElement(group);
-            return schema.getElement(group).getQueryAggregator(elementDef.getGroupBy(), elementDef.getAggregator()).apply(a, b);
+            final ElementAggregator aggregator = new ElementAggregator();
+            aggregator.getComponents().addAll(schemaAggregator.getComponents());
+            aggregator.lock();
+            return aggregator;
         }
     }
 
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Utility class to create a clone of an {@link Element}.
+ * <p>
+ * Each property is cloned using the strategy registered for its class. By default
+ * immutable classes, such as String, the primitive wrappers and the java.time
+ * classes, are not copied and {@link Date}s are copied directly. Properties of any
+ * other class with a public no argument {@code copy()} method returning the same
+ * class are copied using that method. Otherwise the property is cloned by
+ * serialising and then deserialising it with the serialiser from the schema.
+ * <p>
+ * Additional strategies can be added using {@link #register(Class, UnaryOperator)}.
+ */
+public class ElementCloner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementCloner.class);
+    private static final UnaryOperator<Object> SERIALISER_FALLBACK = property -> property;
+    private static final String COPY_METHOD_NAME = "copy";
+
+    private final Map<Class<?>, UnaryOperator<Object>> strategies = new ConcurrentHashMap<>();
+
+    public ElementCloner() {
+        for (final Class<?> immutableClass : Arrays.asList(
+                String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class,
+                Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class,
+                Instant.class, Duration.class, LocalDate.class, LocalTime.class, LocalDateTime.class,
+                OffsetDateTime.class, ZonedDateTime.class)) {
+            register(immutableClass, UnaryOperator.identity());
+        }
+        register(Date.class, date -> (Date) date.clone());
+    }
+
+    /**
+     * Register the strategy used to clone properties of a class. This is only
+     * used for properties of exactly the given class, not for its subclasses.
+     *
+     * @param propertyClass the class of property
+     * @param cloner        the function to clone a property, which must not
+     *                      return the same instance unless the class is immutable
+     * @param <T>           the type of property
+     * @return this cloner
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ElementCloner register(final Class<T> propertyClass, final UnaryOperator<T> cloner) {
+        strategies.put(propertyClass, (UnaryOperator<Object>) cloner);
+        return this;
+    }
+
+    /**
+     * Clone an {@link Element}, based on a target {@link Schema}.
+     *
+     * @param element the element to clone
+     * @param schema the schema
+     * @return the cloned element
+     */
+    public Element cloneElement(final Element element, final Schema schema) {
+        try {
+            final Element clone = element.emptyClone();
+            final SchemaElementDefinition sed = schema.getElement(clone.getGroup());
+            for (final Map.Entry<String, Object> entry : element.getProperties().entrySet()) {
+                final String propertyName = entry.getKey();
+                final Object property = entry.getValue();
+                if (null == property) {
+                    clone.putProperty(propertyName, null);
+                    continue;
+                }
+
+                final UnaryOperator<Object> strategy = strategies.computeIfAbsent(property.getClass(), ElementCloner::getCopyMethodStrategy);
+                if (SERIALISER_FALLBACK != strategy) {
+                    clone.putProperty(propertyName, strategy.apply(property));
+                    continue;
+                }
+
+                final TypeDefinition typeDef = sed.getPropertyTypeDef(propertyName);
+                if (null == typeDef || null == typeDef.getSerialiser()) {
+                    // This can happen if transient properties are derived - they will not have serialisers.
+                    LOGGER.warn("Can't find Serialisation for {}, returning uncloned property", propertyName);
+                    clone.putProperty(propertyName, property);
+                } else {
+                    final Serialiser serialiser = typeDef.getSerialiser();
+                    clone.putProperty(propertyName, serialiser.deserialise(serialiser.serialise(property)));
+                }
+            }
+            return clone;
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("SerialisationException converting elements", e);
+        }
+    }
+
+    private static UnaryOperator<Object> getCopyMethodStrategy(final Class<?> propertyClass) {
+        return getCopyMethod(propertyClass)
+                .<UnaryOperator<Object>>map(method -> property -> {
+                    try {
+                        return method.invoke(property);
+                    } catch (final IllegalAccessException | InvocationTargetException e) {
+                        throw new RuntimeException("Unable to copy property of class " + propertyClass.getName(), e);
+                    }
+                })
+                .orElse(SERIALISER_FALLBACK);
+    }
+
+    private static Optional<Method> getCopyMethod(final Class<?> propertyClass) {
+        if (!Modifier.isPublic(propertyClass.getModifiers())) {
+            return Optional.empty();
+        }
+
+        try {
+            final Method method = propertyClass.getMethod(COPY_METHOD_NAME);
+            if (!Modifier.isStatic(method.getModifiers()) && propertyClass.isAssignableFrom(method.getReturnType())) {
+                return Optional.of(method);
+            }
+        } catch (final NoSuchMethodException e) {
+            // The serialiser will be used instead
+        }
+        return Optional.empty();
+    }
+}
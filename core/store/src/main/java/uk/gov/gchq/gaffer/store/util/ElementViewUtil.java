@@ -0,0 +1,173 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Utility methods for applying a {@link View} to a stream of {@link Element}s held
+ * in memory, for stores and merges that do not apply the View as part of a scan.
+ */
+public final class ElementViewUtil {
+
+    private ElementViewUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view) {
+        return applyView(elementStream, schema, view, false);
+    }
+
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view,
+                                            final boolean includeMatchedVertex) {
+        return applyView(elementStream, schema, view, includeMatchedVertex, false);
+    }
+
+    /**
+     * Apply a {@link View} to a stream of elements.
+     * <p>
+     * Elements of groups that are not aggregated are streamed through the view lazily.
+     * Elements of aggregated groups are buffered and aggregated at query time once the
+     * rest of the stream has been consumed, so duplicate elements, for example from
+     * seeds that match the same element, are merged together. If the elements are
+     * known to be distinct, for example when they are all the elements held by a
+     * store that aggregates at ingest, then only the groups whose query time group-by differs from
+     * the ingest group-by are buffered.
+     *
+     * @param elementStream        the elements
+     * @param schema               the schema
+     * @param view                 the view to apply
+     * @param includeMatchedVertex true if the matched vertex of Edges should be used when aggregating
+     * @param distinctElements     true if no two elements have the same ingest group-by key
+     * @return the elements with the view applied
+     */
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view,
+                                            final boolean includeMatchedVertex,
+                                            final boolean distinctElements) {
+        final Set<String> viewGroups = view.getGroups();
+        Stream<Element> stream = elementStream;
+        // Check group is valid
+        if (!view.getEntityGroups().equals(schema.getEntityGroups())
+                || !view.getEdgeGroups().equals(schema.getEdgeGroups())) {
+            stream = stream.filter(e -> viewGroups.contains(e.getGroup()));
+        }
+
+        // Apply pre-aggregation filter
+        stream = stream.filter(e -> {
+            final ViewElementDefinition ved = view.getElement(e.getGroup());
+            return ved.getPreAggregationFilter() == null || ved.getPreAggregationFilter().test(e);
+        });
+
+        // Apply aggregation
+        final Set<String> queryAggregatedGroups = distinctElements
+                ? getQueryAggregatedGroups(schema, view)
+                : getAggregatedGroups(schema, view);
+        if (!queryAggregatedGroups.isEmpty()) {
+            stream = applyQueryAggregation(stream, queryAggregatedGroups, schema, view, includeMatchedVertex);
+        }
+
+        // Apply post-aggregation filter
+        stream = stream.filter(e -> {
+            final ViewElementDefinition ved = view.getElement(e.getGroup());
+            return ved.getPostAggregationFilter() == null || ved.getPostAggregationFilter().test(e);
+        });
+
+        // Apply transform
+        stream = stream.map(e -> {
+            final ViewElementDefinition ved = view.getElement(e.getGroup());
+            final ElementTransformer transformer = ved.getTransformer();
+            if (transformer != null) {
+                transformer.apply(e);
+            }
+            return e;
+        });
+
+        // Apply post transform filter
+        stream = stream.filter(e -> {
+            final ViewElementDefinition ved = view.getElement(e.getGroup());
+            return ved.getPostTransformFilter() == null || ved.getPostTransformFilter().test(e);
+        });
+
+        return stream;
+    }
+
+    /**
+     * Get the groups in the view that need aggregating at query time. Elements that
+     * have already been aggregated using the ingest group-by properties only need
+     * aggregating again if the query time group-by properties of their group are
+     * different.
+     *
+     * @param schema the schema
+     * @param view   the view
+     * @return the groups that need query time aggregation
+     */
+    public static Set<String> getQueryAggregatedGroups(final Schema schema, final View view) {
+        final Set<String> groups = new HashSet<>();
+        final Set<String> viewGroups = view.getGroups();
+        for (final String group : schema.getAggregatedGroups()) {
+            if (viewGroups.contains(group)
+                    && !AggregatorUtil.getQueryGroupBy(group, schema, view).equals(AggregatorUtil.getIngestGroupBy(group, schema))) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+
+    private static Set<String> getAggregatedGroups(final Schema schema, final View view) {
+        final Set<String> groups = new HashSet<>(schema.getAggregatedGroups());
+        groups.retainAll(view.getGroups());
+        return groups;
+    }
+
+    private static Stream<Element> applyQueryAggregation(final Stream<Element> elements,
+                                                         final Set<String> queryAggregatedGroups,
+                                                         final Schema schema,
+                                                         final View view,
+                                                         final boolean includeMatchedVertex) {
+        // Elements in groups that do not need aggregating are streamed straight through.
+        // The elements of the aggregated groups are buffered and only aggregated once the
+        // rest of the stream has been consumed, so the stream must be consumed sequentially.
+        final List<Element> aggregatedGroupElements = new ArrayList<>();
+        final Stream<Element> nonAggregatedElements = elements.filter(e -> {
+            if (queryAggregatedGroups.contains(e.getGroup())) {
+                aggregatedGroupElements.add(e);
+                return false;
+            }
+            return true;
+        });
+        final Stream<Element> aggregatedElements = Stream.of(aggregatedGroupElements)
+                .flatMap(buffered -> Streams.toStream(AggregatorUtil.queryAggregate(buffered, schema, view, includeMatchedVertex)));
+        return Stream.concat(nonAggregatedElements, aggregatedElements);
+    }
+}
@@ -144,6 +144,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RunnableScheduledFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -293,6 +294,24 @@ public class StoreTest {
         assertThat(CacheServiceLoader.isEnabled("NamedOperation")).isTrue();
     }
 
+    @Test
+    public void shouldShutdownPipelineExecutorWhenClosed() throws StoreException {
+        // Given
+        final Store testStore = new StoreImpl();
+        final StoreProperties props = new StoreProperties();
+        props.setOperationChainPipelineThreads(1);
+        testStore.initialise("testGraph", new Schema(), props);
+        final ExecutorService executor = (ExecutorService) testStore.getPipelineExecutor();
+
+        // When
+        testStore.close();
+
+        // Then
+        assertThat(executor.isShutdown()).isTrue();
+        assertThat(testStore.getPipelineExecutor()).isNotSameAs(executor);
+        testStore.close();
+    }
+
     @Test
     public void shouldCreateStoreWithDefaultCache() throws SchemaException, StoreException {
         // Given
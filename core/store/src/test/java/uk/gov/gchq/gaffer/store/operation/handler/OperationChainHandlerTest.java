@@ -16,9 +16,13 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -27,6 +31,7 @@ import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
@@ -37,7 +42,14 @@ import uk.gov.gchq.koryphe.ValidationResult;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -45,6 +57,17 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
 public class OperationChainHandlerTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void before() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void after() {
+        executor.shutdownNow();
+    }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Test
@@ -152,4 +175,130 @@ public class OperationChainHandlerTest {
         // Then
         assertThat(result).isSameAs(entityA);
     }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Test
+    public void shouldPipelineStreamingOperationsWhenEnabledInStoreProperties() throws OperationException {
+        // Given
+        final OperationChainHandler opChainHandler = new OperationChainHandler(mock(OperationChainValidator.class), Collections.emptyList());
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setOperationChainPipelined(true);
+        storeProperties.setOperationChainPipelineBufferSize(2);
+
+        final AtomicReference<Thread> producerThread = new AtomicReference<>();
+        final Iterable<Integer> source = () -> {
+            producerThread.set(Thread.currentThread());
+            return IntStream.range(0, 10).iterator();
+        };
+        final GetAllElements op1 = new GetAllElements();
+        final Limit<Integer> op2 = new Limit<>(5, true);
+        final OperationChain opChain = new OperationChain(Arrays.asList(op1, op2));
+
+        given(store.getProperties()).willReturn(storeProperties);
+        given(store.getPipelineExecutor()).willReturn(executor);
+        given(store.handleOperation(op1, context)).willReturn(source);
+        given(store.handleOperation(op2, context)).willAnswer(invocation -> op2.getInput());
+        given(opChainHandler.getOpChainValidator().validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        // When
+        final Object result = opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertThat(op2.getInput()).isInstanceOf(PipelinedIterable.class);
+        assertThat((Iterable<Integer>) result).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(producerThread.get()).isNotSameAs(Thread.currentThread());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Test
+    public void shouldNotPipelineIntoBarrierOperations() throws OperationException {
+        // Given
+        final OperationChainHandler opChainHandler = new OperationChainHandler(mock(OperationChainValidator.class), Collections.emptyList());
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+
+        final Iterable<Integer> source = () -> IntStream.range(0, 10).iterator();
+        final GetAllElements op1 = new GetAllElements();
+        final ToSet<Integer> op2 = new ToSet<>();
+        final OperationChain opChain = new OperationChain(Arrays.asList(op1, op2));
+        opChain.addOption(OperationChainHandler.PIPELINED_OPTION, "true");
+
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getPipelineExecutor()).willReturn(executor);
+        given(store.handleOperation(op1, context)).willReturn(source);
+        given(opChainHandler.getOpChainValidator().validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        // When
+        opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertThat(op2.getInput()).isSameAs(source);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Test
+    public void shouldNotPipelineWhenDisabledByChainOption() throws OperationException {
+        // Given
+        final OperationChainHandler opChainHandler = new OperationChainHandler(mock(OperationChainValidator.class), Collections.emptyList());
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setOperationChainPipelined(true);
+
+        final Iterable<Integer> source = () -> IntStream.range(0, 10).iterator();
+        final GetAllElements op1 = new GetAllElements();
+        final Limit<Integer> op2 = new Limit<>(5, true);
+        final OperationChain opChain = new OperationChain(Arrays.asList(op1, op2));
+        opChain.addOption(OperationChainHandler.PIPELINED_OPTION, "false");
+
+        given(store.getProperties()).willReturn(storeProperties);
+        given(store.handleOperation(op1, context)).willReturn(source);
+        given(opChainHandler.getOpChainValidator().validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        // When
+        opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertThat(op2.getInput()).isSameAs(source);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Test
+    public void shouldStopPipelinedStagesWhenResultIsClosed() throws Exception {
+        // Given
+        final OperationChainHandler opChainHandler = new OperationChainHandler(mock(OperationChainValidator.class), Collections.emptyList());
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setOperationChainPipelined(true);
+        storeProperties.setOperationChainPipelineBufferSize(2);
+
+        final AtomicInteger produced = new AtomicInteger();
+        final Iterable<Integer> source = () -> IntStream.iterate(0, i -> i + 1)
+                .peek(i -> produced.incrementAndGet())
+                .iterator();
+        final GetAllElements op1 = new GetAllElements();
+        final Limit<Integer> op2 = new Limit<>(5, true);
+        final OperationChain opChain = new OperationChain(Arrays.asList(op1, op2));
+
+        given(store.getProperties()).willReturn(storeProperties);
+        given(store.getPipelineExecutor()).willReturn(executor);
+        given(store.handleOperation(op1, context)).willReturn(source);
+        given(store.handleOperation(op2, context)).willAnswer(invocation -> op2.getInput());
+        given(opChainHandler.getOpChainValidator().validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        final Iterable<Integer> result = (Iterable<Integer>) opChainHandler.doOperation(opChain, context, store);
+        final Iterator<Integer> iterator = result.iterator();
+        assertThat(iterator.next()).isZero();
+
+        // When
+        CloseableUtil.close(result);
+        executor.shutdown();
+
+        // Then
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(produced.get()).isLessThanOrEqualTo(4);
+    }
 }
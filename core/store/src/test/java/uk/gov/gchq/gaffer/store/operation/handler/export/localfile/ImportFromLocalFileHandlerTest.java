@@ -37,6 +37,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 class ImportFromLocalFileHandlerTest {
     private static final String FILE_PATH = ImportFromLocalFileHandlerTest.class.getResource("/openCypherCsv/openCypherBasicEntitiesAndEdges.csv").getPath();
 
+    @SuppressWarnings("unchecked")
     @Test
     public void shouldGetInputData() throws IOException, OperationException {
         // Given
@@ -59,9 +60,8 @@ class ImportFromLocalFileHandlerTest {
         final Object dataFromFile =  handler.doOperation(importFromLocalFile, context, null);
 
         // Then
-        assertThat(dataFromFile)
-                .usingRecursiveComparison()
-                .isEqualTo(expectedData);
+        assertThat((Iterable<String>) dataFromFile)
+                .containsExactlyElementsOf(expectedData);
     }
 }
 
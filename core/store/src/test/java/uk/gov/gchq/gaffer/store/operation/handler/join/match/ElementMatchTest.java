@@ -21,10 +21,12 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -230,4 +232,73 @@ public class ElementMatchTest {
         // Then
         assertThat(matchingElements).isEmpty();
     }
+
+    @Test
+    public void shouldMatchEdgesOnSourceDestinationAndDirection() {
+        // Given
+        final Edge testEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 1L)
+                .build();
+        final Edge matchingEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 2L)
+                .build();
+        final Edge undirectedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(false)
+                .build();
+        final Edge reversedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("B")
+                .dest("A")
+                .directed(true)
+                .build();
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(undirectedEdge, matchingEdge, reversedEdge));
+
+        // When
+        final List<Element> matchingElements = elementMatch.matching(testEdge);
+
+        // Then
+        assertThat(matchingElements).containsExactly(matchingEdge);
+    }
+
+    @Test
+    public void shouldUseLatestCandidatesAndGroupByProperties() {
+        // Given
+        final Entity testEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+        final Entity otherCount = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Collections.singletonList(testEntity.shallowClone()));
+        assertThat(elementMatch.matching(testEntity)).hasSize(1);
+
+        // When
+        elementMatch.init(Collections.singletonList(otherCount));
+        final List<Element> matchesWithNoGroupBy = elementMatch.matching(testEntity);
+        elementMatch.setElementGroupByProperties(Collections.singleton(TestPropertyNames.COUNT));
+        final List<Element> matchesWithGroupBy = elementMatch.matching(testEntity);
+
+        // Then
+        assertThat(matchesWithNoGroupBy).containsExactly(otherCount);
+        assertThat(matchesWithGroupBy).isEmpty();
+    }
 }
@@ -265,6 +265,20 @@ public class KeyFunctionMatchTest {
         assertEquals(expected, match.matching(testValue));
     }
 
+    @Test
+    public void shouldOnlyMatchCandidatesFromLatestInit() {
+        // given
+        Integer testValue = 3;
+        KeyFunctionMatch match = new KeyFunctionMatch();
+        match.init(Lists.newArrayList(3, 4));
+
+        // when
+        match.init(Lists.newArrayList(1, 3));
+
+        // then
+        assertEquals(Lists.newArrayList(3), match.matching(testValue));
+    }
+
     @Test
     public void shouldThrowExceptionFromFunctionIfInputIsInvalid() {
         // given
@@ -27,6 +27,7 @@ import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
+import uk.gov.gchq.gaffer.named.operation.NamedOperationTemplate;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
@@ -99,6 +100,32 @@ public class NamedOperationCacheTest {
         assertThat(namedOperation).isEqualTo(standard);
     }
 
+    @Test
+    public void shouldReuseParsedTemplateUntilNamedOperationChanges() throws CacheOperationException {
+        // Given
+        cache.addNamedOperation(standard, false, standardUser);
+        final NamedOperationTemplate template = cache.getNamedOperation(OPERATION_NAME, standardUser).getTemplate();
+
+        // When
+        final NamedOperationDetail copy = new NamedOperationDetail.Builder()
+                .operationName(OPERATION_NAME)
+                .description("standard operation")
+                .creatorId(standardUser.getUserId())
+                .readers(readers)
+                .writers(writers)
+                .operationChain(standardOpChain)
+                .build();
+        cache.addNamedOperation(copy, true, advancedUser);
+        final NamedOperationTemplate sameTemplate = cache.getNamedOperation(OPERATION_NAME, standardUser).getTemplate();
+        cache.addNamedOperation(alternative, true, advancedUser);
+        final NamedOperationDetail changed = cache.getNamedOperation(OPERATION_NAME, standardUser);
+
+        // Then
+        assertThat(sameTemplate).isSameAs(template);
+        assertThat(changed.getTemplate()).isNotSameAs(template);
+        assertThat(changed.getOperationChainWithDefaultParams().getOperations().get(0)).isInstanceOf(GetElements.class);
+    }
+
     @Test
     public void shouldThrowExceptionIfNamedOperationAlreadyExists() throws CacheOperationException {
         cache.addNamedOperation(standard, false, standardUser);
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.store.operation.handler.ScoreOperationChainHandler;
+import uk.gov.gchq.gaffer.store.optimiser.rule.GetAdjacentIdsToGetElementsRule;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RuleBasedOperationChainOptimiserTest {
+
+    @Test
+    public void shouldApplyDefaultRules() {
+        // Given
+        final RuleBasedOperationChainOptimiser optimiser = new RuleBasedOperationChainOptimiser();
+        final OperationChain<Long> opChain = new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder().entity(TestGroups.ENTITY).build())
+                        .build())
+                .then(new Filter.Builder()
+                        .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsMoreThan(5L))
+                                .build())
+                        .build())
+                .then(new ToList<>())
+                .then(new Count<>())
+                .build();
+
+        // When
+        final OperationChain<Long> optimised = optimiser.optimise(opChain);
+
+        // Then
+        assertThat(optimised.getOperations())
+                .extracting(op -> (Class) op.getClass())
+                .containsExactly(GetAllElements.class, Count.class);
+        final View view = ((GetAllElements) optimised.getOperations().get(0)).getView();
+        assertThat(view.getElement(TestGroups.ENTITY).hasPostTransformFilters()).isTrue();
+    }
+
+    @Test
+    public void shouldExplainRewritesWithoutChangingTheChain() {
+        // Given
+        final RuleBasedOperationChainOptimiser optimiser = new RuleBasedOperationChainOptimiser();
+        final List<Operation> ops = asList(new GetAllElements(), new ToSet<>(), new ToSet<>());
+        final OperationChain<?> opChain = new OperationChain<>(ops);
+
+        // When
+        final List<OptimiserRuleDiagnostic> diagnostics = optimiser.explain(opChain);
+
+        // Then
+        assertThat(diagnostics).hasSize(1);
+        final OptimiserRuleDiagnostic diagnostic = diagnostics.get(0);
+        assertThat(diagnostic.getRuleName()).isEqualTo("RedundantConversionRule");
+        assertThat(diagnostic.getBefore()).containsExactlyElementsOf(ops);
+        assertThat(diagnostic.getAfter()).containsExactly(ops.get(0), ops.get(2));
+        assertThat(diagnostic.getCostBefore()).isEqualTo(3);
+        assertThat(diagnostic.getCostAfter()).isEqualTo(2);
+        assertThat(diagnostic.isAccepted()).isTrue();
+        assertThat(opChain.getOperations()).containsExactlyElementsOf(ops);
+    }
+
+    @Test
+    public void shouldRejectRewritesThatIncreaseCost() {
+        // Given
+        final GetAdjacentIdsToGetElementsRule rule = new GetAdjacentIdsToGetElementsRule((getAdjacentIds, getElements) -> new Limit<>(1));
+        final RuleBasedOperationChainOptimiser optimiser = new RuleBasedOperationChainOptimiser(
+                Collections.singletonList(rule), Collections.singletonMap(Limit.class, 5));
+        final OperationChain<?> opChain = new OperationChain<>(asList(new GetAdjacentIds(), new GetElements()));
+
+        // When
+        final OperationChain<?> optimised = optimiser.optimise(opChain);
+        final List<OptimiserRuleDiagnostic> diagnostics = optimiser.explain(opChain);
+
+        // Then
+        assertThat(optimised.getOperations()).containsExactlyElementsOf(opChain.getOperations());
+        assertThat(diagnostics).hasSize(1);
+        assertThat(diagnostics.get(0).isAccepted()).isFalse();
+        assertThat(diagnostics.get(0).getCostAfter()).isEqualTo(5);
+    }
+
+    @Test
+    public void shouldCostRewritesUsingTheOperationChainScorer() {
+        // Given
+        final ScoreOperationChainHandler scoreHandler = new ScoreOperationChainHandler("suffix");
+        final LinkedHashMap<Class<? extends Operation>, Integer> opScores = new LinkedHashMap<>();
+        opScores.put(Operation.class, 1);
+        opScores.put(GetAllElements.class, 10);
+        scoreHandler.setOpScores(opScores);
+        final RuleBasedOperationChainOptimiser optimiser = new RuleBasedOperationChainOptimiser(
+                Collections.singletonList(new GetAdjacentIdsToGetElementsRule((getAdjacentIds, getElements) -> new GetAllElements())),
+                scoreHandler.getScoreResolver());
+        final OperationChain<?> opChain = new OperationChain<>(asList(new GetAdjacentIds(), new GetElements()));
+
+        // When
+        final List<OptimiserRuleDiagnostic> diagnostics = optimiser.explain(opChain);
+
+        // Then
+        assertThat(diagnostics).hasSize(1);
+        assertThat(diagnostics.get(0).getCostBefore()).isEqualTo(2);
+        assertThat(diagnostics.get(0).getCostAfter()).isEqualTo(10);
+        assertThat(diagnostics.get(0).isAccepted()).isFalse();
+        assertThat(optimiser.optimise(opChain).getOperations()).containsExactlyElementsOf(opChain.getOperations());
+    }
+
+    @Test
+    public void shouldCollapseGetAdjacentIdsAndGetElementsWhenCombinerSupportsIt() {
+        // Given
+        final Operation combined = new GetAllElements();
+        final RuleBasedOperationChainOptimiser optimiser = new RuleBasedOperationChainOptimiser(Collections.singletonList(
+                new GetAdjacentIdsToGetElementsRule((getAdjacentIds, getElements) -> combined)));
+        final OperationChain<?> opChain = new OperationChain<>(asList(new GetAdjacentIds(), new GetElements(), new Count<>()));
+
+        // When
+        final OperationChain<?> optimised = optimiser.optimise(opChain);
+
+        // Then
+        assertThat(optimised.getOperations()).hasSize(2);
+        assertThat(optimised.getOperations().get(0)).isSameAs(combined);
+    }
+
+    @Test
+    public void shouldKeepOperationChainOptions() {
+        // Given
+        final RuleBasedOperationChainOptimiser optimiser = new RuleBasedOperationChainOptimiser();
+        final OperationChain<?> opChain = new OperationChain<>(asList(new GetAllElements(), new ToList<>(), new ToList<>()));
+        opChain.addOption("key", "value");
+
+        // When
+        final OperationChain<?> optimised = optimiser.optimise(opChain);
+
+        // Then
+        assertThat(optimised.getOperations()).hasSize(2);
+        assertThat(optimised.getOption("key")).isEqualTo("value");
+    }
+}
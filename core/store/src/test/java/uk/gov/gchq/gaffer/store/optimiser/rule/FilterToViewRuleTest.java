@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.koryphe.impl.predicate.AreEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsTrue;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilterToViewRuleTest {
+    private final FilterToViewRule rule = new FilterToViewRule();
+
+    @Test
+    public void shouldFuseFilterIntoViewAndRemoveUnfilteredGroups() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new IsTrue())
+                                .build())
+                        .build())
+                .edge(TestGroups.EDGE)
+                .build();
+        final GetElements getElements = new GetElements.Builder().view(view).build();
+        final Filter filter = new Filter.Builder()
+                .globalElements(new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(1L))
+                        .build())
+                .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(5L))
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> result = rule.apply(asList(getElements, filter, new Count<>()));
+
+        // Then
+        assertThat(result).hasSize(2);
+        final GetElements fused = (GetElements) result.get(0);
+        assertThat(fused).isNotSameAs(getElements);
+        assertThat(fused.getView().getEdgeGroups()).isEmpty();
+        assertThat(fused.getView().getElement(TestGroups.ENTITY).getPostTransformFilterFunctions())
+                .extracting(f -> (Object) f.getPredicate())
+                .containsExactly(new IsTrue(), new IsMoreThan(1L), new IsMoreThan(5L));
+        assertThat(getElements.getView()).isSameAs(view);
+        assertThat(view.getElement(TestGroups.ENTITY).getPostTransformFilterFunctions()).hasSize(1);
+    }
+
+    @Test
+    public void shouldNotFuseFilterThatRemovesAllGroups() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .build();
+        final Filter filter = new Filter.Builder().entity(TestGroups.ENTITY).build();
+        final List<Operation> ops = asList(getElements, filter);
+
+        // When
+        final List<Operation> result = rule.apply(ops);
+
+        // Then
+        assertThat(result).isSameAs(ops);
+    }
+
+    @Test
+    public void shouldNotFuseFilterUsingAPropertyTheViewRemoves() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .properties(TestPropertyNames.PROP_1)
+                                .build())
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .excludeProperties(TestPropertyNames.COUNT)
+                                .build())
+                        .build())
+                .build();
+        final Filter filter = new Filter.Builder()
+                .globalElements(new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(1L))
+                        .build())
+                .build();
+        final List<Operation> ops = asList(getElements, filter);
+
+        // When
+        final List<Operation> result = rule.apply(ops);
+
+        // Then
+        assertThat(result).isSameAs(ops);
+    }
+
+    @Test
+    public void shouldFuseFilterUsingIdentifiersAndPropertiesTheViewKeeps() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .properties(TestPropertyNames.COUNT)
+                                .build())
+                        .build())
+                .build();
+        final Filter filter = new Filter.Builder()
+                .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                        .select(IdentifierType.VERTEX.name(), TestPropertyNames.COUNT)
+                        .execute(new AreEqual())
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> result = rule.apply(asList(getElements, filter));
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(((GetElements) result.get(0)).getView().getElement(TestGroups.ENTITY).getPostTransformFilterFunctions())
+                .extracting(f -> (Object) f.getPredicate())
+                .containsExactly(new AreEqual());
+    }
+
+    @Test
+    public void shouldNotFuseWhenViewIncludesAllEntities() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder().allEntities(true).build())
+                .build();
+        final List<Operation> ops = asList(getElements, new Filter());
+
+        // When
+        final List<Operation> result = rule.apply(ops);
+
+        // Then
+        assertThat(result).isSameAs(ops);
+    }
+
+    @Test
+    public void shouldNotFuseFilterThatDoesNotFollowAGetOperation() {
+        // Given
+        final List<Operation> ops = asList(new ToSet<>(), new Filter());
+
+        // When
+        final List<Operation> result = rule.apply(ops);
+
+        // Then
+        assertThat(result).isSameAs(ops);
+    }
+}
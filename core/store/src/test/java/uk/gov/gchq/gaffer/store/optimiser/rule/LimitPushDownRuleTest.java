@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.generator.MapGenerator;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.impl.output.ToMap;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LimitPushDownRuleTest {
+    private final LimitPushDownRule rule = new LimitPushDownRule();
+
+    @Test
+    public void shouldMoveLimitAheadOfOneToOneConversions() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToMap toMap = new ToMap(new MapGenerator());
+        final ToEntitySeeds toEntitySeeds = new ToEntitySeeds();
+        final Limit<Object> limit = new Limit<>(10);
+
+        // When
+        final List<Operation> result = rule.apply(asList(getAllElements, toMap, toEntitySeeds, limit));
+
+        // Then
+        assertThat(result).containsExactly(getAllElements, limit, toMap, toEntitySeeds);
+    }
+
+    @Test
+    public void shouldNotMoveLimitAheadOfOtherOperations() {
+        // Given
+        final List<Operation> ops = asList(new GetAllElements(), new ToVertices(), new Limit<>(10));
+
+        // When
+        final List<Operation> result = rule.apply(ops);
+
+        // Then
+        assertThat(result).isSameAs(ops);
+    }
+
+    @Test
+    public void shouldMergeTruncatingLimits() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToMap toMap = new ToMap(new MapGenerator());
+
+        // When
+        final List<Operation> result = rule.apply(asList(getAllElements, new Limit<>(10), toMap, new Limit<>(5)));
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0)).isSameAs(getAllElements);
+        assertThat(((Limit<?>) result.get(1)).getResultLimit()).isEqualTo(5);
+        assertThat(result.get(2)).isSameAs(toMap);
+    }
+
+    @Test
+    public void shouldNotMergeNonTruncatingLimits() {
+        // Given
+        final Limit<Object> first = new Limit<>(10);
+        final Limit<Object> second = new Limit<>(5, false);
+
+        // When
+        final List<Operation> result = rule.apply(asList(new GetAllElements(), first, second));
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(1)).isSameAs(first);
+        assertThat(result.get(2)).isSameAs(second);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RedundantConversionRuleTest {
+    private final RedundantConversionRule rule = new RedundantConversionRule();
+
+    @Test
+    public void shouldRemoveToListBeforeConsumingOperation() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final Count<Object> count = new Count<>();
+
+        // When
+        final List<Operation> result = rule.apply(asList(getAllElements, new ToList<>(), new ToList<>(), count));
+
+        // Then
+        assertThat(result).containsExactly(getAllElements, count);
+    }
+
+    @Test
+    public void shouldRemoveRepeatedToSet() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToSet<Object> toSet = new ToSet<>();
+
+        // When
+        final List<Operation> result = rule.apply(asList(getAllElements, new ToSet<>(), toSet));
+
+        // Then
+        assertThat(result).containsExactly(getAllElements, toSet);
+    }
+
+    @Test
+    public void shouldKeepConversionsThatChangeTheResult() {
+        // Given
+        final List<Operation> ops = asList(new GetAllElements(), new ToSet<>(), new ToList<>(), new Limit<>(1), new ToList<>());
+
+        // When
+        final List<Operation> result = rule.apply(ops);
+
+        // Then
+        assertThat(result).isSameAs(ops);
+    }
+
+    @Test
+    public void shouldKeepConversionWithInput() {
+        // Given
+        final List<Operation> ops = asList(new ToList.Builder<>().input(Collections.singletonList(1)).build(), new Count<>());
+
+        // When
+        final List<Operation> result = rule.apply(ops);
+
+        // Then
+        assertThat(result).isSameAs(ops);
+    }
+}
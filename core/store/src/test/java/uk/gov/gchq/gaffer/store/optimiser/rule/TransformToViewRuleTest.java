@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+import uk.gov.gchq.koryphe.impl.predicate.IsTrue;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransformToViewRuleTest {
+    private final TransformToViewRule rule = new TransformToViewRule();
+
+    @Test
+    public void shouldFuseTransformAfterExistingViewTransformFunctions() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .transformer(new ElementTransformer.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new Identity())
+                                .project(TestPropertyNames.PROP_2)
+                                .build())
+                        .build())
+                .edge(TestGroups.EDGE)
+                .build();
+        final GetAllElements getAllElements = new GetAllElements.Builder().view(view).build();
+        final Transform transform = new Transform.Builder()
+                .entity(TestGroups.ENTITY, new ElementTransformer.Builder()
+                        .select(TestPropertyNames.PROP_2)
+                        .execute(new ToString())
+                        .project(TestPropertyNames.PROP_3)
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> result = rule.apply(asList(getAllElements, transform));
+
+        // Then
+        assertThat(result).hasSize(1);
+        final View fusedView = ((GetAllElements) result.get(0)).getView();
+        assertThat(fusedView.getElement(TestGroups.ENTITY).getTransformFunctions())
+                .extracting(f -> (Object) f.getFunction())
+                .containsExactly(new Identity(), new ToString());
+        assertThat(fusedView.getElement(TestGroups.EDGE).hasTransform()).isFalse();
+        assertThat(view.getElement(TestGroups.ENTITY).getTransformFunctions()).hasSize(1);
+    }
+
+    @Test
+    public void shouldNotFuseTransformIntoGroupWithPostTransformFilters() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new IsTrue())
+                                .build())
+                        .build())
+                .build();
+        final Transform transform = new Transform.Builder()
+                .entity(TestGroups.ENTITY, new ElementTransformer.Builder()
+                        .select(TestPropertyNames.PROP_1)
+                        .execute(new ToString())
+                        .project(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+        final List<Operation> ops = asList(new GetAllElements.Builder().view(view).build(), transform);
+
+        // When
+        final List<Operation> result = rule.apply(ops);
+
+        // Then
+        assertThat(result).isSameAs(ops);
+    }
+
+    @Test
+    public void shouldNotFuseTransformProjectingAPropertyTheViewRemoves() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+        final Transform transform = new Transform.Builder()
+                .entity(TestGroups.ENTITY, new ElementTransformer.Builder()
+                        .select(TestPropertyNames.PROP_1)
+                        .execute(new ToString())
+                        .project(TestPropertyNames.PROP_2)
+                        .build())
+                .build();
+        final List<Operation> ops = asList(new GetAllElements.Builder().view(view).build(), transform);
+
+        // When
+        final List<Operation> result = rule.apply(ops);
+
+        // Then
+        assertThat(result).isSameAs(ops);
+    }
+}
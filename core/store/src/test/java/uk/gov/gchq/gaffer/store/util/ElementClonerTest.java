@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ElementClonerTest {
+
+    @Test
+    public void shouldNotCopyImmutablePropertiesOrUseTheirSerialiser() throws SerialisationException {
+        // Given
+        final Serialiser serialiser = mock(Serialiser.class);
+        final Schema schema = createSchema(String.class, serialiser);
+        final Element element = createEntity("value");
+
+        // When
+        final Element clone = new ElementCloner().cloneElement(element, schema);
+
+        // Then
+        assertEquals(element, clone);
+        assertThat(clone.getProperty("property")).isSameAs(element.getProperty("property"));
+        verify(serialiser, never()).serialise(any());
+    }
+
+    @Test
+    public void shouldCopyDateProperties() throws SerialisationException {
+        // Given
+        final Serialiser serialiser = mock(Serialiser.class);
+        final Schema schema = createSchema(Date.class, serialiser);
+        final Element element = createEntity(new Date(1000L));
+
+        // When
+        final Element clone = new ElementCloner().cloneElement(element, schema);
+
+        // Then
+        assertEquals(element, clone);
+        assertThat(clone.getProperty("property")).isNotSameAs(element.getProperty("property"));
+        verify(serialiser, never()).serialise(any());
+    }
+
+    @Test
+    public void shouldUseCopyMethodWhenAvailable() throws SerialisationException {
+        // Given
+        final Serialiser serialiser = mock(Serialiser.class);
+        final Schema schema = createSchema(CopyableProperty.class, serialiser);
+        final CopyableProperty property = new CopyableProperty(Arrays.asList("a", "b"));
+        final Element element = createEntity(property);
+
+        // When
+        final Element clone = new ElementCloner().cloneElement(element, schema);
+
+        // Then
+        assertEquals(element, clone);
+        assertThat(clone.getProperty("property")).isNotSameAs(property);
+        verify(serialiser, never()).serialise(any());
+    }
+
+    @Test
+    public void shouldUseRegisteredStrategy() throws SerialisationException {
+        // Given
+        final Serialiser serialiser = mock(Serialiser.class);
+        final Schema schema = createSchema(ArrayList.class, serialiser);
+        final ArrayList<String> property = new ArrayList<>(Arrays.asList("a", "b"));
+        final Element element = createEntity(property);
+        final ElementCloner cloner = new ElementCloner()
+                .register(ArrayList.class, ArrayList::new);
+
+        // When
+        final Element clone = cloner.cloneElement(element, schema);
+
+        // Then
+        assertEquals(element, clone);
+        assertThat(clone.getProperty("property")).isNotSameAs(property);
+        verify(serialiser, never()).serialise(any());
+    }
+
+    @Test
+    public void shouldFallBackToSerialiser() throws SerialisationException {
+        // Given
+        final Serialiser serialiser = mock(Serialiser.class);
+        final Schema schema = createSchema(ArrayList.class, serialiser);
+        final ArrayList<String> property = new ArrayList<>(Arrays.asList("a", "b"));
+        final ArrayList<String> deserialised = new ArrayList<>(property);
+        final byte[] bytes = {1, 2, 3};
+        given(serialiser.serialise(property)).willReturn(bytes);
+        given(serialiser.deserialise(bytes)).willReturn(deserialised);
+
+        // When
+        final Element clone = new ElementCloner().cloneElement(createEntity(property), schema);
+
+        // Then
+        assertThat(clone.getProperty("property")).isSameAs(deserialised);
+    }
+
+    private static Schema createSchema(final Class<?> propertyClass, final Serialiser serialiser) {
+        return new Schema.Builder()
+                .entity("entity", new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("property", "property")
+                        .aggregate(false)
+                        .build())
+                .type("string", String.class)
+                .type("property", new TypeDefinition.Builder()
+                        .clazz(propertyClass)
+                        .serialiser(serialiser)
+                        .build())
+                .build();
+    }
+
+    private static Element createEntity(final Object property) {
+        return new Entity.Builder()
+                .group("entity")
+                .vertex("vertex")
+                .property("property", property)
+                .build();
+    }
+
+    public static class CopyableProperty {
+        private final List<String> values;
+
+        public CopyableProperty(final List<String> values) {
+            this.values = new ArrayList<>(values);
+        }
+
+        public CopyableProperty copy() {
+            return new CopyableProperty(values);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CopyableProperty && values.equals(((CopyableProperty) obj).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
+        }
+    }
+}
@@ -16,23 +16,39 @@
 
 package uk.gov.gchq.gaffer.cache.impl;
 
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
 
-import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ObservableCache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
- * Implementation of the {@link ICache} interface, using a Hazelcast {@link IMap}
- * as the cache data store.
+ * Implementation of the {@link uk.gov.gchq.gaffer.cache.ICache} interface, using a Hazelcast {@link IMap}
+ * as the cache data store. Change listeners are registered as {@link IMap} entry
+ * listeners, so they are told about changes made by any member of the cluster.
+ * The registration of each listener is kept so it can be removed again.
  *
  * @param <K> The object type that acts as the key for the IMap
  * @param <V> The value that is stored in the IMap
  */
-public class HazelcastCache <K, V> implements ICache<K, V> {
+public class HazelcastCache <K, V> implements ObservableCache<K, V> {
     private final IMap<K, V> distributedMap;
+    private final Map<Consumer<K>, UUID> listenerRegistrations = new ConcurrentHashMap<>();
 
     public HazelcastCache(final IMap <K, V> distributedMap) {
         this.distributedMap = distributedMap;
@@ -43,6 +59,17 @@ public class HazelcastCache <K, V> implements ICache<K, V> {
         return distributedMap.get(key);
     }
 
+    @Override
+    public Map<K, V> getAll(final Iterable<K> keys) throws CacheOperationException {
+        final Set<K> keySet = new HashSet<>();
+        keys.forEach(keySet::add);
+        try {
+            return distributedMap.getAll(keySet);
+        } catch (final Exception e) {
+            throw new CacheOperationException(e);
+        }
+    }
+
     @Override
     public void put(final K key, final V value) throws CacheOperationException {
         try {
@@ -80,4 +107,57 @@ public class HazelcastCache <K, V> implements ICache<K, V> {
             throw new CacheOperationException(e);
         }
     }
+
+    @Override
+    public void addChangeListener(final Consumer<K> listener) {
+        listenerRegistrations.computeIfAbsent(listener,
+                l -> distributedMap.addEntryListener(new ChangeListener<>(l), false));
+    }
+
+    @Override
+    public void removeChangeListener(final Consumer<K> listener) {
+        final UUID registrationId = listenerRegistrations.remove(listener);
+        if (null != registrationId) {
+            distributedMap.removeEntryListener(registrationId);
+        }
+    }
+
+    private static final class ChangeListener<K, V> implements EntryUpdatedListener<K, V>, EntryRemovedListener<K, V>,
+            EntryEvictedListener<K, V>, EntryExpiredListener<K, V>, MapClearedListener, MapEvictedListener {
+        private final Consumer<K> listener;
+
+        private ChangeListener(final Consumer<K> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void entryUpdated(final EntryEvent<K, V> event) {
+            listener.accept(event.getKey());
+        }
+
+        @Override
+        public void entryRemoved(final EntryEvent<K, V> event) {
+            listener.accept(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<K, V> event) {
+            listener.accept(event.getKey());
+        }
+
+        @Override
+        public void entryExpired(final EntryEvent<K, V> event) {
+            listener.accept(event.getKey());
+        }
+
+        @Override
+        public void mapCleared(final MapEvent event) {
+            listener.accept(null);
+        }
+
+        @Override
+        public void mapEvicted(final MapEvent event) {
+            listener.accept(null);
+        }
+    }
 }
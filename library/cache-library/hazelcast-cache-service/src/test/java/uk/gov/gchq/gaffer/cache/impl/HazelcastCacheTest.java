@@ -26,6 +26,13 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatNoException;
@@ -85,6 +92,20 @@ public class HazelcastCacheTest {
         assertThat(cache.size()).isOne();
     }
 
+    @Test
+    public void shouldReadAllFromCacheInOneBatch() throws CacheOperationException {
+
+        // when
+        cache.put("key1", 1);
+        cache.put("key2", 2);
+
+        // then
+        assertThat(cache.getAll(Arrays.asList("key1", "key2", "missing")))
+                .containsOnlyKeys("key1", "key2")
+                .containsEntry("key1", 1)
+                .containsEntry("key2", 2);
+    }
+
     @Test
     public void shouldReadFromCache() throws CacheOperationException {
 
@@ -160,4 +181,24 @@ public class HazelcastCacheTest {
         assertThat(cache.getAllValues()).contains(1, 2, 3);
     }
 
+    @Test
+    public void shouldStopCallingRemovedChangeListener() throws Exception {
+        // Given
+        final List<String> removedListenerKeys = new CopyOnWriteArrayList<>();
+        final CountDownLatch updated = new CountDownLatch(1);
+        final Consumer<String> removedListener = removedListenerKeys::add;
+        final Consumer<String> listener = key -> updated.countDown();
+        cache.put("test", 1);
+        cache.addChangeListener(removedListener);
+        cache.addChangeListener(listener);
+
+        // When
+        cache.removeChangeListener(removedListener);
+        cache.put("test", 2);
+
+        // Then
+        assertThat(updated.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(removedListenerKeys).isEmpty();
+        cache.removeChangeListener(listener);
+    }
 }
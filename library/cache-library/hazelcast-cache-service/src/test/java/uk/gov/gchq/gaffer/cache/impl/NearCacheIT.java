@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.impl.BoundedCache.EvictionPolicy;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the throughput of reading from a Hazelcast cache on an embedded member,
+ * with and without a {@link NearCache} in front of it, and checks the near cache is
+ * invalidated when the Hazelcast map is changed directly.
+ */
+public class NearCacheIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCacheIT.class);
+    private static final int NUM_KEYS = 100;
+    private static final int NUM_READS = 200000;
+    private static final int NUM_RUNS = 5;
+
+    private static HazelcastInstance hazelcast;
+    private static IMap<String, String> map;
+
+    @BeforeAll
+    public static void setUp() {
+        hazelcast = Hazelcast.newHazelcastInstance();
+        map = hazelcast.getMap("nearCacheIT");
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        hazelcast.shutdown();
+    }
+
+    @BeforeEach
+    public void before() {
+        map.clear();
+    }
+
+    @Test
+    public void shouldReadFromHazelcastCache() throws CacheOperationException {
+        read(new HazelcastCache<>(map));
+    }
+
+    @Test
+    public void shouldReadFromNearCache() throws CacheOperationException {
+        read(createNearCache());
+    }
+
+    @Test
+    public void shouldInvalidateNearCacheWhenMapChanges() throws Exception {
+        // Given
+        final NearCache<String, String> nearCache = createNearCache();
+        nearCache.put("key", "value1");
+        assertThat(nearCache.get("key")).isEqualTo("value1");
+
+        // When
+        map.put("key", "value2");
+
+        // Then - the change listener is called asynchronously
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!"value2".equals(nearCache.get("key")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(nearCache.get("key")).isEqualTo("value2");
+
+        // When
+        map.clear();
+
+        // Then
+        while (null != nearCache.get("key") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(nearCache.get("key")).isNull();
+    }
+
+    private static NearCache<String, String> createNearCache() {
+        return new NearCache<>(new HazelcastCache<>(map), new BoundedCache<>(NUM_KEYS, -1, EvictionPolicy.LRU, false));
+    }
+
+    private void read(final ICache<String, String> cache) throws CacheOperationException {
+        for (int i = 0; i < NUM_KEYS; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        // The first runs warm up the JIT, so only the last run is checked
+        String lastValue = null;
+        for (int run = 0; run < NUM_RUNS; run++) {
+            final long start = System.currentTimeMillis();
+            for (int i = 0; i < NUM_READS; i++) {
+                lastValue = cache.get("key" + (i % NUM_KEYS));
+            }
+            final long duration = Math.max(1, System.currentTimeMillis() - start);
+            LOGGER.info("{} run {}: read {} entries in {}ms ({} reads per second)",
+                    cache.getClass().getSimpleName(), run, NUM_READS, duration, NUM_READS * 1000L / duration);
+        }
+
+        assertThat(lastValue).isEqualTo("value" + ((NUM_READS - 1) % NUM_KEYS));
+    }
+}
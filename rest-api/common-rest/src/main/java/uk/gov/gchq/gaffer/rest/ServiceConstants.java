@@ -27,6 +27,11 @@ public final class ServiceConstants {
     public static final String JOB_ID_HEADER = "job-id";
     public static final String JOB_ID_HEADER_DESCRIPTION = "The job execution ID.";
 
+    // Chunked output
+    public static final String CHUNK_DELIMITER = "\r\n";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     // REST status error messages
     public static final String OK = "OK";
     public static final String BAD_REQUEST = "Error while processing request body";
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_NDJSON_VALUE;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_SMILE_VALUE;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.CHUNK_DELIMITER;
+
+/**
+ * Writes the result of an operation straight to an output stream, one item at a time,
+ * using a single {@link JsonGenerator} rather than serialising each item to a String.
+ * <p>
+ * The supported media types are:
+ * <ul>
+ * <li>application/json - each item as JSON followed by a carriage return and new line</li>
+ * <li>application/x-ndjson - each item as JSON followed by a new line</li>
+ * <li>application/x-jackson-smile - the items as a stream of binary Smile encoded values,
+ * which is more compact and quicker to parse for machine clients</li>
+ * </ul>
+ * <p>
+ * Rather than after every item, the output is flushed after every {@link #FLUSH_INTERVAL}
+ * items, once items have been held for {@link #MAX_FLUSH_DELAY_MILLIS}, and at the end.
+ * If the result took longer than {@link #MAX_FLUSH_DELAY_MILLIS} to produce its last
+ * item, it is assumed to be slow and the items are flushed before waiting for the next
+ * one, so clients are not kept waiting for items that have already been produced.
+ */
+public class ChunkedResultWriter {
+    public static final String APPLICATION_JSON_VALUE = "application/json";
+    public static final List<String> SUPPORTED_MEDIA_TYPES = Collections.unmodifiableList(Arrays.asList(
+            APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE, APPLICATION_SMILE_VALUE));
+    public static final int FLUSH_INTERVAL = 100;
+    public static final long MAX_FLUSH_DELAY_MILLIS = 100L;
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    private final ObjectWriter writer;
+    private final String mediaType;
+
+    /**
+     * @param mapper    the mapper used to serialise each item
+     * @param mediaType one of the {@link #SUPPORTED_MEDIA_TYPES}
+     */
+    public ChunkedResultWriter(final ObjectMapper mapper, final String mediaType) {
+        if (!SUPPORTED_MEDIA_TYPES.contains(mediaType)) {
+            throw new IllegalArgumentException("Unsupported media type for chunked output: " + mediaType);
+        }
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Writes a result to the output stream. Each item of an {@link Iterable} result is
+     * written as its own value, and the iterable is closed once it has been written.
+     * The output stream is flushed but not closed.
+     *
+     * @param result the result of an operation
+     * @param output the stream to write to
+     * @throws IOException if the result could not be serialised or written
+     */
+    @SuppressWarnings("PMD.UseTryWithResources")
+    public void write(final Object result, final OutputStream output) throws IOException {
+        final JsonGenerator generator = createGenerator(output);
+        try {
+            if (result instanceof Iterable) {
+                final Iterable<?> itr = (Iterable<?>) result;
+                try {
+                    writeItems(generator, itr.iterator());
+                } finally {
+                    CloseableUtil.close(itr);
+                }
+            } else {
+                writeValue(generator, result);
+            }
+        } finally {
+            generator.close();
+        }
+    }
+
+    private void writeItems(final JsonGenerator generator, final Iterator<?> items) throws IOException {
+        int unflushed = 0;
+        long lastFlush = System.currentTimeMillis();
+        boolean slowSource = false;
+        while (true) {
+            final long now = System.currentTimeMillis();
+            if (unflushed > 0 && (slowSource || unflushed >= FLUSH_INTERVAL || now - lastFlush >= MAX_FLUSH_DELAY_MILLIS)) {
+                generator.flush();
+                unflushed = 0;
+                lastFlush = now;
+            }
+            if (!items.hasNext()) {
+                break;
+            }
+            final Object item = items.next();
+            slowSource = System.currentTimeMillis() - now >= MAX_FLUSH_DELAY_MILLIS;
+            writeValue(generator, item);
+            unflushed++;
+        }
+    }
+
+    private JsonGenerator createGenerator(final OutputStream output) throws IOException {
+        final JsonGenerator generator;
+        if (APPLICATION_SMILE_VALUE.equals(mediaType)) {
+            generator = SMILE_FACTORY.createGenerator(output);
+        } else {
+            generator = writer.getFactory().createGenerator(output, JsonEncoding.UTF8);
+            // The delimiter is written after each value instead
+            generator.setRootValueSeparator(null);
+        }
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    private void writeValue(final JsonGenerator generator, final Object value) throws IOException {
+        writer.writeValue(generator, value);
+        if (APPLICATION_JSON_VALUE.equals(mediaType)) {
+            generator.writeRaw(CHUNK_DELIMITER);
+        } else if (APPLICATION_NDJSON_VALUE.equals(mediaType)) {
+            generator.writeRaw('\n');
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.gaffer.rest.service.v2;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
@@ -29,13 +31,18 @@ import uk.gov.gchq.gaffer.rest.factory.ExamplesFactory;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.model.OperationDetail;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedResultWriter;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.Set;
 
+import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
+
 /**
  * An abstract OperationsService which allows for implementations to inject dependencies
  * depending on what DI framework they prefer. This abstraction allows Spring and Jersey
@@ -44,6 +51,8 @@ import java.util.Set;
 @SuppressWarnings("PMD.EmptyMethodInAbstractClassShouldBeAbstract") //Class is not particularly abstract
 public abstract class AbstractOperationService {
 
+    public final ObjectMapper mapper = createDefaultMapper();
+
     protected abstract UserFactory getUserFactory();
 
     protected abstract ExamplesFactory getExamplesFactory();
@@ -122,6 +131,40 @@ public abstract class AbstractOperationService {
         return new Pair<>(result.getResult(), result.getContext().getJobId());
     }
 
+    /**
+     * Executes an operation whose result will be written in chunks. The operation is
+     * executed on the calling thread, so any error is thrown before the response is
+     * returned, and the operation is closed if it fails. Results are normally lazy,
+     * so most of the work is done as the chunks are written.
+     *
+     * @param operation the operation to execute
+     * @param context   the context to execute the operation with
+     * @return the result of the operation
+     */
+    @SuppressWarnings("PMD.UseTryWithResources")
+    protected Object executeForChunks(final Operation operation, final Context context) {
+        try {
+            return _execute(operation, context).getFirst();
+        } catch (final RuntimeException e) {
+            CloseableUtil.close(operation);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a result to an output stream with a {@link ChunkedResultWriter}. Each
+     * item of an {@link Iterable} result is written as its own value, and the iterable
+     * is closed once it has been written.
+     *
+     * @param result    the result of an operation
+     * @param mediaType one of the {@link ChunkedResultWriter#SUPPORTED_MEDIA_TYPES}
+     * @param output    the stream to write to
+     * @throws IOException if the result could not be serialised or written
+     */
+    protected void writeChunks(final Object result, final String mediaType, final OutputStream output) throws IOException {
+        new ChunkedResultWriter(mapper, mediaType).write(result, output);
+    }
+
     protected Operation generateExampleJson(final Class<? extends Operation> opClass) throws IllegalAccessException, InstantiationException {
         return getExamplesFactory().generateExample(opClass);
     }
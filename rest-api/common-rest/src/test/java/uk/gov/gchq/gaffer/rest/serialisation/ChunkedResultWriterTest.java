@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_NDJSON_VALUE;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_SMILE_VALUE;
+
+public class ChunkedResultWriterTest {
+    private static final ObjectMapper MAPPER = JSONSerialiser.createDefaultMapper();
+
+    @Test
+    public void shouldWriteJsonItemsSeparatedByCarriageReturnAndNewLine() throws IOException {
+        // When
+        final String output = write(ChunkedResultWriter.APPLICATION_JSON_VALUE, Arrays.asList(1, "two", 3L));
+
+        // Then
+        assertEquals("1\r\n\"two\"\r\n3\r\n", output);
+    }
+
+    @Test
+    public void shouldWriteNdjsonItemsSeparatedByNewLine() throws IOException {
+        // When
+        final String output = write(APPLICATION_NDJSON_VALUE, Arrays.asList(1, 2, 3));
+
+        // Then
+        assertEquals("1\n2\n3\n", output);
+    }
+
+    @Test
+    public void shouldWriteSingleResult() throws IOException {
+        // When
+        final String output = write(APPLICATION_NDJSON_VALUE, "result");
+
+        // Then
+        assertEquals("\"result\"\n", output);
+    }
+
+    @Test
+    public void shouldWriteSmileItemsThatCanBeReadBack() throws IOException {
+        // Given
+        final List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 2 * ChunkedResultWriter.FLUSH_INTERVAL + 1; i++) {
+            items.add(i);
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        new ChunkedResultWriter(MAPPER, APPLICATION_SMILE_VALUE).write(items, output);
+
+        // Then
+        final List<Integer> readItems = new ObjectMapper(new SmileFactory())
+                .readerFor(Integer.class)
+                .<Integer>readValues(output.toByteArray())
+                .readAll();
+        assertEquals(items, readItems);
+    }
+
+    @Test
+    public void shouldFlushItemsBeforeWaitingForSlowResult() throws IOException {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final List<String> outputBeforeSecondItem = new ArrayList<>();
+        final Iterable<Integer> slowResult = () -> new Iterator<Integer>() {
+            private int next = 1;
+
+            @Override
+            public boolean hasNext() {
+                if (2 == next) {
+                    outputBeforeSecondItem.add(StringUtil.toString(output.toByteArray()));
+                }
+                return next <= 2;
+            }
+
+            @Override
+            public Integer next() {
+                if (1 == next) {
+                    try {
+                        Thread.sleep(ChunkedResultWriter.MAX_FLUSH_DELAY_MILLIS + 10);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return next++;
+            }
+        };
+
+        // When
+        new ChunkedResultWriter(MAPPER, APPLICATION_NDJSON_VALUE).write(slowResult, output);
+
+        // Then
+        assertEquals(Collections.singletonList("1\n"), outputBeforeSecondItem);
+        assertEquals("1\n2\n", StringUtil.toString(output.toByteArray()));
+    }
+
+    @Test
+    public void shouldRejectUnsupportedMediaType() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedResultWriter(MAPPER, "text/plain"));
+    }
+
+    private static String write(final String mediaType, final Object result) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ChunkedResultWriter(MAPPER, mediaType).write(result, output);
+        return StringUtil.toString(output.toByteArray());
+    }
+}
@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
 import uk.gov.gchq.gaffer.commonutil.ExecutorService;
+import uk.gov.gchq.gaffer.rest.service.v2.OperationServiceV2;
 
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
@@ -67,5 +68,6 @@ public class ServletLifecycleListener implements ServletContextListener {
         LOGGER.info("Server shutting down - releasing resources");
         CacheServiceLoader.shutdown();
         ExecutorService.shutdown();
+        OperationServiceV2.shutdownChunkedExecutor();
     }
 }
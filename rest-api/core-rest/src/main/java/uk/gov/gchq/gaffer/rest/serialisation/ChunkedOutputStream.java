@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import org.glassfish.jersey.server.ChunkedOutput;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Function;
+
+/**
+ * An {@link OutputStream} which writes to a Jersey {@link ChunkedOutput}. The bytes
+ * written are held until the stream is flushed, then sent as a single chunk, so a
+ * {@link ChunkedResultWriter} can write to a {@link ChunkedOutput} and decide when
+ * chunks are sent. Closing the stream flushes it, but does not close the
+ * {@link ChunkedOutput}.
+ *
+ * @param <T> the type of the chunks
+ */
+public final class ChunkedOutputStream<T> extends OutputStream {
+    private final ChunkedOutput<T> output;
+    private final Function<byte[], T> toChunk;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    private ChunkedOutputStream(final ChunkedOutput<T> output, final Function<byte[], T> toChunk) {
+        this.output = output;
+        this.toChunk = toChunk;
+    }
+
+    /**
+     * @param output the output to send the bytes to
+     * @return a stream which sends its bytes as byte array chunks
+     */
+    public static ChunkedOutputStream<byte[]> ofBytes(final ChunkedOutput<byte[]> output) {
+        return new ChunkedOutputStream<>(output, bytes -> bytes);
+    }
+
+    /**
+     * @param output the output to send the bytes to
+     * @return a stream which sends its bytes as UTF-8 decoded String chunks
+     */
+    public static ChunkedOutputStream<String> ofStrings(final ChunkedOutput<String> output) {
+        return new ChunkedOutputStream<>(output, StringUtil::toString);
+    }
+
+    @Override
+    public void write(final int b) {
+        buffer.write(b);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        buffer.write(bytes, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer.size() > 0) {
+            output.write(toChunk.apply(buffer.toByteArray()));
+            buffer.reset();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
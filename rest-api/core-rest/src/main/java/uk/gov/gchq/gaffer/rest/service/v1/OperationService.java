@@ -36,6 +36,8 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedOutputStream;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedResultWriter;
 import uk.gov.gchq.gaffer.store.Context;
 
 import javax.inject.Inject;
@@ -74,8 +76,8 @@ public class OperationService implements IOperationService {
     @Override
     @SuppressWarnings("PMD.UseTryWithResources")
     public ChunkedOutput<String> executeChunkedChain(final OperationChainDAO opChain) {
-        // Create chunked output instance
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+        // Create chunked output instance, the items are delimited by the chunk writer
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
 
         // write chunks to the chunked output object
         new Thread(() -> {
@@ -168,23 +170,11 @@ public class OperationService implements IOperationService {
     }
 
     protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
-        if (result instanceof Iterable) {
-            final Iterable itr = (Iterable) result;
-            try {
-                for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
-                }
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            } finally {
-                CloseableUtil.close(itr);
-            }
-        } else {
-            try {
-                output.write(mapper.writeValueAsString(result));
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            }
+        try {
+            new ChunkedResultWriter(mapper, ChunkedResultWriter.APPLICATION_JSON_VALUE)
+                    .write(result, ChunkedOutputStream.ofStrings(output));
+        } catch (final IOException ioe) {
+            LOGGER.warn("IOException (chunks)", ioe);
         }
     }
 }
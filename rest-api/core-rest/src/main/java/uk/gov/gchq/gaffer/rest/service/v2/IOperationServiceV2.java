@@ -33,10 +33,14 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_NDJSON_VALUE;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_SMILE_VALUE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.BAD_REQUEST;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.FORBIDDEN;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
@@ -103,17 +107,24 @@ public interface IOperationServiceV2 {
 
     @POST
     @Path("/execute/chunked")
-    @Produces({APPLICATION_JSON, TEXT_PLAIN})
+    @Produces({APPLICATION_JSON, APPLICATION_NDJSON_VALUE, APPLICATION_SMILE_VALUE, TEXT_PLAIN})
     @ApiOperation(value = "Performs the given operation on the graph, returning a chunked output",
-            notes = "<b>WARNING</b> - This does not work in Swagger.",
+            notes = "<b>WARNING</b> - This does not work in Swagger. The output is JSON separated by carriage " +
+                    "returns and new lines by default, newline delimited JSON if application/x-ndjson is accepted, " +
+                    "or binary Smile encoded values if application/x-jackson-smile is accepted.",
             response = Object.class,
-            produces = (APPLICATION_JSON + "," + TEXT_PLAIN))
+            produces = (APPLICATION_JSON + "," + APPLICATION_NDJSON_VALUE + "," + APPLICATION_SMILE_VALUE + "," + TEXT_PLAIN))
     @ApiResponses(value = {@ApiResponse(code = 202, message = OK, response = Object.class),
             @ApiResponse(code = 400, message = BAD_REQUEST),
             @ApiResponse(code = 403, message = FORBIDDEN),
             @ApiResponse(code = 500, message = INTERNAL_SERVER_ERROR),
             @ApiResponse(code = 501, message = OPERATION_NOT_IMPLEMENTED)})
-    Response executeChunked(@ApiParam(value = "The operation to be performed, returning a chunked output") final Operation operation);
+    Response executeChunked(@ApiParam(value = "The operation to be performed, returning a chunked output") final Operation operation,
+                            @Context final HttpHeaders headers);
+
+    default Response executeChunked(final Operation operation) {
+        return executeChunked(operation, null);
+    }
 
     @SuppressFBWarnings
     Response executeChunkedChain(@ApiParam(value = "The operation chain to be performed, returning a chunked output") final OperationChain opChain);
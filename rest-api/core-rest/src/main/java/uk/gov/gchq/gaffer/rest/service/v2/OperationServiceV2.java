@@ -16,33 +16,40 @@
 
 package uk.gov.gchq.gaffer.rest.service.v2;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.server.ChunkedOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
-import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.Error;
 import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.factory.ExamplesFactory;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.model.OperationDetail;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedOutputStream;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedResultWriter;
 import uk.gov.gchq.gaffer.store.Context;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
-import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
-import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
+import static javax.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
@@ -57,6 +64,7 @@ import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
 @SuppressWarnings("PMD.UnnecessaryFullyQualifiedName") //Not the same FQN
 public class OperationServiceV2 extends AbstractOperationService implements IOperationServiceV2 {
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationServiceV2.class);
+    private static ThreadPoolExecutor chunkedExecutor;
 
     @Inject
     private GraphFactory graphFactory;
@@ -67,8 +75,6 @@ public class OperationServiceV2 extends AbstractOperationService implements IOpe
     @Inject
     private ExamplesFactory examplesFactory;
 
-    public final ObjectMapper mapper = createDefaultMapper();
-
     @Override
     public Response getOperations() {
         return Response.ok(graphFactory.getGraph().getSupportedOperations())
@@ -93,76 +99,48 @@ public class OperationServiceV2 extends AbstractOperationService implements IOpe
     }
 
     @Override
-    public Response executeChunked(final Operation operation) {
-        return executeChunkedChain(OperationChain.wrap(operation));
+    public Response executeChunked(final Operation operation, final HttpHeaders headers) {
+        return executeChunkedChain(OperationChain.wrap(operation), getChunkedMediaType(headers));
     }
 
-    @SuppressFBWarnings
     @Override
-    @SuppressWarnings("PMD.UseTryWithResources")
     public Response executeChunkedChain(final OperationChain opChain) {
-        // Create chunked output instance
-        final Throwable[] threadException = new Throwable[1];
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
-        final Context context = userFactory.createContext();
-
-        // create thread to write chunks to the chunked output object
-        Thread thread = new Thread(() -> {
-            try {
-                final Object result = _execute(opChain, context).getFirst();
-                chunkResult(result, output);
-            } catch (final Exception e) {
-                throw new RuntimeException(e);
-            } finally {
-                CloseableUtil.close(output);
-                CloseableUtil.close(opChain);
-            }
-        });
-
-        // By default threads throw nothing, so set the ExceptionHandler
-        thread.setUncaughtExceptionHandler((thread1, exception) -> threadException[0] = exception.getCause());
+        return executeChunkedChain(opChain, ChunkedResultWriter.APPLICATION_JSON_VALUE);
+    }
 
-        thread.start();
+    @SuppressWarnings("PMD.UseTryWithResources")
+    protected Response executeChunkedChain(final OperationChain opChain, final String mediaType) {
+        // Errors executing the chain are thrown here, before the response is returned
+        final Object result = executeForChunks(opChain, userFactory.createContext());
 
-        // Sleep to check exception will be caught
+        // Stream the result on a bounded pool of threads so the request thread is released
+        final ChunkedOutput<byte[]> output = new ChunkedOutput<>(byte[].class);
         try {
-            Thread.sleep(1000);
-        } catch (final InterruptedException e) {
-            return Response.status(INTERNAL_SERVER_ERROR)
+            getChunkedExecutor().execute(() -> {
+                try {
+                    chunkResult(result, mediaType, output);
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Failed to write chunked output", e);
+                } finally {
+                    CloseableUtil.close(output);
+                    CloseableUtil.close(opChain);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Unable to stream chunked output, too many chunked results are already waiting", e);
+            CloseableUtil.close(result, output, opChain);
+            return Response.status(SERVICE_UNAVAILABLE)
                     .entity(new Error.ErrorBuilder()
-                            .status(Status.INTERNAL_SERVER_ERROR)
-                            .statusCode(500)
-                            .simpleMessage(e.getMessage())
+                            .status(Status.SERVICE_UNAVAILABLE)
+                            .statusCode(SERVICE_UNAVAILABLE.getStatusCode())
+                            .simpleMessage("Too many chunked results are being streamed, please try again later.")
                             .build())
                     .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
                     .build();
         }
 
-        // If there was an UnauthorisedException thrown return 403, else return a 500
-        if (null != threadException[0]) {
-            if (threadException.getClass().equals(UnauthorisedException.class)) {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.FORBIDDEN)
-                                .statusCode(403)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
-            } else {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.INTERNAL_SERVER_ERROR)
-                                .statusCode(500)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
-            }
-        }
-
-        // Return ok output
         return Response.ok(output)
+                .type(mediaType)
                 .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
                 .build();
     }
@@ -258,24 +236,61 @@ public class OperationServiceV2 extends AbstractOperationService implements IOpe
         // no action by default
     }
 
-    protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
-        if (result instanceof Iterable) {
-            final Iterable itr = (Iterable) result;
-            try {
-                for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
+    protected void chunkResult(final Object result, final String mediaType, final ChunkedOutput<byte[]> output) {
+        try {
+            writeChunks(result, mediaType, ChunkedOutputStream.ofBytes(output));
+        } catch (final IOException ioe) {
+            LOGGER.warn("IOException (chunks)", ioe);
+        }
+    }
+
+    private static String getChunkedMediaType(final HttpHeaders headers) {
+        if (null != headers) {
+            // The acceptable media types are sorted by specificity and quality
+            for (final MediaType acceptedType : headers.getAcceptableMediaTypes()) {
+                for (final String supportedType : ChunkedResultWriter.SUPPORTED_MEDIA_TYPES) {
+                    if (acceptedType.isCompatible(MediaType.valueOf(supportedType))) {
+                        return supportedType;
+                    }
                 }
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            } finally {
-                CloseableUtil.close(itr);
-            }
-        } else {
-            try {
-                output.write(mapper.writeValueAsString(result));
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
             }
         }
+        return ChunkedResultWriter.APPLICATION_JSON_VALUE;
+    }
+
+    /**
+     * Gets the pool of threads used to write chunked output, creating it if needed.
+     * It is sized by the {@link SystemProperty#CHUNKED_THREADS} system property, and
+     * at most {@link SystemProperty#CHUNKED_QUEUE_SIZE} results wait for a thread.
+     * Further results are rejected.
+     *
+     * @return the chunked output executor
+     */
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "The shared executor is intentionally exposed")
+    public static synchronized ExecutorService getChunkedExecutor() {
+        if (null == chunkedExecutor) {
+            final int threads = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_THREADS, SystemProperty.CHUNKED_THREADS_DEFAULT));
+            final int queueSize = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_QUEUE_SIZE, SystemProperty.CHUNKED_QUEUE_SIZE_DEFAULT));
+            chunkedExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "chunked-output");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            chunkedExecutor.allowCoreThreadTimeOut(true);
+        }
+        return chunkedExecutor;
+    }
+
+    /**
+     * Stops the pool of threads used to write chunked output, interrupting any
+     * chunked results that are still being written. It is created again if
+     * another chunked result is requested.
+     */
+    public static synchronized void shutdownChunkedExecutor() {
+        if (null != chunkedExecutor) {
+            chunkedExecutor.shutdownNow();
+            chunkedExecutor = null;
+        }
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedOutputStreamTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldOnlySendChunkWhenFlushed() throws IOException {
+        // Given
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        final OutputStream stream = ChunkedOutputStream.ofStrings(output);
+
+        // When
+        stream.write(StringUtil.toBytes("chunk"));
+
+        // Then
+        verify(output, never()).write(any());
+
+        // When
+        stream.flush();
+        stream.flush();
+
+        // Then
+        verify(output).write("chunk");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSendFlushedItemsOfChunkedResultAsChunks() throws IOException {
+        // Given
+        final ChunkedOutput<byte[]> output = mock(ChunkedOutput.class);
+
+        // When
+        new ChunkedResultWriter(JSONSerialiser.createDefaultMapper(), ChunkedResultWriter.APPLICATION_JSON_VALUE)
+                .write(Arrays.asList(1, 2), ChunkedOutputStream.ofBytes(output));
+
+        // Then
+        verify(output).write(StringUtil.toBytes("1\r\n2\r\n"));
+    }
+}
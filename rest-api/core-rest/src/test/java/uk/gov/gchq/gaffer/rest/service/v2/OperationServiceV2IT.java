@@ -48,6 +48,8 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -200,6 +202,31 @@ public class OperationServiceV2IT extends OperationServiceIT {
         assertEquals(fields, opDetails.getFields());
     }
 
+    @Test
+    public void shouldReturnServiceUnavailableWhenTooManyChunkedResultsAreWaiting() throws Exception {
+        // Given
+        System.setProperty(SystemProperty.CHUNKED_THREADS, "1");
+        System.setProperty(SystemProperty.CHUNKED_QUEUE_SIZE, "1");
+        OperationServiceV2.shutdownChunkedExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final ExecutorService executor = OperationServiceV2.getChunkedExecutor();
+            executor.execute(() -> awaitUninterruptibly(release));
+            executor.execute(() -> awaitUninterruptibly(release));
+
+            // When
+            final Response response = client.executeOperationChunked(new ToSingletonList.Builder<>().input("test").build());
+
+            // Then
+            assertEquals(SERVICE_UNAVAILABLE.getStatusCode(), response.getStatus());
+        } finally {
+            release.countDown();
+            OperationServiceV2.shutdownChunkedExecutor();
+            System.clearProperty(SystemProperty.CHUNKED_THREADS);
+            System.clearProperty(SystemProperty.CHUNKED_QUEUE_SIZE);
+        }
+    }
+
     @Test
     public void shouldAllowUserWithAuthThroughHeaders() throws IOException {
         // Given
@@ -246,7 +273,15 @@ public class OperationServiceV2IT extends OperationServiceIT {
                 "BasicUser");
 
         // Then
-        assertEquals(500, response.getStatus());
+        assertEquals(403, response.getStatus());
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     @Override
@@ -29,6 +29,8 @@ import java.util.Set;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_NDJSON_VALUE;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_SMILE_VALUE;
 
 @Tag(name = "operations")
 @RequestMapping("/graph/operations")
@@ -120,10 +122,17 @@ public interface IOperationController {
             method = POST,
             path = "/execute/chunked",
             consumes = APPLICATION_JSON_VALUE,
-            produces = APPLICATION_JSON_VALUE
+            produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE, APPLICATION_SMILE_VALUE}
     )
     @io.swagger.v3.oas.annotations.Operation(
-            summary = "Executes an operation against a Store, returning a chunked output"
+            summary = "Executes an operation against a Store, returning a chunked output",
+            description = "The output is JSON separated by carriage returns and new lines by default, " +
+                    "newline delimited JSON if application/x-ndjson is accepted, " +
+                    "or binary Smile encoded values if application/x-jackson-smile is accepted"
     )
-    ResponseEntity<StreamingResponseBody> executeChunked(final Operation operation);
+    ResponseEntity<StreamingResponseBody> executeChunked(final Operation operation, final String accept);
+
+    default ResponseEntity<StreamingResponseBody> executeChunked(final Operation operation) {
+        return executeChunked(operation, null);
+    }
 }
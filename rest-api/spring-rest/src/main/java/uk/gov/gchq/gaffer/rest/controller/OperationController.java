@@ -16,13 +16,14 @@
 
 package uk.gov.gchq.gaffer.rest.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Parameter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
@@ -35,13 +36,13 @@ import uk.gov.gchq.gaffer.rest.factory.ExamplesFactory;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.model.OperationDetail;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedResultWriter;
 import uk.gov.gchq.gaffer.rest.service.v2.AbstractOperationService;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Set;
 
-import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
@@ -53,8 +54,6 @@ public class OperationController extends AbstractOperationService implements IOp
     private final UserFactory userFactory;
     private final ExamplesFactory examplesFactory;
 
-    public final ObjectMapper mapper = createDefaultMapper();
-
     @Autowired
     public OperationController(final GraphFactory graphFactory, final UserFactory userFactory, final ExamplesFactory examplesFactory) {
         this.graphFactory = graphFactory;
@@ -143,34 +142,18 @@ public class OperationController extends AbstractOperationService implements IOp
 
     @Override
     @SuppressWarnings("PMD.UseTryWithResources")
-    public ResponseEntity<StreamingResponseBody> executeChunked(@RequestBody final Operation operation) {
+    public ResponseEntity<StreamingResponseBody> executeChunked(@RequestBody final Operation operation,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        final ChunkedResultWriter writer = new ChunkedResultWriter(mapper, getChunkedMediaType(accept));
+
+        // Errors executing the operation are thrown here, before the response is returned
+        final Object result = executeForChunks(operation, userFactory.createContext());
+
         final StreamingResponseBody responseBody = response -> {
             try {
-                final Pair<Object, String> resultAndJobId = _execute(operation, userFactory.createContext());
-                final Object result = resultAndJobId.getFirst();
-                if (result instanceof Iterable) {
-                    final Iterable itr = (Iterable) result;
-                    try {
-                        for (final Object item : itr) {
-                            final String itemString = mapper.writeValueAsString(item) + "\r\n";
-                            response.write(itemString.getBytes(StandardCharsets.UTF_8));
-                            response.flush();
-                        }
-                    } catch (final IOException ioe) {
-                        throw new GafferRuntimeException("Unable to serialise chunk: ", ioe, Status.INTERNAL_SERVER_ERROR);
-                    } finally {
-                        CloseableUtil.close(itr);
-                    }
-                } else {
-                    try {
-                        response.write(mapper.writeValueAsString(result).getBytes(StandardCharsets.UTF_8));
-                        response.flush();
-                    } catch (final IOException ioe) {
-                        throw new GafferRuntimeException("Unable to serialise chunk: ", ioe, Status.INTERNAL_SERVER_ERROR);
-                    }
-                }
-            } catch (final Exception e) {
-                throw new GafferRuntimeException("Unable to create chunk: ", e, Status.INTERNAL_SERVER_ERROR);
+                writer.write(result, response);
+            } catch (final IOException ioe) {
+                throw new GafferRuntimeException("Unable to serialise chunk: ", ioe, Status.INTERNAL_SERVER_ERROR);
             } finally {
                 CloseableUtil.close(operation);
             }
@@ -178,7 +161,7 @@ public class OperationController extends AbstractOperationService implements IOp
 
         return ResponseEntity.ok()
                 .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                .contentType(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.parseMediaType(writer.getMediaType()))
                 .body(responseBody);
     }
 
@@ -197,4 +180,18 @@ public class OperationController extends AbstractOperationService implements IOp
         return graphFactory;
     }
 
+    private static String getChunkedMediaType(final String accept) {
+        if (null != accept) {
+            final List<MediaType> acceptedTypes = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(acceptedTypes);
+            for (final MediaType acceptedType : acceptedTypes) {
+                for (final String supportedType : ChunkedResultWriter.SUPPORTED_MEDIA_TYPES) {
+                    if (acceptedType.isCompatibleWith(MediaType.parseMediaType(supportedType))) {
+                        return supportedType;
+                    }
+                }
+            }
+        }
+        return ChunkedResultWriter.APPLICATION_JSON_VALUE;
+    }
 }
@@ -306,6 +306,38 @@ public class OperationControllerTest {
 
     }
 
+    @SuppressWarnings({"unchecked"})
+    @Test
+    public void shouldChunkIterablesAsNdjsonWhenAccepted() throws IOException, OperationException {
+        // Given
+        when(userFactory.createContext()).thenReturn(new Context(new User()));
+        when(store.execute(any(Output.class), any(Context.class))).thenReturn(Arrays.asList(1, 2, 3));
+
+        // When
+        final ResponseEntity<StreamingResponseBody> response = operationController.executeChunked(new GetAllElements(),
+                "application/x-jackson-smile;q=0.5, application/x-ndjson");
+        try (final OutputStream output = new ByteArrayOutputStream()) {
+            response.getBody().writeTo(output);
+
+            // Then
+            assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+            assertThat(output.toString()).isEqualTo("1\n2\n3\n");
+        }
+    }
+
+    @SuppressWarnings({"unchecked"})
+    @Test
+    public void shouldThrowErrorFromChunkedOperationBeforeReturningResponse() throws OperationException {
+        // Given
+        when(userFactory.createContext()).thenReturn(new Context(new User()));
+        when(store.execute(any(Output.class), any(Context.class))).thenThrow(new OperationException("Test failure"));
+
+        // When / Then
+        assertThatExceptionOfType(GafferRuntimeException.class)
+                .isThrownBy(() -> operationController.executeChunked(new GetAllElements()))
+                .withMessageContaining("Test failure");
+    }
+
     private static class UninstantiatableOperation implements Operation {
 
         @Override
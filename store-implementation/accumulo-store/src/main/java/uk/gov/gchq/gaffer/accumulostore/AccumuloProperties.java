@@ -43,19 +43,27 @@ public class AccumuloProperties extends StoreProperties {
     public static final String NAMESPACE = "accumulo.namespace";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String BATCH_SCANNER_PREFETCH_DEPTH = "accumulo.batchScannerPrefetchDepth";
+    public static final String BATCH_SCANNER_PREFETCH_THREADS = "accumulo.batchScannerPrefetchThreads";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String INGEST_THREADS = "accumulo.ingestThreads";
+    public static final String INGEST_BATCH_SIZE = "accumulo.ingestBatchSize";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String INGEST_THREADS_DEFAULT = "1";
+    private static final String INGEST_BATCH_SIZE_DEFAULT = "10000";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String BATCH_SCANNER_PREFETCH_DEPTH_DEFAULT = "0";
+    private static final String BATCH_SCANNER_PREFETCH_THREADS_DEFAULT = "10";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
@@ -150,6 +158,47 @@ public class AccumuloProperties extends StoreProperties {
         return Long.parseLong(get(MAX_BUFFER_SIZE_FOR_BATCH_WRITER, MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Gets the number of threads that should be used to convert elements into
+     * mutations when adding elements. The threads are shared by all the
+     * AddElements operations running on the store.
+     *
+     * @return The number of threads to convert elements on, 1 means elements are
+     * converted on the thread adding them.
+     */
+    public int getIngestThreads() {
+        return Integer.parseInt(get(INGEST_THREADS, INGEST_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads that should be used to convert elements into
+     * mutations when adding elements.
+     *
+     * @param ingestThreads The number of threads to convert elements on.
+     */
+    public void setIngestThreads(final String ingestThreads) {
+        set(INGEST_THREADS, ingestThreads);
+    }
+
+    /**
+     * Gets the number of elements each ingest thread converts at a time, when
+     * more than 1 ingest thread is used.
+     *
+     * @return The number of elements in each batch.
+     */
+    public int getIngestBatchSize() {
+        return Integer.parseInt(get(INGEST_BATCH_SIZE, INGEST_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements each ingest thread converts at a time.
+     *
+     * @param ingestBatchSize The number of elements in each batch.
+     */
+    public void setIngestBatchSize(final String ingestBatchSize) {
+        set(INGEST_BATCH_SIZE, ingestBatchSize);
+    }
+
     /**
      * Gets the list of Zookeeper servers.
      *
@@ -336,6 +385,49 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets the number of batch scanners to open ahead of the one being read
+     * when retrieving elements for seeds. Each batch scanner is opened with the
+     * ranges for the next set of seeds, up to the max entries for the batch scanner.
+     *
+     * @return An integer representing the number of batch scanners to prefetch,
+     * 0 means the next batch scanner is only opened once the current one is spent.
+     */
+    public int getBatchScannerPrefetchDepth() {
+        return Integer.parseInt(get(BATCH_SCANNER_PREFETCH_DEPTH, BATCH_SCANNER_PREFETCH_DEPTH_DEFAULT));
+    }
+
+    /**
+     * Sets the number of batch scanners to open ahead of the one being read
+     * when retrieving elements for seeds.
+     *
+     * @param batchScannerPrefetchDepth the number of batch scanners to prefetch, 0 to disable prefetching.
+     */
+    public void setBatchScannerPrefetchDepth(final String batchScannerPrefetchDepth) {
+        set(BATCH_SCANNER_PREFETCH_DEPTH, batchScannerPrefetchDepth);
+    }
+
+    /**
+     * Gets the number of threads shared by all the queries on the store to open
+     * prefetched batch scanners. Each query only opens one batch scanner at a time
+     * on these threads.
+     *
+     * @return An integer representing the number of threads to open prefetched batch scanners on.
+     */
+    public int getBatchScannerPrefetchThreads() {
+        return Integer.parseInt(get(BATCH_SCANNER_PREFETCH_THREADS, BATCH_SCANNER_PREFETCH_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads shared by all the queries on the store to open
+     * prefetched batch scanners.
+     *
+     * @param batchScannerPrefetchThreads the number of threads to open prefetched batch scanners on.
+     */
+    public void setBatchScannerPrefetchThreads(final String batchScannerPrefetchThreads) {
+        set(BATCH_SCANNER_PREFETCH_THREADS, batchScannerPrefetchThreads);
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
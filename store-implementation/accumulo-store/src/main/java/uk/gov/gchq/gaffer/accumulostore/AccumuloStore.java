@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
@@ -64,6 +65,7 @@ import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.LegacySupport;
+import uk.gov.gchq.gaffer.accumulostore.utils.ParallelElementIngester;
 import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
@@ -109,6 +111,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -154,6 +161,8 @@ public class AccumuloStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private ThreadPoolExecutor ingestExecutor;
+    private ThreadPoolExecutor prefetchExecutor;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties)
@@ -182,6 +191,9 @@ public class AccumuloStore extends Store {
             throw new StoreException(String.format("Unable to construct an instance of key package: %s", keyPackageClass), e);
         }
         this.keyPackage.setSchema(getSchema());
+
+        // The number of threads may have changed, so the pools are recreated on next use
+        shutdownExecutors();
     }
 
     /**
@@ -199,6 +211,78 @@ public class AccumuloStore extends Store {
         return connection;
     }
 
+    /**
+     * Get the executor used to convert elements into mutations when
+     * {@link AccumuloProperties#getIngestThreads()} is greater than 1.
+     * It is created on first use and is shared by all the ingests into this store,
+     * so it never holds more than {@link AccumuloProperties#getIngestThreads()}
+     * threads. Idle threads are released.
+     *
+     * @return the ingest executor
+     */
+    @JsonIgnore
+    public synchronized ExecutorService getIngestExecutor() {
+        if (isNull(ingestExecutor)) {
+            ingestExecutor = createExecutor(getProperties().getIngestThreads(), "accumulo-ingest");
+        }
+        return ingestExecutor;
+    }
+
+    /**
+     * Get the executor used to open batch scanners ahead of the one being read
+     * when {@link AccumuloProperties#getBatchScannerPrefetchDepth()} is greater than 0.
+     * It is created on first use and is shared by all the queries on this store,
+     * so it never holds more than {@link AccumuloProperties#getBatchScannerPrefetchThreads()}
+     * threads. Idle threads are released.
+     *
+     * @return the batch scanner prefetch executor
+     */
+    @JsonIgnore
+    public synchronized ExecutorService getPrefetchExecutor() {
+        if (isNull(prefetchExecutor)) {
+            prefetchExecutor = createExecutor(getProperties().getBatchScannerPrefetchThreads(), "accumulo-prefetch");
+        }
+        return prefetchExecutor;
+    }
+
+    /**
+     * Stops the executors used for parallel ingest and batch scanner prefetching.
+     */
+    @Override
+    public void close() {
+        shutdownExecutors();
+        super.close();
+    }
+
+    private synchronized void shutdownExecutors() {
+        shutdown(ingestExecutor);
+        ingestExecutor = null;
+        shutdown(prefetchExecutor);
+        prefetchExecutor = null;
+    }
+
+    private static ThreadPoolExecutor createExecutor(final int threads, final String threadName) {
+        final int poolSize = Math.max(1, threads);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static void shutdown(final ExecutorService executor) {
+        if (nonNull(executor)) {
+            // Cancel the tasks that never started, so the callers waiting for them fail rather than hang
+            for (final Runnable task : executor.shutdownNow()) {
+                if (task instanceof Future) {
+                    ((Future<?>) task).cancel(false);
+                }
+            }
+        }
+    }
+
     public String getTableName() {
         if (StringUtils.isNotBlank(getProperties().getNamespace())) {
             return String.format("%s.%s", getProperties().getNamespace(), getGraphId());
@@ -423,11 +507,13 @@ public class AccumuloStore extends Store {
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
-        // Loop through elements, convert to mutations, and add to
-        // BatchWriter.as
-        // The BatchWriter takes care of batching them up, sending them without
-        // too high a latency, etc.
-        if (nonNull(elements)) {
+        if (nonNull(elements) && getProperties().getIngestThreads() > 1) {
+            insertGraphElementsInParallel(writer, elements);
+        } else if (nonNull(elements)) {
+            // Loop through elements, convert to mutations, and add to
+            // BatchWriter.as
+            // The BatchWriter takes care of batching them up, sending them without
+            // too high a latency, etc.
             for (final Element element : elements) {
 
                 final Pair<Key, Key> keys;
@@ -483,6 +569,21 @@ public class AccumuloStore extends Store {
         }
     }
 
+    private void insertGraphElementsInParallel(final BatchWriter writer, final Iterable<? extends Element> elements) throws StoreException {
+        final ParallelElementIngester ingester = new ParallelElementIngester(keyPackage.getKeyConverter(), writer,
+                getIngestExecutor(), getProperties().getIngestThreads(), getProperties().getIngestBatchSize());
+        try {
+            ingester.ingest(elements);
+        } catch (final StoreException | RuntimeException e) {
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException closeException) {
+                LOGGER.warn("Accumulo batch writer failed to close", closeException);
+            }
+            throw e;
+        }
+    }
+
     /**
      * Gets the {@link uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage} in use by
      * this AccumuloStore.
@@ -29,11 +29,11 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
     private static final long serialVersionUID = 3874766099103158427L;
 
     protected final AccumuloElementConverter elementConverter;
-    protected final Key key;
+    protected Key key;
 
     private final Schema schema;
     private final String group;
-    private final Value value;
+    private Value value;
     private final String timestampProperty;
 
     private SchemaElementDefinition eDef;
@@ -51,6 +51,18 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
         this.timestampProperty = schema.getConfig(AccumuloStoreConstants.TIMESTAMP_PROPERTY);
     }
 
+    /**
+     * Points this loader at a different key and value of the same group, so a single
+     * loader can be reused for each key and value being filtered.
+     *
+     * @param key   the key to load the element from
+     * @param value the value to load the element from
+     */
+    public void setKeyAndValue(final Key key, final Value value) {
+        this.key = key;
+        this.value = value;
+    }
+
     @Override
     public Object getProperty(final String name, final Properties lazyProperties) {
         if (null == eDef) {
@@ -27,11 +27,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEdgeValueLoader;
+import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloElementValueLoader;
 import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEntityValueLoader;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.ElementFilterException;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsCache;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
-import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -48,6 +49,7 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -74,6 +76,8 @@ public abstract class AbstractElementFilter extends Filter {
 
     private Set<String> groupsWithoutFilters = Collections.emptySet();
 
+    private final Map<String, LazyElement> lazyElements = new HashMap<>();
+
     private final ElementValidator.FilterType filterType;
 
     protected AbstractElementFilter(final ElementValidator.FilterType filterType) {
@@ -87,15 +91,7 @@ public abstract class AbstractElementFilter extends Filter {
             return true;
         }
 
-        final Element element;
-        if (schema.isEntity(group)) {
-            element = new LazyEntity(new Entity(group),
-                    new AccumuloEntityValueLoader(group, key, value, elementConverter, schema));
-        } else {
-            element = new LazyEdge(new Edge(group, null, null, false),
-                    new AccumuloEdgeValueLoader(group, key, value, elementConverter, schema, true));
-        }
-        return elementPredicate.test(element);
+        return elementPredicate.test(getLazyElement(group, key, value));
     }
 
     @Override
@@ -104,16 +100,13 @@ public abstract class AbstractElementFilter extends Filter {
                      final IteratorEnvironment env)
             throws IOException {
         super.init(source, options, env);
-        schema = Schema.fromJson(StringUtil.toBytes(options.get(AccumuloStoreConstants.SCHEMA)));
+        final String schemaJson = options.get(AccumuloStoreConstants.SCHEMA);
+        schema = IteratorOptionsCache.getSchema(schemaJson);
         LOGGER.debug("Initialising AbstractElementFilter with Schema {}", schema);
 
         final String elementConverterClass = options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
         try {
-            elementConverter = Class
-                    .forName(elementConverterClass)
-                    .asSubclass(AccumuloElementConverter.class)
-                    .getConstructor(Schema.class)
-                    .newInstance(schema);
+            elementConverter = IteratorOptionsCache.getElementConverter(elementConverterClass, schemaJson);
             LOGGER.debug("Creating AccumuloElementConverter of class {}", elementConverterClass);
         } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
                 | InvocationTargetException | NoSuchMethodException | SecurityException e) {
@@ -129,7 +122,7 @@ public abstract class AbstractElementFilter extends Filter {
             if (isNull(viewJson)) {
                 throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
             }
-            final View view = View.fromJson(StringUtil.toBytes(viewJson));
+            final View view = IteratorOptionsCache.getView(viewJson);
             LOGGER.debug("Determining groups that don't need to be filtered based on view {}", view);
             if (filterType == ElementValidator.FilterType.PRE_AGGREGATION_FILTER) {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPreAggregationFilters);
@@ -172,6 +165,16 @@ public abstract class AbstractElementFilter extends Filter {
         return true;
     }
 
+    // The lazy element and its value loader are created once per group and then reused for each key
+    private Element getLazyElement(final String group, final Key key, final Value value) {
+        LazyElement lazyElement = lazyElements.get(group);
+        if (isNull(lazyElement)) {
+            lazyElement = new LazyElement(group);
+            lazyElements.put(group, lazyElement);
+        }
+        return lazyElement.reset(key, value);
+    }
+
     @SuppressWarnings("PMD.UseTryWithResources")
     private void updateViewGroupsWithoutFilters(final View view,
                                                 final Function<ViewElementDefinition, Boolean> hasFilters) {
@@ -209,4 +212,32 @@ public abstract class AbstractElementFilter extends Filter {
         }
         LOGGER.debug("The following groups will not be filtered: {}", StringUtils.join(groupsWithoutFilters, ','));
     }
+
+    private final class LazyElement {
+        private final AccumuloElementValueLoader valueLoader;
+        private final LazyEntity lazyEntity;
+        private final LazyEdge lazyEdge;
+
+        private LazyElement(final String group) {
+            if (schema.isEntity(group)) {
+                valueLoader = new AccumuloEntityValueLoader(group, null, null, elementConverter, schema);
+                lazyEntity = new LazyEntity(new Entity(group), valueLoader);
+                lazyEdge = null;
+            } else {
+                valueLoader = new AccumuloEdgeValueLoader(group, null, null, elementConverter, schema, true);
+                lazyEntity = null;
+                lazyEdge = new LazyEdge(new Edge(group, null, null, false), valueLoader);
+            }
+        }
+
+        private Element reset(final Key key, final Value value) {
+            valueLoader.setKeyAndValue(key, value);
+            if (null != lazyEntity) {
+                lazyEntity.unload();
+                return lazyEntity;
+            }
+            lazyEdge.unload();
+            return lazyEdge;
+        }
+    }
 }
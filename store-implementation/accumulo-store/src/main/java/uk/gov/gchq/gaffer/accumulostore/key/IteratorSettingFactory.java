@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 
 /**
  * The iterator settings factory is designed to enable the AccumuloStore to
@@ -141,6 +142,23 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getElementPropertyRangeQueryFilter(final GraphFilters operation);
 
+    /**
+     * Returns an Iterator that will only return the vertex adjacent to the
+     * searched for vertex for each Edge, rather than the whole Edge, for
+     * {@link GetAdjacentIds} queries. If the operation has the
+     * {@link uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants#GET_ADJACENT_IDS_DEDUPLICATE}
+     * option set to true, duplicate adjacent vertices are also filtered out.
+     * This method May return null if the whole Edges are required, for example
+     * to apply post transform filters. By default null is returned, so
+     * factories that do not support it continue to return whole Edges.
+     *
+     * @param operation the GetAdjacentIds operation
+     * @return A new {@link IteratorSetting} for an Iterator that only returns the adjacent vertices
+     */
+    default IteratorSetting getAdjacentVertexIteratorSetting(final GetAdjacentIds operation) {
+        return null;
+    }
+
     /**
      * Returns the iterator settings for a given iterator name. Allowed iterator
      * names are: Aggregator, Validator and Bloom_Filter.
@@ -39,12 +39,12 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashSet;
@@ -55,6 +55,11 @@ import java.util.stream.StreamSupport;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
+    // Converters are shared between threads, so each thread reuses its own buffers
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<ByteArrayBuffer> KEY_PART_BUFFER = ThreadLocal.withInitial(ByteArrayBuffer::new);
+    private static final ThreadLocal<ByteArrayBuffer> PROPERTY_BUFFER = ThreadLocal.withInitial(ByteArrayBuffer::new);
+
     protected final Schema schema;
     private final String timestampProperty;
     private final Set<String> aggregatedGroups;
@@ -131,16 +136,16 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @SuppressWarnings("Convert2streamapi")
     @Override
     public Value getValueFromProperties(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ByteArrayBuffer buffer = getBuffer(KEY_PART_BUFFER);
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
 
         for (final String propertyName : elementDefinition.getProperties()) {
             if (isStoredInValue(propertyName, elementDefinition)) {
-                serialiseSizeAndPropertyValue(propertyName, elementDefinition, properties, stream);
+                serialiseSizeAndPropertyValue(propertyName, elementDefinition, properties, buffer);
             }
         }
 
-        return new Value(stream.toByteArray());
+        return new Value(buffer.toByteArray());
     }
 
     @Override
@@ -261,14 +266,14 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public byte[] buildColumnQualifier(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ByteArrayBuffer buffer = getBuffer(KEY_PART_BUFFER);
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
 
         for (final String groupByPropertyName : elementDefinition.getGroupBy()) {
-            serialiseSizeAndPropertyValue(groupByPropertyName, elementDefinition, properties, stream);
+            serialiseSizeAndPropertyValue(groupByPropertyName, elementDefinition, properties, buffer);
         }
 
-        return stream.toByteArray();
+        return buffer.toByteArray();
     }
 
     /**
@@ -301,20 +306,51 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return elementDefinition;
     }
 
+    /**
+     * Writes the size of the serialised property followed by the serialised property
+     * to the stream.
+     *
+     * @param propertyName      the name of the property
+     * @param elementDefinition the definition of the element the property belongs to
+     * @param properties        the properties of the element
+     * @param stream            the stream to write to
+     * @deprecated use {@link #serialiseSizeAndPropertyValue(String, SchemaElementDefinition, Properties, ByteArrayBuffer)},
+     * which is what this delegates to and is called when creating keys and values.
+     */
+    @Deprecated
     protected void serialiseSizeAndPropertyValue(final String propertyName, final SchemaElementDefinition elementDefinition, final Properties properties, final ByteArrayOutputStream stream) {
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        serialiseSizeAndPropertyValue(propertyName, elementDefinition, properties, buffer);
+        stream.write(buffer.getBytes(), 0, buffer.size());
+    }
+
+    /**
+     * Writes the size of the serialised property followed by the serialised property
+     * to the buffer. The property is serialised into a reused buffer, so no arrays are
+     * created for serialisers that can write directly to a buffer.
+     *
+     * @param propertyName      the name of the property
+     * @param elementDefinition the definition of the element the property belongs to
+     * @param properties        the properties of the element
+     * @param buffer            the buffer to write to
+     */
+    protected void serialiseSizeAndPropertyValue(final String propertyName, final SchemaElementDefinition elementDefinition, final Properties properties, final ByteArrayBuffer buffer) {
         try {
             final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
             final ToBytesSerialiser serialiser = (null == typeDefinition) ? null : (ToBytesSerialiser) typeDefinition.getSerialiser();
-            byte[] bytes;
-            if (null == serialiser) {
-                bytes = AccumuloStoreConstants.EMPTY_BYTES;
-            } else {
-                Object value = properties.get(propertyName);
-                //serialiseNull could be different to AccumuloStoreConstants.EMPTY_BYTES
-                bytes = (null == value) ? serialiser.serialiseNull() : serialiser.serialise(value);
+            final ByteArrayBuffer propertyBuffer = getBuffer(PROPERTY_BUFFER);
+            if (null != serialiser) {
+                final Object value = properties.get(propertyName);
+                if (null == value) {
+                    //serialiseNull could be different to AccumuloStoreConstants.EMPTY_BYTES
+                    propertyBuffer.write(serialiser.serialiseNull());
+                } else {
+                    serialiser.serialise(value, propertyBuffer);
+                }
             }
-            writeBytes(bytes, stream);
-        } catch (final IOException e) {
+            CompactRawSerialisationUtils.write(propertyBuffer.size(), buffer);
+            buffer.write(propertyBuffer);
+        } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to write serialised property to ByteArrayOutputStream" + propertyName, e);
         }
     }
@@ -532,10 +568,15 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 && !propertyName.equals(timestampProperty);
     }
 
-    private void writeBytes(final byte[] bytes, final ByteArrayOutputStream out)
-            throws IOException {
-        CompactRawSerialisationUtils.write(bytes.length, out);
-        out.write(bytes);
+    private static ByteArrayBuffer getBuffer(final ThreadLocal<ByteArrayBuffer> threadBuffer) {
+        ByteArrayBuffer buffer = threadBuffer.get();
+        if (buffer.getBytes().length > MAX_RETAINED_BUFFER_SIZE) {
+            // Don't hold on to the memory used by an unusually large element
+            buffer = new ByteArrayBuffer();
+            threadBuffer.set(buffer);
+        }
+        buffer.reset();
+        return buffer;
     }
 
     private Object getDeserialisedObject(final ToBytesSerialiser serialiser, final byte[] bytes, final int from, final int length) throws SerialisationException {
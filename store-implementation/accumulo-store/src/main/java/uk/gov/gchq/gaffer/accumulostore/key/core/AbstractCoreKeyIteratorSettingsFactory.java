@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyAdjacentVertexIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
@@ -35,6 +36,7 @@ import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -187,6 +189,25 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getAdjacentVertexIteratorSetting(final GetAdjacentIds operation) {
+        if (operation.getView().hasPostTransformFilters()) {
+            LOGGER.debug("Returning null from getAdjacentVertexIteratorSetting as view.hasPostTransformFilters = {}",
+                    operation.getView().hasPostTransformFilters());
+            return null;
+        }
+
+        final boolean deduplicate = Boolean.parseBoolean(operation.getOption(AccumuloStoreConstants.GET_ADJACENT_IDS_DEDUPLICATE));
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_NAME, CoreKeyAdjacentVertexIterator.class)
+                .option(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES, String.valueOf(deduplicate))
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}, deduplicate = {}",
+                CoreKeyAdjacentVertexIterator.class.getName(),
+                AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_PRIORITY, deduplicate);
+        return is;
+    }
+
     public boolean queryTimeAggregatorRequired(final View view, final AccumuloStore store) {
         Schema schema = store.getSchema();
         if (!schema.isAggregationEnabled()) {
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The CoreKeyAdjacentVertexIterator replaces the value of each Edge with the serialised
+ * vertex at the other end of the Edge from the searched for vertex, so only the adjacent
+ * vertex needs to be read from the value and the properties are not returned. Entities
+ * are filtered out.
+ * <p>
+ * The keys are returned unchanged so the tablet server can continue a scan from the last
+ * key returned. Optionally, Edges to an adjacent vertex that has already been returned
+ * since the iterator was last seeked are filtered out. At most
+ * {@link #MAX_DEDUPLICATED_VERTICES} vertices are remembered, after which they are
+ * forgotten and duplicates may be returned.
+ * </p>
+ */
+public class CoreKeyAdjacentVertexIterator extends WrappingIterator implements OptionDescriber {
+    public static final int MAX_DEDUPLICATED_VERTICES = 100000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoreKeyAdjacentVertexIterator.class);
+
+    private final Set<ByteBuffer> returnedVertices = new HashSet<>();
+    private boolean deduplicate;
+    private Value topValue;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        if (!validateOptions(options)) {
+            throw new IllegalArgumentException("Invalid value for " + AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES
+                    + ", expected true or false but was: " + options.get(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES));
+        }
+        deduplicate = Boolean.parseBoolean(options.get(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES));
+        LOGGER.debug("Initialised CoreKeyAdjacentVertexIterator with deduplicate = {}", deduplicate);
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        returnedVertices.clear();
+        super.seek(range, columnFamilies, inclusive);
+        findTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        super.next();
+        findTop();
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final CoreKeyAdjacentVertexIterator newInstance = new CoreKeyAdjacentVertexIterator();
+        newInstance.setSource(getSource().deepCopy(env));
+        newInstance.deduplicate = deduplicate;
+        return newInstance;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_NAME,
+                "Only returns the adjacent vertex of each Edge")
+                .addNamedOption(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES,
+                        "Optional: Set to true to filter out Edges to an adjacent vertex that has already been returned")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        final String deduplicateOption = options.get(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES);
+        return null == deduplicateOption
+                || "true".equalsIgnoreCase(deduplicateOption)
+                || "false".equalsIgnoreCase(deduplicateOption);
+    }
+
+    private void findTop() throws IOException {
+        topValue = null;
+        while (getSource().hasTop()) {
+            final byte[] adjacentVertex = getAdjacentVertex(getSource().getTopKey().getRowData().getBackingArray());
+            if (null != adjacentVertex && (!deduplicate || isFirstReturn(adjacentVertex))) {
+                topValue = new Value(adjacentVertex);
+                return;
+            }
+            getSource().next();
+        }
+    }
+
+    private boolean isFirstReturn(final byte[] adjacentVertex) {
+        if (returnedVertices.size() >= MAX_DEDUPLICATED_VERTICES) {
+            returnedVertices.clear();
+        }
+        return returnedVertices.add(ByteBuffer.wrap(adjacentVertex));
+    }
+
+    /**
+     * The row of an Edge ends with the escaped adjacent vertex, a delimiter and the
+     * direction flag, see {@link CoreKeyBloomFilterIterator}.
+     *
+     * @param row the row of the key
+     * @return the unescaped serialised adjacent vertex, or null if the row is not an Edge
+     */
+    private static byte[] getAdjacentVertex(final byte[] row) {
+        for (int i = row.length - 3; i > 0; --i) {
+            if (row[i] == ByteArrayEscapeUtils.DELIMITER) {
+                return ByteArrayEscapeUtils.unEscape(row, i + 1, row.length - 2);
+            }
+        }
+        return null;
+    }
+}
@@ -16,9 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
-import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
@@ -40,7 +38,6 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Closeable;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
@@ -93,42 +90,31 @@ public abstract class AccumuloItemRetriever<OP extends Output<Iterable<? extends
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
     protected class ElementIterator implements Iterator<Element>, Closeable {
-        private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
-        private BatchScanner scanner;
-        private Iterator<Entry<Key, Value>> scannerIterator;
+        private final BatchScannerPipeline<I_ITEM> scannerIterator;
         private Element nextElm;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
-            idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
-
-            // Create BatchScanner, appropriately configured (i.e. ranges,
-            // iterators, etc).
+            // Create BatchScanners, appropriately configured (i.e. ranges,
+            // iterators, etc), for each batch of seeds.
             try {
-                scanner = getScanner(ranges);
-            } catch (final Exception e) {
-                CloseableUtil.close(idsIterator, ids);
-                throw new RetrieverException(e);
+                scannerIterator = new BatchScannerPipeline<>(idIterator,
+                        AccumuloItemRetriever.this::addToRanges,
+                        AccumuloItemRetriever.this::getScanner,
+                        store.getProperties().getMaxEntriesForBatchScanner(),
+                        store.getProperties().getBatchScannerPrefetchDepth(),
+                        store.getPrefetchExecutor());
+            } catch (final RetrieverException e) {
+                CloseableUtil.close(idIterator, ids);
+                throw e;
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
         public boolean hasNext() {
-            // If current scanner has next then return true.
             if (nonNull(nextElm)) {
                 return true;
             }
+            // The pipeline moves on to the scanner for the next batch of seeds when the current one is spent.
             while (scannerIterator.hasNext()) {
                 final Entry<Key, Value> entry = scannerIterator.next();
                 try {
@@ -148,36 +134,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<Iterable<? extends
                     nextElm = null;
                 }
             }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
-                scanner.close();
-                try {
-                    scanner = getScanner(ranges);
-                } catch (final TableNotFoundException | StoreException e) {
-                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
-                    return false;
-                }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                CloseableUtil.close(scanner);
-                return false;
-            } else {
-                return hasNext();
-            }
+            return false;
         }
 
         @Override
@@ -197,7 +154,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<Iterable<? extends
 
         @Override
         public void close() {
-            CloseableUtil.close(scanner);
+            CloseableUtil.close(scannerIterator);
         }
     }
 }
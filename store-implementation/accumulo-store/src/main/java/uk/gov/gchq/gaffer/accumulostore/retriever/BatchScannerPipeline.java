@@ -0,0 +1,345 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Iterates over the entries returned by a series of {@link BatchScanner}s, each
+ * opened with the ranges for the next batch of seeds.
+ * <p>
+ * With a prefetch depth of 0 the next batch scanner is only opened once the current
+ * one is spent. Otherwise, up to the prefetch depth batch scanners are opened ahead of
+ * the one being read, on the given executor, so their results are already being fetched
+ * from the tablet servers when they are reached. The executor is expected to be shared,
+ * so each pipeline only runs one task on it at a time. The seeds are therefore read in
+ * order, and the order of the results is the same as without prefetching.
+ * </p>
+ * <p>
+ * Closing the pipeline cancels the batch scanners that have not started opening and
+ * waits for the one that is being opened, so every scanner that was opened is closed.
+ * </p>
+ *
+ * @param <I_ITEM> the type of the seeds
+ */
+public class BatchScannerPipeline<I_ITEM> implements Iterator<Entry<Key, Value>>, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchScannerPipeline.class);
+
+    private final Iterator<? extends I_ITEM> idsIterator;
+    private final RangeAdder<I_ITEM> rangeAdder;
+    private final ScannerFactory scannerFactory;
+    private final int batchSize;
+    private final int prefetchDepth;
+    private final Executor prefetchExecutor;
+    private final Deque<Future<OpenScanner>> prefetched = new ArrayDeque<>();
+    private final Deque<PrefetchTask> waitingPrefetches = new ArrayDeque<>();
+    private PrefetchTask runningPrefetch;
+    private volatile boolean closed;
+    private boolean idsSpent;
+    private OpenScanner current;
+
+    /**
+     * Opens the batch scanner for the first batch of seeds.
+     *
+     * @param idsIterator    the seeds
+     * @param rangeAdder     adds the ranges for a seed
+     * @param scannerFactory creates a batch scanner for some ranges
+     * @param batchSize      the max number of seeds for each batch scanner
+     * @param prefetchDepth    the number of batch scanners to open ahead of the one being read
+     * @param prefetchExecutor the executor to open batch scanners ahead of the one being read on,
+     *                         only used if the prefetch depth is greater than 0
+     * @throws RetrieverException if the first batch scanner could not be created
+     */
+    public BatchScannerPipeline(final Iterator<? extends I_ITEM> idsIterator,
+                                final RangeAdder<I_ITEM> rangeAdder,
+                                final ScannerFactory scannerFactory,
+                                final int batchSize,
+                                final int prefetchDepth,
+                                final Executor prefetchExecutor) throws RetrieverException {
+        this.idsIterator = idsIterator;
+        this.rangeAdder = rangeAdder;
+        this.scannerFactory = scannerFactory;
+        this.batchSize = batchSize;
+        this.prefetchDepth = isNull(prefetchExecutor) ? 0 : Math.max(0, prefetchDepth);
+        this.prefetchExecutor = prefetchExecutor;
+
+        try {
+            current = openNext();
+        } catch (final Exception e) {
+            throw new RetrieverException(e);
+        }
+        prefetch();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nonNull(current)) {
+            if (current.iterator.hasNext()) {
+                return true;
+            }
+            // If the current scanner is spent then move on to the scanner for the next batch of seeds.
+            current.close();
+            current = null;
+            try {
+                current = takeNext();
+            } catch (final TableNotFoundException | StoreException e) {
+                LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                close();
+                return false;
+            } catch (final RuntimeException | Error e) {
+                close();
+                throw e;
+            }
+            prefetch();
+        }
+        return false;
+    }
+
+    @Override
+    public Entry<Key, Value> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.iterator.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Unable to remove entries from this iterator");
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (nonNull(current)) {
+            current.close();
+            current = null;
+        }
+        // Tasks that have not started are cancelled. A task that is already opening a
+        // scanner would still open it, so it is waited for and the scanner is closed here.
+        final List<PrefetchTask> waiting;
+        synchronized (waitingPrefetches) {
+            waiting = new ArrayList<>(waitingPrefetches);
+            waitingPrefetches.clear();
+        }
+        waiting.forEach(task -> task.cancel(false));
+        boolean interrupted = false;
+        while (!prefetched.isEmpty()) {
+            final Future<OpenScanner> future = prefetched.peek();
+            try {
+                final OpenScanner scanner = future.get();
+                if (nonNull(scanner)) {
+                    scanner.close();
+                }
+            } catch (final InterruptedException e) {
+                // Keep waiting, otherwise a scanner being opened would never be closed
+                interrupted = true;
+                continue;
+            } catch (final ExecutionException | CancellationException e) {
+                LOGGER.debug("Prefetched batch scanner was not opened", e);
+            }
+            prefetched.poll();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void prefetch() {
+        if (0 == prefetchDepth || idsSpent || isNull(current)) {
+            return;
+        }
+        while (prefetched.size() < prefetchDepth) {
+            final PrefetchTask task = new PrefetchTask();
+            prefetched.add(task);
+            synchronized (waitingPrefetches) {
+                if (nonNull(runningPrefetch)) {
+                    waitingPrefetches.add(task);
+                    continue;
+                }
+                runningPrefetch = task;
+            }
+            task.execute();
+        }
+    }
+
+    private OpenScanner takeNext() throws TableNotFoundException, StoreException {
+        if (0 == prefetchDepth) {
+            return openNext();
+        }
+
+        final Future<OpenScanner> future = prefetched.poll();
+        if (isNull(future)) {
+            return null;
+        }
+        try {
+            final OpenScanner next = future.get();
+            if (isNull(next)) {
+                // The seeds are spent, so the batches queued behind this one are empty too
+                idsSpent = true;
+            }
+            return next;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted while waiting for the next batch scanner", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof TableNotFoundException) {
+                throw (TableNotFoundException) cause;
+            }
+            if (cause instanceof StoreException) {
+                throw (StoreException) cause;
+            }
+            // Failures reading the seeds are not store failures, so they reach the caller as they would without prefetching
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new StoreException("Failed to open the next batch scanner: " + cause.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the next batch of seeds and opens a batch scanner for them.
+     *
+     * @return the opened scanner, or null if there are no more seeds
+     * @throws TableNotFoundException if the table could not be found
+     * @throws StoreException         if the batch scanner could not be created
+     */
+    private OpenScanner openNext() throws TableNotFoundException, StoreException {
+        Set<Range> ranges = Collections.emptySet();
+        while (!closed && ranges.isEmpty() && idsIterator.hasNext()) {
+            ranges = new HashSet<>();
+            int count = 0;
+            while (idsIterator.hasNext() && count < batchSize) {
+                count++;
+                try {
+                    rangeAdder.addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+        }
+        if (closed || ranges.isEmpty()) {
+            return null;
+        }
+
+        final BatchScanner scanner = scannerFactory.getScanner(ranges);
+        // Creating the iterator starts the lookups on the batch scanner's threads
+        return new OpenScanner(scanner, scanner.iterator());
+    }
+
+    /**
+     * Adds the ranges to scan for a seed.
+     *
+     * @param <I_ITEM> the type of the seeds
+     */
+    @FunctionalInterface
+    public interface RangeAdder<I_ITEM> {
+        void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
+    }
+
+    /**
+     * Creates a batch scanner for some ranges.
+     */
+    @FunctionalInterface
+    public interface ScannerFactory {
+        BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException;
+    }
+
+    /**
+     * Opens the next batch scanner on the prefetch executor. When it is done the
+     * next waiting task is run, so only one task of the pipeline is run at a time.
+     */
+    private final class PrefetchTask extends FutureTask<OpenScanner> {
+        private PrefetchTask() {
+            super(BatchScannerPipeline.this::openNext);
+        }
+
+        private void execute() {
+            try {
+                prefetchExecutor.execute(this);
+            } catch (final RejectedExecutionException e) {
+                setException(e);
+            }
+        }
+
+        @Override
+        protected void done() {
+            final PrefetchTask next;
+            synchronized (waitingPrefetches) {
+                // Cancelled tasks that never ran must not start the next task
+                if (this != runningPrefetch) {
+                    return;
+                }
+                next = waitingPrefetches.poll();
+                runningPrefetch = next;
+            }
+            if (nonNull(next)) {
+                next.execute();
+            }
+        }
+    }
+
+    private static final class OpenScanner implements Closeable {
+        private final BatchScanner scanner;
+        private final Iterator<Entry<Key, Value>> iterator;
+
+        private OpenScanner(final BatchScanner scanner, final Iterator<Entry<Key, Value>> iterator) {
+            this.scanner = scanner;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(scanner);
+        }
+    }
+}
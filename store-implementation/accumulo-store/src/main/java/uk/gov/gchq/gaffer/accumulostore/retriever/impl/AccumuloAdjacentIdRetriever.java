@@ -16,8 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
-import org.apache.accumulo.core.client.BatchScanner;
-import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
@@ -29,7 +28,9 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.BatchScannerPipeline;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyIterator;
@@ -39,8 +40,10 @@ import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.iterable.ChainedIterable;
@@ -62,6 +65,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
 
     private final Iterable<? extends ElementId> ids;
     private final Set<String> transformGroups;
+    private final ToBytesSerialiser adjacentVertexSerialiser;
 
     public AccumuloAdjacentIdRetriever(final AccumuloStore store, final GetAdjacentIds operation,
                                        final User user)
@@ -70,9 +74,11 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation),
                 store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                 store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
-                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store));
+                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getAdjacentVertexIteratorSetting(operation));
         this.ids = operation.getInput();
         transformGroups = getGroupsWithTransforms(operation.getView());
+        adjacentVertexSerialiser = hasAdjacentVertexIterator() ? (ToBytesSerialiser) store.getSchema().getVertexSerialiser() : null;
     }
 
     /**
@@ -105,44 +111,44 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
 
     private final class EntityIdIterator implements Iterator<EntityId>, Closeable {
 
-        private final Iterator<? extends ElementId> idsIterator;
-        private int count;
-        private BatchScanner scanner;
-        private Iterator<Map.Entry<Key, Value>> scannerIterator;
+        private final BatchScannerPipeline<ElementId> scannerIterator;
         private EntityId nextId;
 
         private EntityIdIterator(final Iterator<? extends ElementId> idIterator) throws RetrieverException {
-            idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
-
             try {
-                scanner = getScanner(ranges);
-            } catch (final Exception e) {
-                CloseableUtil.close(idsIterator);
+                scannerIterator = new BatchScannerPipeline<>(idIterator,
+                        AccumuloAdjacentIdRetriever.this::addToRanges,
+                        AccumuloAdjacentIdRetriever.this::getScanner,
+                        store.getProperties().getMaxEntriesForBatchScanner(),
+                        store.getProperties().getBatchScannerPrefetchDepth(),
+                        store.getPrefetchExecutor());
+            } catch (final RetrieverException e) {
+                CloseableUtil.close(idIterator);
                 CloseableUtil.close(ids);
-                throw new RetrieverException(e);
+                throw e;
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
         public boolean hasNext() {
-            // If current scanner has next then return true.
             if (nonNull(nextId)) {
                 return true;
             }
+            // The pipeline moves on to the scanner for the next batch of seeds when the current one is spent.
             while (scannerIterator.hasNext()) {
                 final Map.Entry<Key, Value> entry = scannerIterator.next();
 
+                // The adjacent vertex has already been extracted from the edge on the tablet server
+                if (nonNull(adjacentVertexSerialiser)) {
+                    try {
+                        nextId = new EntitySeed(adjacentVertexSerialiser.deserialise(entry.getValue().get()));
+                    } catch (final SerialisationException e) {
+                        LOGGER.error("Failed to deserialise adjacent vertex returning next EntityId as null", e);
+                        continue;
+                    }
+                    return true;
+                }
+
                 final String group = StringUtil.toString(entry.getKey().getColumnFamilyData().getBackingArray());
                 ElementId elementId = null;
                 if (transformGroups.contains(group)) {
@@ -185,36 +191,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 }
             }
 
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
-                scanner.close();
-                try {
-                    scanner = getScanner(ranges);
-                } catch (final TableNotFoundException | StoreException e) {
-                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
-                    return false;
-                }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
-            }
+            return false;
         }
 
         @Override
@@ -234,8 +211,19 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
 
         @Override
         public void close() {
-            CloseableUtil.close(scanner);
+            CloseableUtil.close(scannerIterator);
+        }
+    }
+
+    private boolean hasAdjacentVertexIterator() {
+        if (nonNull(iteratorSettings)) {
+            for (final IteratorSetting iteratorSetting : iteratorSettings) {
+                if (nonNull(iteratorSetting) && AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_NAME.equals(iteratorSetting.getName())) {
+                    return true;
+                }
+            }
         }
+        return false;
     }
 
     private void addToRanges(final ElementId seed, final Set<Range> ranges) throws RangeFactoryException {
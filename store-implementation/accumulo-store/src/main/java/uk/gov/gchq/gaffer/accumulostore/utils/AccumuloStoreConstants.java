@@ -35,6 +35,7 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String ADJACENT_VERTEX_ITERATOR_NAME = "Adjacent_Vertex";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -68,6 +69,7 @@ public final class AccumuloStoreConstants {
     public static final String INCOMING_EDGE_ONLY = "Incoming_Edges_Only";
     public static final String OUTGOING_EDGE_ONLY = "Outgoing_Edges_Only";
     public static final String DEDUPLICATE_UNDIRECTED_EDGES = "Deduplicate_Undirected_Edges";
+    public static final String DEDUPLICATE_ADJACENT_VERTICES = "Deduplicate_Adjacent_Vertices";
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
     public static final String COLUMN_FAMILY = "columnFamily";
@@ -91,9 +93,12 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
+    // Applied only during scans.
+    public static final int ADJACENT_VERTEX_ITERATOR_PRIORITY = 38;
 
     // Operations options
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
+    public static final String GET_ADJACENT_IDS_DEDUPLICATE = "accumulostore.operation.get_adjacent_ids.deduplicate";
 
     // General use constants
     public static final byte[] EMPTY_BYTES = new byte[0];
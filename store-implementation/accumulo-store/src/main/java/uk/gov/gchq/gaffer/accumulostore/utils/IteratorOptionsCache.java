@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Caches the {@link Schema}s and {@link View}s parsed from the json passed to iterators
+ * in their options, along with the {@link AccumuloElementConverter}s created for them.
+ * <p>
+ * Accumulo initialises a new iterator stack for each batch of a scan, so without this
+ * the same json would be parsed, and the element converter created reflectively, for
+ * every batch. The parsed options are keyed by the json they were parsed from.
+ * </p>
+ * <p>
+ * Schemas and Views are not thread safe, as their filters and aggregators reuse
+ * tuples, so the cache is held per thread and the most recently used
+ * {@link #MAX_CACHED_OPTIONS} of each are kept. This relies on an iterator stack
+ * only being used by the thread that initialised it, which is the case for the
+ * non-isolated scans and the compactions Gaffer runs iterators in.
+ * </p>
+ */
+public final class IteratorOptionsCache {
+    public static final int MAX_CACHED_OPTIONS = 10;
+
+    private static final ThreadLocal<Map<String, ParsedSchema>> SCHEMAS = ThreadLocal.withInitial(IteratorOptionsCache::newCache);
+    private static final ThreadLocal<Map<String, View>> VIEWS = ThreadLocal.withInitial(IteratorOptionsCache::newCache);
+
+    private IteratorOptionsCache() {
+        // private to prevent instantiation
+    }
+
+    /**
+     * Gets the {@link Schema} parsed from the provided json.
+     *
+     * @param schemaJson the json serialised schema
+     * @return the schema
+     */
+    public static Schema getSchema(final String schemaJson) {
+        return getParsedSchema(schemaJson).schema;
+    }
+
+    /**
+     * Gets the {@link View} parsed from the provided json.
+     *
+     * @param viewJson the json serialised view
+     * @return the view
+     */
+    public static View getView(final String viewJson) {
+        final Map<String, View> views = VIEWS.get();
+        View view = views.get(viewJson);
+        if (isNull(view)) {
+            view = View.fromJson(StringUtil.toBytes(viewJson));
+            views.put(viewJson, view);
+        }
+        return view;
+    }
+
+    /**
+     * Gets an {@link AccumuloElementConverter} of the provided class, created for the
+     * {@link Schema} returned by {@link #getSchema(String)} for the same json.
+     *
+     * @param elementConverterClass the class name of the element converter
+     * @param schemaJson            the json serialised schema
+     * @return the element converter
+     * @throws ClassNotFoundException    if the element converter class could not be found
+     * @throws NoSuchMethodException     if the element converter does not have a constructor taking a schema
+     * @throws InstantiationException    if the element converter could not be created
+     * @throws IllegalAccessException    if the element converter constructor is not accessible
+     * @throws InvocationTargetException if the element converter constructor throws an exception
+     */
+    public static AccumuloElementConverter getElementConverter(final String elementConverterClass, final String schemaJson)
+            throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+        final ParsedSchema parsedSchema = getParsedSchema(schemaJson);
+        AccumuloElementConverter elementConverter = parsedSchema.elementConverters.get(elementConverterClass);
+        if (isNull(elementConverter)) {
+            elementConverter = Class
+                    .forName(elementConverterClass)
+                    .asSubclass(AccumuloElementConverter.class)
+                    .getConstructor(Schema.class)
+                    .newInstance(parsedSchema.schema);
+            parsedSchema.elementConverters.put(elementConverterClass, elementConverter);
+        }
+        return elementConverter;
+    }
+
+    /**
+     * Clears the options cached for the current thread.
+     */
+    public static void clear() {
+        SCHEMAS.get().clear();
+        VIEWS.get().clear();
+    }
+
+    private static ParsedSchema getParsedSchema(final String schemaJson) {
+        final Map<String, ParsedSchema> schemas = SCHEMAS.get();
+        ParsedSchema parsedSchema = schemas.get(schemaJson);
+        if (isNull(parsedSchema)) {
+            parsedSchema = new ParsedSchema(Schema.fromJson(StringUtil.toBytes(schemaJson)));
+            schemas.put(schemaJson, parsedSchema);
+        }
+        return parsedSchema;
+    }
+
+    private static <V> Map<String, V> newCache() {
+        return new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2816418307655924391L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+                return size() > MAX_CACHED_OPTIONS;
+            }
+        };
+    }
+
+    private static final class ParsedSchema {
+        private final Schema schema;
+        private final Map<String, AccumuloElementConverter> elementConverters = new HashMap<>();
+
+        private ParsedSchema(final Schema schema) {
+            this.schema = schema;
+        }
+    }
+}
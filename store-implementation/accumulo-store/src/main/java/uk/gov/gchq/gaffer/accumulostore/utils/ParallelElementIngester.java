@@ -0,0 +1,218 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Adds {@link Element}s to a {@link BatchWriter}, converting them into mutations on an
+ * executor rather than on the thread adding them.
+ * <p>
+ * The elements are split into batches and each batch is converted on one of the threads.
+ * The keys for a batch are sorted, so all the entries for a row are added to the batch
+ * writer in a single {@link Mutation}, and the batch writer receives the rows of each
+ * batch in order. The batch writer is thread safe and groups the mutations by tablet
+ * server itself. The executor may be shared with other ingests, such as the one owned by
+ * the {@link AccumuloStore}, so it is not shut down here. At most twice as many batches
+ * as threads are held in memory at once by each ingest.
+ * Batches are converted concurrently, so elements in different batches may not reach
+ * the batch writer in the order they were added.
+ * </p>
+ * <p>
+ * As when adding elements on a single thread, elements that cannot be converted are
+ * logged and skipped.
+ * </p>
+ */
+public class ParallelElementIngester {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelElementIngester.class);
+
+    private final AccumuloElementConverter elementConverter;
+    private final BatchWriter writer;
+    private final ExecutorService executor;
+    private final int threads;
+    private final int batchSize;
+
+    public ParallelElementIngester(final AccumuloElementConverter elementConverter,
+                                   final BatchWriter writer,
+                                   final ExecutorService executor,
+                                   final int threads,
+                                   final int batchSize) {
+        this.elementConverter = elementConverter;
+        this.writer = writer;
+        this.executor = executor;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Converts the elements into mutations and adds them to the batch writer. Returns
+     * once all the elements have been added, but does not close the batch writer.
+     * If this fails, the batches that have not started are skipped and it waits for
+     * the rest, so none of them use the batch writer after this returns.
+     *
+     * @param elements the elements to add
+     * @throws StoreException if the elements could not be converted
+     */
+    public void ingest(final Iterable<? extends Element> elements) throws StoreException {
+        final Deque<Future<?>> pending = new ArrayDeque<>();
+        final AtomicBoolean stopped = new AtomicBoolean();
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    submit(pending, batch, stopped);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(pending, batch, stopped);
+            }
+            while (!pending.isEmpty()) {
+                await(pending.poll());
+            }
+        } finally {
+            stopped.set(true);
+            awaitQuietly(pending);
+        }
+    }
+
+    private void submit(final Deque<Future<?>> pending, final List<Element> batch, final AtomicBoolean stopped) throws StoreException {
+        while (pending.size() >= 2 * threads) {
+            await(pending.poll());
+        }
+        pending.add(executor.submit(() -> {
+            if (!stopped.get()) {
+                write(batch);
+            }
+        }));
+    }
+
+    private static void awaitQuietly(final Deque<Future<?>> pending) {
+        // Wait for batches that have started, so they stop using the batch writer before it is closed
+        boolean interrupted = false;
+        for (final Future<?> future : pending) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                } catch (final ExecutionException | CancellationException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(final Future<?> future) throws StoreException {
+        try {
+            future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted while adding elements", e);
+        } catch (final ExecutionException e) {
+            throw new StoreException("Failed to add elements: " + e.getCause().getMessage(), e);
+        }
+    }
+
+    private void write(final List<Element> batch) {
+        final List<Pair<Key, Value>> entries = new ArrayList<>(2 * batch.size());
+        for (final Element element : batch) {
+            final Pair<Key, Key> keys;
+            try {
+                keys = elementConverter.getKeysFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+                continue;
+            }
+            final Value value;
+            try {
+                value = elementConverter.getValueFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+                continue;
+            }
+            entries.add(new Pair<>(keys.getFirst(), value));
+            // If the element is an Entity then the second key will be null
+            if (nonNull(keys.getSecond())) {
+                entries.add(new Pair<>(keys.getSecond(), value));
+            }
+        }
+
+        // The sort is stable, so entries with the same key are written in the order they were added
+        entries.sort((first, second) -> first.getFirst().compareTo(second.getFirst()));
+
+        Mutation mutation = null;
+        ByteSequence row = null;
+        for (final Pair<Key, Value> entry : entries) {
+            final Key key = entry.getFirst();
+            if (null == mutation || !key.getRowData().equals(row)) {
+                addMutation(mutation);
+                row = key.getRowData();
+                mutation = new Mutation(key.getRow());
+            }
+            mutation.put(key.getColumnFamily(),
+                    key.getColumnQualifier(),
+                    new ColumnVisibility(key.getColumnVisibility()),
+                    key.getTimestamp(),
+                    entry.getSecond());
+        }
+        addMutation(mutation);
+    }
+
+    private void addMutation(final Mutation mutation) {
+        if (null == mutation) {
+            return;
+        }
+        try {
+            writer.addMutation(mutation);
+        } catch (final MutationsRejectedException e) {
+            LOGGER.error("Failed to create an accumulo key mutation");
+        }
+    }
+}
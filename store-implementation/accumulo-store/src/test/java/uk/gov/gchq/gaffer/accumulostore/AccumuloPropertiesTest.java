@@ -146,6 +146,9 @@ public class AccumuloPropertiesTest {
         final String ZOOKEEPERS = "accumulo.zookeepers";
         final String INSTANCE = "accumulo.instance";
         final String NUM_THREADS_SCANNER = "8";
+        final String PREFETCH_DEPTH = "2";
+        final String INGEST_THREADS = "4";
+        final String INGEST_BATCH_SIZE = "500";
         final String CLIENT_SIDE_BLOOM = "786432000";
         final String FALSE_POSITIVE_RATE = "0.0003";
         final String MAX_BLOOM_FILTER = "7864320";
@@ -160,6 +163,9 @@ public class AccumuloPropertiesTest {
         props.setZookeepers(ZOOKEEPERS);
         props.setInstance(INSTANCE);
         props.setThreadsForBatchScanner(NUM_THREADS_SCANNER);
+        props.setBatchScannerPrefetchDepth(PREFETCH_DEPTH);
+        props.setIngestThreads(INGEST_THREADS);
+        props.setIngestBatchSize(INGEST_BATCH_SIZE);
         props.setClientSideBloomFilterSize(CLIENT_SIDE_BLOOM);
         props.setFalsePositiveRate(FALSE_POSITIVE_RATE);
         props.setMaxBloomFilterToPassToAnIterator(MAX_BLOOM_FILTER);
@@ -175,6 +181,9 @@ public class AccumuloPropertiesTest {
         assertEquals(ZOOKEEPERS, props.getZookeepers());
         assertEquals(INSTANCE, props.getInstance());
         assertEquals(Integer.parseInt(NUM_THREADS_SCANNER), props.getThreadsForBatchScanner());
+        assertEquals(Integer.parseInt(PREFETCH_DEPTH), props.getBatchScannerPrefetchDepth());
+        assertEquals(Integer.parseInt(INGEST_THREADS), props.getIngestThreads());
+        assertEquals(Integer.parseInt(INGEST_BATCH_SIZE), props.getIngestBatchSize());
         assertEquals(Integer.parseInt(CLIENT_SIDE_BLOOM), props.getClientSideBloomFilterSize());
         assertEquals(Double.parseDouble(FALSE_POSITIVE_RATE), props.getFalsePositiveRate(), 0.0001D);
         assertEquals(Integer.parseInt(MAX_BLOOM_FILTER), props.getMaxBloomFilterToPassToAnIterator());
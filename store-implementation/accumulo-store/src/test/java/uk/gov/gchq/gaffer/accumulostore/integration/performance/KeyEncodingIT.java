@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.integration.performance;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the throughput of converting elements into Accumulo keys and values, and
+ * checks the keys and values convert back into the same elements.
+ */
+public class KeyEncodingIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyEncodingIT.class);
+    private static final int NUM_VERTICES = 100000;
+    private static final int NUM_RUNS = 5;
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(KeyEncodingIT.class));
+
+    @Test
+    public void shouldEncodeKeysWithByteEntityConverter() {
+        encode(new ByteEntityAccumuloElementConverter(SCHEMA));
+    }
+
+    @Test
+    public void shouldEncodeKeysWithClassicConverter() {
+        encode(new ClassicAccumuloElementConverter(SCHEMA));
+    }
+
+    private void encode(final AccumuloElementConverter converter) {
+        final List<Element> elements = createElements();
+
+        // The first runs warm up the JIT, so only the last run is checked
+        Key lastKey = null;
+        Value lastValue = null;
+        for (int run = 0; run < NUM_RUNS; run++) {
+            final long start = System.currentTimeMillis();
+            for (final Element element : elements) {
+                final Pair<Key, Key> keys = converter.getKeysFromElement(element);
+                lastKey = keys.getFirst();
+                lastValue = converter.getValueFromElement(element);
+            }
+            final long duration = Math.max(1, System.currentTimeMillis() - start);
+            LOGGER.info("{} run {}: encoded {} elements in {}ms ({} elements per second)",
+                    converter.getClass().getSimpleName(), run, elements.size(), duration,
+                    elements.size() * 1000L / duration);
+        }
+
+        final Element lastElement = elements.get(elements.size() - 1);
+        final Element decoded = converter.getFullElement(lastKey, lastValue, false);
+        assertThat(decoded.getGroup()).isEqualTo(lastElement.getGroup());
+        assertThat(decoded.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER))
+                .isEqualTo(lastElement.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+    }
+
+    private static List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>(2 * NUM_VERTICES);
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(AccumuloPropertyNames.COLUMN_QUALIFIER, i)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("vertex" + i)
+                    .dest("vertex" + ((i + 1) % NUM_VERTICES))
+                    .directed(true)
+                    .property(AccumuloPropertyNames.COLUMN_QUALIFIER, i)
+                    .build());
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.integration.performance;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the throughput of adding elements to an {@link AccumuloStore} with the
+ * elements converted on the calling thread and on a pool of ingest threads, and
+ * checks the same elements are stored either way.
+ */
+public class ParallelIngestIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelIngestIT.class);
+    private static final int NUM_VERTICES = 50000;
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ParallelIngestIT.class));
+
+    @Test
+    public void shouldAddSameElementsWithParallelIngest() throws Exception {
+        final List<Element> elements = createElements();
+
+        final long sequentialCount = ingest("sequentialIngest", elements, "1");
+        final long parallelCount = ingest("parallelIngest", elements, "4");
+
+        assertThat(sequentialCount).isEqualTo(elements.size());
+        assertThat(parallelCount).isEqualTo(elements.size());
+    }
+
+    private long ingest(final String graphId, final List<Element> elements, final String ingestThreads) throws Exception {
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(ParallelIngestIT.class));
+        properties.setIngestThreads(ingestThreads);
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise(graphId, SCHEMA, properties);
+        final Context context = new Context(new User());
+
+        final long start = System.currentTimeMillis();
+        store.execute(new AddElements.Builder().input(elements).build(), context);
+        final long duration = Math.max(1, System.currentTimeMillis() - start);
+        LOGGER.info("Added {} elements with {} ingest threads in {}ms ({} elements per second)",
+                elements.size(), ingestThreads, duration, elements.size() * 1000L / duration);
+
+        long count = 0;
+        for (final Element ignored : store.execute(new GetAllElements(), context)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>(2 * NUM_VERTICES);
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("vertex" + i)
+                    .dest("vertex" + ((i + 1) % NUM_VERTICES))
+                    .directed(true)
+                    .build());
+        }
+        return elements;
+    }
+}
@@ -25,12 +25,11 @@ import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.EdgeDirection;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 
-import java.io.ByteArrayOutputStream;
-
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -39,7 +38,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverterTest extends Abstra
     @Test
     public void shouldReturnOverriddenSerialiseNull() throws Exception {
         //given
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ByteArrayBuffer buffer = new ByteArrayBuffer();
         //expected = Size in bytes + bytes of "Empty"
         byte[] expected = Bytes.concat(new byte[]{5}, "Empty".getBytes());
         Schema testSchema = new Schema.Builder()
@@ -62,10 +61,10 @@ public abstract class AbstractCoreKeyAccumuloElementConverterTest extends Abstra
                 .build();
 
         //when
-        createConverter(testSchema).serialiseSizeAndPropertyValue("invalidProp", testSchema.getElement("group1"), new Properties(), stream);
+        createConverter(testSchema).serialiseSizeAndPropertyValue("invalidProp", testSchema.getElement("group1"), new Properties(), buffer);
 
         //then
-        assertArrayEquals(expected, stream.toByteArray());
+        assertArrayEquals(expected, buffer.toByteArray());
     }
 
     @Test
@@ -21,6 +21,8 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyAdjacentVertexIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
@@ -31,15 +33,21 @@ import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 import uk.gov.gchq.koryphe.impl.predicate.Exists;
 
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 
 public abstract class AbstractCoreKeyIteratorSettingsFactoryTest {
@@ -199,6 +207,75 @@ public abstract class AbstractCoreKeyIteratorSettingsFactoryTest {
         assertEquals(converter.getClass().getName(), iterator.getOptions().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
     }
 
+    @Test
+    public void shouldReturnNullAdjacentVertexIteratorIfPostTransformFilters() throws Exception {
+        // Given
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.PROP_1)
+                                        .execute(new Exists())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final IteratorSetting iterator = factory.getAdjacentVertexIteratorSetting(operation);
+
+        // Then
+        assertNull(iterator);
+    }
+
+    @Test
+    public void shouldReturnAdjacentVertexIterator() throws Exception {
+        // Given
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .option(AccumuloStoreConstants.GET_ADJACENT_IDS_DEDUPLICATE, "true")
+                .build();
+
+        // When
+        final IteratorSetting iterator = factory.getAdjacentVertexIteratorSetting(operation);
+
+        // Then
+        assertEquals(AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_NAME, iterator.getName());
+        assertEquals(AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_PRIORITY, iterator.getPriority());
+        assertEquals(CoreKeyAdjacentVertexIterator.class.getName(), iterator.getIteratorClass());
+        assertEquals("true", iterator.getOptions().get(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES));
+    }
+
+    @Test
+    public void shouldReturnNullAdjacentVertexIteratorFromFactoriesThatDoNotSupportIt() {
+        // Given
+        final IteratorSettingFactory otherFactory = mock(IteratorSettingFactory.class, CALLS_REAL_METHODS);
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        // When
+        final IteratorSetting iterator = otherFactory.getAdjacentVertexIteratorSetting(operation);
+
+        // Then
+        assertNull(iterator);
+    }
+
+    @Test
+    public void shouldRejectInvalidAdjacentVertexDeduplicateOption() {
+        // Given
+        final CoreKeyAdjacentVertexIterator iterator = new CoreKeyAdjacentVertexIterator();
+
+        // When / Then
+        assertTrue(iterator.validateOptions(Collections.emptyMap()));
+        assertTrue(iterator.validateOptions(Collections.singletonMap(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES, "false")));
+        assertFalse(iterator.validateOptions(Collections.singletonMap(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_VERTICES, "yes")));
+    }
+
     private Schema createSchema() {
         return new Schema.Builder()
                 .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class BatchScannerPipelineTest {
+
+    private static final List<String> SEEDS = IntStream.range(0, 10)
+            .mapToObj(i -> "seed" + i)
+            .collect(Collectors.toList());
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void before() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnEntriesForAllSeedsInOrderWhenPrefetching() throws Exception {
+        // Given
+        final List<BatchScanner> scanners = new CopyOnWriteArrayList<>();
+        final BatchScannerPipeline<String> pipeline = new BatchScannerPipeline<>(
+                SEEDS.iterator(), BatchScannerPipelineTest::addRange, ranges -> createScanner(ranges, scanners), 1, 3, executor);
+
+        // When
+        final List<String> rows = new ArrayList<>();
+        pipeline.forEachRemaining(entry -> rows.add(entry.getKey().getRow().toString()));
+
+        // Then
+        assertThat(rows).isEqualTo(SEEDS);
+        assertThat(scanners).hasSize(SEEDS.size());
+        for (final BatchScanner scanner : scanners) {
+            verify(scanner).close();
+        }
+    }
+
+    @Test
+    public void shouldCloseScannerBeingOpenedWhenClosed() throws Exception {
+        // Given
+        final List<BatchScanner> scanners = new CopyOnWriteArrayList<>();
+        final CountDownLatch opening = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BatchScannerPipeline<String> pipeline = new BatchScannerPipeline<>(
+                SEEDS.iterator(), BatchScannerPipelineTest::addRange, ranges -> {
+                    if (scanners.size() == 1) {
+                        // Hold the first prefetched scanner open until the pipeline is being closed
+                        opening.countDown();
+                        try {
+                            release.await();
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return createScanner(ranges, scanners);
+                }, 1, 3, executor);
+        pipeline.next();
+        opening.await();
+
+        // When
+        final Thread closer = new Thread(pipeline::close);
+        closer.start();
+        while (Thread.State.WAITING != closer.getState()) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        closer.join();
+
+        // Then
+        assertThat(scanners).hasSizeGreaterThan(1);
+        for (final BatchScanner scanner : scanners) {
+            verify(scanner).close();
+        }
+    }
+
+    @Test
+    public void shouldThrowSeedFailuresToTheCallerWhenPrefetching() throws Exception {
+        // Given
+        final List<BatchScanner> scanners = new CopyOnWriteArrayList<>();
+        final Iterator<String> seeds = new Iterator<String>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                if (count == 2) {
+                    throw new IllegalStateException("Unable to read seed");
+                }
+                return "seed" + count++;
+            }
+        };
+        final BatchScannerPipeline<String> pipeline = new BatchScannerPipeline<>(
+                seeds, BatchScannerPipelineTest::addRange, ranges -> createScanner(ranges, scanners), 1, 2, executor);
+
+        // When / Then
+        assertThatIllegalStateException()
+                .isThrownBy(() -> pipeline.forEachRemaining(entry -> { }))
+                .withMessage("Unable to read seed");
+        for (final BatchScanner scanner : scanners) {
+            verify(scanner).close();
+        }
+    }
+
+    @Test
+    public void shouldReturnEntriesInOrderForPipelinesSharingAnExecutor() throws Exception {
+        // Given
+        final List<BatchScanner> scanners = new CopyOnWriteArrayList<>();
+        final BatchScannerPipeline<String> pipeline1 = new BatchScannerPipeline<>(
+                SEEDS.iterator(), BatchScannerPipelineTest::addRange, ranges -> createScanner(ranges, scanners), 1, 3, executor);
+        final BatchScannerPipeline<String> pipeline2 = new BatchScannerPipeline<>(
+                SEEDS.iterator(), BatchScannerPipelineTest::addRange, ranges -> createScanner(ranges, scanners), 1, 3, executor);
+
+        // When
+        final List<String> rows1 = new ArrayList<>();
+        final List<String> rows2 = new ArrayList<>();
+        while (pipeline1.hasNext() || pipeline2.hasNext()) {
+            if (pipeline1.hasNext()) {
+                rows1.add(pipeline1.next().getKey().getRow().toString());
+            }
+            if (pipeline2.hasNext()) {
+                rows2.add(pipeline2.next().getKey().getRow().toString());
+            }
+        }
+
+        // Then
+        assertThat(rows1).isEqualTo(SEEDS);
+        assertThat(rows2).isEqualTo(SEEDS);
+        assertThat(scanners).hasSize(SEEDS.size() * 2);
+    }
+
+    @Test
+    public void shouldThrowRejectedPrefetchesToTheCaller() throws Exception {
+        // Given
+        final List<BatchScanner> scanners = new CopyOnWriteArrayList<>();
+        executor.shutdown();
+        final BatchScannerPipeline<String> pipeline = new BatchScannerPipeline<>(
+                SEEDS.iterator(), BatchScannerPipelineTest::addRange, ranges -> createScanner(ranges, scanners), 1, 3, executor);
+
+        // When / Then
+        assertThat(pipeline.next().getKey().getRow().toString()).isEqualTo(SEEDS.get(0));
+        assertThatExceptionOfType(RejectedExecutionException.class)
+                .isThrownBy(pipeline::hasNext);
+        assertThat(scanners).hasSize(1);
+        verify(scanners.get(0)).close();
+    }
+
+    private static void addRange(final String seed, final Set<Range> ranges) {
+        ranges.add(new Range(seed));
+    }
+
+    private static BatchScanner createScanner(final Set<Range> ranges, final List<BatchScanner> scanners) {
+        final BatchScanner scanner = mock(BatchScanner.class);
+        final String row = ranges.iterator().next().getStartKey().getRow().toString();
+        final Iterator<Entry<Key, Value>> entries = Collections.singletonMap(new Key(row), new Value()).entrySet().iterator();
+        given(scanner.iterator()).willReturn(entries);
+        scanners.add(scanner);
+        return scanner;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccumuloAdjacentIdRetrieverTest {
+
+    private static final AccumuloStore BYTE_ENTITY_STORE = new SingleUseMiniAccumuloStore();
+    private static final AccumuloStore GAFFER_1_KEY_STORE = new SingleUseMiniAccumuloStore();
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AccumuloAdjacentIdRetrieverTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloAdjacentIdRetrieverTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(AccumuloAdjacentIdRetrieverTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static final View VIEW = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+
+    @BeforeEach
+    public void reInitialise() throws Exception {
+        BYTE_ENTITY_STORE.initialise("byteEntityGraph", SCHEMA, PROPERTIES);
+        GAFFER_1_KEY_STORE.initialise("gaffer1Graph", SCHEMA, CLASSIC_PROPERTIES);
+        setupGraph(BYTE_ENTITY_STORE);
+        setupGraph(GAFFER_1_KEY_STORE);
+    }
+
+    @Test
+    public void shouldGetAdjacentVertexForEachEdge() throws Exception {
+        // Given
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .view(VIEW)
+                .build();
+
+        // When / Then
+        assertThat(getAdjacentVertices(BYTE_ENTITY_STORE, operation)).containsExactlyInAnyOrder("B", "B", "C");
+        assertThat(getAdjacentVertices(GAFFER_1_KEY_STORE, operation)).containsExactlyInAnyOrder("B", "B", "C");
+    }
+
+    @Test
+    public void shouldGetEachAdjacentVertexOnceWhenDeduplicateOptionSet() throws Exception {
+        // Given
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .view(VIEW)
+                .option(AccumuloStoreConstants.GET_ADJACENT_IDS_DEDUPLICATE, "true")
+                .build();
+
+        // When / Then
+        assertThat(getAdjacentVertices(BYTE_ENTITY_STORE, operation)).containsExactlyInAnyOrder("B", "C");
+        assertThat(getAdjacentVertices(GAFFER_1_KEY_STORE, operation)).containsExactlyInAnyOrder("B", "C");
+    }
+
+    private List<Object> getAdjacentVertices(final AccumuloStore store, final GetAdjacentIds operation) throws Exception {
+        final List<Object> vertices = new ArrayList<>();
+        try (final AccumuloAdjacentIdRetriever retriever = new AccumuloAdjacentIdRetriever(store, operation, new User())) {
+            for (final EntityId entityId : retriever) {
+                vertices.add(entityId.getVertex());
+            }
+        }
+        return vertices;
+    }
+
+    private static void setupGraph(final AccumuloStore store) throws Exception {
+        final List<Element> elements = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("A")
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("B")
+                        .directed(true)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("B")
+                        .directed(false)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("C")
+                        .dest("A")
+                        .directed(true)
+                        .build());
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+    }
+}
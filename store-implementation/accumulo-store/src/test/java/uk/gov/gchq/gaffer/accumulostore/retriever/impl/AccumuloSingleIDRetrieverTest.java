@@ -79,6 +79,15 @@ public class AccumuloSingleIDRetrieverTest {
         testEntityIdQueryEdgesAndEntities(GAFFER_1_KEY_STORE);
     }
 
+    @Test
+    public void testEntityIdQueryEdgesAndEntitiesWithPrefetchedBatchScanners() throws AccumuloException, StoreException {
+        final AccumuloProperties prefetchProperties = PROPERTIES.clone();
+        prefetchProperties.setMaxEntriesForBatchScanner("7");
+        prefetchProperties.setBatchScannerPrefetchDepth("3");
+        BYTE_ENTITY_STORE.initialise("byteEntityGraph", SCHEMA, prefetchProperties);
+        testEntityIdQueryEdgesAndEntities(BYTE_ENTITY_STORE);
+    }
+
     private void testEntityIdQueryEdgesAndEntities(final AccumuloStore store) throws AccumuloException, StoreException {
         setupGraph(store, NUM_ENTRIES);
         final User user = new User();
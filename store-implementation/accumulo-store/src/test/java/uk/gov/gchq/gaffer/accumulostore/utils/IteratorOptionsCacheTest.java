@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IteratorOptionsCacheTest {
+    private static final String SCHEMA_JSON = StringUtil.toString(
+            Schema.fromJson(StreamUtil.schemas(IteratorOptionsCacheTest.class)).toCompactJson());
+
+    @AfterEach
+    public void clearCache() {
+        IteratorOptionsCache.clear();
+    }
+
+    @Test
+    public void shouldReuseSchemaParsedFromSameJson() {
+        // When
+        final Schema schema = IteratorOptionsCache.getSchema(SCHEMA_JSON);
+
+        // Then
+        assertThat(schema.getGroups()).contains(TestGroups.ENTITY, TestGroups.EDGE);
+        assertThat(IteratorOptionsCache.getSchema(SCHEMA_JSON)).isSameAs(schema);
+    }
+
+    @Test
+    public void shouldReuseElementConverterCreatedForSameSchemaJsonAndClass() throws Exception {
+        // When
+        final AccumuloElementConverter byteEntityConverter = IteratorOptionsCache.getElementConverter(
+                ByteEntityAccumuloElementConverter.class.getName(), SCHEMA_JSON);
+        final AccumuloElementConverter classicConverter = IteratorOptionsCache.getElementConverter(
+                ClassicAccumuloElementConverter.class.getName(), SCHEMA_JSON);
+
+        // Then
+        assertThat(byteEntityConverter).isInstanceOf(ByteEntityAccumuloElementConverter.class);
+        assertThat(classicConverter).isInstanceOf(ClassicAccumuloElementConverter.class);
+        assertThat(IteratorOptionsCache.getElementConverter(ByteEntityAccumuloElementConverter.class.getName(), SCHEMA_JSON))
+                .isSameAs(byteEntityConverter);
+    }
+
+    @Test
+    public void shouldParseSchemaAgainWhenCleared() {
+        // Given
+        final Schema schema = IteratorOptionsCache.getSchema(SCHEMA_JSON);
+
+        // When
+        IteratorOptionsCache.clear();
+
+        // Then
+        assertThat(IteratorOptionsCache.getSchema(SCHEMA_JSON)).isNotSameAs(schema);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedView() {
+        // Given
+        final String firstViewJson = getViewJson(0);
+        final View firstView = IteratorOptionsCache.getView(firstViewJson);
+
+        View lastView = null;
+        for (int i = 1; i <= IteratorOptionsCache.MAX_CACHED_OPTIONS; i++) {
+            lastView = IteratorOptionsCache.getView(getViewJson(i));
+        }
+
+        // When / Then
+        assertThat(IteratorOptionsCache.getView(getViewJson(IteratorOptionsCache.MAX_CACHED_OPTIONS))).isSameAs(lastView);
+        assertThat(IteratorOptionsCache.getView(firstViewJson))
+                .isEqualTo(firstView)
+                .isNotSameAs(firstView);
+    }
+
+    private static String getViewJson(final int i) {
+        return StringUtil.toString(new View.Builder()
+                .entity(TestGroups.ENTITY + i)
+                .build()
+                .toCompactJson());
+    }
+}
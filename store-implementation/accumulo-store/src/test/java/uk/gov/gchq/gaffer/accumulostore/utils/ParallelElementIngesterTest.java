@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ParallelElementIngesterTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ParallelElementIngesterTest.class));
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldAddEntriesForTheSameRowInOneMutation() throws Exception {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+        final ParallelElementIngester ingester = new ParallelElementIngester(
+                new ByteEntityAccumuloElementConverter(SCHEMA), writer, executor, 2, 2);
+        final List<Element> elements = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("A")
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 1)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("A")
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 2)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("B")
+                        .directed(true)
+                        .build());
+
+        // When
+        ingester.ingest(elements);
+
+        // Then
+        final ArgumentCaptor<Mutation> mutations = ArgumentCaptor.forClass(Mutation.class);
+        verify(writer, times(3)).addMutation(mutations.capture());
+        assertThat(mutations.getAllValues())
+                .extracting(mutation -> mutation.getUpdates().size())
+                .containsExactlyInAnyOrder(2, 1, 1);
+    }
+
+    @Test
+    public void shouldLeaveTheSharedExecutorRunning() throws Exception {
+        // Given
+        final ParallelElementIngester ingester = new ParallelElementIngester(
+                new ByteEntityAccumuloElementConverter(SCHEMA), mock(BatchWriter.class), executor, 2, 1);
+
+        // When
+        ingester.ingest(createEntities(4));
+        ingester.ingest(createEntities(4));
+
+        // Then
+        assertThat(executor.isShutdown()).isFalse();
+    }
+
+    @Test
+    public void shouldNotWriteAnyBatchesAfterTheIngestFails() throws Exception {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+        final AtomicInteger written = new AtomicInteger();
+        willAnswer(invocation -> {
+            Thread.sleep(50);
+            written.incrementAndGet();
+            return null;
+        }).given(writer).addMutation(any(Mutation.class));
+        final ParallelElementIngester ingester = new ParallelElementIngester(
+                new ByteEntityAccumuloElementConverter(SCHEMA), writer, executor, 2, 1);
+        final Iterable<Element> elements = () -> new Iterator<Element>() {
+            private final Iterator<Element> entities = createEntities(4).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Element next() {
+                if (!entities.hasNext()) {
+                    throw new IllegalStateException("Unable to read element");
+                }
+                return entities.next();
+            }
+        };
+
+        // When
+        assertThatIllegalStateException().isThrownBy(() -> ingester.ingest(elements));
+        final int writtenWhenFailed = written.get();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(written.get()).isEqualTo(writtenWhenFailed);
+    }
+
+    private static List<Element> createEntities(final int count) {
+        final List<Element> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .build());
+        }
+        return entities;
+    }
+}
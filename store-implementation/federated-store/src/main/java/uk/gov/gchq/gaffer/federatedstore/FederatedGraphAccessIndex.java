@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore;
+
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.graph.GraphSerialisable;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * An immutable snapshot of the graphs in a {@link FederatedStoreCache}, with each
+ * {@link FederatedAccess} already decoded, for a single version of the cache.
+ * <p>
+ * Graphs using the default read access, which is granted by being public, the owner or
+ * having one of the graph auths, are indexed so the graphs a user can read are found by
+ * looking up the user's id and op auths. Graphs with a custom read access predicate
+ * are tested against each user.
+ * </p>
+ */
+final class FederatedGraphAccessIndex {
+    private final String version;
+    private final List<Pair<GraphSerialisable, FederatedAccess>> graphs;
+    private final Set<String> publicGraphIds = new HashSet<>();
+    private final Map<String, Set<String>> graphIdsByOwner = new HashMap<>();
+    private final Map<String, Set<String>> graphIdsByAuth = new HashMap<>();
+    private final List<Pair<GraphSerialisable, FederatedAccess>> customAccessGraphs = new ArrayList<>();
+
+    FederatedGraphAccessIndex(final String version, final List<Pair<GraphSerialisable, FederatedAccess>> graphs) {
+        this.version = version;
+        this.graphs = Collections.unmodifiableList(new ArrayList<>(graphs));
+        for (final Pair<GraphSerialisable, FederatedAccess> graph : this.graphs) {
+            final String graphId = graph.getFirst().getGraphId();
+            final FederatedAccess access = graph.getSecond();
+            if (isNull(access)) {
+                continue;
+            }
+            if (nonNull(access.getReadAccessPredicate())) {
+                customAccessGraphs.add(graph);
+                continue;
+            }
+            if (access.isPublic()) {
+                publicGraphIds.add(graphId);
+            }
+            if (isNotEmpty(access.getOwningUserId())) {
+                graphIdsByOwner.computeIfAbsent(access.getOwningUserId(), k -> new HashSet<>()).add(graphId);
+            }
+            if (nonNull(access.getGraphAuths())) {
+                for (final String auth : access.getGraphAuths()) {
+                    graphIdsByAuth.computeIfAbsent(auth, k -> new HashSet<>()).add(graphId);
+                }
+            }
+        }
+    }
+
+    boolean isVersion(final String cacheVersion) {
+        return Objects.equals(version, cacheVersion);
+    }
+
+    /**
+     * @return all the graphs and their access, in the order they were read from the cache.
+     */
+    Stream<Pair<GraphSerialisable, FederatedAccess>> getAll() {
+        return graphs.stream();
+    }
+
+    /**
+     * Gets the graphs the user can read, in the order they were read from the cache.
+     *
+     * @param user      the user to match visibility against; if null only public graphs can be read
+     * @param adminAuth the admin auth, users with this auth can read all graphs; may be null
+     * @return the graphs the user can read and their access
+     */
+    Stream<Pair<GraphSerialisable, FederatedAccess>> getReadable(final User user, final String adminAuth) {
+        if (nonNull(user) && isNotEmpty(adminAuth) && user.getOpAuths().contains(adminAuth)) {
+            return graphs.stream().filter(graph -> nonNull(graph.getSecond()));
+        }
+
+        final Set<String> readableIds = new HashSet<>(publicGraphIds);
+        if (nonNull(user)) {
+            if (isNotEmpty(user.getUserId())) {
+                readableIds.addAll(graphIdsByOwner.getOrDefault(user.getUserId(), Collections.emptySet()));
+            }
+            for (final String opAuth : user.getOpAuths()) {
+                readableIds.addAll(graphIdsByAuth.getOrDefault(opAuth, Collections.emptySet()));
+            }
+        }
+        for (final Pair<GraphSerialisable, FederatedAccess> graph : customAccessGraphs) {
+            if (graph.getSecond().hasReadAccess(user, adminAuth)) {
+                readableIds.add(graph.getFirst().getGraphId());
+            }
+        }
+        return graphs.stream().filter(graph -> readableIds.contains(graph.getFirst().getGraphId()));
+    }
+}
@@ -48,6 +48,7 @@ import java.util.stream.StreamSupport;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static uk.gov.gchq.gaffer.access.AccessControlledResource.DONT_CHECK_ADMIN_AUTH;
 import static uk.gov.gchq.gaffer.accumulostore.utils.TableUtils.getConnector;
 
 public class FederatedGraphStorage {
@@ -57,6 +58,7 @@ public class FederatedGraphStorage {
     public static final String GRAPH_IDS_NOT_VISIBLE = "The following graphIds are not visible or do not exist: %s";
     private static final Logger LOGGER = LoggerFactory.getLogger(FederatedGraphStorage.class);
     private final FederatedStoreCache federatedStoreCache;
+    private volatile FederatedGraphAccessIndex graphAccessIndex;
     private GraphLibrary graphLibrary;
 
     public FederatedGraphStorage(final String suffixFederatedStoreCacheName) {
@@ -123,11 +125,11 @@ public class FederatedGraphStorage {
      * @return visible graphIds.
      */
     public List<String> getAllIds(final User user) {
-        return getIdsFrom(getUserGraphStream(federatedAccess -> federatedAccess.hasReadAccess(user)));
+        return getAllIds(user, DONT_CHECK_ADMIN_AUTH);
     }
 
     public List<String> getAllIds(final User user, final String adminAuth) {
-        return getIdsFrom(getUserGraphStream(federatedAccess -> federatedAccess.hasReadAccess(user, adminAuth)));
+        return getIdsFrom(getUserGraphStream(user, adminAuth));
     }
 
     private List<String> getIdsFrom(final Stream<GraphSerialisable> allStream) {
@@ -146,12 +148,22 @@ public class FederatedGraphStorage {
      * @return visible graphs
      */
     public Collection<GraphSerialisable> getAll(final User user) {
-        final Collection<GraphSerialisable> rtn = getUserGraphStream(federatedAccess -> federatedAccess.hasReadAccess(user))
+        final Collection<GraphSerialisable> rtn = getUserGraphStream(user, DONT_CHECK_ADMIN_AUTH)
                 .distinct()
                 .collect(Collectors.toCollection(ArrayList::new));
         return Collections.unmodifiableCollection(rtn);
     }
 
+    /**
+     * Gets the version of the graphs in the cache, which changes whenever any store
+     * sharing the cache adds, removes or changes a graph.
+     *
+     * @return the version of the graphs in the cache
+     */
+    public String getCacheVersion() {
+        return federatedStoreCache.getVersion();
+    }
+
     /**
      * Removes a graph from storage and returns the success. The given user
      * must
@@ -161,7 +173,7 @@ public class FederatedGraphStorage {
      * @param user        to match visibility against.
      * @param removeCache to remove associated caches with this graph.
      * @return if a graph was removed.
-     * @see #isValidToView(User, FederatedAccess)
+     * @see FederatedAccess#hasWriteAccess(User)
      */
     public boolean remove(final String graphId, final User user, final boolean removeCache) {
         return remove(graphId, federatedAccess -> federatedAccess.hasWriteAccess(user), removeCache);
@@ -258,17 +270,6 @@ public class FederatedGraphStorage {
         }
     }
 
-    /**
-     * @param user   to match visibility against, if null will default to
-     *               false/denied
-     *               access
-     * @param access access the user must match.
-     * @return the boolean access
-     */
-    private boolean isValidToView(final User user, final FederatedAccess access) {
-        return null != access && access.hasReadAccess(user);
-    }
-
     /**
      * @param user     to match visibility against.
      * @param graphIds filter on graphIds
@@ -276,31 +277,41 @@ public class FederatedGraphStorage {
      * If graphIds is null then only enabled by default graphs are returned that the user can see.
      */
     private Stream<GraphSerialisable> getStream(final User user, final Collection<String> graphIds) {
-        Stream<GraphSerialisable> rtn;
-        if (isNull(graphIds)) {
-            rtn = StreamSupport.stream(federatedStoreCache.getAllGraphIds().spliterator(), false)
-                    .map(federatedStoreCache::getFromCache)
-                    .filter(pair -> isValidToView(user, pair.getSecond()))
-                    .map(Pair::getFirst);
-        } else {
-            rtn = StreamSupport.stream(federatedStoreCache.getAllGraphIds().spliterator(), false)
-                    .map(federatedStoreCache::getFromCache)
-                    .filter(pair -> isValidToView(user, pair.getSecond()))
-                    .filter(pair -> graphIds.contains(pair.getFirst().getGraphId()))
-                    .map(Pair::getFirst);
+        Stream<GraphSerialisable> rtn = getUserGraphStream(user, DONT_CHECK_ADMIN_AUTH);
+        if (nonNull(graphIds)) {
+            rtn = rtn.filter(graph -> graphIds.contains(graph.getGraphId()));
         }
         return rtn;
     }
 
     /**
-     * @param readAccessPredicate to filter graphs.
+     * @param user      to match visibility against.
+     * @param adminAuth adminAuths role
      * @return a stream of graphs the user has visibility for.
      */
-    private Stream<GraphSerialisable> getUserGraphStream(final Predicate<FederatedAccess> readAccessPredicate) {
-        return StreamSupport.stream(federatedStoreCache.getAllGraphIds().spliterator(), false)
-            .map(federatedStoreCache::getFromCache)
-            .filter(pair -> readAccessPredicate.test(pair.getSecond()))
-            .map(Pair::getFirst);
+    private Stream<GraphSerialisable> getUserGraphStream(final User user, final String adminAuth) {
+        return getGraphAccessIndex().getReadable(user, adminAuth)
+                .map(Pair::getFirst);
+    }
+
+    /**
+     * Gets the graphs and their access decoded from the cache. They are only decoded
+     * again when the cache has been changed since they were last decoded.
+     *
+     * @return the decoded graphs and access for the current version of the cache.
+     */
+    private FederatedGraphAccessIndex getGraphAccessIndex() {
+        final String version = federatedStoreCache.getVersion();
+        FederatedGraphAccessIndex index = graphAccessIndex;
+        if (isNull(index) || !index.isVersion(version)) {
+            final List<Pair<GraphSerialisable, FederatedAccess>> graphs = StreamSupport.stream(federatedStoreCache.getAllGraphIds().spliterator(), false)
+                    .map(federatedStoreCache::getFromCache)
+                    .filter(pair -> nonNull(pair) && nonNull(pair.getFirst()))
+                    .collect(Collectors.toList());
+            index = new FederatedGraphAccessIndex(version, graphs);
+            graphAccessIndex = index;
+        }
+        return index;
     }
 
     @SuppressWarnings("PMD.PreserveStackTrace") //Not Required
@@ -339,18 +350,11 @@ public class FederatedGraphStorage {
     }
 
     protected Map<String, Object> getAllGraphsAndAccess(final User user, final List<String> graphIds) {
-        return getAllGraphsAndAccess(graphIds, access -> access != null && access.hasReadAccess(user));
+        return getAllGraphsAndAccess(user, graphIds, DONT_CHECK_ADMIN_AUTH);
     }
 
     protected Map<String, Object> getAllGraphsAndAccess(final User user, final List<String> graphIds, final String adminAuth) {
-        return getAllGraphsAndAccess(graphIds, access -> access != null && access.hasReadAccess(user, adminAuth));
-    }
-
-    private Map<String, Object> getAllGraphsAndAccess(final List<String> graphIds, final Predicate<FederatedAccess> accessPredicate) {
-        return StreamSupport.stream(federatedStoreCache.getAllGraphIds().spliterator(), false)
-            .map(federatedStoreCache::getFromCache)
-            // filter on FederatedAccess
-            .filter(pair -> accessPredicate.test(pair.getSecond()))
+        return getGraphAccessIndex().getReadable(user, adminAuth)
             // filter on if graph required?
             .filter(pair -> {
                 final boolean isGraphIdRequested = nonNull(graphIds) && graphIds.contains(pair.getFirst().getGraphId());
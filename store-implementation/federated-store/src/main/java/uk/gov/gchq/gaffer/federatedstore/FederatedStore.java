@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.federatedstore;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -55,6 +56,7 @@ import uk.gov.gchq.gaffer.federatedstore.operation.handler.impl.FederatedOutputI
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.impl.FederatedRemoveGraphAndDeleteAllDataHandler;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.impl.FederatedRemoveGraphHandler;
 import uk.gov.gchq.gaffer.federatedstore.schema.FederatedViewValidator;
+import uk.gov.gchq.gaffer.federatedstore.schema.MergedSchemaCache;
 import uk.gov.gchq.gaffer.federatedstore.util.ApplyViewToElementsFunction;
 import uk.gov.gchq.gaffer.federatedstore.util.MergeSchema;
 import uk.gov.gchq.gaffer.graph.GraphSerialisable;
@@ -99,6 +101,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -141,6 +145,8 @@ public class FederatedStore extends Store {
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, property = "class")
     private Map<String, BiFunction> storeConfiguredMergeFunctions;
     private final Set<Class<? extends Operation>> externallySupportedOperations = new HashSet<>();
+    private ExecutorService graphExecutionService;
+    private MergedSchemaCache mergedSchemaCache;
 
     @JsonCreator
     @SuppressFBWarnings(value = "DMI_RANDOM_USED_ONLY_ONCE", justification = "Random used once only and this class will not usually be created more than once")
@@ -189,6 +195,24 @@ public class FederatedStore extends Store {
         loadIsPublicAccessAllowedFromProperties(federatedProperties);
         loadStoreConfiguredMergeFunctionsFromProperties(federatedProperties);
         loadStoreConfiguredGraphIdsFromProperties(federatedProperties);
+        loadGraphExecutionServiceFromProperties(federatedProperties);
+        mergedSchemaCache = federatedProperties.isMergedSchemaCacheEnabled() ? new MergedSchemaCache(graphStorage::getCacheVersion) : null;
+    }
+
+    private void loadGraphExecutionServiceFromProperties(final FederatedStoreProperties properties) {
+        if (nonNull(graphExecutionService)) {
+            graphExecutionService.shutdown();
+            graphExecutionService = null;
+        }
+        final int threads = properties.getGraphExecutionThreads();
+        if (threads > 1 || properties.getGraphExecutionTimeoutMillis() > 0) {
+            // A separate thread is still needed to enforce a timeout when running against one graph at a time
+            graphExecutionService = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+                final Thread thread = new Thread(runnable, "federated-graph-execution-" + getGraphId());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
     }
 
     private void loadIsPublicAccessAllowedFromProperties(final FederatedStoreProperties federatedProperties) {
@@ -227,6 +251,39 @@ public class FederatedStore extends Store {
         }
     }
 
+    /**
+     * Get the executor used to run a federated operation against several graphs concurrently.
+     *
+     * @return the executor, or null if the operation should be run against each graph in turn
+     * without a timeout.
+     */
+    @JsonIgnore
+    public ExecutorService getGraphExecutionService() {
+        return graphExecutionService;
+    }
+
+    /**
+     * Stops the executor used to run federated operations against several graphs concurrently.
+     */
+    @Override
+    public void close() {
+        if (nonNull(graphExecutionService)) {
+            graphExecutionService.shutdownNow();
+            graphExecutionService = null;
+        }
+        super.close();
+    }
+
+    /**
+     * Get the cache of schemas merged from the graphs in this store.
+     *
+     * @return the cache, or null if merged schemas should not be cached.
+     */
+    @JsonIgnore
+    public MergedSchemaCache getMergedSchemaCache() {
+        return mergedSchemaCache;
+    }
+
     /**
      * Get this Store's {@link uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties}.
      *
@@ -296,9 +353,11 @@ public class FederatedStore extends Store {
     }
 
     public boolean remove(final String graphId, final User user, final boolean removeCache, final boolean asAdmin) {
-        return asAdmin
+        final boolean removed = asAdmin
                 ? graphStorage.remove(graphId, user, removeCache, this.getProperties().getAdminAuth())
                 : graphStorage.remove(graphId, user, removeCache);
+        invalidateMergedSchemaCache();
+        return removed;
     }
 
     /**
@@ -589,19 +648,37 @@ public class FederatedStore extends Store {
     }
 
     private void _add(final GraphSerialisable newGraph, final FederatedAccess access) throws StorageException {
-        graphStorage.put(newGraph, access);
+        try {
+            graphStorage.put(newGraph, access);
+        } finally {
+            invalidateMergedSchemaCache();
+        }
     }
 
     public boolean changeGraphAccess(final User requestingUser, final String graphId, final FederatedAccess federatedAccess, final boolean isAdmin) throws StorageException {
-        return isAdmin
-                ? graphStorage.changeGraphAccess(graphId, federatedAccess, requestingUser, this.getProperties().getAdminAuth())
-                : graphStorage.changeGraphAccess(graphId, federatedAccess, requestingUser);
+        try {
+            return isAdmin
+                    ? graphStorage.changeGraphAccess(graphId, federatedAccess, requestingUser, this.getProperties().getAdminAuth())
+                    : graphStorage.changeGraphAccess(graphId, federatedAccess, requestingUser);
+        } finally {
+            invalidateMergedSchemaCache();
+        }
     }
 
     public boolean changeGraphId(final User requestingUser, final String graphId, final String newGraphId, final boolean isAdmin) throws StorageException {
-        return isAdmin
-                ? graphStorage.changeGraphId(graphId, newGraphId, requestingUser, this.getProperties().getAdminAuth())
-                : graphStorage.changeGraphId(graphId, newGraphId, requestingUser);
+        try {
+            return isAdmin
+                    ? graphStorage.changeGraphId(graphId, newGraphId, requestingUser, this.getProperties().getAdminAuth())
+                    : graphStorage.changeGraphId(graphId, newGraphId, requestingUser);
+        } finally {
+            invalidateMergedSchemaCache();
+        }
+    }
+
+    private void invalidateMergedSchemaCache() {
+        if (nonNull(mergedSchemaCache)) {
+            mergedSchemaCache.invalidate();
+        }
     }
 
     public List<String> getStoreConfiguredGraphIds() {
@@ -133,6 +133,15 @@ public final class FederatedStoreCache {
         }
     }
 
+    /**
+     * Get the version of the graphs in the cache, which changes whenever a graph is added or removed.
+     *
+     * @return the version
+     */
+    public String getVersion() {
+        return cacheTransient.getVersion();
+    }
+
     public String getCacheName() {
         return cacheTransient.getCacheName();
     }
@@ -19,9 +19,12 @@ package uk.gov.gchq.gaffer.federatedstore;
 import uk.gov.gchq.gaffer.cache.Cache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphSerialisable;
 
+import java.util.UUID;
+
 /**
  * Implementation of {@link Cache} for handling
  * {@link Graph}s within a {@link FederatedStore}.
@@ -29,10 +32,15 @@ import uk.gov.gchq.gaffer.graph.GraphSerialisable;
 public class FederatedStoreCacheTransient extends Cache<String, Pair<GraphSerialisable, byte[]>> {
     public static final String ERROR_ADDING_GRAPH_TO_CACHE_GRAPH_ID_S = "Error adding graph to cache. graphId: %s";
     private static final String CACHE_SERVICE_NAME_PREFIX = "federatedStoreGraphs";
+    private static final String VERSION_CACHE_SERVICE_NAME_PREFIX = "federatedStoreGraphsVersion";
+    private static final String VERSION_KEY = "version";
     public static final String FEDERATED_STORE_CACHE_SERVICE_NAME = "FederatedStore";
 
+    private final VersionCache versionCache;
+
     public FederatedStoreCacheTransient(final String suffixFederatedStoreCacheName) {
         super(getCacheNameFrom(suffixFederatedStoreCacheName), FEDERATED_STORE_CACHE_SERVICE_NAME);
+        versionCache = new VersionCache(Cache.getCacheNameFrom(VERSION_CACHE_SERVICE_NAME_PREFIX, suffixFederatedStoreCacheName));
     }
 
     public static String getCacheNameFrom(final String suffixFederatedStoreCacheName) {
@@ -80,10 +88,44 @@ public class FederatedStoreCacheTransient extends Cache<String, Pair<GraphSerial
         String graphId = graphSerialisable.getGraphId();
         Pair<GraphSerialisable, byte[]> pair = new Pair<>(graphSerialisable, access);
         super.addToCache(graphId, pair, overwrite);
+        versionCache.update();
     }
 
     public void deleteGraphFromCache(final String graphId) {
-        super.deleteFromCache(graphId);
+        deleteFromCache(graphId);
+    }
+
+    @Override
+    public void deleteFromCache(final String key) {
+        super.deleteFromCache(key);
+        versionCache.update();
+    }
+
+    @Override
+    public void clearCache() throws CacheOperationException {
+        super.clearCache();
+        versionCache.update();
+    }
+
+    /**
+     * Get the version of the graphs in the cache. The version changes whenever a graph
+     * is added to or removed from the cache by any store sharing the cache, so it can be
+     * used to tell if anything decoded from the cache is out of date.
+     *
+     * @return the version
+     */
+    public String getVersion() {
+        try {
+            String version = versionCache.getFromCache(VERSION_KEY);
+            if (null == version) {
+                // The cache service has been started or cleared, so anything decoded before is out of date
+                versionCache.update();
+                version = versionCache.getFromCache(VERSION_KEY);
+            }
+            return version;
+        } catch (final CacheOperationException e) {
+            throw new GafferRuntimeException("Error getting version of graphs in the cache", e);
+        }
     }
 
     /**
@@ -114,4 +156,19 @@ public class FederatedStoreCacheTransient extends Cache<String, Pair<GraphSerial
         final Pair<GraphSerialisable, byte[]> fromCache = getFromCache(graphId);
         return fromCache == null ? null : fromCache.getSecond();
     }
+
+    private static final class VersionCache extends Cache<String, String> {
+        private VersionCache(final String cacheName) {
+            super(cacheName, FEDERATED_STORE_CACHE_SERVICE_NAME);
+        }
+
+        private void update() {
+            try {
+                // A random value rather than a counter, as stores sharing the cache may update it at the same time
+                addToCache(VERSION_KEY, UUID.randomUUID().toString(), true);
+            } catch (final CacheOperationException e) {
+                throw new GafferRuntimeException("Error updating version of graphs in the cache", e);
+            }
+        }
+    }
 }
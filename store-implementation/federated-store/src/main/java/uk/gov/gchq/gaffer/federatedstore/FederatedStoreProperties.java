@@ -49,6 +49,31 @@ public class FederatedStoreProperties extends StoreProperties {
      * Name of the system property to use for defining a cache service class dedicated to the Federated Store.
      */
     public static final String CACHE_SERVICE_FEDERATED_STORE_CLASS = "gaffer.cache.service.federatedstore.class";
+    /**
+     * The maximum number of graphs a single federated operation is run against concurrently.
+     * 1 by default, which runs the operation against each graph in turn.
+     * When greater than 1, results are merged in the order the graphs complete.
+     * e.g. gaffer.federatedstore.graphExecutionThreads=8
+     */
+    public static final String GRAPH_EXECUTION_THREADS = "gaffer.federatedstore.graphExecutionThreads";
+    public static final String GRAPH_EXECUTION_THREADS_DEFAULT = String.valueOf(1);
+    /**
+     * The maximum time in milliseconds an operation may run against a single graph,
+     * measured from when it starts on that graph. A graph that times out is treated as
+     * failed, so it is skipped if skipFailedFederatedExecution is set.
+     * 0 by default, meaning no timeout.
+     * e.g. gaffer.federatedstore.graphExecutionTimeoutMillis=30000
+     */
+    public static final String GRAPH_EXECUTION_TIMEOUT_MILLIS = "gaffer.federatedstore.graphExecutionTimeoutMillis";
+    public static final String GRAPH_EXECUTION_TIMEOUT_MILLIS_DEFAULT = String.valueOf(0);
+    /**
+     * Controls if the schemas merged from the graphs are cached, keyed by the graphs merged.
+     * The cache is cleared whenever a graph is added, removed or changed by this store.
+     * True by default.
+     * e.g. gaffer.federatedstore.mergedSchemaCache=false
+     */
+    public static final String MERGED_SCHEMA_CACHE = "gaffer.federatedstore.mergedSchemaCache";
+    public static final String MERGED_SCHEMA_CACHE_DEFAULT = String.valueOf(true);
 
     public FederatedStoreProperties() {
         super(FederatedStore.class);
@@ -125,4 +150,28 @@ public class FederatedStoreProperties extends StoreProperties {
     public void setFederatedStoreCacheServiceClass(final String cacheServiceClassString) {
         set(CACHE_SERVICE_FEDERATED_STORE_CLASS, cacheServiceClassString);
     }
+
+    public int getGraphExecutionThreads() {
+        return Integer.parseInt(get(GRAPH_EXECUTION_THREADS, GRAPH_EXECUTION_THREADS_DEFAULT));
+    }
+
+    public void setGraphExecutionThreads(final int graphExecutionThreads) {
+        set(GRAPH_EXECUTION_THREADS, String.valueOf(graphExecutionThreads));
+    }
+
+    public long getGraphExecutionTimeoutMillis() {
+        return Long.parseLong(get(GRAPH_EXECUTION_TIMEOUT_MILLIS, GRAPH_EXECUTION_TIMEOUT_MILLIS_DEFAULT));
+    }
+
+    public void setGraphExecutionTimeoutMillis(final long graphExecutionTimeoutMillis) {
+        set(GRAPH_EXECUTION_TIMEOUT_MILLIS, String.valueOf(graphExecutionTimeoutMillis));
+    }
+
+    public boolean isMergedSchemaCacheEnabled() {
+        return Boolean.parseBoolean(get(MERGED_SCHEMA_CACHE, MERGED_SCHEMA_CACHE_DEFAULT));
+    }
+
+    public void setMergedSchemaCacheEnabled(final boolean mergedSchemaCacheEnabled) {
+        set(MERGED_SCHEMA_CACHE, String.valueOf(mergedSchemaCacheEnabled));
+    }
 }
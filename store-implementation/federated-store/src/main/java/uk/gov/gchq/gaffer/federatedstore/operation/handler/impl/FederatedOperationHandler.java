@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.core.exception.GafferCheckedException;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.operation.FederatedOperation;
+import uk.gov.gchq.gaffer.federatedstore.schema.MergedSchemaCache;
 import uk.gov.gchq.gaffer.federatedstore.util.ApplyViewToElementsFunction;
 import uk.gov.gchq.gaffer.federatedstore.util.ConcatenateMergeFunction;
 import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
@@ -32,18 +33,31 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.GetSchema;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.koryphe.Since;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import static com.google.common.collect.Iterables.isEmpty;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.getStoreConfiguredMergeFunction;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.processIfFunctionIsContextSpecific;
@@ -51,12 +65,26 @@ import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.updateOp
 
 /**
  * FederatedOperation handler for the federation of an PAYLOAD operation with an expected return type OUTPUT
+ * <p>
+ * Merged schemas are cached by the {@link FederatedStore}, unless a merge function is specified or
+ * failed graphs are skipped.
+ * </p>
+ * <p>
+ * If the {@link FederatedStore} has a graph execution service, the operation is run against the
+ * graphs concurrently and each result is merged as soon as its graph completes, otherwise the
+ * operation is run against each graph in turn. Lazy results are not read by the graph's thread,
+ * so they are streamed through the merge function rather than held in memory.
+ * </p>
+ *
+ * @see uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties#GRAPH_EXECUTION_THREADS
+ * @see uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties#GRAPH_EXECUTION_TIMEOUT_MILLIS
  */
 @Since("2.0.0")
 public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandler<FederatedOperation<INPUT, OUTPUT>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(FederatedOperationHandler.class);
 
     public static final String ERROR_WHILE_RUNNING_OPERATION_ON_GRAPHS_FORMAT = "Error while running operation on graphs, due to: %s";
+    private static final Object NO_RESULT = new Object();
     private List<GraphSerialisable> graphs;
     private Context context;
 
@@ -64,9 +92,126 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
     public Object doOperation(final FederatedOperation<INPUT, OUTPUT> operation, final Context context, final Store store) throws OperationException {
         this.context = context;
         this.graphs = getGraphs(operation, context, (FederatedStore) store);
+        final MergedSchemaCache mergedSchemaCache = ((FederatedStore) store).getMergedSchemaCache();
+        if (nonNull(mergedSchemaCache)
+                && operation.getUnClonedPayload() instanceof GetSchema
+                && isNull(operation.getMergeFunction())
+                // A schema merged while skipping failed graphs may be missing those graphs
+                && !operation.isSkipFailedFederatedExecution()) {
+            final List<String> graphIds = graphs.stream().map(GraphSerialisable::getGraphId).collect(Collectors.toList());
+            final boolean compact = ((GetSchema) operation.getUnClonedPayload()).isCompact();
+            return mergedSchemaCache.get(graphIds, compact, () -> (Schema) getMergedResults(operation, (FederatedStore) store));
+        }
+
+        return getMergedResults(operation, (FederatedStore) store);
+    }
+
+    private Object getMergedResults(final FederatedOperation<INPUT, OUTPUT> operation, final FederatedStore store) throws OperationException {
+        final ExecutorService graphExecutionService = store.getGraphExecutionService();
+        if (nonNull(graphExecutionService)) {
+            return getMergedConcurrentGraphResults(operation, store, graphExecutionService);
+        }
         final Iterable<?> allGraphResults = getAllGraphResults(operation);
 
-        return mergeResults(allGraphResults, operation, (FederatedStore) store);
+        return mergeResults(allGraphResults, operation, store);
+    }
+
+    private Object getMergedConcurrentGraphResults(final FederatedOperation<INPUT, OUTPUT> operation, final FederatedStore store, final ExecutorService graphExecutionService) throws OperationException {
+        final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(store.getProperties().getGraphExecutionTimeoutMillis());
+        final CompletionService<Object> completionService = new ExecutorCompletionService<>(graphExecutionService);
+        final Map<Future<Object>, GraphExecution> pending = new LinkedHashMap<>();
+        try {
+            LOGGER.debug("Getting results from {} graphs concurrently", graphs.size());
+            for (final GraphSerialisable graphSerialisable : graphs) {
+                final Graph graph = graphSerialisable.getGraph();
+                final Operation updatedOp = updateOperationForGraph(operation.getUnClonedPayload(), graph, context);
+                if (updatedOp != null) {
+                    final GraphExecution execution = new GraphExecution(graphSerialisable.getGraphId(), graph, updatedOp, context, nonNull(operation.getMergeFunction()));
+                    pending.put(completionService.submit(execution), execution);
+                }
+            }
+
+            Object rtn = null;
+            BiFunction mergeFunction = null;
+            while (!pending.isEmpty()) {
+                final Future<Object> future = timeoutNanos > 0
+                        ? completionService.poll(getNanosUntilNextTimeout(pending.values(), timeoutNanos), TimeUnit.NANOSECONDS)
+                        : completionService.take();
+                // Futures cancelled after timing out are also returned here, so only handle pending ones
+                final GraphExecution execution = null != future ? pending.remove(future) : null;
+                if (null != execution) {
+                    // Each result is merged in the order the graphs complete
+                    final Object result = getResult(future, execution, operation);
+                    if (NO_RESULT != result) {
+                        if (null == mergeFunction) {
+                            mergeFunction = resolveMergeFunction(operation, store, false);
+                        }
+                        rtn = mergeResult(mergeFunction, result, rtn);
+                    }
+                }
+                if (timeoutNanos > 0) {
+                    cancelTimedOutExecutions(pending, timeoutNanos, operation);
+                }
+            }
+            return rtn;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException(String.format(ERROR_WHILE_RUNNING_OPERATION_ON_GRAPHS_FORMAT, e), e);
+        } catch (final OperationException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new OperationException(String.format(ERROR_WHILE_RUNNING_OPERATION_ON_GRAPHS_FORMAT, e), e);
+        } finally {
+            for (final Future<Object> future : pending.keySet()) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private Object getResult(final Future<Object> future, final GraphExecution execution, final FederatedOperation<INPUT, OUTPUT> operation) throws OperationException, InterruptedException {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            final Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            return handleGraphFailure(execution, cause, operation);
+        }
+    }
+
+    private void cancelTimedOutExecutions(final Map<Future<Object>, GraphExecution> pending, final long timeoutNanos, final FederatedOperation<INPUT, OUTPUT> operation) throws OperationException {
+        final long now = System.nanoTime();
+        final Iterator<Map.Entry<Future<Object>, GraphExecution>> itr = pending.entrySet().iterator();
+        while (itr.hasNext()) {
+            final Map.Entry<Future<Object>, GraphExecution> entry = itr.next();
+            final long startNanos = entry.getValue().startNanos;
+            if (0 != startNanos && now - startNanos >= timeoutNanos) {
+                entry.getKey().cancel(true);
+                itr.remove();
+                handleGraphFailure(entry.getValue(),
+                        new TimeoutException(String.format("Timed out after %sms", TimeUnit.NANOSECONDS.toMillis(timeoutNanos))), operation);
+            }
+        }
+    }
+
+    private Object handleGraphFailure(final GraphExecution execution, final Exception e, final FederatedOperation<INPUT, OUTPUT> operation) throws OperationException {
+        if (!operation.isSkipFailedFederatedExecution()) {
+            // Wrapped in the same way as failures when running against each graph in turn
+            final OperationException graphException = new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, execution.graphId, e), e);
+            throw new OperationException(String.format(ERROR_WHILE_RUNNING_OPERATION_ON_GRAPHS_FORMAT, graphException), graphException);
+        }
+        LOGGER.debug("Skipping failed execution on graph {}", execution.graphId, e);
+        return NO_RESULT;
+    }
+
+    private static long getNanosUntilNextTimeout(final Iterable<GraphExecution> executions, final long timeoutNanos) {
+        final long now = System.nanoTime();
+        long wait = timeoutNanos;
+        for (final GraphExecution execution : executions) {
+            final long startNanos = execution.startNanos;
+            if (0 != startNanos) {
+                wait = Math.min(wait, startNanos + timeoutNanos - now);
+            }
+        }
+        return Math.max(0, wait);
     }
 
     private Iterable getAllGraphResults(final FederatedOperation<INPUT, OUTPUT> operation) throws OperationException {
@@ -105,20 +250,10 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
     }
 
     private Object mergeResults(final Iterable resultsFromAllGraphs, final FederatedOperation<INPUT, OUTPUT> operation, final FederatedStore store) throws OperationException {
+        final BiFunction mergeFunction = resolveMergeFunction(operation, store, isEmpty(resultsFromAllGraphs));
         try {
             Object rtn = null;
 
-            BiFunction mergeFunction = getMergeFunction(operation, store, context, isEmpty(resultsFromAllGraphs));
-
-            // If default merging and only have one graph or no common groups then just return the current results
-            if (!graphs.isEmpty()
-                    && mergeFunction instanceof ApplyViewToElementsFunction
-                    && (graphs.size() == 1 || !graphsHaveCommonSchemaGroups(graphs))) {
-                LOGGER.info("Returning flat list of results as complex merging not required when only one graph or no common groups");
-                // Just use the concatenate merge to flatten the results
-                mergeFunction = new ConcatenateMergeFunction();
-            }
-
             // Reduce
             for (final Object resultFromAGraph : resultsFromAllGraphs) {
                 rtn = mergeFunction.apply(resultFromAGraph, rtn);
@@ -126,9 +261,40 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
 
             return rtn;
         } catch (final Exception e) {
-            final List<String> graphIds = graphs.stream().map(GraphSerialisable::getGraphId).collect(Collectors.toList());
-            throw new OperationException(String.format("Error while merging results from graphs: %s due to: %s", graphIds, e.getMessage()), e);
+            throw createMergeException(e);
+        }
+    }
+
+    private Object mergeResult(final BiFunction mergeFunction, final Object resultFromAGraph, final Object rtn) throws OperationException {
+        try {
+            return mergeFunction.apply(resultFromAGraph, rtn);
+        } catch (final Exception e) {
+            throw createMergeException(e);
+        }
+    }
+
+    private OperationException createMergeException(final Exception e) {
+        final List<String> graphIds = graphs.stream().map(GraphSerialisable::getGraphId).collect(Collectors.toList());
+        return new OperationException(String.format("Error while merging results from graphs: %s due to: %s", graphIds, e.getMessage()), e);
+    }
+
+    private BiFunction resolveMergeFunction(final FederatedOperation<INPUT, OUTPUT> operation, final FederatedStore store, final boolean isResultsFromAllGraphsEmpty) throws OperationException {
+        BiFunction mergeFunction;
+        try {
+            mergeFunction = getMergeFunction(operation, store, context, isResultsFromAllGraphsEmpty);
+        } catch (final Exception e) {
+            throw createMergeException(e);
+        }
+
+        // If default merging and only have one graph or no common groups then just return the current results
+        if (!graphs.isEmpty()
+                && mergeFunction instanceof ApplyViewToElementsFunction
+                && (graphs.size() == 1 || !graphsHaveCommonSchemaGroups(graphs))) {
+            LOGGER.info("Returning flat list of results as complex merging not required when only one graph or no common groups");
+            // Just use the concatenate merge to flatten the results
+            mergeFunction = new ConcatenateMergeFunction();
         }
+        return mergeFunction;
     }
 
     private static BiFunction getMergeFunction(final FederatedOperation operation, final FederatedStore store, final Context context, final boolean isResultsFromAllGraphsEmpty) throws GafferCheckedException {
@@ -186,4 +352,38 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
         }
         return false;
     }
+
+    /**
+     * Runs an operation against a single graph, recording when it started so it can be timed out.
+     * Lazy results are returned without being read, so the timeout does not include reading them.
+     */
+    private static final class GraphExecution implements Callable<Object> {
+        private final String graphId;
+        private final Graph graph;
+        private final Operation operation;
+        private final Context context;
+        private final boolean hasMergeFunction;
+        private volatile long startNanos;
+
+        private GraphExecution(final String graphId, final Graph graph, final Operation operation, final Context context, final boolean hasMergeFunction) {
+            this.graphId = graphId;
+            this.graph = graph;
+            this.operation = operation;
+            this.context = context;
+            this.hasMergeFunction = hasMergeFunction;
+        }
+
+        @Override
+        public Object call() throws OperationException {
+            // nanoTime may legitimately be 0, which is reserved to mean not yet started
+            final long now = System.nanoTime();
+            startNanos = 0 != now ? now : 1;
+            if (operation instanceof Output) {
+                return graph.execute((Output) operation, context);
+            }
+            graph.execute(operation, context);
+            //If the user has specified a mergeFunction, they may wish to process the number null responses from graphs.
+            return hasMergeFunction ? null : NO_RESULT;
+        }
+    }
 }
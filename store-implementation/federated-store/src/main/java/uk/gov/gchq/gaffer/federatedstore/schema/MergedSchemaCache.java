@@ -0,0 +1,178 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.schema;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A cache of the {@link Schema}s merged from the graphs in a
+ * {@link uk.gov.gchq.gaffer.federatedstore.FederatedStore}, keyed by the ids of the
+ * graphs that were merged and whether the schemas were compact.
+ * <p>
+ * The cache must be invalidated whenever a graph is added, removed or changed.
+ * A schema that was being merged while the cache was invalidated is not cached.
+ * The schemas are also keyed by the version of the graphs in the graph cache, so
+ * graphs changed by another store sharing a distributed cache are merged again.
+ * </p>
+ * <p>
+ * A {@link Schema} caches aggregators that hold state while they aggregate, so a
+ * schema must not be shared between requests. The merged schemas are cached as
+ * JSON and every caller gets its own copy.
+ * </p>
+ */
+public class MergedSchemaCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MergedSchemaCache.class);
+
+    private final Map<Key, byte[]> schemas = new ConcurrentHashMap<>();
+    private final Supplier<String> versionSupplier;
+    private volatile String version;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public MergedSchemaCache() {
+        this(() -> null);
+    }
+
+    /**
+     * @param versionSupplier supplies the current version of the graphs in the graph cache
+     */
+    public MergedSchemaCache(final Supplier<String> versionSupplier) {
+        this.versionSupplier = versionSupplier;
+    }
+
+    /**
+     * Gets a copy of the merged schema for the given graphs, merging and caching it if it is not already cached.
+     *
+     * @param graphIds the ids of the graphs, in the order they are merged
+     * @param compact  whether the compact schemas of the graphs are merged
+     * @param merger   merges the schemas of the graphs
+     * @return a copy of the merged schema, not shared with any other caller
+     * @throws OperationException if the schemas could not be merged
+     */
+    public Schema get(final List<String> graphIds, final boolean compact, final SchemaMerger merger) throws OperationException {
+        final String currentVersion = versionSupplier.get();
+        if (!Objects.equals(currentVersion, version)) {
+            // The schemas cached for the previous version can never be used again
+            version = currentVersion;
+            invalidate();
+        }
+
+        final Key key = new Key(currentVersion, graphIds, compact);
+        final byte[] cached = schemas.get(key);
+        if (nonNull(cached)) {
+            hitCount.incrementAndGet();
+            return Schema.fromJson(cached);
+        }
+
+        missCount.incrementAndGet();
+        final long generationBeforeMerge = generation.get();
+        final Schema schema = merger.merge();
+        if (nonNull(schema)) {
+            final byte[] json = schema.toJson(false);
+            schemas.put(key, json);
+            // Don't keep a schema that may have been merged from graphs that have since changed
+            if (generationBeforeMerge != generation.get()) {
+                schemas.remove(key, json);
+            }
+            return Schema.fromJson(json);
+        }
+        return null;
+    }
+
+    /**
+     * Removes all the cached schemas.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        schemas.clear();
+        LOGGER.debug("Merged schema cache invalidated");
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+
+    /**
+     * Merges the schemas of the graphs when the merged schema is not cached.
+     */
+    @FunctionalInterface
+    public interface SchemaMerger {
+        Schema merge() throws OperationException;
+    }
+
+    private static final class Key {
+        private final String version;
+        private final List<String> graphIds;
+        private final boolean compact;
+
+        private Key(final String version, final List<String> graphIds, final boolean compact) {
+            this.version = version;
+            this.graphIds = new ArrayList<>(graphIds);
+            this.compact = compact;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (null == obj || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Key key = (Key) obj;
+            return new EqualsBuilder()
+                    .append(version, key.version)
+                    .append(compact, key.compact)
+                    .append(graphIds, key.graphIds)
+                    .isEquals();
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(17, 37)
+                    .append(version)
+                    .append(compact)
+                    .append(graphIds)
+                    .toHashCode();
+        }
+    }
+}
@@ -21,13 +21,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.core.exception.GafferCheckedException;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.NamedView;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.graph.Graph;
-import uk.gov.gchq.gaffer.graph.GraphConfig;
-import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
@@ -42,51 +42,66 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 
+import static org.apache.commons.collections4.CollectionUtils.isEmpty;
+
+/**
+ * The default merge function for elements returned from several graphs. The elements are aggregated
+ * together using the schema and then the view of the operation is applied to the merged elements.
+ * <p>
+ * The elements are merged as each graph returns, but the view is only applied once when the
+ * merged results are iterated. If more than {@link #getMaxElementsInMemory()} elements would be
+ * held in memory they are spilled to temporary files, split into {@link #getSpillPartitions()}
+ * partitions.
+ * </p>
+ * <p>
+ * Alternatively a results graph can be supplied in the context using {@link #TEMP_RESULTS_GRAPH},
+ * in which case the elements are added to that graph and the view is applied by running
+ * {@link GetAllElements} against it.
+ * </p>
+ */
 public class ApplyViewToElementsFunction implements ContextSpecificMergeFunction<Object, Iterable<Object>, Iterable<Object>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ApplyViewToElementsFunction.class);
     public static final String VIEW = "view";
     public static final String SCHEMA = "schema";
     public static final String USER = "user";
     public static final String TEMP_RESULTS_GRAPH = "temporaryResultsGraph";
-    private static final Random RANDOM = new Random();
+    public static final int DEFAULT_MAX_ELEMENTS_IN_MEMORY = 1000000;
+    public static final int DEFAULT_SPILL_PARTITIONS = 16;
 
     @JsonProperty("context")
     private Map<String, Object> context;
+    private int maxElementsInMemory = DEFAULT_MAX_ELEMENTS_IN_MEMORY;
+    private int spillPartitions = DEFAULT_SPILL_PARTITIONS;
+    @JsonIgnore
+    private View resolvedView;
 
     public ApplyViewToElementsFunction() {
     }
 
     public ApplyViewToElementsFunction(final Map<String, Object> context) throws GafferCheckedException {
+        this(context, DEFAULT_MAX_ELEMENTS_IN_MEMORY, DEFAULT_SPILL_PARTITIONS);
+    }
+
+    public ApplyViewToElementsFunction(final Map<String, Object> context, final int maxElementsInMemory, final int spillPartitions) throws GafferCheckedException {
         this();
         try {
-            // Check if results graph, hasn't already be supplied, otherwise make a default results graph.
-            if (!context.containsKey(TEMP_RESULTS_GRAPH)) {
-                final Graph resultsGraph = new Graph.Builder()
-                        .config(new GraphConfig(String.format("%s%s%d", TEMP_RESULTS_GRAPH, ApplyViewToElementsFunction.class.getSimpleName(), RANDOM.nextInt(Integer.MAX_VALUE))))
-                        .addSchema((Schema) context.get(SCHEMA))
-                        //MapStore easy in memory Store. Large results size may not be suitable, a graph could be provided via Context.
-                        .addStoreProperties(new MapStoreProperties())
-                        .build();
-
-                LOGGER.debug("A Temporary results graph named:{} is being made with schema:{}", resultsGraph.getGraphId(), resultsGraph.getSchema());
-
-                context.put(TEMP_RESULTS_GRAPH, resultsGraph);
-            }
             // Validate the supplied context before using
             validate(context);
             this.context = Collections.unmodifiableMap(context);
+            this.maxElementsInMemory = maxElementsInMemory;
+            this.spillPartitions = spillPartitions;
+            this.resolvedView = resolveView((View) context.get(VIEW), (Schema) context.get(SCHEMA));
         } catch (final Exception e) {
-            throw new GafferCheckedException("Unable to create TemporaryResultsGraph", e);
+            throw new GafferCheckedException("Unable to create " + ApplyViewToElementsFunction.class.getSimpleName(), e);
         }
 
     }
 
     @Override
     public ApplyViewToElementsFunction createFunctionWithContext(final HashMap<String, Object> context) throws GafferCheckedException {
-        return new ApplyViewToElementsFunction(context);
+        return new ApplyViewToElementsFunction(context, maxElementsInMemory, spillPartitions);
     }
 
     /**
@@ -109,9 +124,7 @@ public class ApplyViewToElementsFunction implements ContextSpecificMergeFunction
             throw new IllegalArgumentException("Error: context invalid, requires a populated schema.");
         }
 
-        if (!context.containsKey(TEMP_RESULTS_GRAPH)) {
-            throw new IllegalStateException("Error: context invalid, did not contain a Temporary Results Graph.");
-        } else if (!(context.get(TEMP_RESULTS_GRAPH) instanceof Graph)) {
+        if (context.containsKey(TEMP_RESULTS_GRAPH) && !(context.get(TEMP_RESULTS_GRAPH) instanceof Graph)) {
             throw new IllegalArgumentException(String.format("Error: context invalid, value for %s was not a Graph, found: %s", TEMP_RESULTS_GRAPH, context.get(TEMP_RESULTS_GRAPH)));
         }
 
@@ -120,36 +133,115 @@ public class ApplyViewToElementsFunction implements ContextSpecificMergeFunction
         }
     }
 
+    /**
+     * Resolves the view in the same way a {@link Graph} would before running an operation,
+     * so it can be applied to the merged elements without a graph.
+     *
+     * @param view   the view of the operation, may be null
+     * @param schema the merged schema of the graphs
+     * @return a view containing the groups to return with any global definitions expanded
+     */
+    private static View resolveView(final View view, final Schema schema) {
+        final View.Builder builder = new View.Builder();
+        if (null == view) {
+            builder.entities(schema.getEntityGroups())
+                    .edges(schema.getEdgeGroups());
+        } else {
+            builder.merge(view);
+            if (!(view instanceof NamedView)) {
+                final boolean noGroups = !view.hasGroups() && !view.isAllEntities() && !view.isAllEdges();
+                final boolean allGroups = noGroups
+                        && (!isEmpty(view.getGlobalElements()) || (isEmpty(view.getGlobalEdges()) && isEmpty(view.getGlobalEntities())));
+                if (allGroups || view.isAllEntities() || (noGroups && !isEmpty(view.getGlobalEntities()))) {
+                    schema.getEntityGroups().stream()
+                            .filter(group -> !view.getEntityGroups().contains(group))
+                            .forEach(builder::entity);
+                }
+                if (allGroups || view.isAllEdges() || (noGroups && !isEmpty(view.getGlobalEdges()))) {
+                    schema.getEdgeGroups().stream()
+                            .filter(group -> !view.getEdgeGroups().contains(group))
+                            .forEach(builder::edge);
+                }
+            }
+        }
+        return builder.expandGlobalDefinitions().build();
+    }
+
     @Override
     @JsonIgnore
     public Set<String> getRequiredContextValues() {
         return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(VIEW, SCHEMA, USER)));
     }
 
+    public int getMaxElementsInMemory() {
+        return maxElementsInMemory;
+    }
+
+    public void setMaxElementsInMemory(final int maxElementsInMemory) {
+        this.maxElementsInMemory = maxElementsInMemory;
+    }
+
+    public int getSpillPartitions() {
+        return spillPartitions;
+    }
+
+    public void setSpillPartitions(final int spillPartitions) {
+        this.spillPartitions = spillPartitions;
+    }
+
     @Override
     public Iterable<Object> apply(final Object update, final Iterable<Object> state) {
-        if (state instanceof Closeable) {
-            Closeable closeable = (Closeable) state;
-            try {
-                closeable.close();
-            } catch (final IOException e) {
-                LOGGER.error("Error closing looped iterable", e);
-            }
+        if (context.containsKey(TEMP_RESULTS_GRAPH)) {
+            return addToResultsGraph(update);
+        }
+
+        final MergedElements mergedElements;
+        if (state instanceof MergedElements) {
+            mergedElements = (MergedElements) state;
+        } else {
+            closeState(state);
+            mergedElements = new MergedElements((Schema) context.get(SCHEMA), resolvedView, maxElementsInMemory, spillPartitions);
+        }
+
+        try {
+            // The update object might be a lazy AccumuloElementRetriever and might be MASSIVE.
+            mergedElements.add((Iterable<?>) update);
+        } catch (final RuntimeException e) {
+            mergedElements.close();
+            throw e;
+        } finally {
+            CloseableUtil.close(update);
         }
+        return mergedElements;
+    }
 
+    private Iterable<Object> addToResultsGraph(final Object update) {
         final Graph resultsGraph = (Graph) context.get(TEMP_RESULTS_GRAPH);
         final Context userContext = new Context((User) context.get(USER));
         try {
-            // The update object might be a lazy AccumuloElementRetriever and might be MASSIVE.
             resultsGraph.execute(new AddElements.Builder().input((Iterable<Element>) update).build(), userContext);
         } catch (final OperationException e) {
             throw new GafferRuntimeException("Error adding elements to temporary results graph, due to:" + e.getMessage(), e);
         }
 
-        try {
-            return (Iterable) resultsGraph.execute(new GetAllElements.Builder().view((View) context.get(VIEW)).build(), userContext);
-        } catch (final OperationException e) {
-            throw new GafferRuntimeException("Error getting all elements from temporary graph, due to:" + e.getMessage(), e);
+        // The view is only applied when the results are used, rather than after adding the results of each graph
+        return () -> {
+            try {
+                return ((Iterable<Object>) (Iterable) resultsGraph.execute(new GetAllElements.Builder().view((View) context.get(VIEW)).build(), userContext)).iterator();
+            } catch (final OperationException e) {
+                throw new GafferRuntimeException("Error getting all elements from temporary graph, due to:" + e.getMessage(), e);
+            }
+        };
+    }
+
+    private static void closeState(final Iterable<Object> state) {
+        if (state instanceof Closeable) {
+            Closeable closeable = (Closeable) state;
+            try {
+                closeable.close();
+            } catch (final IOException e) {
+                LOGGER.error("Error closing looped iterable", e);
+            }
         }
     }
 }
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.gaffer.store.util.ElementCloner;
+import uk.gov.gchq.gaffer.store.util.ElementViewUtil;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * The results of merging the {@link Element}s returned from several graphs.
+ * <p>
+ * Elements are added in batches as each graph returns. Elements of aggregated groups
+ * are aggregated as they are added, grouped by their ingest key, so only one element
+ * per key is held. The {@link View} is applied once, each time the merged elements
+ * are iterated, to copies of the held elements.
+ * </p>
+ * <p>
+ * If more than the maximum number of elements would be held in memory, the elements are
+ * spilled to temporary files, partitioned by their query time key. Every element that could
+ * be aggregated with another element at query time is therefore in the same partition, so
+ * the partitions can be aggregated and have the View applied one at a time. A partition
+ * holding more than the maximum number of elements is split again before it is read, using
+ * a different hash of the query time key. Each temporary file is deleted once it has been
+ * read, so spilled elements can only be iterated once. Any remaining files are deleted when
+ * this is closed.
+ * </p>
+ */
+final class MergedElements implements Iterable<Object>, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MergedElements.class);
+    private static final int MAX_SPLIT_DEPTH = 4;
+
+    private final Schema schema;
+    private final View view;
+    private final int maxElementsInMemory;
+    private final int spillPartitions;
+    private final Set<String> viewGroups;
+    private final Collection<String> aggregatedGroups;
+    private final AggregatorUtil.ToIngestElementKey toIngestKey;
+    private final AggregatorUtil.ToQueryElementKey toQueryKey;
+    private final AggregatorUtil.IngestElementBinaryOperator ingestAggregator;
+    private final ElementCloner cloner = new ElementCloner();
+
+    private final Map<Element, Element> aggregatedElements = new HashMap<>();
+    private final Set<Element> clonedElements = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Element> nonAggregatedElements = new ArrayList<>();
+    private final Set<Path> spillFiles = new LinkedHashSet<>();
+    private List<Partition> partitions;
+    private boolean spilledElementsRead;
+
+    MergedElements(final Schema schema, final View view, final int maxElementsInMemory, final int spillPartitions) {
+        this.schema = schema;
+        this.view = view;
+        this.maxElementsInMemory = maxElementsInMemory;
+        this.spillPartitions = spillPartitions;
+        this.viewGroups = view.getGroups();
+        this.aggregatedGroups = schema.getAggregatedGroups();
+        this.toIngestKey = new AggregatorUtil.ToIngestElementKey(schema);
+        this.toQueryKey = new AggregatorUtil.ToQueryElementKey(schema, view);
+        this.ingestAggregator = new AggregatorUtil.IngestElementBinaryOperator(schema);
+    }
+
+    void add(final Iterable<?> elements) {
+        if (spilledElementsRead) {
+            throw new IllegalStateException("Elements cannot be added after spilled elements have been read");
+        }
+        for (final Object obj : elements) {
+            final Element element = (Element) obj;
+            // Elements not in the View would be removed when the View is applied, so don't hold them
+            if (null == element || !viewGroups.contains(element.getGroup())) {
+                continue;
+            }
+
+            if (aggregatedGroups.contains(element.getGroup())) {
+                final Element key = toIngestKey.apply(element);
+                final Element existing = aggregatedElements.get(key);
+                if (null == existing) {
+                    aggregatedElements.put(key, element);
+                } else {
+                    // The aggregator updates its first argument, which may still be held by the graph that returned it
+                    Element aggregated = existing;
+                    if (!clonedElements.contains(existing)) {
+                        aggregated = cloner.cloneElement(existing, schema);
+                        clonedElements.add(aggregated);
+                    }
+                    aggregatedElements.put(key, ingestAggregator.apply(aggregated, element));
+                }
+            } else {
+                nonAggregatedElements.add(element);
+            }
+
+            if (aggregatedElements.size() + nonAggregatedElements.size() > maxElementsInMemory) {
+                spill();
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        if (null == partitions) {
+            // Query time aggregation and transforms update the elements, so every element is cloned
+            // to allow iterating more than once and to keep the held elements from the caller
+            final Stream<Element> elements = getInMemoryElements()
+                    .map(element -> cloner.cloneElement(element, schema));
+            return (Iterator) ElementViewUtil.applyView(elements, schema, view, false, true).iterator();
+        }
+
+        if (spilledElementsRead) {
+            throw new IllegalStateException("Merged elements spilled to disk can only be iterated once");
+        }
+        if (!aggregatedElements.isEmpty() || !nonAggregatedElements.isEmpty()) {
+            spill();
+        }
+        spilledElementsRead = true;
+        return new PartitionIterator(partitions);
+    }
+
+    @Override
+    public void close() {
+        for (final Path spillFile : spillFiles) {
+            delete(spillFile);
+        }
+        spillFiles.clear();
+        if (null != partitions) {
+            partitions.clear();
+        }
+    }
+
+    private Stream<Element> getInMemoryElements() {
+        return Stream.concat(aggregatedElements.values().stream(), nonAggregatedElements.stream());
+    }
+
+    private void spill() {
+        try {
+            if (null == partitions) {
+                LOGGER.debug("More than {} merged elements, spilling to {} partitions", maxElementsInMemory, spillPartitions);
+                partitions = createPartitions(0);
+            }
+
+            final List<BufferedWriter> writers = openWriters(partitions);
+            try {
+                final Iterator<Element> itr = getInMemoryElements().iterator();
+                while (itr.hasNext()) {
+                    final Element element = itr.next();
+                    write(serialise(element), partitions, writers, getPartition(element, 0));
+                }
+            } finally {
+                closeWriters(writers);
+            }
+        } catch (final IOException e) {
+            close();
+            throw new GafferRuntimeException("Error spilling merged elements to disk, due to: " + e.getMessage(), e);
+        }
+        aggregatedElements.clear();
+        clonedElements.clear();
+        nonAggregatedElements.clear();
+    }
+
+    /**
+     * Splits a partition holding too many elements into new partitions, hashing the
+     * query time key with the depth of the new partitions. The original file is deleted.
+     *
+     * @param partition the partition to split
+     * @return the new partitions
+     */
+    private List<Partition> split(final Partition partition) {
+        final int depth = partition.depth + 1;
+        LOGGER.debug("Merged elements partition holds {} elements, splitting into {} partitions", partition.size, spillPartitions);
+        try {
+            final List<Partition> splitPartitions = createPartitions(depth);
+            final List<BufferedWriter> writers = openWriters(splitPartitions);
+            try (final BufferedReader reader = Files.newBufferedReader(partition.file, StandardCharsets.UTF_8)) {
+                String line = reader.readLine();
+                while (null != line) {
+                    write(line, splitPartitions, writers, getPartition(deserialise(line), depth));
+                    line = reader.readLine();
+                }
+            } finally {
+                closeWriters(writers);
+            }
+            delete(partition.file);
+            return splitPartitions;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Element> read(final Partition partition) {
+        if (partition.size > maxElementsInMemory) {
+            LOGGER.warn("Reading {} merged elements with the same query time key hashes into memory", partition.size);
+        }
+        final List<Element> elements = new ArrayList<>(partition.size);
+        try (final BufferedReader reader = Files.newBufferedReader(partition.file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (null != line) {
+                elements.add(deserialise(line));
+                line = reader.readLine();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        delete(partition.file);
+        return elements;
+    }
+
+    private List<Partition> createPartitions(final int depth) throws IOException {
+        final List<Partition> newPartitions = new ArrayList<>(spillPartitions);
+        for (int i = 0; i < spillPartitions; i++) {
+            final Path spillFile = Files.createTempFile(MergedElements.class.getSimpleName(), ".json");
+            spillFile.toFile().deleteOnExit();
+            spillFiles.add(spillFile);
+            newPartitions.add(new Partition(spillFile, depth));
+        }
+        return newPartitions;
+    }
+
+    private void delete(final Path spillFile) {
+        try {
+            Files.deleteIfExists(spillFile);
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to delete merged elements spill file {}", spillFile, e);
+        }
+        spillFiles.remove(spillFile);
+    }
+
+    private static List<BufferedWriter> openWriters(final List<Partition> partitions) throws IOException {
+        final List<BufferedWriter> writers = new ArrayList<>(partitions.size());
+        try {
+            for (final Partition partition : partitions) {
+                writers.add(Files.newBufferedWriter(partition.file, StandardCharsets.UTF_8, StandardOpenOption.APPEND));
+            }
+        } catch (final IOException e) {
+            closeWriters(writers);
+            throw e;
+        }
+        return writers;
+    }
+
+    private static void closeWriters(final List<BufferedWriter> writers) throws IOException {
+        IOException exception = null;
+        for (final BufferedWriter writer : writers) {
+            try {
+                writer.close();
+            } catch (final IOException e) {
+                exception = e;
+            }
+        }
+        if (null != exception) {
+            throw exception;
+        }
+    }
+
+    private static void write(final String line, final List<Partition> partitions, final List<BufferedWriter> writers, final int index) throws IOException {
+        final BufferedWriter writer = writers.get(index);
+        writer.write(line);
+        writer.newLine();
+        partitions.get(index).size++;
+    }
+
+    private static String serialise(final Element element) throws SerialisationException {
+        return new String(JSONSerialiser.serialise(element), StandardCharsets.UTF_8);
+    }
+
+    private static Element deserialise(final String line) {
+        try {
+            return JSONSerialiser.deserialise(line, Element.class);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Error reading spilled merged elements, due to: " + e.getMessage(), e);
+        }
+    }
+
+    private int getPartition(final Element element, final int depth) {
+        // The query time group-by properties are a subset of the ingest group-by properties
+        // so elements with the same ingest key are also always in the same partition.
+        int hash = toQueryKey.apply(element).hashCode();
+        if (depth > 0) {
+            // Elements in the same partition share the key hash modulo the partition count,
+            // so the hash is mixed with the depth to split them differently
+            hash += depth * 0x9E3779B9;
+            hash ^= hash >>> 16;
+            hash *= 0x85EBCA6B;
+            hash ^= hash >>> 13;
+            hash *= 0xC2B2AE35;
+            hash ^= hash >>> 16;
+        }
+        return Math.floorMod(hash, spillPartitions);
+    }
+
+    /**
+     * A temporary file holding spilled elements, the number of elements in it and
+     * how many times the elements in it have been split.
+     */
+    private static final class Partition {
+        private final Path file;
+        private final int depth;
+        private int size;
+
+        private Partition(final Path file, final int depth) {
+            this.file = file;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * Reads the partitions one at a time, splitting any that hold too many elements,
+     * then aggregates each partition and applies the View to it.
+     */
+    private final class PartitionIterator implements Iterator<Object> {
+        private final Deque<Partition> pending;
+        private Iterator<Element> current = Collections.emptyIterator();
+
+        private PartitionIterator(final List<Partition> partitions) {
+            this.pending = new ArrayDeque<>(partitions);
+            partitions.clear();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                final Partition partition = pending.removeFirst();
+                if (partition.size > maxElementsInMemory && partition.depth < MAX_SPLIT_DEPTH) {
+                    final List<Partition> splitPartitions = split(partition);
+                    for (int i = splitPartitions.size() - 1; i >= 0; i--) {
+                        pending.addFirst(splitPartitions.get(i));
+                    }
+                } else if (partition.size > 0) {
+                    current = ElementViewUtil.applyView(
+                            Streams.toStream(AggregatorUtil.ingestAggregate(read(partition), schema)), schema, view, false, true)
+                            .iterator();
+                } else {
+                    delete(partition.file);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
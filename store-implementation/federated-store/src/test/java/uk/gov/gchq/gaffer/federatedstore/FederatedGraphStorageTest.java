@@ -358,6 +358,41 @@ public class FederatedGraphStorageTest {
         assertThat(graphsBA).containsExactly(graphSerialisableB, graphSerialisableA);
     }
 
+    @Test
+    public void shouldGetIdsByOwnerAuthAndPublicAccess() throws Exception {
+        // Given
+        final GraphSerialisable graphSerialisableC = getGraphSerialisable(GRAPH_ID_ACCUMULO + "C", 3);
+        graphStorage.put(graphSerialisableA, auth1Access);
+        graphStorage.put(graphSerialisableB, new FederatedAccess(singleton(AUTH_2), "otherUser"));
+        graphStorage.put(graphSerialisableC, new FederatedAccess(NULL_GRAPH_AUTHS, "otherUser", true));
+
+        // When
+        final List<String> ownerIds = graphStorage.getAllIds(testUser());
+        final List<String> authIds = graphStorage.getAllIds(new User.Builder().opAuths(AUTH_2).build());
+        final List<String> blankIds = graphStorage.getAllIds(blankUser());
+
+        // Then
+        assertThat(ownerIds).containsExactlyInAnyOrder(GRAPH_ID_A, graphSerialisableC.getGraphId());
+        assertThat(authIds).containsExactlyInAnyOrder(GRAPH_ID_B, graphSerialisableC.getGraphId());
+        assertThat(blankIds).containsExactly(graphSerialisableC.getGraphId());
+    }
+
+    @Test
+    public void shouldGetGraphsChangedByAnotherStorageSharingTheCache() throws Exception {
+        // Given
+        final FederatedGraphStorage otherGraphStorage = new FederatedGraphStorage(CACHE_NAME_SUFFIX);
+        graphStorage.put(graphSerialisableA, auth1Access);
+        assertThat(graphStorage.getAllIds(testUser())).containsExactly(GRAPH_ID_A);
+
+        // When
+        otherGraphStorage.put(graphSerialisableB, auth1Access);
+        otherGraphStorage.remove(GRAPH_ID_A, testUser(), false);
+
+        // Then
+        assertThat(graphStorage.getAllIds(testUser())).containsExactly(GRAPH_ID_B);
+        assertThat(graphStorage.getAll(testUser())).containsExactly(graphSerialisableB);
+    }
+
     @Test
     public void shouldNotAddGraphWhenLibraryThrowsExceptionDuringAdd() throws Exception {
         //given
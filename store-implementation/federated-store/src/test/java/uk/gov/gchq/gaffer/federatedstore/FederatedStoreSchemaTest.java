@@ -31,6 +31,8 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.federatedstore.operation.AddGraph;
 import uk.gov.gchq.gaffer.federatedstore.operation.FederatedOperation;
+import uk.gov.gchq.gaffer.federatedstore.operation.RemoveGraph;
+import uk.gov.gchq.gaffer.federatedstore.schema.MergedSchemaCache;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
@@ -289,6 +291,34 @@ public class FederatedStoreSchemaTest {
         assertThat(schemaFromOperation).isEqualTo(schemaFromStore);
     }
 
+    @Test
+    public void shouldGetCachedSchemaUntilGraphsChange() throws OperationException {
+        // Given
+        addGraphWith(GRAPH_ID_A, STRING_TYPE, PROPERTY_1);
+        final MergedSchemaCache mergedSchemaCache = federatedStore.getMergedSchemaCache();
+
+        // When
+        final Schema schema = federatedStore.execute(new GetSchema.Builder().build(), testContext);
+        final long hitsBefore = mergedSchemaCache.getHitCount();
+        final Schema cachedSchema = federatedStore.execute(new GetSchema.Builder().build(), testContext);
+
+        // Then
+        assertThat(cachedSchema).isSameAs(schema);
+        assertThat(mergedSchemaCache.getHitCount()).isGreaterThan(hitsBefore);
+
+        // When
+        addGraphWith(GRAPH_ID_B, STRING_TYPE, PROPERTY_1, PROPERTY_2);
+        federatedStore.execute(new RemoveGraph.Builder().graphId(GRAPH_ID_B).build(), testContext);
+        final long missesBefore = mergedSchemaCache.getMissCount();
+        final Schema schemaAfterChange = federatedStore.execute(new GetSchema.Builder().build(), testContext);
+
+        // Then
+        assertThat(schemaAfterChange)
+                .isEqualTo(schema)
+                .isNotSameAs(schema);
+        assertThat(mergedSchemaCache.getMissCount()).isGreaterThan(missesBefore);
+    }
+
     @Test
     public void shouldGetBlankSchemaWhenUsingDefaultMethod() throws OperationException {
         // Given
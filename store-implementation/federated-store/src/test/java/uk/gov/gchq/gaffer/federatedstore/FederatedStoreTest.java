@@ -71,6 +71,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
@@ -929,6 +930,21 @@ public class FederatedStoreTest {
                 .withMessageContaining("Failed to instantiate cache");
     }
 
+    @Test
+    public void shouldShutdownGraphExecutionServiceWhenClosed() throws Exception {
+        // Given
+        federatedProperties.setGraphExecutionThreads(2);
+        store.initialise(GRAPH_ID_TEST_FEDERATED_STORE, null, federatedProperties);
+        final ExecutorService graphExecutionService = store.getGraphExecutionService();
+
+        // When
+        store.close();
+
+        // Then
+        assertThat(graphExecutionService.isShutdown()).isTrue();
+        assertThat(store.getGraphExecutionService()).isNull();
+    }
+
     @Test
     public void shouldReuseGraphsAlreadyInCache() throws Exception {
         // Check cache is empty
@@ -65,6 +65,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 
 import static java.util.Arrays.asList;
@@ -580,4 +582,110 @@ public class FederatedOperationHandlerTest {
                 .containsExactlyInAnyOrder(1, 2, 3, null, 4, null, 5);
     }
 
+    @Test
+    public void shouldGetAllResultsFromStoresConcurrently() throws Exception {
+        // Given
+        final FederatedStore federatedStore = getMockFederatedStoreWithGraphExecutionService(0);
+        final FederatedOperation federatedOperation = getFederatedOperation(getPayload());
+        when(federatedStore.getGraphs(testUser, null, federatedOperation)).thenReturn(asList(graph1, graph2, graph3, graph4));
+
+        // When
+        final Object results = new FederatedOperationHandler<Void, Iterable<? extends Element>>().doOperation(federatedOperation, context, federatedStore);
+
+        // Then
+        validateMergeResultsFromFieldObjects(results, output1, output2, output3, output4);
+        federatedStore.getGraphExecutionService().shutdownNow();
+    }
+
+    @Test
+    public void shouldMergeResultsInCompletionOrderWithoutReadingThemOnGraphThreads() throws Exception {
+        // Given
+        final List<Thread> readingThreads = Collections.synchronizedList(new ArrayList<>());
+        final Iterable<Element> lazyOutput1 = () -> {
+            readingThreads.add(Thread.currentThread());
+            return output1.iterator();
+        };
+        final Store slowStore = Mockito.mock(Store.class);
+        given(slowStore.getSchema()).willReturn(new Schema());
+        given(slowStore.getProperties()).willReturn(new StoreProperties());
+        given(slowStore.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(200);
+            return lazyOutput1;
+        });
+        graph1 = getGraphWithMockStore(slowStore);
+        final FederatedStore federatedStore = getMockFederatedStoreWithGraphExecutionService(0);
+        final FederatedOperation federatedOperation = getFederatedOperation(getPayload());
+        when(federatedStore.getGraphs(testUser, null, federatedOperation)).thenReturn(asList(graph1, graph2, graph3));
+
+        // When
+        final Object results = new FederatedOperationHandler<Void, Iterable<? extends Element>>().doOperation(federatedOperation, context, federatedStore);
+
+        // Then
+        // The default merge function puts each update before the results merged so far, so the slow graph is first
+        assertThat((Iterable<Element>) results)
+                .containsExactlyInAnyOrder(output1.iterator().next(), output2.iterator().next(), output3.iterator().next())
+                .first().isEqualTo(output1.iterator().next());
+        assertThat(readingThreads).isNotEmpty().containsOnly(Thread.currentThread());
+        federatedStore.getGraphExecutionService().shutdownNow();
+    }
+
+    @Test
+    public void shouldSkipGraphThatTimesOutWhenSkipFlagSetTrue() throws Exception {
+        // Given
+        graph3 = getGraphWithMockStore(getMockStoreThatNeverReturns());
+        final FederatedStore federatedStore = getMockFederatedStoreWithGraphExecutionService(200);
+        final FederatedOperation federatedOperation = getFederatedOperation(getPayload());
+        federatedOperation.skipFailedFederatedExecution(true);
+        when(federatedStore.getGraphs(testUser, null, federatedOperation)).thenReturn(asList(graph1, graph2, graph3));
+
+        // When
+        final Object results = new FederatedOperationHandler<Void, Iterable<? extends Element>>().doOperation(federatedOperation, context, federatedStore);
+
+        // Then
+        validateMergeResultsFromFieldObjects(results, output1, output2);
+        federatedStore.getGraphExecutionService().shutdownNow();
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenGraphTimesOut() throws Exception {
+        // Given
+        graph3 = getGraphWithMockStore(getMockStoreThatNeverReturns());
+        final FederatedStore federatedStore = getMockFederatedStoreWithGraphExecutionService(200);
+        final FederatedOperation federatedOperation = getFederatedOperation(getPayload());
+        when(federatedStore.getGraphs(testUser, null, federatedOperation)).thenReturn(asList(graph1, graph3));
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
+                .isThrownBy(() -> new FederatedOperationHandler<Void, Iterable<? extends Element>>().doOperation(federatedOperation, context, federatedStore))
+                .withMessageContaining(String.format(FederatedOperationHandler.ERROR_WHILE_RUNNING_OPERATION_ON_GRAPHS_FORMAT, ""))
+                .withStackTraceContaining("Timed out after 200ms");
+        federatedStore.getGraphExecutionService().shutdownNow();
+    }
+
+    private FederatedStore getMockFederatedStoreWithGraphExecutionService(final long timeoutMillis) {
+        final FederatedStoreProperties properties = new FederatedStoreProperties();
+        properties.setGraphExecutionThreads(4);
+        properties.setGraphExecutionTimeoutMillis(timeoutMillis);
+        final ExecutorService graphExecutionService = Executors.newFixedThreadPool(properties.getGraphExecutionThreads());
+
+        final FederatedStore federatedStore = mock(FederatedStore.class);
+        given(federatedStore.getProperties()).willReturn(properties);
+        given(federatedStore.getGraphExecutionService()).willReturn(graphExecutionService);
+        final HashMap mockMap = mock(HashMap.class);
+        given(mockMap.get(any())).willReturn(getDefaultMergeFunction());
+        given(mockMap.getOrDefault(any(), any())).willReturn(getDefaultMergeFunction());
+        given(federatedStore.getStoreConfiguredMergeFunctions()).willReturn(mockMap);
+        return federatedStore;
+    }
+
+    private Store getMockStoreThatNeverReturns() throws OperationException {
+        final Store mockStore = Mockito.mock(Store.class);
+        given(mockStore.getSchema()).willReturn(new Schema());
+        given(mockStore.getProperties()).willReturn(new StoreProperties());
+        given(mockStore.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(Long.MAX_VALUE);
+            return null;
+        });
+        return mockStore;
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.schema;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.GROUP_BASIC_ENTITY;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.basicEntitySchema;
+
+class MergedSchemaCacheTest {
+
+    private static final List<String> GRAPH_IDS = asList("graphA", "graphB");
+
+    @Test
+    void shouldMergeSchemaOnlyOnceForSameGraphsAndCompactFlag() throws Exception {
+        // Given
+        final MergedSchemaCache cache = new MergedSchemaCache();
+        final Schema schema = basicEntitySchema();
+
+        // When
+        final Schema first = cache.get(GRAPH_IDS, true, () -> schema);
+        final Schema second = cache.get(asList("graphA", "graphB"), true, () -> new Schema());
+
+        // Then
+        assertThat(first).isEqualTo(schema);
+        assertThat(second).isEqualTo(schema);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnADifferentCopyOfTheMergedSchemaToEachCaller() throws Exception {
+        // Given
+        final MergedSchemaCache cache = new MergedSchemaCache();
+        final Schema schema = basicEntitySchema();
+
+        // When
+        final Schema first = cache.get(GRAPH_IDS, true, () -> schema);
+        final Schema second = cache.get(GRAPH_IDS, true, () -> schema);
+        final Schema third = cache.get(GRAPH_IDS, true, () -> schema);
+
+        // Then
+        assertThat(first).isNotSameAs(schema).isNotSameAs(second);
+        assertThat(second).isNotSameAs(third).isEqualTo(third);
+        assertThat(first.getEntity(GROUP_BASIC_ENTITY))
+                .isNotSameAs(second.getEntity(GROUP_BASIC_ENTITY));
+    }
+
+    @Test
+    void shouldCacheSchemasSeparatelyByCompactFlag() throws Exception {
+        // Given
+        final MergedSchemaCache cache = new MergedSchemaCache();
+        final Schema compact = new Schema();
+        final Schema original = basicEntitySchema();
+
+        // When
+        cache.get(GRAPH_IDS, true, () -> compact);
+        final Schema result = cache.get(GRAPH_IDS, false, () -> original);
+
+        // Then
+        assertThat(result).isEqualTo(original);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMergeAgainAfterInvalidate() throws Exception {
+        // Given
+        final MergedSchemaCache cache = new MergedSchemaCache();
+        cache.get(GRAPH_IDS, true, () -> new Schema());
+        final Schema updated = basicEntitySchema();
+
+        // When
+        cache.invalidate();
+        final Schema result = cache.get(GRAPH_IDS, true, () -> updated);
+
+        // Then
+        assertThat(result).isEqualTo(updated);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheSchemaMergedWhileInvalidated() throws Exception {
+        // Given
+        final MergedSchemaCache cache = new MergedSchemaCache();
+
+        // When
+        cache.get(GRAPH_IDS, true, () -> {
+            cache.invalidate();
+            return new Schema();
+        });
+
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldMergeAgainWhenGraphCacheVersionChanges() throws Exception {
+        // Given
+        final AtomicReference<String> version = new AtomicReference<>("version1");
+        final MergedSchemaCache cache = new MergedSchemaCache(version::get);
+        cache.get(GRAPH_IDS, true, () -> new Schema());
+        final Schema updated = basicEntitySchema();
+
+        // When
+        version.set("version2");
+        final Schema result = cache.get(GRAPH_IDS, true, () -> updated);
+
+        // Then
+        assertThat(result).isEqualTo(updated);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
@@ -39,10 +39,17 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
 
+import java.io.Closeable;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.ACCUMULO_STORE_SINGLE_USE_PROPERTIES;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.DEST_BASIC;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.GRAPH_ID_ACCUMULO;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.GROUP_BASIC_EDGE;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.PROPERTY_1;
@@ -58,6 +65,7 @@ class ApplyViewToElementsFunctionTest {
 
     public static final Schema SCHEMA = loadSchemaFromJson(SCHEMA_EDGE_BASIC_JSON);
     public static final AccumuloProperties ACCUMULO_PROPERTIES = loadAccumuloStoreProperties(ACCUMULO_STORE_SINGLE_USE_PROPERTIES);
+    public static final String COLUMN_QUALIFIER = "columnQualifier";
 
     @Test
     public void shouldGetFunctioningIteratorOfAccumuloElementRetriever() throws Exception {
@@ -146,6 +154,127 @@ class ApplyViewToElementsFunctionTest {
                 .isEmpty();
     }
 
+    @Test
+    public void shouldAggregateEdgesWhenSpillingToDisk() throws Exception {
+        //given
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction(
+                makeContext(
+                        new View.Builder().edge(GROUP_BASIC_EDGE).build(),
+                        SCHEMA.clone()),
+                1, 2);
+
+        //when
+        Iterable<Object> iterable = null;
+        for (int i = 0; i < 5; i++) {
+            iterable = function.apply(Arrays.asList(edgeBasic(), edgeOther(1)), iterable);
+        }
+
+        //then
+        final Edge edge5 = edgeBasic();
+        edge5.putProperty(PROPERTY_1, 5);
+        final Edge other5 = edgeOther(1);
+        other5.putProperty(PROPERTY_1, 5);
+
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactlyInAnyOrder(edge5, other5);
+        ((Closeable) iterable).close();
+    }
+
+    @Test
+    public void shouldSplitSpilledPartitionsHoldingTooManyElements() throws Exception {
+        //given
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction(
+                makeContext(
+                        new View.Builder().edge(GROUP_BASIC_EDGE).build(),
+                        SCHEMA.clone()),
+                2, 2);
+        final List<Edge> edges = IntStream.range(0, 20)
+                .mapToObj(ApplyViewToElementsFunctionTest::edgeOther)
+                .collect(Collectors.toList());
+
+        //when
+        final Iterable<Object> iterable = function.apply(edges, function.apply(edges, null));
+
+        //then
+        final List<Edge> expected = IntStream.range(0, 20)
+                .mapToObj(i -> {
+                    final Edge edge = edgeOther(i);
+                    edge.putProperty(PROPERTY_1, 2);
+                    return edge;
+                })
+                .collect(Collectors.toList());
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactlyInAnyOrderElementsOf(expected);
+        assertThatIllegalStateException()
+                .isThrownBy(iterable::iterator)
+                .withMessage("Merged elements spilled to disk can only be iterated once");
+        ((Closeable) iterable).close();
+    }
+
+    @Test
+    public void shouldApplyQueryTimeAggregationOnceWhenIteratedMoreThanOnce() throws Exception {
+        //given
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction().createFunctionWithContext(
+                makeContext(
+                        //Aggregate edges with different group by values
+                        new View.Builder().edge(GROUP_BASIC_EDGE,
+                                new ViewElementDefinition.Builder()
+                                        .groupBy()
+                                        .build()).build(),
+                        SCHEMA.clone()));
+        final List<Edge> graph1Results = Arrays.asList(edgeOther(1));
+        final List<Edge> graph2Results = Arrays.asList(edgeOther(2));
+
+        //when
+        final Iterable<Object> iterable = function.apply(graph2Results, function.apply(graph1Results, null));
+
+        //then
+        final Edge expected = edgeOther(3);
+        expected.putProperty(PROPERTY_1, 2);
+
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactly(expected);
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactly(expected);
+    }
+
+    @Test
+    public void shouldReturnCopiesOfHeldElementsWhenIteratedMoreThanOnce() throws Exception {
+        //given
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction().createFunctionWithContext(
+                makeContext(
+                        new View.Builder().edge(GROUP_BASIC_EDGE).build(),
+                        SCHEMA.clone()));
+        final Edge graph1Edge = edgeOther(1);
+        final Edge graph2Edge = edgeOther(2);
+        final Iterable<Object> iterable = function.apply(Arrays.asList(graph2Edge), function.apply(Arrays.asList(graph1Edge), null));
+
+        //when
+        for (final Object element : iterable) {
+            ((Element) element).putProperty(PROPERTY_1, 10);
+        }
+
+        //then
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactlyInAnyOrder(edgeOther(1), edgeOther(2));
+        assertThat(graph1Edge.getProperty(PROPERTY_1)).isEqualTo(1);
+    }
+
+    private static Edge edgeOther(final int columnQualifier) {
+        return new Edge.Builder()
+                .source("otherSource")
+                .dest(DEST_BASIC)
+                .group(GROUP_BASIC_EDGE)
+                .property(PROPERTY_1, 1)
+                .property(COLUMN_QUALIFIER, columnQualifier)
+                .build();
+    }
+
     private static AccumuloAllElementsRetriever[] getRetrievers(final AccumuloStore accumuloStore) throws IteratorSettingException, StoreException {
         return new AccumuloAllElementsRetriever[]{
                 new AccumuloAllElementsRetriever(accumuloStore, new GetAllElements.Builder().view(getViewForEdgeBasic()).build(), blankUser()),
@@ -56,9 +56,11 @@ import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.util.Arrays.asList;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * An implementation of {@link Store} that uses any class that implements Java's {@link java.util.Map} interface to
@@ -87,6 +89,7 @@ public class MapStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(MapStore.class);
     private static MapImpl staticMapImpl;
     private MapImpl mapImpl;
+    private ForkJoinPool parallelPool;
 
     public static void resetStaticMap() {
         staticMapImpl = null;
@@ -103,12 +106,43 @@ public class MapStore extends Store {
 
         // Initialise maps
         mapImpl = createMapImpl();
+
+        if (nonNull(parallelPool)) {
+            parallelPool.shutdownNow();
+        }
+        final int parallelism = getProperties().getParallelism();
+        parallelPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
     }
 
     public MapImpl getMapImpl() {
         return mapImpl;
     }
 
+    /**
+     * Get the pool used to run full scans of the store in parallel.
+     *
+     * @return the pool, or null if {@link MapStoreProperties#getParallelism()} is not greater than 1
+     */
+    public ForkJoinPool getParallelPool() {
+        return parallelPool;
+    }
+
+    /**
+     * Stops the pool used for parallel full scans and closes the maps, unless
+     * they are the static maps shared with other stores.
+     */
+    @Override
+    public void close() {
+        if (nonNull(parallelPool)) {
+            parallelPool.shutdownNow();
+            parallelPool = null;
+        }
+        if (nonNull(mapImpl) && mapImpl != staticMapImpl) {
+            mapImpl.close();
+        }
+        super.close();
+    }
+
     /**
      * Get the traits supported by this Map Store.
      * This method is for internal Map Store use
@@ -40,6 +40,32 @@ public class MapStoreProperties extends StoreProperties {
     public static final String STATIC_MAP = "gaffer.store.mapstore.static";
     public static final String STATIC_MAP_DEFAULT = "false";
 
+    /**
+     * Property name for enabling the concurrent mode of the MapStore. When
+     * enabled the underlying maps are created as concurrent maps and
+     * aggregated elements are merged under a per group lock, allowing
+     * multiple ingest and query threads to use the same store.
+     */
+    public static final String CONCURRENT = "gaffer.store.mapstore.concurrent";
+    public static final String CONCURRENT_DEFAULT = "false";
+
+    /**
+     * Property name for the number of threads used for full scans of the
+     * MapStore, such as GetAllElements and CountAllElementsDefaultView. If the
+     * value is greater than 1 then the map of each group is split into this
+     * many partitions, which are processed in parallel on a fork join pool.
+     */
+    public static final String PARALLELISM = "gaffer.store.mapstore.parallelism";
+    public static final int PARALLELISM_DEFAULT = 1;
+
+    /**
+     * Property name for how long, in milliseconds, a parallel full scan waits for
+     * its results to be read before it is stopped. This stops scans that are only
+     * partly read, and never closed, from holding threads in the fork join pool.
+     */
+    public static final String PARALLEL_CONSUMER_TIMEOUT_MILLIS = "gaffer.store.mapstore.parallelism.consumerTimeoutMillis";
+    public static final long PARALLEL_CONSUMER_TIMEOUT_MILLIS_DEFAULT = 300000;
+
     /**
      * Property name for the ingest buffer size. If the value is set to less
      * than 1 then
@@ -123,6 +149,40 @@ public class MapStoreProperties extends StoreProperties {
         set(STATIC_MAP, Boolean.toString(staticMap));
     }
 
+    public boolean isConcurrent() {
+        return Boolean.parseBoolean(get(CONCURRENT, CONCURRENT_DEFAULT));
+    }
+
+    public void setConcurrent(final boolean concurrent) {
+        set(CONCURRENT, Boolean.toString(concurrent));
+    }
+
+    public int getParallelism() {
+        final String parallelism = get(PARALLELISM, null);
+        if (null == parallelism) {
+            return PARALLELISM_DEFAULT;
+        }
+
+        return Integer.parseInt(parallelism);
+    }
+
+    public void setParallelism(final int parallelism) {
+        set(PARALLELISM, String.valueOf(parallelism));
+    }
+
+    public long getParallelConsumerTimeoutMillis() {
+        final String timeout = get(PARALLEL_CONSUMER_TIMEOUT_MILLIS, null);
+        if (null == timeout) {
+            return PARALLEL_CONSUMER_TIMEOUT_MILLIS_DEFAULT;
+        }
+
+        return Long.parseLong(timeout);
+    }
+
+    public void setParallelConsumerTimeoutMillis(final long timeoutMillis) {
+        set(PARALLEL_CONSUMER_TIMEOUT_MILLIS, String.valueOf(timeoutMillis));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
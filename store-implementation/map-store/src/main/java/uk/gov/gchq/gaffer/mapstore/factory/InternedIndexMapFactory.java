@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.mapstore.index.ElementIndex;
+import uk.gov.gchq.gaffer.mapstore.index.InternedVertexElementIndex;
+
+/**
+ * A {@link SimpleMapFactory} that indexes elements using an {@link InternedVertexElementIndex}
+ * rather than {@link uk.gov.gchq.gaffer.mapstore.multimap.MultiMap}s keyed by entity and edge seeds.
+ * This significantly reduces the memory used by the index for graphs with many edges.
+ */
+public class InternedIndexMapFactory extends SimpleMapFactory {
+
+    @Override
+    public ElementIndex getElementIndex(final String entityIdMapName, final String edgeIdMapName) {
+        return new InternedVertexElementIndex(isConcurrent());
+    }
+}
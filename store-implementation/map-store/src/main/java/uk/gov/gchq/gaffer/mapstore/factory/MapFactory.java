@@ -16,7 +16,11 @@
 package uk.gov.gchq.gaffer.mapstore.factory;
 
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.index.ElementIndex;
+import uk.gov.gchq.gaffer.mapstore.index.MultiMapElementIndex;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
@@ -64,6 +68,21 @@ public interface MapFactory {
      */
     <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass);
 
+    /**
+     * Retrieve the {@link ElementIndex} used to look up elements by their ids.
+     *
+     * By default the index is backed by the two named {@link MultiMap}s.
+     *
+     * @param entityIdMapName the name of the multi map from entity ids to elements
+     * @param edgeIdMapName the name of the multi map from edge ids to elements
+     * @return the requested {@link ElementIndex} object
+     */
+    default ElementIndex getElementIndex(final String entityIdMapName, final String edgeIdMapName) {
+        return new MultiMapElementIndex(
+                getMultiMap(entityIdMapName, EntityId.class, Element.class),
+                getMultiMap(edgeIdMapName, EdgeId.class, Element.class));
+    }
+
     /**
      * Update a value associated with a key in a specified map object.
      *
@@ -82,6 +101,14 @@ public interface MapFactory {
      */
     void clear();
 
+    /**
+     * Release any resources held by the Maps, such as open files. The Maps
+     * should not be used after the factory is closed.
+     */
+    default void close() {
+        // no action required.
+    }
+
     /**
      * Clone an element.
      *
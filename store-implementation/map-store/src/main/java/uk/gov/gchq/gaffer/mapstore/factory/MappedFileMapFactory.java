@@ -0,0 +1,286 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.index.ElementIndex;
+import uk.gov.gchq.gaffer.mapstore.index.MatchedVertexElementIndex;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.MappedFileMap;
+import uk.gov.gchq.gaffer.mapstore.utils.MappedFileMultiMap;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.EdgeIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.EntityIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.GroupedPropertiesSerialiser;
+import uk.gov.gchq.gaffer.store.util.ElementCloner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A {@link MapFactory} that creates {@link MappedFileMap}s, so the elements in a
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} are held off heap in memory mapped
+ * files rather than as Java objects. This allows graphs larger than the Java heap to
+ * be held and, if a directory is configured, the graph to be reloaded when the store
+ * is restarted.
+ * <p>
+ * Keys and values are serialised with the serialisers in the schema, so the vertex
+ * and all property serialisers must be {@link ToBytesSerialiser}s. Any missing
+ * serialisers are added using the default serialisers. The vertex and group-by
+ * property serialisers must always serialise equal values to the same bytes. As with
+ * other stores that serialise properties, a null property may be read back as the
+ * value its serialiser deserialises empty bytes to.
+ * <p>
+ * The following store properties are used:
+ * <ul>
+ * <li>{@value #DIRECTORY} - the directory to hold the map files. If not set then a
+ * new temporary directory is used, which is deleted when the factory is closed.</li>
+ * <li>{@value #SEGMENT_SIZE} - the size in bytes of the memory mapped segments of the
+ * data files. Each serialised element must fit within a segment. The index multi
+ * maps store each value as a separate record, so a vertex may have any number of
+ * elements.</li>
+ * <li>{@value #INDEX_CAPACITY} - the initial number of slots in the hash index of each map.</li>
+ * </ul>
+ * <p>
+ * The maps are not compacted. Aggregating an element into a larger value appends a
+ * new record and leaves the old one in the data file, so the files of a graph that is
+ * updated in place keep growing until the store is cleared. Clearing the factory
+ * clears the maps, so their files are reused from the start, and closes them.
+ */
+public class MappedFileMapFactory implements MapFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedFileMapFactory.class);
+
+    public static final String DIRECTORY = "gaffer.store.mapstore.map.mapped.directory";
+    public static final String SEGMENT_SIZE = "gaffer.store.mapstore.map.mapped.segment.size";
+    public static final String SEGMENT_SIZE_DEFAULT = String.valueOf(64 * 1024 * 1024);
+    public static final String INDEX_CAPACITY = "gaffer.store.mapstore.map.mapped.index.capacity";
+    public static final String INDEX_CAPACITY_DEFAULT = "1024";
+
+    private final ElementCloner cloner = new ElementCloner();
+    private final Map<String, MappedFileMap> maps = new HashMap<>();
+    private final Map<String, MappedFileMultiMap> multiMaps = new HashMap<>();
+    private final Map<Class, ToBytesSerialiser> serialisers = new HashMap<>();
+
+    private Path directory;
+    private int segmentSize;
+    private int indexCapacity;
+    private boolean temporaryDirectory;
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        final Schema optimisedSchema = new SchemaOptimiser().optimise(schema, false);
+        validateSerialisers(optimisedSchema);
+
+        serialisers.put(Element.class, new KeyElementSerialiser(optimisedSchema));
+        serialisers.put(GroupedProperties.class, new ValueGroupedPropertiesSerialiser(optimisedSchema));
+        serialisers.put(EntityId.class, new EntityIdSerialiser(optimisedSchema));
+        serialisers.put(EdgeId.class, new EdgeIdSerialiser(optimisedSchema));
+        serialisers.put(Long.class, new CompactRawLongSerialiser());
+        serialisers.put(Integer.class, new CompactRawIntegerSerialiser());
+
+        segmentSize = Integer.parseInt(properties.get(SEGMENT_SIZE, SEGMENT_SIZE_DEFAULT));
+        indexCapacity = Integer.parseInt(properties.get(INDEX_CAPACITY, INDEX_CAPACITY_DEFAULT));
+        final String directoryName = properties.get(DIRECTORY);
+        try {
+            if (null == directoryName) {
+                directory = Files.createTempDirectory("gaffer-mapstore");
+                temporaryDirectory = true;
+                LOGGER.info("{} is not set, so the maps will be held in temporary directory {}", DIRECTORY, directory);
+            } else {
+                directory = Files.createDirectories(Paths.get(directoryName));
+                temporaryDirectory = false;
+            }
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to create map directory: " + directoryName, e);
+        }
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return maps.computeIfAbsent(mapName, n -> createMap(n, getSerialiser(keyClass), getSerialiser(valueClass)));
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new MappedFileMultiMap<>(directory, getFileName(n),
+                getSerialiser(keyClass), getSerialiser(valueClass), segmentSize, indexCapacity));
+    }
+
+    @Override
+    public ElementIndex getElementIndex(final String entityIdMapName, final String edgeIdMapName) {
+        return new MatchedVertexElementIndex(
+                getMultiMap(entityIdMapName, EntityId.class, Element.class),
+                getMultiMap(edgeIdMapName, EdgeId.class, Element.class));
+    }
+
+    @Override
+    public void clear() {
+        maps.values().forEach(MappedFileMap::clear);
+        multiMaps.values().forEach(MappedFileMultiMap::clear);
+        closeMaps();
+    }
+
+    /**
+     * Closes the files of all the maps. If the maps were held in a temporary
+     * directory, as {@value #DIRECTORY} was not set, the directory is deleted.
+     */
+    @Override
+    public void close() {
+        closeMaps();
+        if (temporaryDirectory && null != directory) {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        return cloner.cloneElement(element, schema);
+    }
+
+    protected Path getDirectory() {
+        return directory;
+    }
+
+    private void closeMaps() {
+        final List<Closeable> closeables = new ArrayList<>(maps.values());
+        closeables.addAll(multiMaps.values());
+        maps.clear();
+        multiMaps.clear();
+        for (final Closeable closeable : closeables) {
+            try {
+                closeable.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to close memory mapped map", e);
+            }
+        }
+    }
+
+    private <K, V> MappedFileMap<K, V> createMap(final String mapName,
+                                                 final ToBytesSerialiser<K> keySerialiser,
+                                                 final ToBytesSerialiser<V> valueSerialiser) {
+        return new MappedFileMap<>(directory, getFileName(mapName), keySerialiser, valueSerialiser, segmentSize, indexCapacity);
+    }
+
+    private <T> ToBytesSerialiser<T> getSerialiser(final Class<T> clazz) {
+        final ToBytesSerialiser<T> serialiser = serialisers.get(clazz);
+        if (null == serialiser) {
+            throw new IllegalArgumentException("Unable to create a memory mapped map of " + clazz.getName());
+        }
+        return serialiser;
+    }
+
+    private static void deleteDirectory(final Path path) {
+        try (final Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (final IOException e) {
+                    LOGGER.warn("Unable to delete map file {}", file, e);
+                }
+            });
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to delete map directory {}", path, e);
+        }
+    }
+
+    private static String getFileName(final String mapName) {
+        // Map names contain the element group, so are not guaranteed to be valid file names
+        return mapName.replaceAll("[^A-Za-z0-9_.-]", "_") + "-" + Integer.toHexString(mapName.hashCode());
+    }
+
+    private static void validateSerialisers(final Schema schema) {
+        if (!(schema.getVertexSerialiser() instanceof ToBytesSerialiser)) {
+            throw new IllegalArgumentException("Vertex serialiser must be a " + ToBytesSerialiser.class.getSimpleName()
+                    + " to store elements in memory mapped maps");
+        }
+
+        for (final Map.Entry<String, TypeDefinition> entry : schema.getTypes().entrySet()) {
+            final Serialiser serialiser = entry.getValue().getSerialiser();
+            if (null != serialiser && !(serialiser instanceof ToBytesSerialiser)) {
+                throw new IllegalArgumentException("Serialiser for type " + entry.getKey() + " must be a "
+                        + ToBytesSerialiser.class.getSimpleName() + " to store elements in memory mapped maps");
+            }
+        }
+    }
+
+    /**
+     * Serialises the element keys of the maps. The keys of aggregated groups only hold
+     * the group-by properties, so any other properties are removed when deserialising.
+     */
+    private static final class KeyElementSerialiser extends ElementSerialiser {
+        private static final long serialVersionUID = 2816532372945716830L;
+
+        private KeyElementSerialiser(final Schema schema) {
+            super(schema);
+        }
+
+        @Override
+        public Element deserialise(final byte[] bytes) throws SerialisationException {
+            final Element element = super.deserialise(bytes);
+            final SchemaElementDefinition elementDefinition = schema.getElement(element.getGroup());
+            if (elementDefinition.isAggregate()) {
+                element.getProperties().keySet().retainAll(elementDefinition.getGroupBy());
+            }
+            return element;
+        }
+    }
+
+    /**
+     * Serialises the aggregated properties of the maps, which never hold the group-by
+     * properties, so these are removed when deserialising.
+     */
+    private static final class ValueGroupedPropertiesSerialiser extends GroupedPropertiesSerialiser {
+        private static final long serialVersionUID = -3180530236571936405L;
+
+        private ValueGroupedPropertiesSerialiser(final Schema schema) {
+            super(schema);
+        }
+
+        @Override
+        public GroupedProperties deserialise(final byte[] bytes) throws SerialisationException {
+            final GroupedProperties properties = super.deserialise(bytes);
+            properties.keySet().removeAll(schema.getElement(properties.getGroup()).getGroupBy());
+            return properties;
+        }
+    }
+}
@@ -19,14 +19,10 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
-import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -74,7 +70,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                     batch.add(mapImpl.cloneElement(element, schema));
                     count++;
                     if (count >= bufferSize) {
-                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                        addBatch(mapImpl, schema, aggregateBatch(mapImpl, schema, batch));
                         batch.clear();
                         count = 0;
                     }
@@ -82,19 +78,28 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
 
             if (count > 0) {
-                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                addBatch(mapImpl, schema, aggregateBatch(mapImpl, schema, batch));
             }
         }
     }
 
+    private Iterable<? extends Element> aggregateBatch(final MapImpl mapImpl, final Schema schema, final List<Element> batch) {
+        if (mapImpl.isConcurrent()) {
+            // The schema ingest aggregators are shared and not thread safe, so in concurrent
+            // mode the batch is only aggregated whilst merging into the map under the group lock.
+            return batch;
+        }
+        return AggregatorUtil.ingestAggregate(batch, schema);
+    }
+
     private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) {
         for (final Element element : elements) {
             if (null != element) {
                 final Element elementForIndexing = addElement(element, schema, mapImpl);
 
-                // Update entityIdToElements and edgeIdToElements if index required
+                // Update the element index if required
                 if (mapImpl.isMaintainIndex()) {
-                    updateElementIndex(elementForIndexing, mapImpl);
+                    mapImpl.addIndex(elementForIndexing);
                 }
             }
         }
@@ -141,24 +146,4 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         mapImpl.addNonAggElement(elementClone);
         return elementClone;
     }
-
-    private void updateElementIndex(final Element element, final MapImpl mapImpl) {
-        if (element instanceof Entity) {
-            final Entity entity = (Entity) element;
-            final EntitySeed entitySeed = new EntitySeed(entity.getVertex());
-            mapImpl.addIndex(entitySeed, element);
-        } else {
-            final Edge edge = (Edge) element;
-            edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeSeed.MatchedVertex.SOURCE);
-            final EntitySeed sourceEntitySeed = new EntitySeed(edge.getSource());
-            mapImpl.addIndex(sourceEntitySeed, edge);
-
-            final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeSeed.MatchedVertex.DESTINATION, edge.getProperties());
-            final EntitySeed destinationEntitySeed = new EntitySeed(edge.getDestination());
-            mapImpl.addIndex(destinationEntitySeed, destMatchedEdge);
-
-            final EdgeSeed edgeSeed = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
-            mapImpl.addIndex(edgeSeed, edge);
-        }
-    }
 }
@@ -26,6 +26,8 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 /**
@@ -45,6 +47,17 @@ public class CountAllElementsDefaultViewHandler implements OutputOperationHandle
         final Schema schema = mapStore.getSchema();
         final boolean supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
 
+        final ForkJoinPool parallelPool = mapStore.getParallelPool();
+        if (null != parallelPool) {
+            final List<Stream<Element>> partitions = mapStore.getMapImpl()
+                    .getAllElementPartitions(schema.getGroups(), mapStore.getProperties().getParallelism());
+            // Running the parallel stream from within the pool means the partitions are counted on the pool
+            return parallelPool.submit(() -> partitions.parallelStream()
+                    .mapToLong(partition -> (supportsVisibility ? GetElementsUtil.applyVisibilityFilter(partition, schema, user) : partition).count())
+                    .sum())
+                    .join();
+        }
+
         Stream<Element> elementStream = Stream.concat(
                 mapStore.getMapImpl().getAllAggElements(schema.getGroups()),
                 mapStore.getMapImpl().getAllNonAggElements(schema.getGroups()));
@@ -16,6 +16,7 @@
 package uk.gov.gchq.gaffer.mapstore.impl;
 
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -27,7 +28,11 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 /**
@@ -49,12 +54,20 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
         return new AllElementsIterable(mapStore.getMapImpl(), operation, mapStore, context.getUser());
     }
 
-    private static class AllElementsIterable implements Iterable<Element> {
+    /**
+     * The elements of a {@link GetAllElements}. Closing this stops any parallel
+     * scans started by its iterators.
+     */
+    private static class AllElementsIterable implements Iterable<Element>, Closeable {
         private final MapImpl mapImpl;
         private final GetAllElements getAllElements;
         private final Schema schema;
         private final User user;
         private final boolean supportsVisibility;
+        private final ForkJoinPool parallelPool;
+        private final int parallelism;
+        private final long consumerTimeoutMillis;
+        private final List<ParallelElementsIterable> parallelScans = new ArrayList<>();
 
         AllElementsIterable(final MapImpl mapImpl,
                             final GetAllElements getAllElements,
@@ -65,22 +78,53 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
             this.schema = mapStore.getSchema();
             this.user = user;
             this.supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
+            this.parallelPool = mapStore.getParallelPool();
+            this.parallelism = mapStore.getProperties().getParallelism();
+            this.consumerTimeoutMillis = mapStore.getProperties().getParallelConsumerTimeoutMillis();
         }
 
         @Override
         public Iterator<Element> iterator() {
-            Stream<Element> elements = mapImpl.getAllElements(getAllElements.getView().getGroups());
+            final View view = getAllElements.getView();
+            // Query time aggregation needs all the elements of a group, so cannot be split across partitions
+            if (null != parallelPool && GetElementsUtil.getQueryAggregatedGroups(schema, view).isEmpty()) {
+                final ParallelElementsIterable parallelScan = new ParallelElementsIterable(
+                        parallelPool,
+                        () -> mapImpl.getAllElementPartitions(view.getGroups(), parallelism),
+                        // The view filters and transformers are not thread safe, so each partition uses its own copy
+                        partition -> applyView(partition, view.clone()),
+                        consumerTimeoutMillis);
+                synchronized (parallelScans) {
+                    parallelScans.add(parallelScan);
+                }
+                return parallelScan.iterator();
+            }
+
+            return applyView(mapImpl.getAllElements(view.getGroups()), view).iterator();
+        }
+
+        @Override
+        public void close() {
+            synchronized (parallelScans) {
+                parallelScans.forEach(ParallelElementsIterable::close);
+                parallelScans.clear();
+            }
+        }
+
+        private Stream<Element> applyView(final Stream<Element> allElements, final View view) {
+            Stream<Element> elements = allElements;
             if (this.supportsVisibility) {
                 elements = GetElementsUtil.applyVisibilityFilter(elements, schema, user);
             }
-            elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
+            elements = GetElementsUtil.applyDirectedTypeFilter(elements, view.hasEdges(), getAllElements.getDirectedType());
             elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
+            // Each element key is held once in the MapImpl, so only query time group-by changes need aggregating
+            elements = GetElementsUtil.applyView(elements, schema, view, false, true);
             elements = elements.map(element -> {
-                ViewUtil.removeProperties(getAllElements.getView(), element);
+                ViewUtil.removeProperties(view, element);
                 return element;
             });
-            return elements.iterator();
+            return elements;
         }
     }
 }
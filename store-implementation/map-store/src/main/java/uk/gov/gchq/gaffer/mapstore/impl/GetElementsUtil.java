@@ -26,18 +26,16 @@ import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityP
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
-import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.store.schema.Schema;
-import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.gaffer.store.util.ElementViewUtil;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Collection;
@@ -45,9 +43,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * Utility methods used by the handlers for the {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}
@@ -174,53 +170,37 @@ public final class GetElementsUtil {
     public static Stream<Element> applyView(final Stream<Element> elementStream,
                                             final Schema schema,
                                             final View view) {
-        return applyView(elementStream, schema, view, false);
+        return ElementViewUtil.applyView(elementStream, schema, view);
     }
 
     public static Stream<Element> applyView(final Stream<Element> elementStream,
                                             final Schema schema,
                                             final View view,
                                             final boolean includeMatchedVertex) {
-        final Set<String> viewGroups = view.getGroups();
-        Stream<Element> stream = elementStream;
-        // Check group is valid
-        if (!view.getEntityGroups().equals(schema.getEntityGroups())
-                || !view.getEdgeGroups().equals(schema.getEdgeGroups())) {
-            stream = stream.filter(e -> viewGroups.contains(e.getGroup()));
-        }
-
-        // Apply pre-aggregation filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPreAggregationFilter() == null || ved.getPreAggregationFilter().test(e);
-        });
-
-        // Apply aggregation
-        final Iterable<Element> iterable = AggregatorUtil.queryAggregate(stream.collect(Collectors.toList()), schema, view, includeMatchedVertex);
-        stream = StreamSupport.stream(iterable.spliterator(), false);
-
-        // Apply post-aggregation filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostAggregationFilter() == null || ved.getPostAggregationFilter().test(e);
-        });
-
-        // Apply transform
-        stream = stream.map(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            final ElementTransformer transformer = ved.getTransformer();
-            if (transformer != null) {
-                transformer.apply(e);
-            }
-            return e;
-        });
+        return ElementViewUtil.applyView(elementStream, schema, view, includeMatchedVertex);
+    }
 
-        // Apply post transform filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostTransformFilter() == null || ved.getPostTransformFilter().test(e);
-        });
+    /**
+     * Apply a {@link View} to a stream of elements.
+     *
+     * @param elementStream        the elements
+     * @param schema               the schema
+     * @param view                 the view to apply
+     * @param includeMatchedVertex true if the matched vertex of Edges should be used when aggregating
+     * @param distinctElements     true if no two elements have the same ingest group-by key, such as
+     *                             all the elements held in the {@link MapImpl}
+     * @return the elements with the view applied
+     * @see ElementViewUtil#applyView(Stream, Schema, View, boolean, boolean)
+     */
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view,
+                                            final boolean includeMatchedVertex,
+                                            final boolean distinctElements) {
+        return ElementViewUtil.applyView(elementStream, schema, view, includeMatchedVertex, distinctElements);
+    }
 
-        return stream;
+    static Set<String> getQueryAggregatedGroups(final Schema schema, final View view) {
+        return ElementViewUtil.getQueryAggregatedGroups(schema, view);
     }
 }
@@ -24,13 +24,12 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
-import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
-import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.mapstore.index.ElementIndex;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -38,14 +37,19 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Map data store implementation use by the Gaffer {@link uk.gov.gchq.gaffer.mapstore.MapStore}
  * class.
  * <p>
  * This class can be thought of as an analogue to a conventional database. Internally,
- * different {@link Map} and {@link MultiMap} instances are used to keep track of
+ * different {@link Map} instances and an {@link ElementIndex} are used to keep track of
  * the stored elements and the relationships between those elements. This data store
  * is then abstracted again as a Gaffer {@link uk.gov.gchq.gaffer.store.Store} (by
  * the {@link uk.gov.gchq.gaffer.mapstore.MapStore} class) to give Gaffer-specific
@@ -55,6 +59,12 @@ import java.util.stream.Stream;
  * handlers for the {@link uk.gov.gchq.gaffer.mapstore.MapStore} to be placed in the
  * same package and get access to the maps, without exposing the internal state of
  * the MapStore to classes outside of this package.
+ * <p>
+ * If {@link MapStoreProperties#isConcurrent()} is enabled then the maps are created
+ * as concurrent maps and each group is given its own lock. The schema ingest
+ * aggregators are not thread safe, so updates to, and reads of, the aggregated
+ * properties of a group are done whilst holding the lock for that group. Elements
+ * in different groups can therefore be ingested and queried in parallel.
  */
 public class MapImpl {
     public static final String AGG_ELEMENTS = "aggElements";
@@ -75,22 +85,24 @@ public class MapImpl {
     private final Map<String, Map<Element, Long>> nonAggElements = new HashMap<>();
 
     /**
-     * entityIdToElements is a map from an EntityId to the element key from aggElements or nonAggElements
-     */
-    private final MultiMap<EntityId, Element> entityIdToElements;
-
-    /**
-     * edgeIdToElements is a map from an EdgeId to the element key from aggElements or nonAggElements
+     * elementIndex maps from an EntityId or EdgeId to the element keys from aggElements or nonAggElements
      */
-    private final MultiMap<EdgeId, Element> edgeIdToElements;
+    private final ElementIndex elementIndex;
 
     private final MapFactory mapFactory;
     private final Map<String, Set<String>> groupToGroupByProperties = new HashMap<>();
     private final Map<String, Set<String>> groupToNonGroupByProperties = new HashMap<>();
     private final Set<String> groupsWithNoAggregation = new HashSet<>();
+
+    /**
+     * groupLocks maps from an Element group to the lock guarding the aggregated elements
+     * of that group. This is only populated if the store is running in concurrent mode.
+     */
+    private final Map<String, Lock> groupLocks = new HashMap<>();
     private final List<String> aggregatedGroups;
     private final Schema schema;
     private final boolean maintainIndex;
+    private final boolean concurrent;
     private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
@@ -98,18 +110,20 @@ public class MapImpl {
         propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
+        concurrent = mapStoreProperties.isConcurrent();
 
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
             nonAggElements.put(group, mapFactory.getMap(group + "|" + NON_AGG_ELEMENTS, Element.class, Long.class));
+            if (concurrent) {
+                groupLocks.put(group, new ReentrantLock());
+            }
         }
 
         if (maintainIndex) {
-            entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
-            edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
+            elementIndex = mapFactory.getElementIndex(ENTITY_ID_TO_ELEMENTS, EDGE_ID_TO_ELEMENTS);
         } else {
-            entityIdToElements = null;
-            edgeIdToElements = null;
+            elementIndex = null;
         }
 
         this.aggregatedGroups = schema.getAggregatedGroups();
@@ -121,38 +135,36 @@ public class MapImpl {
         aggElements.clear();
         nonAggElements.clear();
         if (maintainIndex) {
-            entityIdToElements.clear();
-            edgeIdToElements.clear();
+            elementIndex.clear();
         }
     }
 
+    /**
+     * Release any resources held by the maps. The maps should not be used
+     * after they are closed.
+     */
+    public void close() {
+        mapFactory.close();
+    }
+
     void addNonAggElement(final Element element) {
         nonAggElements.get(element.getGroup()).merge(element, 1L, (a, b) -> a + b);
     }
 
     void addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
-        if (null != aggElements.get(elementWithGroupByProperties.getGroup())) {
-            aggElements.get(elementWithGroupByProperties.getGroup())
-                    .merge(elementWithGroupByProperties, properties, propertyAggregator);
+        final String group = elementWithGroupByProperties.getGroup();
+        final Map<Element, GroupedProperties> map = aggElements.get(group);
+        if (null != map) {
+            withGroupLock(group, () -> map.merge(elementWithGroupByProperties, properties, propertyAggregator));
         }
     }
 
     Collection<Element> lookup(final EntityId entitId) {
-        Collection<Element> results = entityIdToElements.get(entitId);
-        if (null == results) {
-            results = Collections.emptySet();
-        }
-
-        return results;
+        return elementIndex.get(entitId);
     }
 
     Collection<Element> lookup(final EdgeId edgeId) {
-        Collection<Element> results = edgeIdToElements.get(edgeId);
-        if (null == results) {
-            results = Collections.emptySet();
-        }
-
-        return results;
+        return elementIndex.get(edgeId);
     }
 
     Iterable<Element> getNonAggElements(final Element element) {
@@ -166,8 +178,11 @@ public class MapImpl {
 
     Element getAggElement(final Element element) {
         final Element clone = element.shallowClone();
-        clone.copyProperties(aggElements.get(element.getGroup()).get(element));
-        return clone;
+        return withGroupLock(element.getGroup(), () -> {
+            clone.copyProperties(aggElements.get(element.getGroup()).get(element));
+            // Mutable property values may be aggregated into by other threads once the lock is released
+            return concurrent ? cloneElement(clone, schema) : clone;
+        });
     }
 
     Iterable<Element> getElements(final Element element) {
@@ -181,41 +196,61 @@ public class MapImpl {
     Stream<Element> getAllAggElements(final Set<String> groups) {
         return aggElements.entrySet().stream()
                 .filter(entry -> groups.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .flatMap(map -> map.entrySet().stream())
-                .map(x -> {
-                    final Element element = x.getKey().emptyClone();
-                    element.copyProperties(x.getKey().getProperties());
-                    element.copyProperties(x.getValue());
-                    return cloneElement(element, schema);
-                });
+                .flatMap(entry -> toAggElements(entry.getKey(), entry.getValue().entrySet().stream()));
     }
 
     Stream<Element> getAllNonAggElements(final Set<String> groups) {
         return nonAggElements.entrySet().stream()
                 .filter(entry -> groups.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .flatMap(map -> map.entrySet().stream())
-                .map(x -> new RepeatItemIterable<>(cloneElement(x.getKey(), schema), x.getValue()))
-                .flatMap(Streams::toStream);
+                .flatMap(entry -> toNonAggElements(entry.getValue().entrySet().stream()));
     }
 
-    Stream<Element> getAllElements(final Set<String> groups) {
-        return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
+    /**
+     * Split the elements in the requested groups into partitions, which can be
+     * consumed in parallel. The map of each group is split into at most the
+     * requested number of partitions, using the {@link Spliterator} of the map.
+     *
+     * @param groups             the groups to include
+     * @param partitionsPerGroup the maximum number of partitions to split each group into
+     * @return the partitions of elements
+     */
+    List<Stream<Element>> getAllElementPartitions(final Set<String> groups, final int partitionsPerGroup) {
+        final List<Stream<Element>> partitions = new ArrayList<>();
+        for (final Map.Entry<String, Map<Element, GroupedProperties>> entry : aggElements.entrySet()) {
+            if (groups.contains(entry.getKey()) && !entry.getValue().isEmpty()) {
+                for (final Spliterator<Map.Entry<Element, GroupedProperties>> partition
+                        : split(entry.getValue().entrySet().spliterator(), partitionsPerGroup)) {
+                    partitions.add(toAggElements(entry.getKey(), StreamSupport.stream(partition, false)));
+                }
+            }
+        }
+        for (final Map.Entry<String, Map<Element, Long>> entry : nonAggElements.entrySet()) {
+            if (groups.contains(entry.getKey()) && !entry.getValue().isEmpty()) {
+                for (final Spliterator<Map.Entry<Element, Long>> partition
+                        : split(entry.getValue().entrySet().spliterator(), partitionsPerGroup)) {
+                    partitions.add(toNonAggElements(StreamSupport.stream(partition, false)));
+                }
+            }
+        }
+        return partitions;
     }
 
-    void addIndex(final EntitySeed entitySeed, final Element element) {
-        entityIdToElements.put(entitySeed, element);
+    Stream<Element> getAllElements(final Set<String> groups) {
+        return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
     }
 
-    void addIndex(final EdgeSeed edgeSeed, final Element element) {
-        edgeIdToElements.put(edgeSeed, element);
+    void addIndex(final Element element) {
+        elementIndex.add(element);
     }
 
     boolean isMaintainIndex() {
         return maintainIndex;
     }
 
+    boolean isConcurrent() {
+        return concurrent;
+    }
+
     Element cloneElement(final Element element, final Schema schema) {
         return mapFactory.cloneElement(element, schema);
     }
@@ -272,6 +307,51 @@ public class MapImpl {
         return mapFactory;
     }
 
+    private <T> T withGroupLock(final String group, final Supplier<T> supplier) {
+        final Lock lock = groupLocks.get(group);
+        if (null == lock) {
+            return supplier.get();
+        }
+
+        lock.lock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Stream<Element> toAggElements(final String group, final Stream<Map.Entry<Element, GroupedProperties>> entries) {
+        return entries.map(x -> withGroupLock(group, () -> {
+            final Element element = x.getKey().emptyClone();
+            element.copyProperties(x.getKey().getProperties());
+            element.copyProperties(x.getValue());
+            return cloneElement(element, schema);
+        }));
+    }
+
+    private Stream<Element> toNonAggElements(final Stream<Map.Entry<Element, Long>> entries) {
+        return entries.map(x -> new RepeatItemIterable<>(cloneElement(x.getKey(), schema), x.getValue()))
+                .flatMap(Streams::toStream);
+    }
+
+    private static <T> List<Spliterator<T>> split(final Spliterator<T> spliterator, final int partitions) {
+        final List<Spliterator<T>> splits = new ArrayList<>();
+        splits.add(spliterator);
+        boolean canSplit = true;
+        while (canSplit && splits.size() < partitions) {
+            canSplit = false;
+            for (int i = splits.size() - 1; i >= 0 && splits.size() < partitions; i--) {
+                final Spliterator<T> prefix = splits.get(i).trySplit();
+                if (null != prefix) {
+                    splits.add(prefix);
+                    canSplit = true;
+                }
+            }
+        }
+        return splits;
+    }
+
     private void addToGroupByMap(final String group) {
         final SchemaElementDefinition sed = schema.getElement(group);
         groupToGroupByProperties.put(group, sed.getGroupBy());
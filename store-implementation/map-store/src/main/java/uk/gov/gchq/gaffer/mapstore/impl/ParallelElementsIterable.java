@@ -0,0 +1,276 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+
+import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * An {@link Iterable} of the elements produced by processing partitions of
+ * elements in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * Each partition is processed by its own task and the results are passed to the
+ * consuming thread through a bounded queue, so elements are returned in no
+ * particular order as soon as they are available. Closing the iterable, or an
+ * iterator, stops any tasks that are still running. Tasks wait for the consumer
+ * through {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker)}, so the
+ * pool can start other threads to run other work while they are waiting.
+ * <p>
+ * If an iterator is not read to the end and not closed, the tasks stop once the
+ * iterator has been garbage collected, or once they have been unable to add to the
+ * full queue for the consumer timeout. An iterator whose tasks stopped because of
+ * the timeout throws an exception rather than returning partial results.
+ */
+public class ParallelElementsIterable implements Iterable<Element>, Closeable {
+    private static final int QUEUE_SIZE = 1024;
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final ForkJoinPool pool;
+    private final Supplier<List<Stream<Element>>> partitionsSupplier;
+    private final Function<Stream<Element>, Stream<Element>> partitionProcessor;
+    private final long consumerTimeoutMillis;
+    private final List<Scan> scans = new ArrayList<>();
+
+    /**
+     * @param pool               the pool to process the partitions on
+     * @param partitionsSupplier supplies the partitions each time a new iterator is created
+     * @param partitionProcessor applied to each partition, on the thread processing that partition
+     */
+    public ParallelElementsIterable(final ForkJoinPool pool,
+                                    final Supplier<List<Stream<Element>>> partitionsSupplier,
+                                    final Function<Stream<Element>, Stream<Element>> partitionProcessor) {
+        this(pool, partitionsSupplier, partitionProcessor, MapStoreProperties.PARALLEL_CONSUMER_TIMEOUT_MILLIS_DEFAULT);
+    }
+
+    /**
+     * @param pool                  the pool to process the partitions on
+     * @param partitionsSupplier    supplies the partitions each time a new iterator is created
+     * @param partitionProcessor    applied to each partition, on the thread processing that partition
+     * @param consumerTimeoutMillis how long a task waits for the consumer to take an element before stopping
+     */
+    public ParallelElementsIterable(final ForkJoinPool pool,
+                                    final Supplier<List<Stream<Element>>> partitionsSupplier,
+                                    final Function<Stream<Element>, Stream<Element>> partitionProcessor,
+                                    final long consumerTimeoutMillis) {
+        this.pool = pool;
+        this.partitionsSupplier = partitionsSupplier;
+        this.partitionProcessor = partitionProcessor;
+        this.consumerTimeoutMillis = consumerTimeoutMillis;
+    }
+
+    @Override
+    public Iterator<Element> iterator() {
+        final Scan scan = new Scan();
+        synchronized (scans) {
+            scans.add(scan);
+        }
+        return new ParallelElementsIterator(scan, partitionsSupplier.get());
+    }
+
+    @Override
+    public void close() {
+        synchronized (scans) {
+            scans.forEach(Scan::close);
+            scans.clear();
+        }
+    }
+
+    /**
+     * Marks the end of a partition, along with any exception thrown processing it.
+     */
+    private static final class PartitionEnd {
+        private final RuntimeException exception;
+
+        private PartitionEnd(final RuntimeException exception) {
+            this.exception = exception;
+        }
+    }
+
+    /**
+     * The state shared by an iterator and the tasks processing its partitions.
+     * The tasks only hold a weak reference to the iterator, so they can tell when
+     * it has been dropped by the consumer.
+     */
+    private static final class Scan {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        private volatile boolean closed;
+        private volatile boolean timedOut;
+
+        private void close() {
+            closed = true;
+        }
+    }
+
+    /**
+     * Offers an item to a full queue, letting the {@link ForkJoinPool} know the
+     * task is blocked. Each block waits for at most the offer timeout.
+     */
+    private static final class QueueOffer implements ForkJoinPool.ManagedBlocker {
+        private final BlockingQueue<Object> queue;
+        private final Object item;
+        private boolean added;
+
+        private QueueOffer(final BlockingQueue<Object> queue, final Object item) {
+            this.queue = queue;
+            this.item = item;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (!added) {
+                added = queue.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (!added) {
+                added = queue.offer(item);
+            }
+            return added;
+        }
+    }
+
+    private final class ParallelElementsIterator implements Iterator<Element>, Closeable {
+        private final Scan scan;
+        private final int partitionCount;
+        private int finishedPartitions;
+        private Element next;
+
+        private ParallelElementsIterator(final Scan scan, final List<Stream<Element>> partitions) {
+            this.scan = scan;
+            partitionCount = partitions.size();
+            // The tasks must not capture this iterator, otherwise it could never be garbage collected
+            final WeakReference<ParallelElementsIterator> consumer = new WeakReference<>(this);
+            final ParallelElementsIterable iterable = ParallelElementsIterable.this;
+            for (final Stream<Element> partition : partitions) {
+                pool.execute(() -> iterable.processPartition(scan, consumer, partition));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && finishedPartitions < partitionCount) {
+                if (scan.timedOut) {
+                    close();
+                    throw new GafferRuntimeException("Elements were not read within " + consumerTimeoutMillis
+                            + "ms, so the parallel scan was stopped");
+                }
+                if (scan.closed) {
+                    break;
+                }
+                final Object item = take();
+                if (item instanceof PartitionEnd) {
+                    finishedPartitions++;
+                    final RuntimeException exception = ((PartitionEnd) item).exception;
+                    if (null != exception) {
+                        close();
+                        throw exception;
+                    }
+                } else if (null != item) {
+                    next = (Element) item;
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            scan.close();
+            synchronized (scans) {
+                scans.remove(scan);
+            }
+        }
+
+        private Object take() {
+            try {
+                // Time out periodically so the scan stopping is noticed even if no tasks can add to the queue
+                return scan.queue.poll(OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new GafferRuntimeException("Interrupted whilst waiting for elements", e);
+            }
+        }
+    }
+
+    private void processPartition(final Scan scan, final WeakReference<?> consumer, final Stream<Element> partition) {
+        RuntimeException exception = null;
+        try (final Stream<Element> elements = partitionProcessor.apply(partition)) {
+            final Iterator<Element> iterator = elements.iterator();
+            while (!scan.closed && iterator.hasNext()) {
+                final Element element = iterator.next();
+                if (null != element) {
+                    put(scan, consumer, element);
+                }
+            }
+        } catch (final RuntimeException e) {
+            exception = e;
+        } finally {
+            put(scan, consumer, new PartitionEnd(exception));
+        }
+    }
+
+    private void put(final Scan scan, final WeakReference<?> consumer, final Object item) {
+        try {
+            // Time out periodically so the task stops if the consumer closes, drops or stops reading the iterator
+            final long deadline = System.currentTimeMillis() + consumerTimeoutMillis;
+            final QueueOffer offer = new QueueOffer(scan.queue, item);
+            while (!scan.closed && !offer.added) {
+                ForkJoinPool.managedBlock(offer);
+                if (!offer.added) {
+                    if (null == consumer.get()) {
+                        scan.close();
+                    } else if (System.currentTimeMillis() > deadline) {
+                        scan.timedOut = true;
+                        scan.close();
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scan.close();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+
+import java.util.Collection;
+
+/**
+ * An {@code ElementIndex} maps from the ids of the elements held in a
+ * {@link uk.gov.gchq.gaffer.mapstore.impl.MapImpl} to the element keys, allowing
+ * elements to be looked up by {@link EntityId} or {@link EdgeId}.
+ */
+public interface ElementIndex {
+
+    /**
+     * Add an element key to the index. Entities are indexed by their vertex.
+     * Edges are indexed by their source, their destination and their {@link EdgeId}.
+     * Adding an element that is already in the index has no effect.
+     *
+     * @param element the element key to index
+     */
+    void add(final Element element);
+
+    /**
+     * Get the element keys related to an {@link EntityId}. Any Edges returned have
+     * their matched vertex set to indicate whether the vertex was their source
+     * or destination.
+     *
+     * @param entityId the entity id to lookup
+     * @return the related element keys, or an empty collection if there are none
+     */
+    Collection<Element> get(final EntityId entityId);
+
+    /**
+     * Get the Edge keys that are equal to an {@link EdgeId}.
+     *
+     * @param edgeId the edge id to lookup
+     * @return the matching element keys, or an empty collection if there are none
+     */
+    Collection<Element> get(final EdgeId edgeId);
+
+    /**
+     * Clear the index of all entries.
+     */
+    void clear();
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * An {@link ElementIndex} that interns each vertex and each element key to an int id
+ * and stores, for each vertex, the ids of the elements containing that vertex in
+ * primitive int arrays.
+ * <p>
+ * Unlike the {@link MultiMapElementIndex} no {@link uk.gov.gchq.gaffer.operation.data.EntitySeed},
+ * {@link uk.gov.gchq.gaffer.operation.data.EdgeSeed} or destination matched copy of each Edge
+ * is held in memory. Edges are stored once, with their matched vertex set to SOURCE, and the
+ * matched vertex is worked out when the Edge is looked up. Lookups by {@link EdgeId} go
+ * straight to the Edges with the same interned source, destination and directed flag, so do
+ * not depend on the degree of the source vertex.
+ * <p>
+ * Each element key is held once, in the list of elements. Duplicate keys are detected by
+ * comparing against the few elements sharing the same entity vertex or edge ids, rather
+ * than with a second map of keys.
+ * <p>
+ * If the index is created as concurrent then all access is guarded by a read write lock.
+ */
+public class InternedVertexElementIndex implements ElementIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_ADJACENCY_SIZE = 2;
+    private static final int[] NO_IDS = new int[0];
+
+    private final Map<Object, Integer> vertexIds = new HashMap<>();
+    private final Map<EdgeKey, int[]> edgeIds = new HashMap<>();
+    private final List<Element> elements = new ArrayList<>();
+    private final ReadWriteLock lock;
+
+    private int[][] entityIds = new int[INITIAL_CAPACITY][];
+    private int[][] adjacency = new int[INITIAL_CAPACITY][];
+    private int[] adjacencySizes = new int[INITIAL_CAPACITY];
+
+    public InternedVertexElementIndex() {
+        this(false);
+    }
+
+    public InternedVertexElementIndex(final boolean concurrent) {
+        this.lock = concurrent ? new ReentrantReadWriteLock() : null;
+    }
+
+    @Override
+    public void add(final Element element) {
+        withLock(null == lock ? null : lock.writeLock(), () -> {
+            if (element instanceof Entity) {
+                final int vertexId = internVertex(((Entity) element).getVertex());
+                final int[] ids = entityIds[vertexId];
+                if (!contains(ids, element)) {
+                    entityIds[vertexId] = append(ids, addElement(element));
+                }
+            } else {
+                final Edge edge = (Edge) element;
+                final int sourceId = internVertex(edge.getSource());
+                final int destinationId = internVertex(edge.getDestination());
+                final EdgeKey key = new EdgeKey(sourceId, destinationId, edge.isDirected());
+                final int[] ids = edgeIds.getOrDefault(key, NO_IDS);
+                edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE);
+                if (!contains(ids, edge)) {
+                    final int elementId = addElement(edge);
+                    edgeIds.put(key, append(ids, elementId));
+                    addAdjacency(sourceId, elementId);
+                    if (destinationId != sourceId) {
+                        addAdjacency(destinationId, elementId);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Collection<Element> get(final EntityId entityId) {
+        final Object vertex = entityId.getVertex();
+        return withLock(null == lock ? null : lock.readLock(), () -> {
+            final Integer vertexId = vertexIds.get(vertex);
+            if (null == vertexId) {
+                return Collections.emptySet();
+            }
+
+            final int[] entityIdsForVertex = null == entityIds[vertexId] ? NO_IDS : entityIds[vertexId];
+            final int[] edgeIdsForVertex = adjacency[vertexId];
+            final int size = adjacencySizes[vertexId];
+            final List<Element> results = new ArrayList<>(entityIdsForVertex.length + size);
+            for (final int elementId : entityIdsForVertex) {
+                results.add(elements.get(elementId));
+            }
+            for (int i = 0; i < size; i++) {
+                final Edge edge = (Edge) elements.get(edgeIdsForVertex[i]);
+                if (!Objects.equals(vertex, edge.getSource())) {
+                    results.add(new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties()));
+                } else {
+                    results.add(edge);
+                }
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public Collection<Element> get(final EdgeId edgeId) {
+        return withLock(null == lock ? null : lock.readLock(), () -> {
+            final Integer sourceId = vertexIds.get(edgeId.getSource());
+            final Integer destinationId = vertexIds.get(edgeId.getDestination());
+            if (null == sourceId || null == destinationId) {
+                return Collections.emptySet();
+            }
+
+            final int[] ids = edgeIds.get(new EdgeKey(sourceId, destinationId, edgeId.isDirected()));
+            if (null == ids) {
+                return Collections.emptySet();
+            }
+            final List<Element> results = new ArrayList<>(ids.length);
+            for (final int elementId : ids) {
+                final Element element = elements.get(elementId);
+                if (edgeId.isEqual((EdgeId) element)) {
+                    results.add(element);
+                }
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public void clear() {
+        withLock(null == lock ? null : lock.writeLock(), () -> {
+            vertexIds.clear();
+            edgeIds.clear();
+            elements.clear();
+            entityIds = new int[INITIAL_CAPACITY][];
+            adjacency = new int[INITIAL_CAPACITY][];
+            adjacencySizes = new int[INITIAL_CAPACITY];
+            return null;
+        });
+    }
+
+    private int addElement(final Element element) {
+        final int elementId = elements.size();
+        elements.add(element);
+        return elementId;
+    }
+
+    private boolean contains(final int[] ids, final Element element) {
+        if (null != ids) {
+            for (final int elementId : ids) {
+                if (elements.get(elementId).equals(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int internVertex(final Object vertex) {
+        Integer vertexId = vertexIds.get(vertex);
+        if (null == vertexId) {
+            vertexId = vertexIds.size();
+            vertexIds.put(vertex, vertexId);
+            if (vertexId >= adjacency.length) {
+                final int newCapacity = adjacency.length * 2;
+                entityIds = Arrays.copyOf(entityIds, newCapacity);
+                adjacency = Arrays.copyOf(adjacency, newCapacity);
+                adjacencySizes = Arrays.copyOf(adjacencySizes, newCapacity);
+            }
+            adjacency[vertexId] = new int[INITIAL_ADJACENCY_SIZE];
+        }
+        return vertexId;
+    }
+
+    private void addAdjacency(final int vertexId, final int elementId) {
+        final int size = adjacencySizes[vertexId];
+        if (size == adjacency[vertexId].length) {
+            adjacency[vertexId] = Arrays.copyOf(adjacency[vertexId], size * 2);
+        }
+        adjacency[vertexId][size] = elementId;
+        adjacencySizes[vertexId] = size + 1;
+    }
+
+    /**
+     * Entities per vertex and edges per edge id are few, so these arrays are
+     * kept at their exact size.
+     *
+     * @param ids       the current ids, or null if there are none yet
+     * @param elementId the id to append
+     * @return a new array holding the current ids followed by the new id
+     */
+    private static int[] append(final int[] ids, final int elementId) {
+        if (null == ids) {
+            return new int[]{elementId};
+        }
+        final int[] newIds = Arrays.copyOf(ids, ids.length + 1);
+        newIds[ids.length] = elementId;
+        return newIds;
+    }
+
+    private static <T> T withLock(final Lock lock, final Supplier<T> supplier) {
+        if (null == lock) {
+            return supplier.get();
+        }
+
+        lock.lock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The interned source and destination ids and the directed flag of an Edge.
+     */
+    private static final class EdgeKey {
+        private final int sourceId;
+        private final int destinationId;
+        private final boolean directed;
+
+        private EdgeKey(final int sourceId, final int destinationId, final boolean directed) {
+            this.sourceId = sourceId;
+            this.destinationId = destinationId;
+            this.directed = directed;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof EdgeKey)) {
+                return false;
+            }
+            final EdgeKey that = (EdgeKey) obj;
+            return sourceId == that.sourceId && destinationId == that.destinationId && directed == that.directed;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * sourceId + destinationId) + (directed ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A {@link MultiMapElementIndex} for {@link MultiMap}s that do not retain the matched
+ * vertex of the Edges they hold, such as multi maps that serialise their values.
+ * The matched vertex of each Edge is worked out when it is looked up by
+ * {@link EntityId}. The collections returned by the multi maps must be copies,
+ * as the Edges in them are updated.
+ */
+public class MatchedVertexElementIndex extends MultiMapElementIndex {
+
+    public MatchedVertexElementIndex(final MultiMap<EntityId, Element> entityIdToElements,
+                                     final MultiMap<EdgeId, Element> edgeIdToElements) {
+        super(entityIdToElements, edgeIdToElements);
+    }
+
+    @Override
+    public Collection<Element> get(final EntityId entityId) {
+        final Collection<Element> results = super.get(entityId);
+        for (final Element element : results) {
+            if (element instanceof Edge) {
+                final Edge edge = (Edge) element;
+                final EdgeId.MatchedVertex matchedVertex = Objects.equals(entityId.getVertex(), edge.getSource())
+                        ? EdgeId.MatchedVertex.SOURCE
+                        : EdgeId.MatchedVertex.DESTINATION;
+                edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), matchedVertex);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * An {@link ElementIndex} backed by two {@link MultiMap}s, one from {@link EntityId}
+ * to element keys and one from {@link EdgeId} to element keys. Edges are stored
+ * twice in the entity id map, once with each matched vertex.
+ */
+public class MultiMapElementIndex implements ElementIndex {
+    private final MultiMap<EntityId, Element> entityIdToElements;
+    private final MultiMap<EdgeId, Element> edgeIdToElements;
+
+    public MultiMapElementIndex(final MultiMap<EntityId, Element> entityIdToElements,
+                                final MultiMap<EdgeId, Element> edgeIdToElements) {
+        this.entityIdToElements = entityIdToElements;
+        this.edgeIdToElements = edgeIdToElements;
+    }
+
+    @Override
+    public void add(final Element element) {
+        if (element instanceof Entity) {
+            final Entity entity = (Entity) element;
+            final EntitySeed entitySeed = new EntitySeed(entity.getVertex());
+            entityIdToElements.put(entitySeed, element);
+        } else {
+            final Edge edge = (Edge) element;
+            edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeSeed.MatchedVertex.SOURCE);
+            final EntitySeed sourceEntitySeed = new EntitySeed(edge.getSource());
+            entityIdToElements.put(sourceEntitySeed, edge);
+
+            final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeSeed.MatchedVertex.DESTINATION, edge.getProperties());
+            final EntitySeed destinationEntitySeed = new EntitySeed(edge.getDestination());
+            entityIdToElements.put(destinationEntitySeed, destMatchedEdge);
+
+            final EdgeSeed edgeSeed = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
+            edgeIdToElements.put(edgeSeed, edge);
+        }
+    }
+
+    @Override
+    public Collection<Element> get(final EntityId entityId) {
+        final Collection<Element> results = entityIdToElements.get(entityId);
+        return null == results ? Collections.emptySet() : results;
+    }
+
+    @Override
+    public Collection<Element> get(final EdgeId edgeId) {
+        final Collection<Element> results = edgeIdToElements.get(edgeId);
+        return null == results ? Collections.emptySet() : results;
+    }
+
+    @Override
+    public void clear() {
+        entityIdToElements.clear();
+        edgeIdToElements.clear();
+    }
+}
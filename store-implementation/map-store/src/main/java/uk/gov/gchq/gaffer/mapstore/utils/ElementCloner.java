@@ -13,50 +13,17 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package uk.gov.gchq.gaffer.mapstore.utils;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+package uk.gov.gchq.gaffer.mapstore.utils;
 
-import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.exception.SerialisationException;
-import uk.gov.gchq.gaffer.serialisation.Serialiser;
-import uk.gov.gchq.gaffer.store.schema.Schema;
-import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
- * Utility class to create a clone of an {@link Element}.
+ * Utility class to create a clone of an {@link uk.gov.gchq.gaffer.data.element.Element}.
+ *
+ * @deprecated use {@link uk.gov.gchq.gaffer.store.util.ElementCloner} instead.
  */
-public class ElementCloner {
-    private static final Logger LOGGER = LoggerFactory.getLogger(ElementCloner.class);
-
-    /**
-     * Clone an {@link Element}, based on a target {@link Schema}.
-     *
-     * @param element the element to clone
-     * @param schema the schema
-     * @return the cloned element
-     */
-    public Element cloneElement(final Element element, final Schema schema) {
-        try {
-            final Element clone = element.emptyClone();
-            final SchemaElementDefinition sed = schema.getElement(clone.getGroup());
-            for (final String propertyName : element.getProperties().keySet()) {
-                final Object property = element.getProperty(propertyName);
-                if (null == sed.getPropertyTypeDef(propertyName) || null == sed.getPropertyTypeDef(propertyName).getSerialiser()) {
-                    // This can happen if transient properties are derived - they will not have serialisers.
-                    LOGGER.warn("Can't find Serialisation for {}, returning uncloned property", propertyName);
-                    clone.putProperty(propertyName, property);
-                } else if (null != property) {
-                    final Serialiser serialiser = sed.getPropertyTypeDef(propertyName).getSerialiser();
-                    clone.putProperty(propertyName, serialiser.deserialise(serialiser.serialise(property)));
-                } else {
-                    clone.putProperty(propertyName, null);
-                }
-            }
-            return clone;
-        } catch (final SerialisationException e) {
-            throw new RuntimeException("SerialisationException converting elements", e);
-        }
-    }
+@Deprecated
+@SuppressFBWarnings(value = "NM_SAME_SIMPLE_NAME_AS_SUPERCLASS", justification = "Kept for backwards compatibility")
+public class ElementCloner extends uk.gov.gchq.gaffer.store.util.ElementCloner {
 }
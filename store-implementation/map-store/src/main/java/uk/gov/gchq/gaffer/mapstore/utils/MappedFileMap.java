@@ -0,0 +1,590 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link java.util.Map} that holds its keys and values off heap, serialised with
+ * {@link ToBytesSerialiser}s, in memory mapped files.
+ * <p>
+ * Each entry is appended as a record to a data file, which is mapped into memory in
+ * fixed size segments. A record never spans two segments, so a single record must
+ * fit within a segment. An open addressing hash index, held in a second memory mapped
+ * file, maps the hash of the serialised key to the offset of the record. If a new value
+ * serialises to no more bytes than the value it replaces it is written in place,
+ * otherwise a new record is appended. Superseded records are not reclaimed until the
+ * map is cleared.
+ * <p>
+ * As the keys are compared in their serialised form, the key serialiser must always
+ * serialise equal keys to the same bytes.
+ * <p>
+ * If the files already exist when the map is created then the existing entries are
+ * used, allowing the map to be reopened after a restart. All methods are synchronised
+ * on the map. Iterators are weakly consistent: they will not fail if the map is
+ * modified, but may or may not reflect the modifications.
+ *
+ * @param <K> the type of the map keys
+ * @param <V> the type of the map values
+ */
+public class MappedFileMap<K, V> extends AbstractMap<K, V> implements Closeable {
+    public static final String INDEX_FILE_EXTENSION = ".index";
+    public static final String DATA_FILE_EXTENSION = ".data";
+
+    private static final int MAGIC = 0x47414D46;
+    private static final int VERSION = 1;
+
+    private static final int MAGIC_POSITION = 0;
+    private static final int VERSION_POSITION = 4;
+    private static final int CAPACITY_POSITION = 8;
+    private static final int SIZE_POSITION = 12;
+    private static final int USED_POSITION = 16;
+    private static final int SEGMENT_SIZE_POSITION = 20;
+    private static final int DATA_END_POSITION = 24;
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Each slot holds the record offset plus one (so 0 is an empty slot) and the key hash.
+     */
+    private static final int SLOT_SIZE = 12;
+    private static final long EMPTY = 0;
+    private static final long DELETED = -1;
+    private static final int MAX_CAPACITY = 1 << 27;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+
+    /**
+     * Each record starts with the key length, the value length and the number of bytes
+     * reserved for the value.
+     */
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final int SEGMENT_END = -1;
+
+    private final Path indexPath;
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+    private final int initialCapacity;
+    private final FileChannel dataChannel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final int segmentSize;
+
+    private MappedByteBuffer index;
+    private int capacity;
+    private int size;
+    private int used;
+    private long dataEnd;
+    private int generation;
+
+    public MappedFileMap(final Path directory, final String name,
+                         final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser,
+                         final int segmentSize, final int initialCapacity) {
+        if (segmentSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size must be greater than " + RECORD_HEADER_SIZE + " bytes: " + segmentSize);
+        }
+        if (initialCapacity < 1 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Initial capacity must be between 1 and " + MAX_CAPACITY + ": " + initialCapacity);
+        }
+
+        this.indexPath = directory.resolve(name + INDEX_FILE_EXTENSION);
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+        this.initialCapacity = Integer.highestOneBit(Math.max(2, initialCapacity) * 2 - 1);
+
+        try {
+            Files.createDirectories(directory);
+            dataChannel = FileChannel.open(directory.resolve(name + DATA_FILE_EXTENSION),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (Files.exists(indexPath) && Files.size(indexPath) >= HEADER_SIZE) {
+                index = mapIndex(indexPath, Files.size(indexPath));
+                if (MAGIC != index.getInt(MAGIC_POSITION) || VERSION != index.getInt(VERSION_POSITION)) {
+                    throw new IllegalArgumentException("Index file is not a valid map index: " + indexPath);
+                }
+                capacity = index.getInt(CAPACITY_POSITION);
+                size = index.getInt(SIZE_POSITION);
+                used = index.getInt(USED_POSITION);
+                dataEnd = index.getLong(DATA_END_POSITION);
+                // The layout of existing data depends on the segment size it was written with
+                this.segmentSize = index.getInt(SEGMENT_SIZE_POSITION);
+            } else {
+                this.segmentSize = segmentSize;
+                index = createIndex(indexPath, this.initialCapacity);
+            }
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to open memory mapped map " + name + " in " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized boolean containsKey(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        return null != keyBytes && findSlot(keyBytes, hash(keyBytes)) >= 0;
+    }
+
+    @Override
+    public synchronized V get(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        if (null == keyBytes) {
+            return null;
+        }
+
+        final int slot = findSlot(keyBytes, hash(keyBytes));
+        return slot < 0 ? null : readValue(getRecordOffset(slot));
+    }
+
+    @Override
+    public synchronized V put(final K key, final V value) {
+        final byte[] keyBytes = serialiseKey(key);
+        final int hash = hash(keyBytes);
+        final int slot = findSlot(keyBytes, hash);
+        final V previous = slot < 0 ? null : readValue(getRecordOffset(slot));
+        write(slot, keyBytes, hash, serialiseValue(value));
+        return previous;
+    }
+
+    @Override
+    public synchronized V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        final byte[] keyBytes = serialiseKey(key);
+        final int hash = hash(keyBytes);
+        final int slot = findSlot(keyBytes, hash);
+        final V oldValue = slot < 0 ? null : readValue(getRecordOffset(slot));
+        final V newValue = null == oldValue ? value : remappingFunction.apply(oldValue, value);
+        if (null == newValue) {
+            if (slot >= 0) {
+                delete(slot);
+            }
+        } else {
+            write(slot, keyBytes, hash, serialiseValue(newValue));
+        }
+        return newValue;
+    }
+
+    @Override
+    public synchronized V remove(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        if (null == keyBytes) {
+            return null;
+        }
+
+        final int slot = findSlot(keyBytes, hash(keyBytes));
+        if (slot < 0) {
+            return null;
+        }
+
+        final V previous = readValue(getRecordOffset(slot));
+        delete(slot);
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        try {
+            index = createIndex(indexPath, initialCapacity);
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to clear memory mapped map index " + indexPath, e);
+        }
+        size = 0;
+        used = 0;
+        dataEnd = 0;
+        generation++;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return MappedFileMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                MappedFileMap.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Force any changes to the memory mapped files to be written to the storage device.
+     */
+    public synchronized void flush() {
+        index.force();
+        segments.forEach(MappedByteBuffer::force);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        dataChannel.close();
+    }
+
+    private void write(final int slot, final byte[] keyBytes, final int hash, final byte[] valueBytes) {
+        if (slot >= 0) {
+            final long offset = getRecordOffset(slot);
+            final ByteBuffer segment = getSegment(offset);
+            final int position = getPosition(offset);
+            if (valueBytes.length <= segment.getInt(position + 8)) {
+                segment.putInt(position + 4, valueBytes.length);
+                put(segment, position + RECORD_HEADER_SIZE + keyBytes.length, valueBytes);
+            } else {
+                setSlot(slot, append(keyBytes, valueBytes) + 1, hash);
+            }
+        } else {
+            final int insertionSlot = -slot - 1;
+            if (EMPTY == index.getLong(getSlotPosition(insertionSlot))) {
+                used++;
+                index.putInt(USED_POSITION, used);
+            }
+            setSlot(insertionSlot, append(keyBytes, valueBytes) + 1, hash);
+            size++;
+            index.putInt(SIZE_POSITION, size);
+            if (used > capacity * MAX_LOAD_FACTOR) {
+                resize();
+            }
+        }
+    }
+
+    private void delete(final int slot) {
+        index.putLong(getSlotPosition(slot), DELETED);
+        size--;
+        index.putInt(SIZE_POSITION, size);
+    }
+
+    private long append(final byte[] keyBytes, final byte[] valueBytes) {
+        final int recordSize = RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Unable to store an entry of " + recordSize
+                    + " bytes in a map with a segment size of " + segmentSize + " bytes");
+        }
+
+        int position = getPosition(dataEnd);
+        if (position + recordSize > segmentSize) {
+            if (position + 4 <= segmentSize) {
+                getSegment(dataEnd).putInt(position, SEGMENT_END);
+            }
+            dataEnd += segmentSize - position;
+            position = 0;
+        }
+
+        final long offset = dataEnd;
+        final ByteBuffer segment = getSegment(offset);
+        segment.putInt(position, keyBytes.length);
+        segment.putInt(position + 4, valueBytes.length);
+        segment.putInt(position + 8, valueBytes.length);
+        put(segment, position + RECORD_HEADER_SIZE, keyBytes);
+        put(segment, position + RECORD_HEADER_SIZE + keyBytes.length, valueBytes);
+
+        dataEnd += recordSize;
+        index.putLong(DATA_END_POSITION, dataEnd);
+        return offset;
+    }
+
+    /**
+     * Find the slot containing a key.
+     *
+     * @param keyBytes the serialised key
+     * @param hash     the hash of the serialised key
+     * @return the slot containing the key, or (-(insertion slot) - 1) if the key is not present
+     */
+    private int findSlot(final byte[] keyBytes, final int hash) {
+        final int mask = capacity - 1;
+        int slot = hash & mask;
+        int firstDeleted = -1;
+        while (true) {
+            final int slotPosition = getSlotPosition(slot);
+            final long value = index.getLong(slotPosition);
+            if (EMPTY == value) {
+                return -(firstDeleted < 0 ? slot : firstDeleted) - 1;
+            }
+            if (DELETED == value) {
+                if (firstDeleted < 0) {
+                    firstDeleted = slot;
+                }
+            } else if (hash == index.getInt(slotPosition + 8) && keyEquals(value - 1, keyBytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void resize() {
+        // Only grow if most of the used slots are live entries, otherwise just remove the deleted slots
+        final int newCapacity = size > capacity * MAX_LOAD_FACTOR / 2 ? capacity * 2 : capacity;
+        if (newCapacity > MAX_CAPACITY) {
+            throw new GafferRuntimeException("Unable to grow memory mapped map index beyond " + MAX_CAPACITY + " entries: " + indexPath);
+        }
+
+        final Path tmpPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try {
+            final MappedByteBuffer newIndex = createIndex(tmpPath, newCapacity);
+            final int mask = newCapacity - 1;
+            for (int slot = 0; slot < capacity; slot++) {
+                final int slotPosition = getSlotPosition(slot);
+                final long value = index.getLong(slotPosition);
+                if (EMPTY != value && DELETED != value) {
+                    final int hash = index.getInt(slotPosition + 8);
+                    int newSlot = hash & mask;
+                    while (EMPTY != newIndex.getLong(getSlotPosition(newSlot))) {
+                        newSlot = (newSlot + 1) & mask;
+                    }
+                    newIndex.putLong(getSlotPosition(newSlot), value);
+                    newIndex.putInt(getSlotPosition(newSlot) + 8, hash);
+                }
+            }
+            newIndex.putInt(SIZE_POSITION, size);
+            newIndex.putInt(USED_POSITION, size);
+            newIndex.putLong(DATA_END_POSITION, dataEnd);
+            Files.move(tmpPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index = newIndex;
+            capacity = newCapacity;
+            used = size;
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to resize memory mapped map index " + indexPath, e);
+        }
+    }
+
+    private MappedByteBuffer createIndex(final Path path, final int newCapacity) throws IOException {
+        Files.deleteIfExists(path);
+        final MappedByteBuffer newIndex = mapIndex(path, HEADER_SIZE + (long) newCapacity * SLOT_SIZE);
+        newIndex.putInt(MAGIC_POSITION, MAGIC);
+        newIndex.putInt(VERSION_POSITION, VERSION);
+        newIndex.putInt(CAPACITY_POSITION, newCapacity);
+        newIndex.putInt(SEGMENT_SIZE_POSITION, segmentSize);
+        if (path.equals(indexPath)) {
+            capacity = newCapacity;
+        }
+        return newIndex;
+    }
+
+    private static MappedByteBuffer mapIndex(final Path path, final long length) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+    }
+
+    private ByteBuffer getSegment(final long offset) {
+        final int segmentIndex = (int) (offset / segmentSize);
+        try {
+            while (segments.size() <= segmentIndex) {
+                segments.add(dataChannel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * segmentSize, segmentSize));
+            }
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to map segment " + segmentIndex + " of memory mapped map " + indexPath, e);
+        }
+        return segments.get(segmentIndex);
+    }
+
+    private int getPosition(final long offset) {
+        return (int) (offset % segmentSize);
+    }
+
+    private static int getSlotPosition(final int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private long getRecordOffset(final int slot) {
+        return index.getLong(getSlotPosition(slot)) - 1;
+    }
+
+    private void setSlot(final int slot, final long value, final int hash) {
+        index.putLong(getSlotPosition(slot), value);
+        index.putInt(getSlotPosition(slot) + 8, hash);
+    }
+
+    private boolean keyEquals(final long offset, final byte[] keyBytes) {
+        final ByteBuffer segment = getSegment(offset);
+        final int position = getPosition(offset);
+        if (keyBytes.length != segment.getInt(position)) {
+            return false;
+        }
+
+        final int keyPosition = position + RECORD_HEADER_SIZE;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (keyBytes[i] != segment.get(keyPosition + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] readKeyBytes(final long offset) {
+        final ByteBuffer segment = getSegment(offset);
+        final int position = getPosition(offset);
+        return get(segment, position + RECORD_HEADER_SIZE, segment.getInt(position));
+    }
+
+    private V readValue(final long offset) {
+        final ByteBuffer segment = getSegment(offset);
+        final int position = getPosition(offset);
+        final int keyLength = segment.getInt(position);
+        final byte[] valueBytes = get(segment, position + RECORD_HEADER_SIZE + keyLength, segment.getInt(position + 4));
+        try {
+            return 0 == valueBytes.length ? valueSerialiser.deserialiseEmpty() : valueSerialiser.deserialise(valueBytes);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to deserialise value", e);
+        }
+    }
+
+    private K readKey(final byte[] keyBytes) {
+        try {
+            return 0 == keyBytes.length ? keySerialiser.deserialiseEmpty() : keySerialiser.deserialise(keyBytes);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to deserialise key", e);
+        }
+    }
+
+    /**
+     * Serialise a key.
+     *
+     * @param key the key to serialise
+     * @return the serialised key, or null if the key cannot be handled by the key serialiser
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] serialiseKey(final Object key) {
+        if (null != key && !keySerialiser.canHandle(key.getClass())) {
+            return null;
+        }
+
+        try {
+            return null == key ? keySerialiser.serialiseNull() : keySerialiser.serialise((K) key);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to serialise key: " + key, e);
+        }
+    }
+
+    private byte[] serialiseValue(final V value) {
+        try {
+            return null == value ? valueSerialiser.serialiseNull() : valueSerialiser.serialise(value);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to serialise value: " + value, e);
+        }
+    }
+
+    private static int hash(final byte[] bytes) {
+        final int hash = Arrays.hashCode(bytes);
+        return hash ^ (hash >>> 16);
+    }
+
+    private static void put(final ByteBuffer segment, final int position, final byte[] bytes) {
+        final ByteBuffer buffer = segment.duplicate();
+        buffer.position(position);
+        buffer.put(bytes);
+    }
+
+    private static byte[] get(final ByteBuffer segment, final int position, final int length) {
+        final byte[] bytes = new byte[length];
+        final ByteBuffer buffer = segment.duplicate();
+        buffer.position(position);
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Iterates over the records in the data file in the order they were appended,
+     * skipping any records that are no longer referenced by the index. As records
+     * are never moved this is unaffected by the index being resized.
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        private final int iteratorGeneration;
+        private long offset;
+        private Entry<K, V> next;
+        private K lastKey;
+        private boolean hasLastKey;
+
+        EntryIterator() {
+            synchronized (MappedFileMap.this) {
+                iteratorGeneration = generation;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            synchronized (MappedFileMap.this) {
+                while (null == next && iteratorGeneration == generation && offset < dataEnd) {
+                    final ByteBuffer segment = getSegment(offset);
+                    final int position = getPosition(offset);
+                    if (position + RECORD_HEADER_SIZE > segmentSize || SEGMENT_END == segment.getInt(position)) {
+                        offset += segmentSize - position;
+                        continue;
+                    }
+
+                    final long recordOffset = offset;
+                    final byte[] keyBytes = readKeyBytes(recordOffset);
+                    offset += RECORD_HEADER_SIZE + keyBytes.length + segment.getInt(position + 8);
+
+                    final int slot = findSlot(keyBytes, hash(keyBytes));
+                    if (slot >= 0 && getRecordOffset(slot) == recordOffset) {
+                        next = new SimpleImmutableEntry<>(readKey(keyBytes), readValue(recordOffset));
+                    }
+                }
+                return null != next;
+            }
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Entry<K, V> entry = next;
+            next = null;
+            lastKey = entry.getKey();
+            hasLastKey = true;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!hasLastKey) {
+                throw new IllegalStateException("next() has not been called");
+            }
+            MappedFileMap.this.remove(lastKey);
+            hasLastKey = false;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.BytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link MultiMap} that holds its keys and values off heap in {@link MappedFileMap}s.
+ * <p>
+ * Each value is stored as its own record, so adding a value to a key never rewrites
+ * the other values of that key and a key may have any number of values, however
+ * large a segment is. Three maps are used:
+ * <ul>
+ * <li>the number of values of each key,</li>
+ * <li>each value, keyed by its key and its position in the values of that key,</li>
+ * <li>the key and value of each entry, so a duplicate value is not added twice.</li>
+ * </ul>
+ * Values are compared in their serialised form, so the value serialiser must always
+ * serialise equal values to the same bytes. Values cannot be removed from a key.
+ * The collections returned by {@link #get(Object)} are copies.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class MappedFileMultiMap<K, V> implements MultiMap<K, V>, Closeable {
+    public static final String COUNTS_SUFFIX = "-counts";
+    public static final String VALUES_SUFFIX = "-values";
+    public static final String ENTRIES_SUFFIX = "-entries";
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+    private final MappedFileMap<K, Long> counts;
+    private final MappedFileMap<byte[], V> values;
+    private final MappedFileMap<byte[], byte[]> entries;
+
+    public MappedFileMultiMap(final Path directory, final String name,
+                              final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser,
+                              final int segmentSize, final int initialCapacity) {
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+        final BytesSerialiser bytesSerialiser = new BytesSerialiser();
+        counts = new MappedFileMap<>(directory, name + COUNTS_SUFFIX, keySerialiser, new CompactRawLongSerialiser(), segmentSize, initialCapacity);
+        values = new MappedFileMap<>(directory, name + VALUES_SUFFIX, bytesSerialiser, valueSerialiser, segmentSize, initialCapacity);
+        entries = new MappedFileMap<>(directory, name + ENTRIES_SUFFIX, bytesSerialiser, bytesSerialiser, segmentSize, initialCapacity);
+    }
+
+    @Override
+    public synchronized boolean put(final K key, final V value) {
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final byte[] entryKey = compositeKey(keyBytes, serialise(valueSerialiser, value));
+        if (entries.containsKey(entryKey)) {
+            return false;
+        }
+
+        final Long count = counts.get(key);
+        final long index = null == count ? 0 : count;
+        values.put(compositeKey(keyBytes, index), value);
+        counts.put(key, index + 1);
+        entries.put(entryKey, EMPTY);
+        return true;
+    }
+
+    @Override
+    public synchronized void put(final K key, final Collection<V> newValues) {
+        for (final V value : newValues) {
+            put(key, value);
+        }
+    }
+
+    @Override
+    public synchronized Collection<V> get(final K key) {
+        final Long count = counts.get(key);
+        if (null == count) {
+            return null;
+        }
+
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final List<V> results = new ArrayList<>(count.intValue());
+        for (long index = 0; index < count; index++) {
+            results.add(values.get(compositeKey(keyBytes, index)));
+        }
+        return results;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return counts.keySet();
+    }
+
+    @Override
+    public synchronized void clear() {
+        counts.clear();
+        values.clear();
+        entries.clear();
+    }
+
+    /**
+     * Force any changes to the memory mapped files to be written to the storage device.
+     */
+    public synchronized void flush() {
+        counts.flush();
+        values.flush();
+        entries.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        // The values and entries are still closed if closing the counts fails
+        try (final Closeable closeEntries = entries;
+             final Closeable closeValues = values) {
+            counts.close();
+        }
+    }
+
+    private static <T> byte[] serialise(final ToBytesSerialiser<T> serialiser, final T item) {
+        try {
+            return null == item ? serialiser.serialiseNull() : serialiser.serialise(item);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to serialise: " + item, e);
+        }
+    }
+
+    private static byte[] compositeKey(final byte[] keyBytes, final long index) {
+        return ByteBuffer.allocate(4 + keyBytes.length + 8)
+                .putInt(keyBytes.length)
+                .put(keyBytes)
+                .putLong(index)
+                .array();
+    }
+
+    private static byte[] compositeKey(final byte[] keyBytes, final byte[] valueBytes) {
+        return ByteBuffer.allocate(4 + keyBytes.length + valueBytes.length)
+                .putInt(keyBytes.length)
+                .put(keyBytes)
+                .put(valueBytes)
+                .array();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.mapstore.index.InternedVertexElementIndex;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class InternedIndexMapFactoryTest {
+
+    @Test
+    public void shouldCreateInternedVertexElementIndex() {
+        // Given
+        final InternedIndexMapFactory factory = new InternedIndexMapFactory();
+        factory.initialise(mock(Schema.class), new MapStoreProperties());
+
+        // When / Then
+        assertThat(factory.getElementIndex("entityIdMap", "edgeIdMap")).isInstanceOf(InternedVertexElementIndex.class);
+    }
+
+    @Test
+    public void shouldReturnSameResultsAsSimpleMapFactory() throws OperationException {
+        // Given
+        final Graph expectedGraph = createGraph(SimpleMapFactory.class);
+        final Graph graph = createGraph(InternedIndexMapFactory.class);
+        final List<ElementId> seeds = Arrays.asList(
+                new EntitySeed("0"), new EntitySeed("1"), new EntitySeed("A"), new EntitySeed("B"),
+                new EdgeSeed("A", "B", true), new EdgeSeed("B", "A", false), new EdgeSeed("0", "1", DirectedType.EITHER));
+
+        // When / Then
+        for (final IncludeIncomingOutgoingType inOutType : IncludeIncomingOutgoingType.values()) {
+            for (final DirectedType directedType : DirectedType.values()) {
+                final GetElements getElements = new GetElements.Builder()
+                        .input(seeds)
+                        .inOutType(inOutType)
+                        .directedType(directedType)
+                        .build();
+                assertThat(getResults(graph, getElements))
+                        .as("Results for inOutType %s and directedType %s", inOutType, directedType)
+                        .isEqualTo(getResults(expectedGraph, getElements));
+            }
+        }
+    }
+
+    private static Set<List<Object>> getResults(final Graph graph, final GetElements getElements) throws OperationException {
+        return Streams.toStream(graph.execute(getElements, new User()))
+                .map(e -> Arrays.<Object>asList(e, e instanceof Edge ? ((Edge) e).getMatchedVertex() : null))
+                .collect(Collectors.toSet());
+    }
+
+    private static Graph createGraph(final Class<? extends MapFactory> mapFactory) throws OperationException {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(mapFactory);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph_" + mapFactory.getSimpleName())
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build(), new User());
+        return graph;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.mapstore.index.MatchedVertexElementIndex;
+import uk.gov.gchq.gaffer.mapstore.utils.MappedFileMap;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedFileMapFactoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldCreateMappedFileMapsAndIndex() {
+        // Given
+        final MappedFileMapFactory factory = new MappedFileMapFactory();
+        factory.initialise(GetAllElementsHandlerTest.getSchema(), createProperties(tempDir));
+
+        // When / Then
+        assertThat(factory.getMap("map", Element.class, Long.class)).isInstanceOf(MappedFileMap.class);
+        assertThat(factory.getElementIndex("entityIdMap", "edgeIdMap")).isInstanceOf(MatchedVertexElementIndex.class);
+        assertThat(factory.getDirectory()).isEqualTo(tempDir);
+    }
+
+    @Test
+    public void shouldCloseAndReopenEmptyMapsWhenCleared() {
+        // Given
+        final MappedFileMapFactory factory = new MappedFileMapFactory();
+        factory.initialise(GetAllElementsHandlerTest.getSchema(), createProperties(tempDir));
+        final Map<Integer, Long> map = factory.getMap("map", Integer.class, Long.class);
+        map.put(1, 2L);
+
+        // When
+        factory.clear();
+
+        // Then
+        final Map<Integer, Long> reopenedMap = factory.getMap("map", Integer.class, Long.class);
+        assertThat(reopenedMap).isNotSameAs(map).isEmpty();
+        factory.close();
+    }
+
+    @Test
+    public void shouldReturnSameResultsAsSimpleMapFactory() throws OperationException {
+        // Given
+        final Graph expectedGraph = createGraph(new MapStoreProperties());
+        final Graph graph = createGraph(createProperties(tempDir));
+        addElements(expectedGraph);
+        addElements(graph);
+        final List<ElementId> seeds = Arrays.asList(
+                new EntitySeed("0"), new EntitySeed("1"), new EntitySeed("A"), new EntitySeed("B"),
+                new EdgeSeed("A", "B", true), new EdgeSeed("B", "A", false), new EdgeSeed("0", "1", DirectedType.EITHER));
+
+        // When / Then
+        assertThat(getAllElements(graph)).isEqualTo(getAllElements(expectedGraph));
+        for (final IncludeIncomingOutgoingType inOutType : IncludeIncomingOutgoingType.values()) {
+            final GetElements getElements = new GetElements.Builder()
+                    .input(seeds)
+                    .inOutType(inOutType)
+                    .build();
+            assertThat(getResults(graph, getElements))
+                    .as("Results for inOutType %s", inOutType)
+                    .isEqualTo(getResults(expectedGraph, getElements));
+        }
+    }
+
+    @Test
+    public void shouldReloadElementsFromDirectory() throws OperationException {
+        // Given
+        final Graph graph = createGraph(createProperties(tempDir));
+        addElements(graph);
+        addElements(graph);
+        final Set<Element> expectedResults = getAllElements(graph);
+
+        // When
+        final Graph reloadedGraph = createGraph(createProperties(tempDir));
+
+        // Then
+        assertThat(getAllElements(reloadedGraph)).isEqualTo(expectedResults);
+        assertThat(getResults(reloadedGraph, new GetElements.Builder().input(new EntitySeed("A")).build()))
+                .isEqualTo(getResults(graph, new GetElements.Builder().input(new EntitySeed("A")).build()));
+    }
+
+    @Test
+    public void shouldIngestVertexWithMoreElementsThanFitInASegment() throws OperationException {
+        // Given
+        final Graph graph = createGraph(createProperties(tempDir));
+        final List<Element> edges = IntStream.range(0, 1000)
+                .mapToObj(i -> new Edge.Builder()
+                        .group("BasicEdge")
+                        .source("hub")
+                        .dest("vertex" + i)
+                        .directed(true)
+                        .property("property1", "q")
+                        .property("count", 1)
+                        .build())
+                .collect(Collectors.toList());
+
+        // When
+        graph.execute(new AddElements.Builder().input(edges).build(), new User());
+
+        // Then
+        assertThat(getResults(graph, new GetElements.Builder().input(new EntitySeed("hub")).build())).hasSize(1000);
+        assertThat(getResults(graph, new GetElements.Builder().input(new EdgeSeed("hub", "vertex999", true)).build())).hasSize(1);
+    }
+
+    @Test
+    public void shouldDeleteTemporaryDirectoryWhenClosed() {
+        // Given
+        final MapStoreProperties storeProperties = createProperties(tempDir);
+        storeProperties.getProperties().remove(MappedFileMapFactory.DIRECTORY);
+        final MappedFileMapFactory factory = new MappedFileMapFactory();
+        factory.initialise(GetAllElementsHandlerTest.getSchema(), storeProperties);
+        factory.getMap("map", Element.class, Long.class).put(GetAllElementsHandlerTest.getElements().get(0), 1L);
+        factory.getMultiMap("multiMap", EntityId.class, Element.class).put(new EntitySeed("A"), GetAllElementsHandlerTest.getElements().get(0));
+        final Path directory = factory.getDirectory();
+        assertThat(directory).exists();
+
+        // When
+        factory.close();
+
+        // Then
+        assertThat(directory).doesNotExist();
+    }
+
+    private static MapStoreProperties createProperties(final Path directory) {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(MappedFileMapFactory.class);
+        storeProperties.set(MappedFileMapFactory.DIRECTORY, directory.toString());
+        storeProperties.set(MappedFileMapFactory.SEGMENT_SIZE, "4096");
+        storeProperties.set(MappedFileMapFactory.INDEX_CAPACITY, "8");
+        return storeProperties;
+    }
+
+    private static Set<Element> getAllElements(final Graph graph) throws OperationException {
+        return Streams.toStream(graph.execute(new GetAllElements(), new User()))
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<List<Object>> getResults(final Graph graph, final GetElements getElements) throws OperationException {
+        return Streams.toStream(graph.execute(getElements, new User()))
+                .map(e -> Arrays.<Object>asList(e, e instanceof Edge ? ((Edge) e).getMatchedVertex() : null))
+                .collect(Collectors.toSet());
+    }
+
+    private static void addElements(final Graph graph) throws OperationException {
+        graph.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build(), new User());
+    }
+
+    private static Graph createGraph(final MapStoreProperties storeProperties) {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+}
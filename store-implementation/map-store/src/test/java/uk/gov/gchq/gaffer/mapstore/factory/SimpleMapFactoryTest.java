@@ -19,13 +19,16 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
 import uk.gov.gchq.gaffer.mapstore.multimap.MapOfSets;
-import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.ElementCloner;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -139,6 +142,57 @@ public class SimpleMapFactoryTest {
         assertNotSame(map1, map2);
     }
 
+    @Test
+    public void shouldCreateConcurrentMapsWhenConcurrent() throws StoreException {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setConcurrent(true);
+        final SimpleMapFactory factory = new SimpleMapFactory();
+
+        factory.initialise(schema, properties);
+
+        // When
+        final Map<Object, Object> map = factory.getMap("mapName1", Object.class, Object.class);
+        final MapOfSets<Object, Object> multiMap = (MapOfSets) factory.getMultiMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertThat(map).isInstanceOf(ConcurrentHashMap.class);
+        assertThat(multiMap).isInstanceOf(ConcurrentMapOfSets.class);
+        assertThat(multiMap.getWrappedMap()).isInstanceOf(ConcurrentHashMap.class);
+    }
+
+    @Test
+    public void shouldUseConfiguredConcurrentMapClassWhenConcurrent() throws StoreException {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setConcurrent(true);
+        properties.set(SimpleMapFactory.MAP_CLASS, ConcurrentSkipListMap.class.getName());
+        final SimpleMapFactory factory = new SimpleMapFactory();
+
+        // When
+        factory.initialise(schema, properties);
+
+        // Then
+        assertEquals(ConcurrentSkipListMap.class, factory.getMapClass());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMapClassIsNotConcurrentWhenConcurrent() throws StoreException {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setConcurrent(true);
+        properties.set(SimpleMapFactory.MAP_CLASS, LinkedHashMap.class.getName());
+        final SimpleMapFactory factory = new SimpleMapFactory();
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> factory.initialise(schema, properties))
+                .withMessageContaining(MapStoreProperties.CONCURRENT);
+    }
+
     @Test
     public void shouldCloneElementUsingCloner() throws StoreException {
         // Given
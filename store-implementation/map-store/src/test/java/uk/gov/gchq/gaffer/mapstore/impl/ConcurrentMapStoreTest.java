@@ -0,0 +1,250 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_ENTITY;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+
+public class ConcurrentMapStoreTest {
+    private static final int INGEST_THREADS = 4;
+    private static final int QUERY_THREADS = 4;
+    private static final int BATCHES_PER_THREAD = 50;
+    private static final int VERTICES = 20;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void before() {
+        executor = Executors.newFixedThreadPool(INGEST_THREADS + QUERY_THREADS);
+    }
+
+    @AfterEach
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldAggregateCorrectlyWithConcurrentIngestAndQueries() throws Exception {
+        shouldAggregateCorrectlyWithConcurrentIngestAndQueries(0);
+    }
+
+    @Test
+    public void shouldAggregateCorrectlyWithConcurrentBufferedIngestAndQueries() throws Exception {
+        shouldAggregateCorrectlyWithConcurrentIngestAndQueries(7);
+    }
+
+    private void shouldAggregateCorrectlyWithConcurrentIngestAndQueries(final int bufferSize) throws Exception {
+        // Given
+        final Graph graph = getConcurrentGraph(bufferSize);
+        final AtomicBoolean ingesting = new AtomicBoolean(true);
+
+        final List<Future<?>> ingestFutures = new ArrayList<>();
+        for (int i = 0; i < INGEST_THREADS; i++) {
+            ingestFutures.add(executor.submit((Callable<Void>) () -> {
+                for (int batch = 0; batch < BATCHES_PER_THREAD; batch++) {
+                    graph.execute(new AddElements.Builder()
+                            .input(getBatch())
+                            .build(), new User());
+                }
+                return null;
+            }));
+        }
+
+        final List<Future<?>> queryFutures = new ArrayList<>();
+        for (int i = 0; i < QUERY_THREADS; i++) {
+            queryFutures.add(executor.submit((Callable<Void>) () -> {
+                while (ingesting.get()) {
+                    Streams.toStream(graph.execute(new GetAllElements(), new User())).count();
+                    Streams.toStream(graph.execute(new GetElements.Builder()
+                            .input(new EntitySeed("0"))
+                            .build(), new User())).count();
+                }
+                return null;
+            }));
+        }
+
+        // When
+        for (final Future<?> future : ingestFutures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        ingesting.set(false);
+        for (final Future<?> future : queryFutures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+
+        // Then
+        final int expectedCount = INGEST_THREADS * BATCHES_PER_THREAD;
+        final Map<Object, Integer> entityCounts = getCounts(graph, BASIC_ENTITY);
+        final Map<Object, Integer> edgeCounts = getCounts(graph, BASIC_EDGE1);
+        assertThat(entityCounts).hasSize(VERTICES);
+        assertThat(entityCounts.values()).containsOnly(expectedCount);
+        assertThat(edgeCounts).hasSize(VERTICES);
+        assertThat(edgeCounts.values()).containsOnly(2 * expectedCount);
+    }
+
+    @Test
+    public void shouldSummariseCorrectlyWithConcurrentIngestAndSummarisedQueries() throws Exception {
+        // Given
+        final Graph graph = getConcurrentGraph(0);
+        final AtomicBoolean ingesting = new AtomicBoolean(true);
+
+        final List<Future<?>> ingestFutures = new ArrayList<>();
+        for (int i = 0; i < INGEST_THREADS; i++) {
+            // Each thread adds entities with a different group by value, which the summarised query aggregates together
+            final String property1 = "p" + i;
+            ingestFutures.add(executor.submit((Callable<Void>) () -> {
+                for (int batch = 0; batch < BATCHES_PER_THREAD; batch++) {
+                    graph.execute(new AddElements.Builder()
+                            .input(getEntityBatch(property1))
+                            .build(), new User());
+                }
+                return null;
+            }));
+        }
+
+        final List<Future<?>> queryFutures = new ArrayList<>();
+        for (int i = 0; i < QUERY_THREADS; i++) {
+            queryFutures.add(executor.submit((Callable<Void>) () -> {
+                while (ingesting.get()) {
+                    final List<Element> summarised = getSummarisedEntities(graph);
+                    assertThat(summarised.stream().map(e -> ((Entity) e).getVertex())).doesNotHaveDuplicates();
+                    assertThat(summarised).allMatch(e -> (Integer) e.getProperty(COUNT) <= INGEST_THREADS * BATCHES_PER_THREAD);
+                }
+                return null;
+            }));
+        }
+
+        // When
+        for (final Future<?> future : ingestFutures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        ingesting.set(false);
+        for (final Future<?> future : queryFutures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+
+        // Then
+        final Map<Object, Integer> summarisedCounts = getSummarisedEntities(graph).stream()
+                .collect(Collectors.toMap(e -> ((Entity) e).getVertex(), e -> (Integer) e.getProperty(COUNT)));
+        assertThat(summarisedCounts).hasSize(VERTICES);
+        assertThat(summarisedCounts.values()).containsOnly(INGEST_THREADS * BATCHES_PER_THREAD);
+        final List<Element> entities = Streams.toStream(graph.execute(new GetAllElements(), new User()))
+                .filter(e -> BASIC_ENTITY.equals(e.getGroup()))
+                .collect(Collectors.toList());
+        assertThat(entities).hasSize(VERTICES * INGEST_THREADS);
+        assertThat(entities).allMatch(e -> (Integer) e.getProperty(COUNT) == BATCHES_PER_THREAD);
+    }
+
+    private List<Element> getSummarisedEntities(final Graph graph) throws OperationException {
+        return Streams.toStream(graph.execute(new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .entity(BASIC_ENTITY, new ViewElementDefinition.Builder()
+                                        .groupBy()
+                                        .build())
+                                .build())
+                        .build(), new User()))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Object, Integer> getCounts(final Graph graph, final String group) throws OperationException {
+        return Streams.toStream(graph.execute(new GetAllElements(), new User()))
+                .filter(e -> group.equals(e.getGroup()))
+                .collect(Collectors.toMap(e -> e instanceof Entity ? ((Entity) e).getVertex() : ((Edge) e).getSource(),
+                        e -> (Integer) e.getProperty(COUNT)));
+    }
+
+    private static List<Element> getBatch() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < VERTICES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(BASIC_ENTITY)
+                    .vertex(String.valueOf(i))
+                    .property(PROPERTY1, "p")
+                    .property(COUNT, 1)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(BASIC_EDGE1)
+                    .source(String.valueOf(i))
+                    .dest(String.valueOf(i + 1))
+                    .directed(true)
+                    .property(PROPERTY1, "q")
+                    .property(COUNT, 2)
+                    .build());
+        }
+        return elements;
+    }
+
+    private static List<Element> getEntityBatch(final String property1) {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < VERTICES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(BASIC_ENTITY)
+                    .vertex(String.valueOf(i))
+                    .property(PROPERTY1, property1)
+                    .property(COUNT, 1)
+                    .build());
+        }
+        return elements;
+    }
+
+    private static Graph getConcurrentGraph(final int bufferSize) {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setConcurrent(true);
+        storeProperties.setIngestBufferSize(bufferSize);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("concurrentGraph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+}
@@ -32,7 +32,9 @@ import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -62,6 +64,27 @@ public class GetAdjacentIdsTest {
         assertThat(resultsSet).isEmpty();
     }
 
+    @Test
+    public void shouldMergeResultsOfDuplicateSeeds() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraph();
+        final AddElements addElements = new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build();
+        graph.execute(addElements, new User());
+
+        // When
+        final GetAdjacentIds getAdjacentIds = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("X"), new EntitySeed("X"))
+                .build();
+        final Iterable<? extends EntityId> results = graph.execute(getAdjacentIds, new User());
+
+        // Then
+        final List<EntityId> resultsList = new ArrayList<>();
+        Streams.toStream(results).forEach(resultsList::add);
+        assertThat(resultsList).hasSize(10).doesNotHaveDuplicates();
+    }
+
     @Test
     public void shouldGetAdjacentEntityId() throws OperationException {
         // Given
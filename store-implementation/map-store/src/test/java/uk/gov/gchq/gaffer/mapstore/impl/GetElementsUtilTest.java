@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE2;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_ENTITY;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+
+public class GetElementsUtilTest {
+
+    @Test
+    public void shouldNotAggregateGroupsWithSchemaGroupBy() {
+        // Given
+        final Schema schema = GetAllElementsHandlerTest.getSchema();
+        final View view = new View.Builder()
+                .entity(BASIC_ENTITY)
+                .edge(BASIC_EDGE1)
+                .build();
+
+        // When / Then
+        assertThat(GetElementsUtil.getQueryAggregatedGroups(schema, view)).isEmpty();
+    }
+
+    @Test
+    public void shouldStreamElementsWithoutConsumingWholeInput() {
+        // Given
+        final Schema schema = GetAllElementsHandlerTest.getSchema();
+        final View view = new View.Builder()
+                .entity(BASIC_ENTITY)
+                .build();
+        final Stream<Element> infiniteElements = Stream.iterate(0, i -> i + 1)
+                .map(i -> new Entity.Builder()
+                        .group(BASIC_ENTITY)
+                        .vertex("" + i)
+                        .property(PROPERTY1, "p")
+                        .property(COUNT, 1)
+                        .build());
+
+        // When
+        final List<Element> results = GetElementsUtil.applyView(infiniteElements, schema, view, false, true)
+                .limit(5)
+                .collect(Collectors.toList());
+
+        // Then
+        assertThat(results).hasSize(5);
+    }
+
+    @Test
+    public void shouldOnlyBufferGroupsWithQueryTimeGroupBy() {
+        // Given
+        final Schema schema = GetAllElementsHandlerTest.getSchema();
+        final View view = new View.Builder()
+                .entity(BASIC_ENTITY)
+                .edge(BASIC_EDGE1, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build();
+        final Entity entity = new Entity.Builder()
+                .group(BASIC_ENTITY)
+                .vertex("A")
+                .property(PROPERTY1, "p")
+                .property(COUNT, 1)
+                .build();
+        final Edge edge1 = createEdge("q", 2);
+        final Edge edge2 = createEdge("r", 3);
+
+        // When
+        final List<Element> results = GetElementsUtil.applyView(Stream.of(edge1, entity, edge2), schema, view, false, true)
+                .collect(Collectors.toList());
+
+        // Then
+        assertThat(GetElementsUtil.getQueryAggregatedGroups(schema, view)).containsExactly(BASIC_EDGE1);
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0)).isEqualTo(entity);
+        assertThat(results.get(1).getProperty(PROPERTY1)).isEqualTo("q,r");
+        assertThat(results.get(1).getProperty(COUNT)).isEqualTo(5);
+    }
+
+    @Test
+    public void shouldMergeDuplicateElementsUnlessDistinct() {
+        // Given
+        final Schema schema = GetAllElementsHandlerTest.getSchema();
+        final View view = new View.Builder()
+                .edge(BASIC_EDGE1)
+                .build();
+
+        // When
+        final List<Element> results = GetElementsUtil.applyView(Stream.of(createEdge("q", 2), createEdge("q", 2)), schema, view)
+                .collect(Collectors.toList());
+        final List<Element> distinctResults = GetElementsUtil.applyView(Stream.of(createEdge("q", 2), createEdge("r", 3)), schema, view, false, true)
+                .collect(Collectors.toList());
+
+        // Then
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getProperty(COUNT)).isEqualTo(4);
+        assertThat(distinctResults).hasSize(2);
+    }
+
+    @Test
+    public void shouldNotIncludeGroupsNotInViewInQueryAggregatedGroups() {
+        // Given
+        final Schema schema = GetAllElementsHandlerTest.getSchema();
+        final View view = new View.Builder()
+                .edge(BASIC_EDGE1)
+                .edge(BASIC_EDGE2, new ViewElementDefinition.Builder()
+                        .groupBy(PROPERTY1)
+                        .build())
+                .build();
+
+        // When / Then
+        assertThat(GetElementsUtil.getQueryAggregatedGroups(schema, view)).containsExactly(BASIC_EDGE2);
+    }
+
+    private static Edge createEdge(final String property1, final int count) {
+        return new Edge.Builder()
+                .group(BASIC_EDGE1)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property(PROPERTY1, property1)
+                .property(COUNT, count)
+                .build();
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.function.Concat;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE2;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_ENTITY;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY2;
+
+public class ParallelGetAllElementsTest {
+
+    @Test
+    public void shouldReturnSameElementsAsSequentialScan() throws OperationException {
+        // Given
+        final Graph expectedGraph = createGraph(1);
+        final Graph graph = createGraph(4);
+        final List<GetAllElements> operations = Arrays.asList(
+                new GetAllElements(),
+                new GetAllElements.Builder()
+                        .directedType(DirectedType.UNDIRECTED)
+                        .build(),
+                new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .entity(BASIC_ENTITY)
+                                .edge(BASIC_EDGE1, new ViewElementDefinition.Builder()
+                                        .postAggregationFilter(new ElementFilter.Builder()
+                                                .select(COUNT)
+                                                .execute(new IsMoreThan(50))
+                                                .build())
+                                        .transformer(new ElementTransformer.Builder()
+                                                .select(PROPERTY1, COUNT)
+                                                .execute(new Concat())
+                                                .project(PROPERTY2)
+                                                .build())
+                                        .build())
+                                .build())
+                        .build(),
+                new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .edge(BASIC_EDGE2, new ViewElementDefinition.Builder()
+                                        .groupBy()
+                                        .build())
+                                .build())
+                        .build());
+
+        // When / Then
+        for (final GetAllElements operation : operations) {
+            assertThat(getResults(graph, operation))
+                    .as("Results for view %s", operation.getView())
+                    .containsExactlyInAnyOrderElementsOf(getResults(expectedGraph, operation));
+        }
+    }
+
+    @Test
+    public void shouldCountAllElementsInParallel() throws OperationException {
+        // Given
+        final Graph graph = createGraph(4);
+
+        // When
+        final Long count = graph.execute(new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new Count<>())
+                .build(), new User());
+
+        // Then
+        assertThat(count).isEqualTo(createGraph(1).execute(new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new Count<>())
+                .build(), new User()));
+    }
+
+    @Test
+    public void shouldPropagateExceptionsFromPartitions() {
+        // Given
+        final ParallelElementsIterable iterable = new ParallelElementsIterable(
+                ForkJoinPool.commonPool(),
+                () -> Arrays.asList(Stream.of(new Entity(BASIC_ENTITY, "A")), Stream.of(new Entity(BASIC_ENTITY, "B"))),
+                partition -> partition.peek(e -> {
+                    if ("B".equals(((Entity) e).getVertex())) {
+                        throw new IllegalStateException("Partition failed");
+                    }
+                }));
+
+        // When / Then
+        assertThatIllegalStateException()
+                .isThrownBy(() -> Streams.toStream(iterable).collect(Collectors.toList()))
+                .withMessage("Partition failed");
+    }
+
+    @Test
+    public void shouldStopPartitionsWhenClosed() {
+        // Given
+        final ParallelElementsIterable iterable = new ParallelElementsIterable(
+                ForkJoinPool.commonPool(),
+                () -> Arrays.asList(
+                        Stream.generate(() -> (Element) new Entity(BASIC_ENTITY, "A")),
+                        Stream.generate(() -> (Element) new Entity(BASIC_ENTITY, "B"))),
+                partition -> partition);
+        final Iterator<Element> iterator = iterable.iterator();
+
+        // When
+        final Element first = iterator.next();
+        iterable.close();
+
+        // Then
+        assertThat(first).isNotNull();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldStopParallelScanWhenResultsAreClosed() throws OperationException {
+        // Given
+        final Graph graph = createGraph(4);
+        final Iterable<? extends Element> results = graph.execute(new GetAllElements(), new User());
+        final Iterator<? extends Element> iterator = results.iterator();
+
+        // When
+        final Element first = iterator.next();
+        CloseableUtil.close(results);
+
+        // Then
+        assertThat(first).isNotNull();
+        assertThat(results).isInstanceOf(Closeable.class);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldStopPartitionsWhenConsumerTimesOut() {
+        // Given
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        final ParallelElementsIterable iterable = new ParallelElementsIterable(
+                pool,
+                () -> Arrays.asList(
+                        Stream.generate(() -> (Element) new Entity(BASIC_ENTITY, "A")),
+                        Stream.generate(() -> (Element) new Entity(BASIC_ENTITY, "B"))),
+                partition -> partition,
+                200);
+        final Iterator<Element> iterator = iterable.iterator();
+        iterator.next();
+
+        // When
+        final boolean stopped = pool.awaitQuiescence(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(stopped).isTrue();
+        assertThatExceptionOfType(GafferRuntimeException.class)
+                .isThrownBy(iterator::hasNext)
+                .withMessageContaining("parallel scan was stopped");
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void shouldStopPartitionsWhenIteratorIsGarbageCollected() {
+        // Given
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        final ParallelElementsIterable iterable = new ParallelElementsIterable(
+                pool,
+                () -> Arrays.asList(
+                        Stream.generate(() -> (Element) new Entity(BASIC_ENTITY, "A")),
+                        Stream.generate(() -> (Element) new Entity(BASIC_ENTITY, "B"))),
+                partition -> partition);
+        readFirstElement(iterable);
+
+        // When
+        boolean stopped = false;
+        for (int i = 0; i < 100 && !stopped; i++) {
+            System.gc();
+            stopped = pool.awaitQuiescence(100, TimeUnit.MILLISECONDS);
+        }
+
+        // Then
+        assertThat(stopped).isTrue();
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunOtherTasksOnPoolWhilePartitionsWaitForTheConsumer() throws Exception {
+        // Given
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        final ParallelElementsIterable iterable = new ParallelElementsIterable(
+                pool,
+                () -> Collections.singletonList(Stream.generate(() -> (Element) new Entity(BASIC_ENTITY, "A"))),
+                partition -> partition);
+        final Iterator<Element> iterator = iterable.iterator();
+        iterator.next();
+
+        // When
+        final String result = pool.submit(() -> "done").get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isEqualTo("done");
+        iterable.close();
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void shouldShutdownParallelPoolWhenStoreIsClosed() throws StoreException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setParallelism(2);
+        final MapStore store = new MapStore();
+        store.initialise("graph", GetAllElementsHandlerTest.getSchema(), storeProperties);
+        final ForkJoinPool pool = store.getParallelPool();
+
+        // When
+        store.close();
+
+        // Then
+        assertThat(pool.isShutdown()).isTrue();
+        assertThat(store.getParallelPool()).isNull();
+    }
+
+    private static void readFirstElement(final Iterable<Element> iterable) {
+        assertThat(iterable.iterator().next()).isNotNull();
+    }
+
+    private static List<Element> getResults(final Graph graph, final GetAllElements operation) throws OperationException {
+        final List<Element> results = new ArrayList<>();
+        graph.execute(operation, new User()).forEach(results::add);
+        return results;
+    }
+
+    private static List<Element> getElements() {
+        return IntStream.range(0, 50)
+                .mapToObj(i -> GetAllElementsHandlerTest.getElements().stream()
+                        .map(e -> {
+                            final Element clone = e.shallowClone();
+                            clone.putProperty(COUNT, i);
+                            clone.putProperty(PROPERTY2, "s" + (i % 3));
+                            return clone;
+                        }))
+                .flatMap(s -> s)
+                .collect(Collectors.toList());
+    }
+
+    private static Graph createGraph(final int parallelism) throws OperationException {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setParallelism(parallelism);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph" + parallelism)
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        return graph;
+    }
+}
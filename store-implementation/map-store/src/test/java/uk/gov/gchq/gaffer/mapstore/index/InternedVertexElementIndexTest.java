@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.mapstore.multimap.MapOfSets;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InternedVertexElementIndexTest {
+
+    @Test
+    public void shouldReturnSameElementsAsMultiMapIndexForEntityIds() {
+        // Given
+        final ElementIndex expectedIndex = createMultiMapIndex();
+        final ElementIndex index = new InternedVertexElementIndex();
+        for (final Element element : getElements()) {
+            expectedIndex.add(element.shallowClone());
+            index.add(element.shallowClone());
+        }
+
+        // When / Then
+        for (final String vertex : Arrays.asList("A", "B", "C", "D", "unknown")) {
+            final EntitySeed seed = new EntitySeed(vertex);
+            assertThat(withMatchedVertex(index.get(seed)))
+                    .as("Elements for vertex %s", vertex)
+                    .isEqualTo(withMatchedVertex(expectedIndex.get(seed)));
+        }
+    }
+
+    @Test
+    public void shouldReturnSameElementsAsMultiMapIndexForEdgeIds() {
+        // Given
+        final ElementIndex expectedIndex = createMultiMapIndex();
+        final ElementIndex index = new InternedVertexElementIndex();
+        for (final Element element : getElements()) {
+            expectedIndex.add(element.shallowClone());
+            index.add(element.shallowClone());
+        }
+
+        // When / Then
+        for (final EdgeSeed seed : Arrays.asList(
+                new EdgeSeed("A", "B", true),
+                new EdgeSeed("B", "A", true),
+                new EdgeSeed("A", "B", false),
+                new EdgeSeed("C", "B", false),
+                new EdgeSeed("B", "C", false),
+                new EdgeSeed("D", "D", true),
+                new EdgeSeed("A", "unknown", true))) {
+            assertThat(withMatchedVertex(index.get(seed)))
+                    .as("Elements for edge id %s", seed)
+                    .isEqualTo(withMatchedVertex(expectedIndex.get(seed)));
+        }
+    }
+
+    @Test
+    public void shouldNotIndexDuplicateElements() {
+        // Given
+        final ElementIndex index = new InternedVertexElementIndex();
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true);
+
+        // When
+        index.add(edge);
+        index.add(new Edge(TestGroups.EDGE, "A", "B", true));
+
+        // Then
+        assertThat(index.get(new EntitySeed("A"))).containsExactly(edge);
+        assertThat(index.get(new EntitySeed("B"))).hasSize(1);
+    }
+
+    @Test
+    public void shouldNotIndexDuplicateEntities() {
+        // Given
+        final ElementIndex index = new InternedVertexElementIndex();
+
+        // When
+        index.add(new Entity(TestGroups.ENTITY, "A"));
+        index.add(new Entity(TestGroups.ENTITY, "A"));
+        index.add(new Entity(TestGroups.ENTITY_2, "A"));
+
+        // Then
+        assertThat(index.get(new EntitySeed("A"))).hasSize(2);
+    }
+
+    @Test
+    public void shouldLookupEdgeIdsOfHighDegreeVertex() {
+        // Given
+        final ElementIndex index = new InternedVertexElementIndex();
+        for (int i = 0; i < 1000; i++) {
+            index.add(new Edge(TestGroups.EDGE, "hub", "vertex" + i, true));
+        }
+        index.add(new Edge(TestGroups.EDGE_2, "hub", "vertex500", true));
+
+        // When
+        final Collection<Element> results = index.get(new EdgeSeed("hub", "vertex500", true));
+
+        // Then
+        assertThat(results).containsExactlyInAnyOrder(
+                new Edge(TestGroups.EDGE, "hub", "vertex500", true),
+                new Edge(TestGroups.EDGE_2, "hub", "vertex500", true));
+        assertThat(index.get(new EdgeSeed("hub", "vertex500", false))).isEmpty();
+        assertThat(index.get(new EntitySeed("hub"))).hasSize(1001);
+    }
+
+    @Test
+    public void shouldClearIndex() {
+        // Given
+        final ElementIndex index = new InternedVertexElementIndex(true);
+        getElements().forEach(index::add);
+
+        // When
+        index.clear();
+
+        // Then
+        assertThat(index.get(new EntitySeed("A"))).isEmpty();
+        assertThat(index.get(new EdgeSeed("A", "B", true))).isEmpty();
+    }
+
+    private static ElementIndex createMultiMapIndex() {
+        return new MultiMapElementIndex(new MapOfSets<>(new HashMap<>()), new MapOfSets<>(new HashMap<>()));
+    }
+
+    private static Set<List<Object>> withMatchedVertex(final Collection<Element> elements) {
+        return elements.stream()
+                .map(e -> Arrays.<Object>asList(e, e instanceof Edge ? ((Edge) e).getMatchedVertex() : null))
+                .collect(Collectors.toSet());
+    }
+
+    private static List<Element> getElements() {
+        return Arrays.asList(
+                new Entity(TestGroups.ENTITY, "A"),
+                new Entity(TestGroups.ENTITY_2, "A"),
+                new Entity(TestGroups.ENTITY, "B"),
+                new Edge(TestGroups.EDGE, "A", "B", true),
+                new Edge(TestGroups.EDGE, "B", "A", true),
+                new Edge(TestGroups.EDGE_2, "A", "B", true),
+                new Edge(TestGroups.EDGE, "A", "B", false),
+                new Edge(TestGroups.EDGE, "C", "B", false),
+                new Edge(TestGroups.EDGE, "A", "C", true, EdgeId.MatchedVertex.DESTINATION, null),
+                new Edge(TestGroups.EDGE, "D", "D", true));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class MappedFileMapTest {
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldPutGetAndRemoveEntries() {
+        // Given
+        final MappedFileMap<String, Long> map = createMap();
+
+        // When
+        assertThat(map.put("a", 1L)).isNull();
+        assertThat(map.put("b", 2L)).isNull();
+        assertThat(map.put("a", 3L)).isEqualTo(1L);
+
+        // Then
+        assertThat(map).hasSize(2)
+                .containsEntry("a", 3L)
+                .containsEntry("b", 2L)
+                .doesNotContainKey("c");
+        assertThat(map.remove("a")).isEqualTo(3L);
+        assertThat(map.remove("a")).isNull();
+        assertThat(map).hasSize(1).doesNotContainKey("a");
+    }
+
+    @Test
+    public void shouldMergeValues() {
+        // Given
+        final MappedFileMap<String, Long> map = createMap();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            map.merge("key" + (i % 10), 1L, Long::sum);
+        }
+
+        // Then
+        assertThat(map).hasSize(10);
+        map.values().forEach(value -> assertThat(value).isEqualTo(10L));
+    }
+
+    @Test
+    public void shouldGrowIndexAndDataSegments() {
+        // Given
+        final MappedFileMap<String, Long> map = createMap();
+        final Map<String, Long> expected = new HashMap<>();
+
+        // When
+        for (long i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+        for (long i = 0; i < 1000; i += 3) {
+            map.remove("key" + i);
+            expected.remove("key" + i);
+        }
+        for (long i = 1; i < 1000; i += 3) {
+            map.put("key" + i, Long.MAX_VALUE - i);
+            expected.put("key" + i, Long.MAX_VALUE - i);
+        }
+
+        // Then
+        assertThat(map).isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldReopenExistingMap() throws IOException {
+        // Given
+        final MappedFileMap<String, Long> map = createMap();
+        for (long i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+        map.close();
+
+        // When
+        final MappedFileMap<String, Long> reopenedMap = createMap();
+
+        // Then
+        assertThat(reopenedMap).hasSize(100).containsEntry("key42", 42L);
+        reopenedMap.put("key100", 100L);
+        assertThat(reopenedMap).hasSize(101).containsEntry("key100", 100L);
+    }
+
+    @Test
+    public void shouldClearMap() {
+        // Given
+        final MappedFileMap<String, Long> map = createMap();
+        for (long i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+
+        // When
+        map.clear();
+        map.put("new", 1L);
+
+        // Then
+        assertThat(map).hasSize(1).containsEntry("new", 1L).doesNotContainKey("key1");
+    }
+
+    @Test
+    public void shouldRemoveEntriesUsingIterator() {
+        // Given
+        final MappedFileMap<String, Long> map = createMap();
+        for (long i = 0; i < 10; i++) {
+            map.put("key" + i, i);
+        }
+
+        // When
+        final Iterator<Map.Entry<String, Long>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        // Then
+        assertThat(map).hasSize(5).containsOnlyKeys("key1", "key3", "key5", "key7", "key9");
+    }
+
+    @Test
+    public void shouldRejectEntriesLargerThanSegment() {
+        // Given
+        final MappedFileMap<String, Long> map = createMap();
+        final String key = new String(new char[SEGMENT_SIZE]).replace('\0', 'a');
+
+        // When / Then
+        assertThatIllegalArgumentException().isThrownBy(() -> map.put(key, 1L))
+                .withMessageContaining("segment size");
+    }
+
+    private MappedFileMap<String, Long> createMap() {
+        return new MappedFileMap<>(tempDir, "map", new StringSerialiser(), new CompactRawLongSerialiser(), SEGMENT_SIZE, 4);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedFileMultiMapTest {
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldPutAndGetValues() {
+        // Given
+        final MappedFileMultiMap<String, String> multiMap = createMultiMap();
+
+        // When
+        assertThat(multiMap.put("a", "1")).isTrue();
+        assertThat(multiMap.put("a", "2")).isTrue();
+        assertThat(multiMap.put("a", "1")).isFalse();
+        multiMap.put("b", Arrays.asList("3", "3", "4"));
+
+        // Then
+        assertThat(multiMap.get("a")).containsExactlyInAnyOrder("1", "2");
+        assertThat(multiMap.get("b")).containsExactlyInAnyOrder("3", "4");
+        assertThat(multiMap.get("c")).isNull();
+        assertThat(multiMap.keySet()).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    public void shouldHoldMoreValuesForAKeyThanFitInASegment() {
+        // Given
+        final MappedFileMultiMap<String, String> multiMap = createMultiMap();
+        final Set<String> expected = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            final String value = "value" + i;
+            multiMap.put("hub", value);
+            expected.add(value);
+        }
+
+        // Then
+        assertThat(multiMap.get("hub")).hasSize(1000).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void shouldReopenExistingValues() throws IOException {
+        // Given
+        final MappedFileMultiMap<String, String> multiMap = createMultiMap();
+        multiMap.put("a", "1");
+        multiMap.put("a", "2");
+        multiMap.close();
+
+        // When
+        final MappedFileMultiMap<String, String> reopened = createMultiMap();
+        reopened.put("a", "2");
+        reopened.put("a", "3");
+
+        // Then
+        assertThat(reopened.get("a")).containsExactlyInAnyOrder("1", "2", "3");
+    }
+
+    @Test
+    public void shouldClearValues() {
+        // Given
+        final MappedFileMultiMap<String, String> multiMap = createMultiMap();
+        multiMap.put("a", "1");
+
+        // When
+        multiMap.clear();
+        multiMap.put("b", "1");
+
+        // Then
+        assertThat(multiMap.get("a")).isNull();
+        assertThat(multiMap.get("b")).containsExactly("1");
+    }
+
+    private MappedFileMultiMap<String, String> createMultiMap() {
+        return new MappedFileMultiMap<>(tempDir, "multiMap", new StringSerialiser(), new StringSerialiser(), SEGMENT_SIZE, 8);
+    }
+}